@@ -210,6 +210,40 @@ public class InterpolatingMicrosphere {
                         double[] sampleValues,
                         double exponent,
                         double noInterpolationTolerance) {
+        return value(point, samplePoints, sampleValues, null,
+                     exponent, noInterpolationTolerance);
+    }
+
+    /**
+     * Estimate the value at the requested location, using only a subset
+     * of the samples.
+     * This is the same as {@link #value(double[],double[][],double[],double,double)}
+     * except that only the samples whose indices are listed in
+     * {@code sampleIndices} illuminate the microsphere.
+     *
+     * @param point Interpolation point.
+     * @param samplePoints Sampling data points.
+     * @param sampleValues Sampling data values at the corresponding
+     * {@code samplePoints}.
+     * @param sampleIndices Indices of the samples to use, in the order
+     * in which they are to be processed, or {@code null} to use all the
+     * samples.
+     * @param exponent Exponent used in the power law that computes
+     * the weights (distance dimming factor) of the sample data.
+     * @param noInterpolationTolerance When the distance between the
+     * {@code point} and one of the selected samples is less than
+     * this value, no interpolation will be performed, and the value
+     * of the sample will just be returned.
+     * @return the estimated value at the given {@code point}.
+     * @throws NotPositiveException if {@code exponent < 0}.
+     * @since 4.0
+     */
+    public double value(double[] point,
+                        double[][] samplePoints,
+                        double[] sampleValues,
+                        int[] sampleIndices,
+                        double exponent,
+                        double noInterpolationTolerance) {
         if (exponent < 0) {
             throw new NotPositiveException(exponent);
         }
@@ -218,8 +252,11 @@ public class InterpolatingMicrosphere {
 
         // Contribution of each sample point to the illumination of the
         // microsphere's facets.
-        final int numSamples = samplePoints.length;
-        for (int i = 0; i < numSamples; i++) {
+        final int numSamples = sampleIndices == null ?
+            samplePoints.length :
+            sampleIndices.length;
+        for (int s = 0; s < numSamples; s++) {
+            final int i = sampleIndices == null ? s : sampleIndices[s];
             // Vector between interpolation point and current sample point.
             final double[] diff = MathArrays.ebeSubtract(samplePoints[i], point);
             final double diffNorm = SafeNorm.value(diff);
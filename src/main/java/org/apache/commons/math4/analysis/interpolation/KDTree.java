@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.analysis.interpolation;
+
+import java.util.Arrays;
+
+import org.apache.commons.math4.util.FastMath;
+
+/**
+ * Static k-d tree over a set of points, used to find the samples nearest
+ * to an interpolation point.
+ * <p>
+ * The tree is stored implicitly in a permutation of the point indices: the
+ * node of a range of the permutation is the point at the middle of the
+ * range, and its subtrees are the two halves. Each node splits along the
+ * coordinate of widest spread of its range.
+ * Instances are immutable once built and can be queried concurrently.
+ * </p>
+ *
+ * @since 4.0
+ */
+class KDTree {
+    /** Points (not copied). */
+    private final double[][] points;
+    /** Permutation of the point indices that stores the tree. */
+    private final int[] order;
+    /** Split coordinate of the node stored at each position of {@link #order}. */
+    private final int[] split;
+
+    /**
+     * @param points Points to index. The array is referenced, not copied;
+     * all points must have the same dimension.
+     */
+    KDTree(double[][] points) {
+        this.points = points;
+        final int n = points.length;
+        order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        split = new int[n];
+        build(0, n);
+    }
+
+    /**
+     * Finds the {@code k} points nearest to {@code query}, in the Euclidean
+     * norm. Ties are broken arbitrarily.
+     *
+     * @param query Query point.
+     * @param k Number of neighbours (must be positive).
+     * @return the indices of the {@code min(k, n)} nearest points, in
+     * increasing index order.
+     */
+    int[] nearest(double[] query,
+                  int k) {
+        final Neighbours neighbours = new Neighbours(FastMath.min(k, order.length));
+        search(query, 0, order.length, neighbours);
+        final int[] result = neighbours.indices.clone();
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Builds the subtree stored in a range of {@link #order}.
+     *
+     * @param lo First position of the range (inclusive).
+     * @param hi Last position of the range (exclusive).
+     */
+    private void build(int lo,
+                       int hi) {
+        while (hi - lo > 1) {
+            final int dim = widestCoordinate(lo, hi);
+            final int mid = (lo + hi) >>> 1;
+            select(lo, hi, mid, dim);
+            split[mid] = dim;
+            build(lo, mid);
+            lo = mid + 1;
+        }
+    }
+
+    /**
+     * @param lo First position of the range (inclusive).
+     * @param hi Last position of the range (exclusive).
+     * @return the coordinate along which the points of the range are most
+     * spread out.
+     */
+    private int widestCoordinate(int lo,
+                                 int hi) {
+        final int dimension = points[order[lo]].length;
+        int best = 0;
+        double bestSpread = -1;
+        for (int d = 0; d < dimension; d++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = lo; i < hi; i++) {
+                final double c = points[order[i]][d];
+                min = FastMath.min(min, c);
+                max = FastMath.max(max, c);
+            }
+            if (max - min > bestSpread) {
+                best = d;
+                bestSpread = max - min;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Partially sorts a range of {@link #order} so that position
+     * {@code nth} holds the point that would be there if the range was
+     * sorted along coordinate {@code dim}, with no greater coordinate
+     * before and no smaller one after it.
+     *
+     * @param lo First position of the range (inclusive).
+     * @param hi Last position of the range (exclusive).
+     * @param nth Position to select.
+     * @param dim Coordinate.
+     */
+    private void select(int lo,
+                        int hi,
+                        int nth,
+                        int dim) {
+        int left = lo;
+        int right = hi - 1;
+        while (left < right) {
+            final double pivot = points[order[(left + right) >>> 1]][dim];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (points[order[i]][dim] < pivot) {
+                    ++i;
+                }
+                while (points[order[j]][dim] > pivot) {
+                    --j;
+                }
+                if (i <= j) {
+                    final int tmp = order[i];
+                    order[i] = order[j];
+                    order[j] = tmp;
+                    ++i;
+                    --j;
+                }
+            }
+            if (nth <= j) {
+                right = j;
+            } else if (nth >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Searches the subtree stored in a range of {@link #order}.
+     *
+     * @param query Query point.
+     * @param lo First position of the range (inclusive).
+     * @param hi Last position of the range (exclusive).
+     * @param neighbours Nearest points found so far.
+     */
+    private void search(double[] query,
+                        int lo,
+                        int hi,
+                        Neighbours neighbours) {
+        if (lo >= hi) {
+            return;
+        }
+        final int mid = (lo + hi) >>> 1;
+        final double[] p = points[order[mid]];
+        double dist2 = 0;
+        for (int d = 0; d < p.length; d++) {
+            final double delta = query[d] - p[d];
+            dist2 += delta * delta;
+        }
+        neighbours.offer(order[mid], dist2);
+
+        final double delta = query[split[mid]] - p[split[mid]];
+        if (delta < 0) {
+            search(query, lo, mid, neighbours);
+            if (delta * delta < neighbours.bound()) {
+                search(query, mid + 1, hi, neighbours);
+            }
+        } else {
+            search(query, mid + 1, hi, neighbours);
+            if (delta * delta < neighbours.bound()) {
+                search(query, lo, mid, neighbours);
+            }
+        }
+    }
+
+    /**
+     * Bounded max-heap of the nearest points found during a query.
+     */
+    private static class Neighbours {
+        /** Indices of the points. */
+        private final int[] indices;
+        /** Squared distances of the points. */
+        private final double[] distances;
+        /** Number of points in the heap. */
+        private int count;
+
+        /**
+         * @param k Capacity.
+         */
+        Neighbours(int k) {
+            indices = new int[k];
+            distances = new double[k];
+        }
+
+        /**
+         * @return the squared distance beyond which points cannot be
+         * among the nearest.
+         */
+        double bound() {
+            return count < indices.length ? Double.POSITIVE_INFINITY : distances[0];
+        }
+
+        /**
+         * @param index Index of a point.
+         * @param dist2 Squared distance of the point.
+         */
+        void offer(int index,
+                   double dist2) {
+            if (count < indices.length) {
+                // Sift up.
+                int i = count++;
+                while (i > 0) {
+                    final int parent = (i - 1) >>> 1;
+                    if (distances[parent] >= dist2) {
+                        break;
+                    }
+                    indices[i] = indices[parent];
+                    distances[i] = distances[parent];
+                    i = parent;
+                }
+                indices[i] = index;
+                distances[i] = dist2;
+            } else if (dist2 < distances[0]) {
+                // Replace the farthest point and sift down.
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= count) {
+                        break;
+                    }
+                    if (child + 1 < count && distances[child + 1] > distances[child]) {
+                        ++child;
+                    }
+                    if (distances[child] <= dist2) {
+                        break;
+                    }
+                    indices[i] = indices[child];
+                    distances[i] = distances[child];
+                    i = child;
+                }
+                indices[i] = index;
+                distances[i] = dist2;
+            }
+        }
+    }
+}
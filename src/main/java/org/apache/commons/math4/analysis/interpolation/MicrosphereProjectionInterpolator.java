@@ -16,6 +16,11 @@
  */
 package org.apache.commons.math4.analysis.interpolation;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
 import org.apache.commons.rng.simple.RandomSource;
 import org.apache.commons.rng.sampling.UnitSphereSampler;
 import org.apache.commons.math4.analysis.MultivariateFunction;
@@ -23,6 +28,9 @@ import org.apache.commons.math4.exception.DimensionMismatchException;
 import org.apache.commons.math4.exception.NoDataException;
 import org.apache.commons.math4.exception.NotPositiveException;
 import org.apache.commons.math4.exception.NullArgumentException;
+import org.apache.commons.math4.util.ConcurrencyUtils;
+import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.math4.util.MathUtils;
 
 /**
  * Interpolator that implements the algorithm described in
@@ -33,6 +41,8 @@ import org.apache.commons.math4.exception.NullArgumentException;
  */
 public class MicrosphereProjectionInterpolator
     implements MultivariateInterpolator {
+    /** Number of points evaluated by each task of a concurrent batch evaluation. */
+    private static final int POINTS_PER_TASK = 64;
     /** Brightness exponent. */
     private final double exponent;
     /** Microsphere. */
@@ -41,6 +51,8 @@ public class MicrosphereProjectionInterpolator
     private final boolean sharedSphere;
     /** Tolerance value below which no interpolation is necessary. */
     private final double noInterpolationTolerance;
+    /** Number of nearest samples that illuminate the sphere (0 for all). */
+    private final int nearestSamples;
 
     /**
      * Create a microsphere interpolator.
@@ -110,14 +122,54 @@ public class MicrosphereProjectionInterpolator
                                              boolean sharedSphere,
                                              double noInterpolationTolerance)
         throws NotPositiveException {
+        this(microsphere, exponent, sharedSphere, noInterpolationTolerance, 0);
+    }
+
+    /**
+     * Create a microsphere interpolator whose interpolating functions only
+     * use the samples nearest to each interpolation point.
+     * The nearest samples are found with a k-d tree built once by
+     * {@link #interpolate(double[][],double[]) interpolate}, so that the
+     * cost of an evaluation no longer grows with the total number of
+     * samples. Distant samples barely contribute to the illumination
+     * of the microsphere facets, but they may prevent facets from being
+     * dark: results can thus differ from those obtained with all samples.
+     *
+     * @param microsphere Microsphere.
+     * @param exponent Exponent used in the power law that computes the
+     * weights (distance dimming factor) of the sample data.
+     * @param sharedSphere Whether the sphere can be shared among the
+     * interpolating function instances.  If {@code true}, the instances
+     * will share the same data, and thus will <em>not</em> be thread-safe.
+     * @param noInterpolationTolerance When the distance between an
+     * interpolated point and one of the sample points is less than this
+     * value, no interpolation will be performed (the value of the sample
+     * will be returned).
+     * @param nearestSamples Number of samples, nearest to the interpolation
+     * point, that are used to compute its value; {@code 0} means that all
+     * samples are used.
+     * @throws NotPositiveException if {@code exponent < 0} or
+     * {@code nearestSamples < 0}.
+     * @since 4.0
+     */
+    public MicrosphereProjectionInterpolator(InterpolatingMicrosphere microsphere,
+                                             double exponent,
+                                             boolean sharedSphere,
+                                             double noInterpolationTolerance,
+                                             int nearestSamples)
+        throws NotPositiveException {
         if (exponent < 0) {
             throw new NotPositiveException(exponent);
         }
+        if (nearestSamples < 0) {
+            throw new NotPositiveException(nearestSamples);
+        }
 
         this.microsphere = microsphere;
         this.exponent = exponent;
         this.sharedSphere = sharedSphere;
         this.noInterpolationTolerance = noInterpolationTolerance;
+        this.nearestSamples = nearestSamples;
     }
 
     /**
@@ -127,7 +179,7 @@ public class MicrosphereProjectionInterpolator
      * given samples does not match the space dimension of the microsphere.
      */
     @Override
-    public MultivariateFunction interpolate(final double[][] xval,
+    public InterpolatingFunction interpolate(final double[][] xval,
                                             final double[] yval)
         throws DimensionMismatchException,
                NoDataException,
@@ -153,16 +205,120 @@ public class MicrosphereProjectionInterpolator
         // Microsphere copy.
         final InterpolatingMicrosphere m = sharedSphere ? microsphere : microsphere.copy();
 
-        return new MultivariateFunction() {
-            /** {inheritDoc} */
-            @Override
-            public double value(double[] point) {
-                return m.value(point,
-                               xval,
-                               yval,
-                               exponent,
-                               noInterpolationTolerance);
+        // Spatial index, when only the nearest samples are used.
+        final KDTree tree = nearestSamples == 0 || nearestSamples >= xval.length ?
+            null :
+            new KDTree(xval);
+
+        return new InterpolatingFunction(m, xval, yval, tree);
+    }
+
+    /**
+     * Function returned by the interpolator.
+     * Besides single evaluations, it provides batch evaluations, which
+     * can be run concurrently.
+     *
+     * @since 4.0
+     */
+    public class InterpolatingFunction implements MultivariateFunction {
+        /** Microsphere used by the single-threaded evaluations. */
+        private final InterpolatingMicrosphere sphere;
+        /** Sample points. */
+        private final double[][] xval;
+        /** Sample values. */
+        private final double[] yval;
+        /** Index of the sample points ({@code null} if all samples are used). */
+        private final KDTree tree;
+
+        /**
+         * @param sphere Microsphere.
+         * @param xval Sample points.
+         * @param yval Sample values.
+         * @param tree Index of the sample points (may be {@code null}).
+         */
+        InterpolatingFunction(InterpolatingMicrosphere sphere,
+                              double[][] xval,
+                              double[] yval,
+                              KDTree tree) {
+            this.sphere = sphere;
+            this.xval = xval;
+            this.yval = yval;
+            this.tree = tree;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double value(double[] point) {
+            return value(sphere, point);
+        }
+
+        /**
+         * Computes the values at several points.
+         *
+         * @param points Interpolation points.
+         * @return the values at the given points.
+         */
+        public double[] value(double[][] points) {
+            final double[] values = new double[points.length];
+            for (int i = 0; i < points.length; i++) {
+                values[i] = value(sphere, points[i]);
+            }
+            return values;
+        }
+
+        /**
+         * Computes the values at several points concurrently.
+         * Each task uses its own copy of the microsphere, so that this
+         * method can be used whether or not the sphere is shared.
+         * The results are the same as those of {@link #value(double[][])}.
+         *
+         * @param points Interpolation points.
+         * @param executor Executor used to evaluate blocks of points.
+         * @return the values at the given points.
+         * @throws NullArgumentException if {@code executor} is {@code null}.
+         */
+        public double[] value(final double[][] points,
+                              final ExecutorService executor) {
+            MathUtils.checkNotNull(executor);
+
+            final double[] values = new double[points.length];
+            final int tasks = FastMath.max(1, (points.length + POINTS_PER_TASK - 1) / POINTS_PER_TASK);
+            final int[] bounds = ConcurrencyUtils.split(points.length, tasks);
+            final List<Callable<Void>> work = new ArrayList<>(bounds.length - 1);
+            for (int k = 0; k < bounds.length - 1; k++) {
+                final int start = bounds[k];
+                final int end = bounds[k + 1];
+                final InterpolatingMicrosphere copy = sphere.copy();
+                work.add(() -> {
+                        for (int i = start; i < end; i++) {
+                            values[i] = value(copy, points[i]);
+                        }
+                        return null;
+                    });
             }
-        };
+            ConcurrencyUtils.invokeAll(executor, work);
+            return values;
+        }
+
+        /**
+         * @param m Microsphere.
+         * @param point Interpolation point.
+         * @return the value at {@code point}.
+         * @throws DimensionMismatchException if the dimension of {@code point}
+         * does not match the space dimension of the microsphere.
+         */
+        private double value(InterpolatingMicrosphere m,
+                             double[] point) {
+            // checked here since the k-d tree is searched before the microsphere is used
+            if (point.length != m.getDimension()) {
+                throw new DimensionMismatchException(point.length, m.getDimension());
+            }
+            return m.value(point,
+                           xval,
+                           yval,
+                           tree == null ? null : tree.nearest(point, nearestSamples),
+                           exponent,
+                           noInterpolationTolerance);
+        }
     }
 }
@@ -18,21 +18,32 @@
 package org.apache.commons.math4.distribution;
 
 import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.DoubleStream;
 
 import org.apache.commons.statistics.distribution.NormalDistribution;
 import org.apache.commons.statistics.distribution.ContinuousDistribution;
 import org.apache.commons.statistics.distribution.ConstantContinuousDistribution;
 import org.apache.commons.math4.exception.MathIllegalStateException;
 import org.apache.commons.math4.exception.MathInternalError;
+import org.apache.commons.math4.exception.MathUnsupportedOperationException;
+import org.apache.commons.math4.exception.NotFiniteNumberException;
 import org.apache.commons.math4.exception.NullArgumentException;
 import org.apache.commons.math4.exception.OutOfRangeException;
 import org.apache.commons.math4.exception.ZeroException;
@@ -81,6 +92,15 @@ import org.apache.commons.math4.util.MathUtils;
  * <li>Generate a random Gaussian value with mean = mean of the associated
  *     bin and std dev = std dev of associated bin.</li></ol>
  *
+ * <p>Large data sets can be digested in a single pass, without parsing text,
+ * by {@link #load(DoubleStream)}, {@link #loadBinary(File)} and
+ * {@link #loadBinary(URL)}.  These methods keep the bin moments in primitive
+ * arrays over a provisional grid that is derived from the first values read
+ * and doubled in width whenever a value falls outside of it.  The grid of the
+ * resulting histogram therefore covers, but need not start at, the smallest
+ * observation; its bins are reported through {@link #getUpperBounds()}
+ * clamped to the range of the data.</p>
+ *
  * <p>EmpiricalDistribution implements the {@link ContinuousDistribution} interface
  * as follows.  Given x within the range of values in the dataset, let B
  * be the bin containing x and let K be the within-bin kernel for B.  Let P(B-)
@@ -109,6 +129,12 @@ public class EmpiricalDistribution extends AbstractRealDistribution
     /** Character set for file input */
     private static final String FILE_CHARSET = "US-ASCII";
 
+    /** Number of values transferred at once by the binary loaders. */
+    private static final int CHUNK_SIZE = 8192;
+
+    /** Maximum number of bytes of a file mapped at once by {@link #loadBinary(File)}. */
+    private static final long MAPPING_SIZE = 1L << 27;
+
     /** Serializable version identifier */
     private static final long serialVersionUID = 5729073523949762654L;
 
@@ -127,6 +153,9 @@ public class EmpiricalDistribution extends AbstractRealDistribution
     /** Grid size */
     private double delta = 0d;
 
+    /** Lower bound of the grid (equal to {@code min} unless loaded in a single pass). */
+    private double origin = 0d;
+
     /** number of bins */
     private final int binCount;
 
@@ -246,6 +275,102 @@ public class EmpiricalDistribution extends AbstractRealDistribution
         }
     }
 
+    /**
+     * Computes the empirical distribution from the values of a stream, in a
+     * single pass.
+     * The stream is consumed sequentially.
+     *
+     * @param in the input data
+     * @throws NullArgumentException if in is null
+     * @throws NotFiniteNumberException if the stream contains an infinite
+     * or NaN value
+     * @throws ZeroException if the stream is empty
+     * @since 4.0
+     */
+    public void load(DoubleStream in)
+        throws NullArgumentException, NotFiniteNumberException, ZeroException {
+        MathUtils.checkNotNull(in);
+        final StreamingBins bins = new StreamingBins(binCount);
+        in.sequential().forEach(bins::add);
+        fillBinStats(bins);
+    }
+
+    /**
+     * Computes the empirical distribution, in a single pass, from a binary
+     * file read through a memory-mapped channel.
+     *
+     * <p>The input file <i>must</i> contain a sequence of big-endian IEEE 754
+     * double precision values, as written by
+     * {@link java.io.DataOutput#writeDouble(double)}.</p>
+     *
+     * @param file the input file
+     * @throws IOException if an IO error occurs, or if the file size is not
+     * a multiple of {@link Double#BYTES}
+     * @throws NullArgumentException if file is null
+     * @throws NotFiniteNumberException if the file contains an infinite
+     * or NaN value
+     * @throws ZeroException if the file is empty
+     * @since 4.0
+     */
+    public void loadBinary(File file)
+        throws IOException, NullArgumentException, NotFiniteNumberException, ZeroException {
+        MathUtils.checkNotNull(file);
+        final StreamingBins bins = new StreamingBins(binCount);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size % Double.BYTES != 0) {
+                throw new EOFException(file.toString());
+            }
+            final double[] chunk = new double[CHUNK_SIZE];
+            for (long position = 0; position < size; position += MAPPING_SIZE) {
+                final long length = FastMath.min(MAPPING_SIZE, size - position);
+                bins.add(channel.map(FileChannel.MapMode.READ_ONLY, position, length).asDoubleBuffer(),
+                         chunk);
+            }
+        }
+        fillBinStats(bins);
+    }
+
+    /**
+     * Computes the empirical distribution, in a single pass, from binary
+     * data read from a URL.
+     *
+     * <p>The input <i>must</i> be a sequence of big-endian IEEE 754
+     * double precision values, as written by
+     * {@link java.io.DataOutput#writeDouble(double)}.</p>
+     *
+     * @param url url of the input data
+     * @throws IOException if an IO error occurs, or if the number of bytes
+     * read is not a multiple of {@link Double#BYTES}
+     * @throws NullArgumentException if url is null
+     * @throws NotFiniteNumberException if the data contain an infinite
+     * or NaN value
+     * @throws ZeroException if URL contains no data
+     * @since 4.0
+     */
+    public void loadBinary(URL url)
+        throws IOException, NullArgumentException, NotFiniteNumberException, ZeroException {
+        MathUtils.checkNotNull(url);
+        final StreamingBins bins = new StreamingBins(binCount);
+        try (ReadableByteChannel channel = Channels.newChannel(url.openStream())) {
+            final ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE * Double.BYTES);
+            final double[] chunk = new double[CHUNK_SIZE];
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                bins.add(buffer.asDoubleBuffer(), chunk);
+                buffer.position(buffer.limit() - buffer.remaining() % Double.BYTES);
+                buffer.compact();
+            }
+            if (buffer.position() != 0) {
+                throw new EOFException(url.toString());
+            }
+        }
+        if (bins.getN() == 0) {
+            throw new ZeroException(LocalizedFormats.URL_CONTAINS_NO_DATA, url);
+        }
+        fillBinStats(bins);
+    }
+
     /**
      * Provides methods for computing <code>sampleStats</code> and
      * <code>beanStats</code> abstracting the source of data.
@@ -367,6 +492,7 @@ public class EmpiricalDistribution extends AbstractRealDistribution
         // Set up grid
         min = sampleStats.getMin();
         max = sampleStats.getMax();
+        origin = min;
         delta = (max - min)/binCount;
 
         // Initialize binStats ArrayList
@@ -381,7 +507,40 @@ public class EmpiricalDistribution extends AbstractRealDistribution
         // Filling data in binStats Array
         da.computeBinStats();
 
-        // Assign upperBounds based on bin counts
+        fillGeneratorUpperBounds();
+    }
+
+    /**
+     * Fills binStats array from the histogram built in a single pass.
+     *
+     * @param bins histogram of the data
+     * @throws ZeroException if the histogram is empty
+     */
+    private void fillBinStats(final StreamingBins bins) throws ZeroException {
+        if (bins.getN() == 0) {
+            throw new ZeroException(LocalizedFormats.NO_DATA);
+        }
+        bins.finish();
+
+        sampleStats = bins.getSampleStats();
+        min = sampleStats.getMin();
+        max = sampleStats.getMax();
+        origin = bins.getOrigin();
+        delta = bins.getWidth();
+
+        binStats.clear();
+        for (int i = 0; i < binCount; i++) {
+            binStats.add(bins.getBinStats(i));
+        }
+
+        fillGeneratorUpperBounds();
+        loaded = true;
+    }
+
+    /**
+     * Assigns the upper bounds of the generator subintervals based on bin counts.
+     */
+    private void fillGeneratorUpperBounds() {
         upperBounds = new double[binCount];
         upperBounds[0] =
         ((double) binStats.get(0).getN()) / (double) sampleStats.getN();
@@ -400,7 +559,7 @@ public class EmpiricalDistribution extends AbstractRealDistribution
      */
     private int findBin(double value) {
         return FastMath.min(
-                FastMath.max((int) FastMath.ceil((value - min) / delta) - 1, 0),
+                FastMath.max((int) FastMath.ceil((value - origin) / delta) - 1, 0),
                 binCount - 1);
     }
 
@@ -440,7 +599,9 @@ public class EmpiricalDistribution extends AbstractRealDistribution
      * <p>Returns a fresh copy of the array of upper bounds for the bins.
      * Bins are: <br>
      * [min,upperBounds[0]],(upperBounds[0],upperBounds[1]],...,
-     *  (upperBounds[binCount-2], upperBounds[binCount-1] = max].</p>
+     *  (upperBounds[binCount-2], upperBounds[binCount-1] = max].
+     * Bounds of bins lying outside of [min, max] (which only occur after
+     * a single-pass load) are clamped to that range.</p>
      *
      * <p>Note: In versions 1.0-2.0 of commons-math, this method
      * incorrectly returned the array of probability generator upper
@@ -452,7 +613,7 @@ public class EmpiricalDistribution extends AbstractRealDistribution
     public double[] getUpperBounds() {
         double[] binUpperBounds = new double[binCount];
         for (int i = 0; i < binCount - 1; i++) {
-            binUpperBounds[i] = min + delta * (i + 1);
+            binUpperBounds[i] = FastMath.max(min, FastMath.min(max, origin + delta * (i + 1)));
         }
         binUpperBounds[binCount - 1] = max;
         return binUpperBounds;
@@ -744,4 +905,417 @@ public class EmpiricalDistribution extends AbstractRealDistribution
             return new NormalDistribution(bStats.getMean(), bStats.getStandardDeviation());
         }
     }
+
+    /**
+     * Histogram built in a single pass over the data.
+     * <p>
+     * The first values are buffered in order to set up a provisional grid
+     * spanning their range; if all the values fit in the buffer, the grid
+     * is the same as the one used by the two-pass loaders.  Whenever a value
+     * falls outside of the grid, its width is doubled (extending it towards
+     * the value) and adjacent bins are merged pairwise.
+     * </p>
+     */
+    private static class StreamingBins {
+        /** Number of values buffered before the provisional grid is set up. */
+        private static final int SAMPLE_SIZE = 1 << 16;
+        /** Number of bins. */
+        private final int binCount;
+        /** Buffer holding the first values. */
+        private final double[] sample;
+        /** Number of values held in the buffer. */
+        private int sampleSize;
+        /** Whether the grid has been set up. */
+        private boolean gridded;
+        /** Lower bound of the grid. */
+        private double origin;
+        /** Width of the bins. */
+        private double width;
+        /** Number of values in each bin. */
+        private long[] binN;
+        /** Mean of the values in each bin. */
+        private double[] binMean;
+        /** Sum of squared deviations from the mean in each bin. */
+        private double[] binM2;
+        /** Smallest value in each bin. */
+        private double[] binMin;
+        /** Largest value in each bin. */
+        private double[] binMax;
+        /** Sum of the values in each bin. */
+        private double[] binSum;
+        /** Sum of the squared values in each bin. */
+        private double[] binSumsq;
+        /** Number of values. */
+        private long n;
+        /** Mean of the values. */
+        private double mean;
+        /** Sum of squared deviations from the mean. */
+        private double m2;
+        /** Smallest value. */
+        private double min = Double.POSITIVE_INFINITY;
+        /** Largest value. */
+        private double max = Double.NEGATIVE_INFINITY;
+        /** Sum of the values. */
+        private double sum;
+        /** Sum of the squared values. */
+        private double sumsq;
+
+        /**
+         * @param binCount Number of bins.
+         */
+        StreamingBins(int binCount) {
+            this.binCount = binCount;
+            sample = new double[FastMath.max(binCount, SAMPLE_SIZE)];
+            allocate();
+        }
+
+        /**
+         * @return the number of values added so far.
+         */
+        long getN() {
+            return n;
+        }
+
+        /**
+         * @return the lower bound of the grid.
+         */
+        double getOrigin() {
+            return origin;
+        }
+
+        /**
+         * @return the width of the bins.
+         */
+        double getWidth() {
+            return width;
+        }
+
+        /**
+         * Adds a value.
+         *
+         * @param x Value.
+         * @throws NotFiniteNumberException if {@code x} is infinite or NaN.
+         */
+        void add(double x) {
+            if (Double.isNaN(x) || Double.isInfinite(x)) {
+                throw new NotFiniteNumberException(x);
+            }
+
+            // Same updating formulas as the "moment" package.
+            ++n;
+            final double dev = x - mean;
+            final double nDev = dev / n;
+            mean += nDev;
+            m2 += (n - 1d) * dev * nDev;
+            min = FastMath.min(min, x);
+            max = FastMath.max(max, x);
+            sum += x;
+            sumsq += x * x;
+
+            if (!gridded) {
+                if (sampleSize < sample.length) {
+                    sample[sampleSize++] = x;
+                    return;
+                }
+                setUpGrid();
+            }
+
+            while (!contains(x)) {
+                doubleWidth(x < origin);
+            }
+            addToBin(x);
+        }
+
+        /**
+         * Adds all the remaining values of a buffer.
+         *
+         * @param values Values.
+         * @param chunk Work array for bulk transfers.
+         * @throws NotFiniteNumberException if a value is infinite or NaN.
+         */
+        void add(DoubleBuffer values,
+                 double[] chunk) {
+            while (values.hasRemaining()) {
+                final int len = FastMath.min(chunk.length, values.remaining());
+                values.get(chunk, 0, len);
+                for (int i = 0; i < len; i++) {
+                    add(chunk[i]);
+                }
+            }
+        }
+
+        /**
+         * Sets up the grid if all the values are still buffered.
+         */
+        void finish() {
+            if (!gridded) {
+                setUpGrid();
+            }
+        }
+
+        /**
+         * @return the statistics of all the values.
+         */
+        SummaryStatistics getSampleStats() {
+            return new MomentStatistics(n, mean, m2, min, max, sum, sumsq);
+        }
+
+        /**
+         * @param i Bin index.
+         * @return the statistics of the values in bin {@code i}.
+         */
+        SummaryStatistics getBinStats(int i) {
+            return new MomentStatistics(binN[i], binMean[i], binM2[i],
+                                        binMin[i], binMax[i], binSum[i], binSumsq[i]);
+        }
+
+        /**
+         * Sets up the grid over the range of the buffered values and
+         * bins them.
+         */
+        private void setUpGrid() {
+            origin = min;
+            width = (max - min) / binCount;
+            if (width == 0) {
+                // Will be widened as soon as a different value is added.
+                width = FastMath.ulp(min);
+            }
+            gridded = true;
+            for (int i = 0; i < sampleSize; i++) {
+                addToBin(sample[i]);
+            }
+        }
+
+        /**
+         * @param x Value.
+         * @return whether {@code x} lies within the grid.
+         */
+        private boolean contains(double x) {
+            return (x >= origin && (x - origin) / width <= binCount) ||
+                Double.isInfinite(width);
+        }
+
+        /**
+         * Doubles the width of the bins.
+         *
+         * @param downwards Whether to extend the grid below its current
+         * lower bound (rather than above its upper bound).
+         */
+        private void doubleWidth(boolean downwards) {
+            final long[] n0 = binN;
+            final double[] mean0 = binMean;
+            final double[] m20 = binM2;
+            final double[] min0 = binMin;
+            final double[] max0 = binMax;
+            final double[] sum0 = binSum;
+            final double[] sumsq0 = binSumsq;
+            allocate();
+
+            final int shift = downwards ? binCount : 0;
+            if (downwards) {
+                origin -= binCount * width;
+            }
+            width *= 2;
+
+            for (int i = 0; i < binCount; i++) {
+                final long nI = n0[i];
+                if (nI == 0) {
+                    continue;
+                }
+                final int j = (shift + i) / 2;
+                final long nJ = binN[j];
+                if (nJ == 0) {
+                    binMean[j] = mean0[i];
+                    binM2[j] = m20[i];
+                } else {
+                    final long nIJ = nI + nJ;
+                    final double d = mean0[i] - binMean[j];
+                    binMean[j] += d * nI / nIJ;
+                    binM2[j] += m20[i] + d * d * ((double) nI * nJ / nIJ);
+                }
+                binN[j] = nJ + nI;
+                binMin[j] = FastMath.min(binMin[j], min0[i]);
+                binMax[j] = FastMath.max(binMax[j], max0[i]);
+                binSum[j] += sum0[i];
+                binSumsq[j] += sumsq0[i];
+            }
+        }
+
+        /**
+         * Adds a value to the bin that contains it.
+         *
+         * @param x Value.
+         */
+        private void addToBin(double x) {
+            final int i = FastMath.min(FastMath.max((int) FastMath.ceil((x - origin) / width) - 1, 0),
+                                       binCount - 1);
+            final long nI = ++binN[i];
+            final double dev = x - binMean[i];
+            final double nDev = dev / nI;
+            binMean[i] += nDev;
+            binM2[i] += (nI - 1d) * dev * nDev;
+            binMin[i] = FastMath.min(binMin[i], x);
+            binMax[i] = FastMath.max(binMax[i], x);
+            binSum[i] += x;
+            binSumsq[i] += x * x;
+        }
+
+        /**
+         * Allocates empty bins.
+         */
+        private void allocate() {
+            binN = new long[binCount];
+            binMean = new double[binCount];
+            binM2 = new double[binCount];
+            binMin = new double[binCount];
+            binMax = new double[binCount];
+            binSum = new double[binCount];
+            binSumsq = new double[binCount];
+            Arrays.fill(binMin, Double.POSITIVE_INFINITY);
+            Arrays.fill(binMax, Double.NEGATIVE_INFINITY);
+        }
+    }
+
+    /**
+     * Read-only statistics computed from moments accumulated elsewhere.
+     * <p>
+     * The sum of logs and the geometric mean are not available and are
+     * reported as {@code NaN}; the setters of the implementations have
+     * no effect on the reported values, and instances can be neither
+     * updated nor appended.
+     * </p>
+     */
+    private static class MomentStatistics extends SummaryStatistics {
+        /** Serializable version identifier. */
+        private static final long serialVersionUID = 20200321L;
+        /** Number of values. */
+        private final long n;
+        /** Mean. */
+        private final double mean;
+        /** Sum of squared deviations from the mean. */
+        private final double m2;
+        /** Smallest value. */
+        private final double min;
+        /** Largest value. */
+        private final double max;
+        /** Sum of the values. */
+        private final double sum;
+        /** Sum of the squared values. */
+        private final double sumsq;
+
+        /**
+         * @param n Number of values.
+         * @param mean Mean.
+         * @param m2 Sum of squared deviations from the mean.
+         * @param min Smallest value.
+         * @param max Largest value.
+         * @param sum Sum of the values.
+         * @param sumsq Sum of the squared values.
+         */
+        MomentStatistics(long n,
+                         double mean,
+                         double m2,
+                         double min,
+                         double max,
+                         double sum,
+                         double sumsq) {
+            this.n = n;
+            this.mean = mean;
+            this.m2 = m2;
+            this.min = min;
+            this.max = max;
+            this.sum = sum;
+            this.sumsq = sumsq;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void addValue(double value) {
+            throw new MathUnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void clear() {
+            throw new MathUnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void append(SummaryStatistics other) {
+            throw new MathUnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long getN() {
+            return n;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getSum() {
+            return sum;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getSumsq() {
+            return sumsq;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getMean() {
+            return n == 0 ? Double.NaN : mean;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getVariance() {
+            return n == 0 ? Double.NaN : n == 1 ? 0d : m2 / (n - 1d);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getPopulationVariance() {
+            return n == 0 ? Double.NaN : m2 / n;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getMax() {
+            return n == 0 ? Double.NaN : max;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getMin() {
+            return n == 0 ? Double.NaN : min;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getGeometricMean() {
+            return Double.NaN;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getSumOfLogs() {
+            return Double.NaN;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getSecondMoment() {
+            return n == 0 ? Double.NaN : m2;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public SummaryStatistics copy() {
+            return new MomentStatistics(n, mean, m2, min, max, sum, sumsq);
+        }
+    }
 }
@@ -17,20 +17,27 @@
 package org.apache.commons.math4.fitting.leastsquares;
 
 import org.apache.commons.math4.exception.ConvergenceException;
+import org.apache.commons.math4.exception.MaxCountExceededException;
 import org.apache.commons.math4.exception.NullArgumentException;
 import org.apache.commons.math4.exception.util.LocalizedFormats;
 import org.apache.commons.math4.fitting.leastsquares.LeastSquaresProblem.Evaluation;
 import org.apache.commons.math4.linear.ArrayRealVector;
+import org.apache.commons.math4.linear.CSCRealMatrix;
+import org.apache.commons.math4.linear.CSRRealMatrix;
 import org.apache.commons.math4.linear.CholeskyDecomposition;
+import org.apache.commons.math4.linear.ConjugateGradient;
+import org.apache.commons.math4.linear.JacobiPreconditioner;
 import org.apache.commons.math4.linear.LUDecomposition;
 import org.apache.commons.math4.linear.MatrixUtils;
 import org.apache.commons.math4.linear.NonPositiveDefiniteMatrixException;
 import org.apache.commons.math4.linear.QRDecomposition;
+import org.apache.commons.math4.linear.RealLinearOperator;
 import org.apache.commons.math4.linear.RealMatrix;
 import org.apache.commons.math4.linear.RealVector;
 import org.apache.commons.math4.linear.SingularMatrixException;
 import org.apache.commons.math4.linear.SingularValueDecomposition;
 import org.apache.commons.math4.optim.ConvergenceChecker;
+import org.apache.commons.math4.util.FastMath;
 import org.apache.commons.math4.util.IntegerSequence;
 import org.apache.commons.math4.util.Pair;
 
@@ -41,7 +48,10 @@ import org.apache.commons.math4.util.Pair;
  * decomposition or Cholesky decomposition can be used to solve the normal equations,
  * or QR decomposition or SVD decomposition can be used to solve the linear system. LU
  * decomposition is faster but QR decomposition is more robust for difficult problems,
- * and SVD can compute a solution for rank-deficient problems.
+ * and SVD can compute a solution for rank-deficient problems. The conjugate gradient
+ * method solves the normal equations iteratively using only products by the Jacobian
+ * and its transpose; it is the method of choice for large problems with a sparse
+ * Jacobian.
  * </p>
  *
  * @since 3.3
@@ -138,6 +148,42 @@ public class GaussNewtonOptimizer implements LeastSquaresOptimizer {
                         .getSolver()
                         .solve(residuals);
             }
+        },
+        /**
+         * Solve the normal equations (J<sup>T</sup>Jx=J<sup>T</sup>r) with the
+         * Jacobi-preconditioned {@link ConjugateGradient} method, without forming
+         * J<sup>T</sup>J.
+         *
+         * <p> Each iteration only requires one product by J and one by J<sup>T</sup>,
+         * so that memory use and computing time scale with the number of non-zero
+         * entries when the Jacobian is a sparse matrix such as a {@link CSRRealMatrix}.
+         * This makes it suitable for large problems whose Jacobian is too big to be
+         * stored as a dense matrix. </p>
+         *
+         * @since 4.0
+         */
+        CONJUGATE_GRADIENT {
+            @Override
+            protected RealVector solve(final RealMatrix jacobian,
+                                       final RealVector residuals) {
+                final int nC = jacobian.getColumnDimension();
+                final double[] diagonal = computeColumnSquaredNorms(jacobian);
+                for (int j = 0; j < nC; j++) {
+                    if (diagonal[j] == 0) {
+                        diagonal[j] = 1;
+                    }
+                }
+                final ConjugateGradient solver
+                    = new ConjugateGradient(FastMath.max(10 * nC, CG_MIN_ITERATIONS),
+                                            CG_RELATIVE_TOLERANCE, false);
+                try {
+                    return solver.solve(new NormalOperator(jacobian),
+                                        new JacobiPreconditioner(diagonal, false),
+                                        jacobian.preMultiply(residuals));
+                } catch (MaxCountExceededException e) {
+                    throw new ConvergenceException(LocalizedFormats.UNABLE_TO_SOLVE_SINGULAR_PROBLEM, e);
+                }
+            }
         };
 
         /**
@@ -160,6 +206,10 @@ public class GaussNewtonOptimizer implements LeastSquaresOptimizer {
      * LUDecomposition}.
      */
     private static final double SINGULARITY_THRESHOLD = 1e-11;
+    /** Relative tolerance on the residual of the conjugate gradient iterations. */
+    private static final double CG_RELATIVE_TOLERANCE = 1e-12;
+    /** Minimum number of conjugate gradient iterations allowed. */
+    private static final int CG_MIN_ITERATIONS = 100;
 
     /** Indicator for using LU decomposition. */
     private final Decomposition decomposition;
@@ -297,4 +347,75 @@ public class GaussNewtonOptimizer implements LeastSquaresOptimizer {
         return new Pair<>(normal, jTr);
     }
 
+    /**
+     * Compute the diagonal of the normal matrix, J<sup>T</sup>J.
+     *
+     * @param jacobian the m by n jacobian matrix, J.
+     * @return the squared Euclidean norms of the columns of J.
+     */
+    private static double[] computeColumnSquaredNorms(final RealMatrix jacobian) {
+        final int nR = jacobian.getRowDimension();
+        final int nC = jacobian.getColumnDimension();
+        final double[] norms = new double[nC];
+        if (jacobian instanceof CSRRealMatrix) {
+            final CSRRealMatrix sparse = (CSRRealMatrix) jacobian;
+            final int[] columns = sparse.getColumnIndices();
+            final double[] values = sparse.getValues();
+            for (int k = 0; k < values.length; k++) {
+                norms[columns[k]] += values[k] * values[k];
+            }
+        } else if (jacobian instanceof CSCRealMatrix) {
+            final CSCRealMatrix sparse = (CSCRealMatrix) jacobian;
+            final int[] pointers = sparse.getColumnPointers();
+            final double[] values = sparse.getValues();
+            for (int j = 0; j < nC; j++) {
+                for (int k = pointers[j]; k < pointers[j + 1]; k++) {
+                    norms[j] += values[k] * values[k];
+                }
+            }
+        } else {
+            for (int i = 0; i < nR; ++i) {
+                for (int j = 0; j < nC; j++) {
+                    final double jIJ = jacobian.getEntry(i, j);
+                    norms[j] += jIJ * jIJ;
+                }
+            }
+        }
+        return norms;
+    }
+
+    /**
+     * The normal matrix J<sup>T</sup>J, represented implicitly by the
+     * Jacobian J.
+     */
+    private static class NormalOperator extends RealLinearOperator {
+        /** Jacobian. */
+        private final RealMatrix jacobian;
+
+        /**
+         * @param jacobian the m by n jacobian matrix, J.
+         */
+        NormalOperator(final RealMatrix jacobian) {
+            this.jacobian = jacobian;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getRowDimension() {
+            return jacobian.getColumnDimension();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getColumnDimension() {
+            return jacobian.getColumnDimension();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealVector operate(final RealVector x) {
+            return jacobian.preMultiply(jacobian.operate(x));
+        }
+    }
+
 }
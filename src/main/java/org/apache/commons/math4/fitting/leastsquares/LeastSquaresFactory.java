@@ -16,9 +16,12 @@
  */
 package org.apache.commons.math4.fitting.leastsquares;
 
+import java.util.concurrent.ExecutorService;
+
 import org.apache.commons.math4.analysis.MultivariateMatrixFunction;
 import org.apache.commons.math4.analysis.MultivariateVectorFunction;
 import org.apache.commons.math4.exception.MathIllegalStateException;
+import org.apache.commons.math4.exception.NotStrictlyPositiveException;
 import org.apache.commons.math4.exception.util.LocalizedFormats;
 import org.apache.commons.math4.fitting.leastsquares.LeastSquaresProblem.Evaluation;
 import org.apache.commons.math4.linear.Array2DRowRealMatrix;
@@ -30,8 +33,10 @@ import org.apache.commons.math4.linear.RealVector;
 import org.apache.commons.math4.optim.AbstractOptimizationProblem;
 import org.apache.commons.math4.optim.ConvergenceChecker;
 import org.apache.commons.math4.optim.PointVectorValuePair;
+import org.apache.commons.math4.util.ConcurrencyUtils;
 import org.apache.commons.math4.util.FastMath;
 import org.apache.commons.math4.util.IntegerSequence;
+import org.apache.commons.math4.util.MathUtils;
 import org.apache.commons.math4.util.Pair;
 
 /**
@@ -41,6 +46,9 @@ import org.apache.commons.math4.util.Pair;
  */
 public class LeastSquaresFactory {
 
+    /** Number of observations evaluated by each task of a data-parallel model. */
+    private static final int OBSERVATIONS_PER_TASK = 4096;
+
     /** Prevent instantiation. */
     private LeastSquaresFactory() {}
 
@@ -300,6 +308,30 @@ public class LeastSquaresFactory {
         return new LocalValueAndJacobianFunction(value, jacobian);
     }
 
+    /**
+     * Create a data-parallel {@link MultivariateJacobianFunction}: the
+     * observations are split into contiguous blocks which are evaluated
+     * concurrently.
+     * The returned function also supports lazy evaluation
+     * (see {@link LeastSquaresBuilder#lazyEvaluation(boolean)}).
+     *
+     * @param model Function that evaluates a block of observations.
+     * @param observationSize Number of observations.
+     * @param executor Executor used to evaluate the blocks.
+     * @return a function that computes the values and the Jacobian of
+     * all the observations.
+     * @throws org.apache.commons.math4.exception.NullArgumentException
+     * if {@code model} or {@code executor} is {@code null}.
+     * @throws org.apache.commons.math4.exception.NotStrictlyPositiveException
+     * if {@code observationSize <= 0}.
+     * @since 4.0
+     */
+    public static MultivariateJacobianFunction model(final ObservationBlockFunction model,
+                                                     final int observationSize,
+                                                     final ExecutorService executor) {
+        return new ParallelValueAndJacobianFunction(model, observationSize, executor);
+    }
+
     /**
      * Combine a {@link MultivariateVectorFunction} with a {@link
      * MultivariateMatrixFunction} to produce a {@link MultivariateJacobianFunction}.
@@ -344,6 +376,81 @@ public class LeastSquaresFactory {
         }
     }
 
+    /**
+     * Evaluates an {@link ObservationBlockFunction} by blocks of observations
+     * run concurrently.
+     */
+    private static class ParallelValueAndJacobianFunction
+        implements ValueAndJacobianFunction {
+        /** Block model. */
+        private final ObservationBlockFunction model;
+        /** Number of observations. */
+        private final int observationSize;
+        /** Executor. */
+        private final ExecutorService executor;
+
+        /**
+         * @param model Block model.
+         * @param observationSize Number of observations.
+         * @param executor Executor.
+         */
+        ParallelValueAndJacobianFunction(final ObservationBlockFunction model,
+                                         final int observationSize,
+                                         final ExecutorService executor) {
+            MathUtils.checkNotNull(model);
+            MathUtils.checkNotNull(executor);
+            if (observationSize <= 0) {
+                throw new NotStrictlyPositiveException(observationSize);
+            }
+            this.model = model;
+            this.observationSize = observationSize;
+            this.executor = executor;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Pair<RealVector, RealMatrix> value(final RealVector point) {
+            final double[] p = point.toArray();
+            final double[] values = new double[observationSize];
+            final double[][] jacobian = new double[observationSize][p.length];
+            evaluate(p, values, jacobian);
+            return new Pair<>(new ArrayRealVector(values, false),
+                              new Array2DRowRealMatrix(jacobian, false));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealVector computeValue(final double[] params) {
+            final double[] values = new double[observationSize];
+            evaluate(params, values, null);
+            return new ArrayRealVector(values, false);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrix computeJacobian(final double[] params) {
+            final double[][] jacobian = new double[observationSize][params.length];
+            evaluate(params, null, jacobian);
+            return new Array2DRowRealMatrix(jacobian, false);
+        }
+
+        /**
+         * Evaluates all the blocks.
+         *
+         * @param params Point.
+         * @param values Values to fill (may be {@code null}).
+         * @param jacobian Jacobian to fill (may be {@code null}).
+         */
+        private void evaluate(final double[] params,
+                              final double[] values,
+                              final double[][] jacobian) {
+            final int tasks = FastMath.max(1, (observationSize + OBSERVATIONS_PER_TASK - 1) /
+                                           OBSERVATIONS_PER_TASK);
+            ConcurrencyUtils.forEachRange(executor, observationSize, tasks,
+                                          (start, end) -> model.value(params.clone(), start, end,
+                                                                      values, jacobian));
+        }
+    }
 
     /**
      * A private, "field" immutable (not "real" immutable) implementation of {@link
@@ -17,6 +17,8 @@
 package org.apache.commons.math4.fitting.leastsquares;
 
 import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.function.IntConsumer;
 
 import org.apache.commons.math4.exception.ConvergenceException;
 import org.apache.commons.math4.exception.util.LocalizedFormats;
@@ -24,6 +26,7 @@ import org.apache.commons.math4.fitting.leastsquares.LeastSquaresProblem.Evaluat
 import org.apache.commons.math4.linear.ArrayRealVector;
 import org.apache.commons.math4.linear.RealMatrix;
 import org.apache.commons.math4.optim.ConvergenceChecker;
+import org.apache.commons.math4.util.ConcurrencyUtils;
 import org.apache.commons.math4.util.FastMath;
 import org.apache.commons.math4.util.IntegerSequence;
 import org.apache.commons.numbers.core.Precision;
@@ -124,6 +127,8 @@ public class LevenbergMarquardtOptimizer implements LeastSquaresOptimizer {
     private final double orthoTolerance;
     /** Threshold for QR ranking. */
     private final double qrRankingThreshold;
+    /** Executor used to transform the Jacobian columns (may be {@code null}). */
+    private final ExecutorService executor;
 
     /** Default constructor.
      * <p>
@@ -157,11 +162,32 @@ public class LevenbergMarquardtOptimizer implements LeastSquaresOptimizer {
             final double parRelativeTolerance,
             final double orthoTolerance,
             final double qrRankingThreshold) {
+        this(initialStepBoundFactor, costRelativeTolerance, parRelativeTolerance,
+             orthoTolerance, qrRankingThreshold, null);
+    }
+
+    /**
+     * @param initialStepBoundFactor initial step bound factor
+     * @param costRelativeTolerance  cost relative tolerance
+     * @param parRelativeTolerance   parameters relative tolerance
+     * @param orthoTolerance         orthogonality tolerance
+     * @param qrRankingThreshold     threshold in the QR decomposition.
+     * @param executor               executor used for the QR decomposition
+     *                               (may be {@code null}).
+     */
+    private LevenbergMarquardtOptimizer(
+            final double initialStepBoundFactor,
+            final double costRelativeTolerance,
+            final double parRelativeTolerance,
+            final double orthoTolerance,
+            final double qrRankingThreshold,
+            final ExecutorService executor) {
         this.initialStepBoundFactor = initialStepBoundFactor;
         this.costRelativeTolerance = costRelativeTolerance;
         this.parRelativeTolerance = parRelativeTolerance;
         this.orthoTolerance = orthoTolerance;
         this.qrRankingThreshold = qrRankingThreshold;
+        this.executor = executor;
     }
 
     /**
@@ -180,7 +206,8 @@ public class LevenbergMarquardtOptimizer implements LeastSquaresOptimizer {
                 costRelativeTolerance,
                 parRelativeTolerance,
                 orthoTolerance,
-                qrRankingThreshold);
+                qrRankingThreshold,
+                executor);
     }
 
     /**
@@ -193,7 +220,8 @@ public class LevenbergMarquardtOptimizer implements LeastSquaresOptimizer {
                 newCostRelativeTolerance,
                 parRelativeTolerance,
                 orthoTolerance,
-                qrRankingThreshold);
+                qrRankingThreshold,
+                executor);
     }
 
     /**
@@ -207,7 +235,8 @@ public class LevenbergMarquardtOptimizer implements LeastSquaresOptimizer {
                 costRelativeTolerance,
                 newParRelativeTolerance,
                 orthoTolerance,
-                qrRankingThreshold);
+                qrRankingThreshold,
+                executor);
     }
 
     /**
@@ -223,7 +252,8 @@ public class LevenbergMarquardtOptimizer implements LeastSquaresOptimizer {
                 costRelativeTolerance,
                 parRelativeTolerance,
                 newOrthoTolerance,
-                qrRankingThreshold);
+                qrRankingThreshold,
+                executor);
     }
 
     /**
@@ -239,7 +269,31 @@ public class LevenbergMarquardtOptimizer implements LeastSquaresOptimizer {
                 costRelativeTolerance,
                 parRelativeTolerance,
                 orthoTolerance,
-                newQRRankingThreshold);
+                newQRRankingThreshold,
+                executor);
+    }
+
+    /**
+     * Builds an instance which performs the QR decomposition of the Jacobian
+     * concurrently: at each Householder step, the norms of the remaining
+     * columns and their transformations are computed by separate tasks.
+     * This pays off when the number of observations is large.
+     * The results are identical to those of the sequential decomposition.
+     *
+     * @param newExecutor Executor used to transform the columns of the
+     * Jacobian, or {@code null} to perform all the computations in the
+     * calling thread.
+     * @return a new instance.
+     * @since 4.0
+     */
+    public LevenbergMarquardtOptimizer withExecutor(ExecutorService newExecutor) {
+        return new LevenbergMarquardtOptimizer(
+                initialStepBoundFactor,
+                costRelativeTolerance,
+                parRelativeTolerance,
+                orthoTolerance,
+                qrRankingThreshold,
+                newExecutor);
     }
 
     /**
@@ -960,17 +1014,23 @@ public class LevenbergMarquardtOptimizer implements LeastSquaresOptimizer {
         }
 
         // transform the matrix column after column
+        final double[] activeNorm2 = new double[nC];
         for (int k = 0; k < nC; ++k) {
 
             // select the column with the greatest norm on active components
+            final int first = k;
+            forEachColumn(nC - k, i -> {
+                    double norm2 = 0;
+                    for (int j = first; j < nR; ++j) {
+                        double aki = weightedJacobian[j][permutation[first + i]];
+                        norm2 += aki * aki;
+                    }
+                    activeNorm2[first + i] = norm2;
+                });
             int nextColumn = -1;
             double ak2 = Double.NEGATIVE_INFINITY;
             for (int i = k; i < nC; ++i) {
-                double norm2 = 0;
-                for (int j = k; j < nR; ++j) {
-                    double aki = weightedJacobian[j][permutation[i]];
-                    norm2 += aki * aki;
-                }
+                final double norm2 = activeNorm2[i];
                 if (Double.isInfinite(norm2) || Double.isNaN(norm2)) {
                     throw new ConvergenceException(LocalizedFormats.UNABLE_TO_PERFORM_QR_DECOMPOSITION_ON_JACOBIAN,
                                                    nR, nC);
@@ -998,21 +1058,40 @@ public class LevenbergMarquardtOptimizer implements LeastSquaresOptimizer {
             weightedJacobian[k][pk] -= alpha;
 
             // transform the remaining columns
-            for (int dk = nC - 1 - k; dk > 0; --dk) {
-                double gamma = 0;
-                for (int j = k; j < nR; ++j) {
-                    gamma += weightedJacobian[j][pk] * weightedJacobian[j][permutation[k + dk]];
-                }
-                gamma *= betak;
-                for (int j = k; j < nR; ++j) {
-                    weightedJacobian[j][permutation[k + dk]] -= gamma * weightedJacobian[j][pk];
-                }
-            }
+            forEachColumn(nC - 1 - k, i -> {
+                    final int pc = permutation[first + 1 + i];
+                    double gamma = 0;
+                    for (int j = first; j < nR; ++j) {
+                        gamma += weightedJacobian[j][pk] * weightedJacobian[j][pc];
+                    }
+                    gamma *= betak;
+                    for (int j = first; j < nR; ++j) {
+                        weightedJacobian[j][pc] -= gamma * weightedJacobian[j][pk];
+                    }
+                });
         }
 
         return new InternalData(weightedJacobian, permutation, solvedCols, diagR, jacNorm, beta);
     }
 
+    /**
+     * Applies an action to independent columns, concurrently if an executor
+     * was configured.
+     *
+     * @param n Number of columns.
+     * @param body Action performed on each column index in {@code [0, n)}.
+     */
+    private void forEachColumn(int n,
+                               IntConsumer body) {
+        if (executor == null || n <= 1) {
+            for (int i = 0; i < n; i++) {
+                body.accept(i);
+            }
+        } else {
+            ConcurrencyUtils.forEach(executor, n, body);
+        }
+    }
+
     /**
      * Compute the product Qt.y for some Q.R. decomposition.
      *
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.fitting.leastsquares;
+
+/**
+ * Model function whose values and Jacobian rows can be computed
+ * independently for any contiguous block of observations.
+ * <p>
+ * Implementations are called concurrently for disjoint blocks by the
+ * adapter returned by
+ * {@link LeastSquaresFactory#model(ObservationBlockFunction, int, java.util.concurrent.ExecutorService)},
+ * and must therefore be thread-safe.
+ * </p>
+ *
+ * @since 4.0
+ */
+@FunctionalInterface
+public interface ObservationBlockFunction {
+    /**
+     * Computes the model values and Jacobian rows of the observations
+     * with indices {@code start} (inclusive) to {@code end} (exclusive).
+     * Only the entries of {@code values} and {@code jacobian} in that range
+     * may be written.
+     *
+     * @param params Point at which the model is evaluated.
+     * @param start First observation of the block (inclusive).
+     * @param end Last observation of the block (exclusive).
+     * @param values Array to fill with the model values, or {@code null}
+     * if the values are not needed.
+     * @param jacobian Array whose rows must be filled with the partial
+     * derivatives of the model values, or {@code null} if the Jacobian is
+     * not needed. Rows have length {@code params.length}.
+     */
+    void value(double[] params, int start, int end,
+               double[] values, double[][] jacobian);
+}
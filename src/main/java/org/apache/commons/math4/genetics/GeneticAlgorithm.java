@@ -16,14 +16,31 @@
  */
 package org.apache.commons.math4.genetics;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
 import org.apache.commons.math4.exception.OutOfRangeException;
 import org.apache.commons.math4.exception.util.LocalizedFormats;
+import org.apache.commons.math4.util.ConcurrencyUtils;
 import org.apache.commons.rng.simple.RandomSource;
 import org.apache.commons.rng.UniformRandomProvider;
 
 /**
  * Implementation of a genetic algorithm. All factors that govern the operation
  * of the algorithm can be configured for a specific problem.
+ * <p>
+ * The {@link #evolve(Population,StoppingCondition,ExecutorService) evolve} and
+ * {@link #nextGeneration(Population,ExecutorService) nextGeneration} overloads
+ * that take an executor compute the fitness of the chromosomes and create the
+ * offspring concurrently. The policies then draw their random numbers from
+ * a separate stream for each pair of offspring (see {@link #getRandomGenerator()}),
+ * so that the result only depends on the seed of the static generator.
+ * </p>
  *
  * @since 2.0
  */
@@ -34,8 +51,14 @@ public class GeneticAlgorithm {
      * Use {@link #setRandomGenerator(UniformRandomProvider)} to supply an
      * alternative to the default PRNG, and/or select a specific seed.
      */
-    //@GuardedBy("this")
-    private static UniformRandomProvider randomGenerator = RandomSource.create(RandomSource.WELL_19937_C);
+    private static volatile UniformRandomProvider randomGenerator = RandomSource.create(RandomSource.WELL_19937_C);
+
+    /**
+     * Random generator of the pair of offspring being created by the current
+     * thread during a concurrent {@link #nextGeneration(Population,ExecutorService)
+     * nextGeneration}.
+     */
+    private static final ThreadLocal<UniformRandomProvider> OFFSPRING_GENERATOR = new ThreadLocal<>();
 
     /** the crossover policy used by the algorithm. */
     private final CrossoverPolicy crossoverPolicy;
@@ -90,17 +113,21 @@ public class GeneticAlgorithm {
      *
      * @param random random generator
      */
-    public static synchronized void setRandomGenerator(final UniformRandomProvider random) {
+    public static void setRandomGenerator(final UniformRandomProvider random) {
         randomGenerator = random;
     }
 
     /**
-     * Returns the (static) random generator.
+     * Returns the random generator to be used by GA implementation classes.
+     * This is the (static) random generator, except within the tasks of a
+     * concurrent {@link #nextGeneration(Population,ExecutorService) nextGeneration},
+     * where it is the generator dedicated to the pair of offspring being created.
      *
-     * @return the static random generator shared by GA implementation classes
+     * @return the random generator to be used by the calling thread
      */
-    public static synchronized UniformRandomProvider getRandomGenerator() {
-        return randomGenerator;
+    public static UniformRandomProvider getRandomGenerator() {
+        final UniformRandomProvider local = OFFSPRING_GENERATOR.get();
+        return local == null ? randomGenerator : local;
     }
 
     /**
@@ -123,6 +150,33 @@ public class GeneticAlgorithm {
         return current;
     }
 
+    /**
+     * Evolve the given population, using {@code executor} to compute the fitness
+     * of the chromosomes and to create the offspring of each generation
+     * concurrently.
+     * Evolution stops when the stopping condition is satisfied. Updates the
+     * {@link #getGenerationsEvolved() generationsEvolved} property with the number
+     * of generations evolved before the StoppingCondition is satisfied.
+     *
+     * @param initial the initial, seed population.
+     * @param condition the stopping condition used to stop evolution.
+     * @param executor the executor used to run the computations.
+     * @return the population that satisfies the stopping condition.
+     * @see #nextGeneration(Population,ExecutorService)
+     * @since 4.0
+     */
+    public Population evolve(final Population initial,
+                             final StoppingCondition condition,
+                             final ExecutorService executor) {
+        Population current = initial;
+        generationsEvolved = 0;
+        while (!condition.isSatisfied(current)) {
+            current = nextGeneration(current, executor);
+            generationsEvolved++;
+        }
+        return current;
+    }
+
     /**
      * Evolve the given population into the next generation.
      * <ol>
@@ -147,25 +201,8 @@ public class GeneticAlgorithm {
     public Population nextGeneration(final Population current) {
         Population nextGeneration = current.nextGeneration();
 
-        UniformRandomProvider randGen = getRandomGenerator();
-
         while (nextGeneration.getPopulationSize() < nextGeneration.getPopulationLimit()) {
-            // select parent chromosomes
-            ChromosomePair pair = getSelectionPolicy().select(current);
-
-            // crossover?
-            if (randGen.nextDouble() < getCrossoverRate()) {
-                // apply crossover policy to create two offspring
-                pair = getCrossoverPolicy().crossover(pair.getFirst(), pair.getSecond());
-            }
-
-            // mutation?
-            if (randGen.nextDouble() < getMutationRate()) {
-                // apply mutation policy to the chromosomes
-                pair = new ChromosomePair(
-                    getMutationPolicy().mutate(pair.getFirst()),
-                    getMutationPolicy().mutate(pair.getSecond()));
-            }
+            final ChromosomePair pair = createOffspring(current);
 
             // add the first chromosome to the population
             nextGeneration.addChromosome(pair.getFirst());
@@ -179,6 +216,130 @@ public class GeneticAlgorithm {
         return nextGeneration;
     }
 
+    /**
+     * Evolve the given population into the next generation, using
+     * {@code executor} to run the computations concurrently.
+     * <ol>
+     *  <li>Compute the fitness of all the chromosomes of <code>current</code>
+     *      (see {@link #evaluateFitness(Population,ExecutorService)})</li>
+     *  <li>Get nextGeneration population to fill from <code>current</code>
+     *      generation, using its nextGeneration method</li>
+     *  <li>Draw one seed per pair of offspring needed to fill nextGeneration from
+     *      the static random generator</li>
+     *  <li>Concurrently, for each pair: select the parents, apply the crossover
+     *      and mutation policies as in {@link #nextGeneration(Population)}, and
+     *      compute the fitness of the offspring; the policies use a random generator
+     *      created from the seed of the pair</li>
+     *  <li>Add the offspring to nextGeneration, in the order of the pairs</li>
+     * </ol>
+     * The selection, crossover and mutation policies must be safe for use by
+     * several threads (the policies of this package are), and so must the
+     * fitness functions of the chromosomes.
+     * Since each pair of offspring has its own random stream, the result is
+     * independent of the number of threads; it differs however from the result
+     * of {@link #nextGeneration(Population)}, which uses a single stream.
+     *
+     * @param current the current population.
+     * @param executor the executor used to run the computations.
+     * @return the population for the next generation.
+     * @since 4.0
+     */
+    public Population nextGeneration(final Population current,
+                                     final ExecutorService executor) {
+        evaluateFitness(current, executor);
+
+        final Population nextGeneration = current.nextGeneration();
+        final int missing = nextGeneration.getPopulationLimit() - nextGeneration.getPopulationSize();
+        final int numPairs = (missing + 1) / 2;
+
+        final UniformRandomProvider randGen = getRandomGenerator();
+        final List<Callable<ChromosomePair>> tasks = new ArrayList<>(numPairs);
+        for (int k = 0; k < numPairs; k++) {
+            final long seed = randGen.nextLong();
+            // the second offspring of the last pair may not fit in the population
+            final boolean both = 2 * k + 1 < missing;
+            tasks.add(() -> {
+                    final UniformRandomProvider previous = OFFSPRING_GENERATOR.get();
+                    OFFSPRING_GENERATOR.set(RandomSource.create(RandomSource.MT_64, seed));
+                    try {
+                        final ChromosomePair pair = createOffspring(current);
+                        pair.getFirst().getFitness();
+                        if (both) {
+                            pair.getSecond().getFitness();
+                        }
+                        return pair;
+                    } finally {
+                        if (previous == null) {
+                            OFFSPRING_GENERATOR.remove();
+                        } else {
+                            OFFSPRING_GENERATOR.set(previous);
+                        }
+                    }
+                });
+        }
+
+        for (final ChromosomePair pair : ConcurrencyUtils.invokeAll(executor, tasks)) {
+            nextGeneration.addChromosome(pair.getFirst());
+            if (nextGeneration.getPopulationSize() < nextGeneration.getPopulationLimit()) {
+                nextGeneration.addChromosome(pair.getSecond());
+            }
+        }
+
+        return nextGeneration;
+    }
+
+    /**
+     * Computes the fitness of all the chromosomes of the given population
+     * concurrently, so that later calls to {@link Chromosome#getFitness()}
+     * return the cached value.
+     * A chromosome that appears several times in the population is evaluated
+     * only once. The fitness functions must be safe for use by several threads.
+     *
+     * @param population the population to evaluate.
+     * @param executor the executor used to run the computations.
+     * @since 4.0
+     */
+    public static void evaluateFitness(final Population population,
+                                       final ExecutorService executor) {
+        final Set<Chromosome> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final Chromosome chromosome : population) {
+            distinct.add(chromosome);
+        }
+        final List<Chromosome> chromosomes = new ArrayList<>(distinct);
+        ConcurrencyUtils.forEach(executor, chromosomes.size(),
+                                 i -> chromosomes.get(i).getFitness());
+    }
+
+    /**
+     * Creates a pair of offspring: selects the parents from {@code current} and,
+     * according to the configured rates, applies the crossover and mutation policies.
+     *
+     * @param current the current population.
+     * @return the offspring.
+     */
+    private ChromosomePair createOffspring(final Population current) {
+        final UniformRandomProvider randGen = getRandomGenerator();
+
+        // select parent chromosomes
+        ChromosomePair pair = getSelectionPolicy().select(current);
+
+        // crossover?
+        if (randGen.nextDouble() < getCrossoverRate()) {
+            // apply crossover policy to create two offspring
+            pair = getCrossoverPolicy().crossover(pair.getFirst(), pair.getSecond());
+        }
+
+        // mutation?
+        if (randGen.nextDouble() < getMutationRate()) {
+            // apply mutation policy to the chromosomes
+            pair = new ChromosomePair(
+                getMutationPolicy().mutate(pair.getFirst()),
+                getMutationPolicy().mutate(pair.getSecond()));
+        }
+
+        return pair;
+    }
+
     /**
      * Returns the crossover policy.
      * @return crossover policy
@@ -19,6 +19,7 @@ package org.apache.commons.math4.linear;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.math4.exception.DimensionMismatchException;
 import org.apache.commons.math4.exception.NoDataException;
@@ -27,6 +28,7 @@ import org.apache.commons.math4.exception.NullArgumentException;
 import org.apache.commons.math4.exception.NumberIsTooSmallException;
 import org.apache.commons.math4.exception.OutOfRangeException;
 import org.apache.commons.math4.exception.util.LocalizedFormats;
+import org.apache.commons.math4.util.ConcurrencyUtils;
 import org.apache.commons.math4.util.FastMath;
 import org.apache.commons.math4.util.MathUtils;
 
@@ -352,18 +354,40 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         final BlockRealMatrix out = new BlockRealMatrix(rows, columns);
 
         // perform addition block-wise, to ensure good cache behavior
-        for (int blockIndex = 0; blockIndex < out.blocks.length; ++blockIndex) {
-            final double[] outBlock = out.blocks[blockIndex];
-            final double[] tBlock = blocks[blockIndex];
-            final double[] mBlock = m.blocks[blockIndex];
-            for (int k = 0; k < outBlock.length; ++k) {
-                outBlock[k] = tBlock[k] + mBlock[k];
-            }
+        for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
+            addBlockRow(m, 1, out, iBlock);
         }
 
         return out;
     }
 
+    /**
+     * Compute the sum of this matrix and {@code m}, using {@code executor}
+     * to process independent rows of blocks concurrently.
+     * <p>
+     * The result is identical to the one returned by {@link #add(BlockRealMatrix)}.
+     * </p>
+     *
+     * @param m Matrix to be added.
+     * @param executor Executor used to run the computation.
+     * @return {@code this} + m.
+     * @throws MatrixDimensionMismatchException if {@code m} is not the same
+     * size as this matrix.
+     * @since 4.0
+     */
+    public BlockRealMatrix add(final BlockRealMatrix m,
+                               final ExecutorService executor)
+        throws MatrixDimensionMismatchException {
+        // safety check
+        checkAdd(m);
+
+        final BlockRealMatrix out = new BlockRealMatrix(rows, columns);
+        ConcurrencyUtils.forEach(executor, blockRows,
+                                 iBlock -> addBlockRow(m, 1, out, iBlock));
+
+        return out;
+    }
+
     /** {@inheritDoc} */
     @Override
     public BlockRealMatrix subtract(final RealMatrix m)
@@ -420,16 +444,68 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         final BlockRealMatrix out = new BlockRealMatrix(rows, columns);
 
         // perform subtraction block-wise, to ensure good cache behavior
-        for (int blockIndex = 0; blockIndex < out.blocks.length; ++blockIndex) {
+        for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
+            addBlockRow(m, -1, out, iBlock);
+        }
+
+        return out;
+    }
+
+    /**
+     * Subtract {@code m} from this matrix, using {@code executor}
+     * to process independent rows of blocks concurrently.
+     * <p>
+     * The result is identical to the one returned by {@link #subtract(BlockRealMatrix)}.
+     * </p>
+     *
+     * @param m Matrix to be subtracted.
+     * @param executor Executor used to run the computation.
+     * @return {@code this} - m.
+     * @throws MatrixDimensionMismatchException if {@code m} is not the
+     * same size as this matrix.
+     * @since 4.0
+     */
+    public BlockRealMatrix subtract(final BlockRealMatrix m,
+                                    final ExecutorService executor)
+        throws MatrixDimensionMismatchException {
+        // safety check
+        checkAdd(m);
+
+        final BlockRealMatrix out = new BlockRealMatrix(rows, columns);
+        ConcurrencyUtils.forEach(executor, blockRows,
+                                 iBlock -> addBlockRow(m, -1, out, iBlock));
+
+        return out;
+    }
+
+    /**
+     * Compute one row of blocks of the sum or difference of this matrix and {@code m}.
+     *
+     * @param m Matrix to be added or subtracted.
+     * @param sign Either +1 (addition) or -1 (subtraction).
+     * @param out Matrix where to store the result.
+     * @param iBlock Index of the row of blocks to compute.
+     */
+    private void addBlockRow(final BlockRealMatrix m,
+                             final int sign,
+                             final BlockRealMatrix out,
+                             final int iBlock) {
+        final int start = iBlock * blockColumns;
+        final int end = start + blockColumns;
+        for (int blockIndex = start; blockIndex < end; ++blockIndex) {
             final double[] outBlock = out.blocks[blockIndex];
             final double[] tBlock = blocks[blockIndex];
             final double[] mBlock = m.blocks[blockIndex];
-            for (int k = 0; k < outBlock.length; ++k) {
-                outBlock[k] = tBlock[k] - mBlock[k];
+            if (sign > 0) {
+                for (int k = 0; k < outBlock.length; ++k) {
+                    outBlock[k] = tBlock[k] + mBlock[k];
+                }
+            } else {
+                for (int k = 0; k < outBlock.length; ++k) {
+                    outBlock[k] = tBlock[k] - mBlock[k];
+                }
             }
         }
-
-        return out;
     }
 
     /** {@inheritDoc} */
@@ -537,57 +613,96 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         final BlockRealMatrix out = new BlockRealMatrix(rows, m.columns);
 
         // perform multiplication block-wise, to ensure good cache behavior
-        int blockIndex = 0;
-        for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
+        for (int blockIndex = 0; blockIndex < out.blocks.length; ++blockIndex) {
+            multiplyBlock(m, out, blockIndex);
+        }
 
-            final int pStart = iBlock * BLOCK_SIZE;
-            final int pEnd = FastMath.min(pStart + BLOCK_SIZE, rows);
+        return out;
+    }
 
-            for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
-                final int jWidth = out.blockWidth(jBlock);
-                final int jWidth2 = jWidth  + jWidth;
-                final int jWidth3 = jWidth2 + jWidth;
-                final int jWidth4 = jWidth3 + jWidth;
+    /**
+     * Returns the result of postmultiplying this by {@code m}, using
+     * {@code executor} to compute independent blocks of the result
+     * concurrently.
+     * <p>
+     * Each block of the result is computed by a single task, with exactly
+     * the same sequence of operations as {@link #multiply(BlockRealMatrix)};
+     * the result is therefore identical to the one of the serial method.
+     * </p>
+     *
+     * @param m Matrix to postmultiply by.
+     * @param executor Executor used to run the computation.
+     * @return {@code this} * m.
+     * @throws DimensionMismatchException if the matrices are not compatible.
+     * @since 4.0
+     */
+    public BlockRealMatrix multiply(final BlockRealMatrix m,
+                                    final ExecutorService executor)
+        throws DimensionMismatchException {
+        // safety check
+        checkMultiply(m);
 
-                // select current block
-                final double[] outBlock = out.blocks[blockIndex];
+        final BlockRealMatrix out = new BlockRealMatrix(rows, m.columns);
+        ConcurrencyUtils.forEach(executor, out.blocks.length,
+                                 blockIndex -> multiplyBlock(m, out, blockIndex));
 
-                // perform multiplication on current block
-                for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
-                    final int kWidth = blockWidth(kBlock);
-                    final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
-                    final double[] mBlock = m.blocks[kBlock * m.blockColumns + jBlock];
-                    int k = 0;
-                    for (int p = pStart; p < pEnd; ++p) {
-                        final int lStart = (p - pStart) * kWidth;
-                        final int lEnd = lStart + kWidth;
-                        for (int nStart = 0; nStart < jWidth; ++nStart) {
-                            double sum = 0;
-                            int l = lStart;
-                            int n = nStart;
-                            while (l < lEnd - 3) {
-                                sum += tBlock[l] * mBlock[n] +
-                                       tBlock[l + 1] * mBlock[n + jWidth] +
-                                       tBlock[l + 2] * mBlock[n + jWidth2] +
-                                       tBlock[l + 3] * mBlock[n + jWidth3];
-                                l += 4;
-                                n += jWidth4;
-                            }
-                            while (l < lEnd) {
-                                sum += tBlock[l++] * mBlock[n];
-                                n += jWidth;
-                            }
-                            outBlock[k] += sum;
-                            ++k;
-                        }
+        return out;
+    }
+
+    /**
+     * Compute one block of the product of this matrix by {@code m}.
+     *
+     * @param m Matrix to postmultiply by.
+     * @param out Matrix where to store the result.
+     * @param blockIndex Index of the block of {@code out} to compute.
+     */
+    private void multiplyBlock(final BlockRealMatrix m,
+                               final BlockRealMatrix out,
+                               final int blockIndex) {
+        final int iBlock = blockIndex / out.blockColumns;
+        final int jBlock = blockIndex - iBlock * out.blockColumns;
+
+        final int pStart = iBlock * BLOCK_SIZE;
+        final int pEnd = FastMath.min(pStart + BLOCK_SIZE, rows);
+
+        final int jWidth = out.blockWidth(jBlock);
+        final int jWidth2 = jWidth  + jWidth;
+        final int jWidth3 = jWidth2 + jWidth;
+        final int jWidth4 = jWidth3 + jWidth;
+
+        // select current block
+        final double[] outBlock = out.blocks[blockIndex];
+
+        // perform multiplication on current block
+        for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
+            final int kWidth = blockWidth(kBlock);
+            final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
+            final double[] mBlock = m.blocks[kBlock * m.blockColumns + jBlock];
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                final int lStart = (p - pStart) * kWidth;
+                final int lEnd = lStart + kWidth;
+                for (int nStart = 0; nStart < jWidth; ++nStart) {
+                    double sum = 0;
+                    int l = lStart;
+                    int n = nStart;
+                    while (l < lEnd - 3) {
+                        sum += tBlock[l] * mBlock[n] +
+                               tBlock[l + 1] * mBlock[n + jWidth] +
+                               tBlock[l + 2] * mBlock[n + jWidth2] +
+                               tBlock[l + 3] * mBlock[n + jWidth3];
+                        l += 4;
+                        n += jWidth4;
+                    }
+                    while (l < lEnd) {
+                        sum += tBlock[l++] * mBlock[n];
+                        n += jWidth;
                     }
+                    outBlock[k] += sum;
+                    ++k;
                 }
-                // go to next block
-                ++blockIndex;
             }
         }
-
-        return out;
     }
 
     /** {@inheritDoc} */
@@ -1215,34 +1330,61 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         final BlockRealMatrix out = new BlockRealMatrix(nCols, nRows);
 
         // perform transpose block-wise, to ensure good cache behavior
-        int blockIndex = 0;
         for (int iBlock = 0; iBlock < blockColumns; ++iBlock) {
-            for (int jBlock = 0; jBlock < blockRows; ++jBlock) {
-                // transpose current block
-                final double[] outBlock = out.blocks[blockIndex];
-                final double[] tBlock = blocks[jBlock * blockColumns + iBlock];
-                final int pStart = iBlock * BLOCK_SIZE;
-                final int pEnd = FastMath.min(pStart + BLOCK_SIZE, columns);
-                final int qStart = jBlock * BLOCK_SIZE;
-                final int qEnd = FastMath.min(qStart + BLOCK_SIZE, rows);
-                int k = 0;
-                for (int p = pStart; p < pEnd; ++p) {
-                    final int lInc = pEnd - pStart;
-                    int l = p - pStart;
-                    for (int q = qStart; q < qEnd; ++q) {
-                        outBlock[k] = tBlock[l];
-                        ++k;
-                        l+= lInc;
-                    }
-                }
-                // go to next block
-                ++blockIndex;
-            }
+            transposeBlockRow(out, iBlock);
         }
 
         return out;
     }
 
+    /**
+     * Returns the transpose of this matrix, using {@code executor} to
+     * process independent rows of blocks of the result concurrently.
+     *
+     * @param executor Executor used to run the computation.
+     * @return the transpose matrix.
+     * @since 4.0
+     */
+    public BlockRealMatrix transpose(final ExecutorService executor) {
+        final BlockRealMatrix out = new BlockRealMatrix(columns, rows);
+        ConcurrencyUtils.forEach(executor, blockColumns,
+                                 iBlock -> transposeBlockRow(out, iBlock));
+
+        return out;
+    }
+
+    /**
+     * Compute one row of blocks of the transpose of this matrix.
+     *
+     * @param out Matrix where to store the result.
+     * @param iBlock Index of the row of blocks of {@code out} to compute.
+     */
+    private void transposeBlockRow(final BlockRealMatrix out,
+                                   final int iBlock) {
+        int blockIndex = iBlock * blockRows;
+        for (int jBlock = 0; jBlock < blockRows; ++jBlock) {
+            // transpose current block
+            final double[] outBlock = out.blocks[blockIndex];
+            final double[] tBlock = blocks[jBlock * blockColumns + iBlock];
+            final int pStart = iBlock * BLOCK_SIZE;
+            final int pEnd = FastMath.min(pStart + BLOCK_SIZE, columns);
+            final int qStart = jBlock * BLOCK_SIZE;
+            final int qEnd = FastMath.min(qStart + BLOCK_SIZE, rows);
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                final int lInc = pEnd - pStart;
+                int l = p - pStart;
+                for (int q = qStart; q < qEnd; ++q) {
+                    outBlock[k] = tBlock[l];
+                    ++k;
+                    l+= lInc;
+                }
+            }
+            // go to next block
+            ++blockIndex;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public int getRowDimension() {
@@ -1266,35 +1408,76 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
 
         // perform multiplication block-wise, to ensure good cache behavior
         for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
-            final int pStart = iBlock * BLOCK_SIZE;
-            final int pEnd = FastMath.min(pStart + BLOCK_SIZE, rows);
-            for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
-                final double[] block  = blocks[iBlock * blockColumns + jBlock];
-                final int qStart = jBlock * BLOCK_SIZE;
-                final int qEnd = FastMath.min(qStart + BLOCK_SIZE, columns);
-                int k = 0;
-                for (int p = pStart; p < pEnd; ++p) {
-                    double sum = 0;
-                    int q = qStart;
-                    while (q < qEnd - 3) {
-                        sum += block[k]     * v[q]     +
-                               block[k + 1] * v[q + 1] +
-                               block[k + 2] * v[q + 2] +
-                               block[k + 3] * v[q + 3];
-                        k += 4;
-                        q += 4;
-                    }
-                    while (q < qEnd) {
-                        sum += block[k++] * v[q++];
-                    }
-                    out[p] += sum;
-                }
-            }
+            operateBlockRow(v, out, iBlock);
+        }
+
+        return out;
+    }
+
+    /**
+     * Returns the result of multiplying this by the vector {@code v}, using
+     * {@code executor} to process independent rows of blocks concurrently.
+     * <p>
+     * The result is identical to the one returned by {@link #operate(double[])}.
+     * </p>
+     *
+     * @param v the vector to operate on
+     * @param executor Executor used to run the computation.
+     * @return {@code this * v}
+     * @throws DimensionMismatchException if the length of {@code v} does not
+     * match the column dimension of {@code this}.
+     * @since 4.0
+     */
+    public double[] operate(final double[] v,
+                            final ExecutorService executor)
+        throws DimensionMismatchException {
+        if (v.length != columns) {
+            throw new DimensionMismatchException(v.length, columns);
         }
+        final double[] out = new double[rows];
+        ConcurrencyUtils.forEach(executor, blockRows,
+                                 iBlock -> operateBlockRow(v, out, iBlock));
 
         return out;
     }
 
+    /**
+     * Compute the entries of the product of this matrix by {@code v} that
+     * correspond to one row of blocks.
+     *
+     * @param v the vector to operate on
+     * @param out Array where to store the result.
+     * @param iBlock Index of the row of blocks to process.
+     */
+    private void operateBlockRow(final double[] v,
+                                 final double[] out,
+                                 final int iBlock) {
+        final int pStart = iBlock * BLOCK_SIZE;
+        final int pEnd = FastMath.min(pStart + BLOCK_SIZE, rows);
+        for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
+            final double[] block  = blocks[iBlock * blockColumns + jBlock];
+            final int qStart = jBlock * BLOCK_SIZE;
+            final int qEnd = FastMath.min(qStart + BLOCK_SIZE, columns);
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                double sum = 0;
+                int q = qStart;
+                while (q < qEnd - 3) {
+                    sum += block[k]     * v[q]     +
+                           block[k + 1] * v[q + 1] +
+                           block[k + 2] * v[q + 2] +
+                           block[k + 3] * v[q + 3];
+                    k += 4;
+                    q += 4;
+                }
+                while (q < qEnd) {
+                    sum += block[k++] * v[q++];
+                }
+                out[p] += sum;
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public double[] preMultiply(final double[] v)
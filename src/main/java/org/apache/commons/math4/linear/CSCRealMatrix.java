@@ -0,0 +1,381 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.linear;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.apache.commons.math4.exception.DimensionMismatchException;
+import org.apache.commons.math4.exception.MathUnsupportedOperationException;
+import org.apache.commons.math4.exception.NotStrictlyPositiveException;
+import org.apache.commons.math4.exception.OutOfRangeException;
+
+/**
+ * Sparse matrix stored in compressed sparse column (CSC) format.
+ * <p>
+ * This is the column-oriented counterpart of {@link CSRRealMatrix}: the
+ * non-zero entries are stored column after column, with strictly increasing
+ * row indices within a column. {@link #preMultiply(double[]) preMultiply}
+ * is a single sequential pass over the entries, and the transpose of a
+ * {@code CSCRealMatrix} is a {@link CSRRealMatrix} sharing the same storage.
+ * </p>
+ * <p>
+ * The sparsity pattern is fixed at construction: {@link #setEntry(int, int, double)
+ * setEntry} (and related methods) can only modify entries that are stored.
+ * Matrices are most easily created with a {@link SparseRealMatrixBuilder}.
+ * </p>
+ * <p>
+ *  Caveat: This implementation assumes that, for any {@code x},
+ *  the equality {@code x * 0d == 0d} holds. But it is is not true for
+ *  {@code NaN}. Moreover, zero entries will lose their sign.
+ *  Some operations (that involve {@code NaN} and/or infinities) may
+ *  thus give incorrect results.
+ * </p>
+ *
+ * @see CSRRealMatrix
+ * @since 4.0
+ */
+public class CSCRealMatrix extends AbstractRealMatrix
+    implements SparseRealMatrix, Serializable {
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20201016L;
+    /** Number of rows of the matrix. */
+    private final int rows;
+    /** Number of columns of the matrix. */
+    private final int columns;
+    /** Position of the first entry of each column (length is {@code columns + 1}). */
+    private final int[] columnPointers;
+    /** Row indices of the entries. */
+    private final int[] rowIndices;
+    /** Values of the entries. */
+    private final double[] values;
+
+    /**
+     * Creates a matrix from its compressed representation.
+     *
+     * @param rows Number of rows.
+     * @param columns Number of columns.
+     * @param columnPointers Position, in {@code rowIndices} and {@code values},
+     * of the first entry of each column; the last element is the number of entries.
+     * @param rowIndices Row indices of the entries, strictly increasing
+     * within each column.
+     * @param values Values of the entries.
+     * @param copyArray Whether to copy the arrays or reference them.
+     * @throws NotStrictlyPositiveException if {@code rows} or {@code columns}
+     * is not positive.
+     * @throws DimensionMismatchException if the array lengths are inconsistent.
+     * @throws org.apache.commons.math4.exception.NonMonotonicSequenceException
+     * if {@code columnPointers} is not increasing, or if row indices are not
+     * strictly increasing within a column.
+     * @throws OutOfRangeException if a row index is out of range.
+     */
+    public CSCRealMatrix(int rows,
+                         int columns,
+                         int[] columnPointers,
+                         int[] rowIndices,
+                         double[] values,
+                         boolean copyArray) {
+        super(rows, columns);
+        CompressedStorage.check(columns, rows, columnPointers, rowIndices, values);
+
+        this.rows = rows;
+        this.columns = columns;
+        this.columnPointers = copyArray ? columnPointers.clone() : columnPointers;
+        this.rowIndices = copyArray ? rowIndices.clone() : rowIndices;
+        this.values = copyArray ? values.clone() : values;
+    }
+
+    /**
+     * Creates a matrix containing the non-zero entries of {@code m}.
+     *
+     * @param m Matrix to copy.
+     */
+    public CSCRealMatrix(RealMatrix m) {
+        this(CompressedStorage.builder(m).buildCSC());
+    }
+
+    /**
+     * Creates a matrix sharing the storage of another one.
+     *
+     * @param m Matrix.
+     */
+    private CSCRealMatrix(CSCRealMatrix m) {
+        super(m.rows, m.columns);
+        rows = m.rows;
+        columns = m.columns;
+        columnPointers = m.columnPointers;
+        rowIndices = m.rowIndices;
+        values = m.values;
+    }
+
+    /**
+     * @return the number of stored entries.
+     */
+    public int getNonZeroCount() {
+        return values.length;
+    }
+
+    /**
+     * @return a copy of the positions of the first entry of each column.
+     */
+    public int[] getColumnPointers() {
+        return columnPointers.clone();
+    }
+
+    /**
+     * @return a copy of the row indices of the stored entries.
+     */
+    public int[] getRowIndices() {
+        return rowIndices.clone();
+    }
+
+    /**
+     * @return a copy of the values of the stored entries.
+     */
+    public double[] getValues() {
+        return values.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return a (mutable) {@link OpenMapRealMatrix}.
+     */
+    @Override
+    public RealMatrix createMatrix(int rowDimension,
+                                   int columnDimension) {
+        return new OpenMapRealMatrix(rowDimension, columnDimension);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CSCRealMatrix copy() {
+        return new CSCRealMatrix(rows, columns, columnPointers, rowIndices, values, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return rows;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return columns;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getEntry(int row,
+                           int column) {
+        final int k = find(row, column);
+        return k < 0 ? 0 : values[k];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws MathUnsupportedOperationException if the entry is not stored
+     * and {@code value} is not zero.
+     */
+    @Override
+    public void setEntry(int row,
+                         int column,
+                         double value) {
+        final int k = find(row, column);
+        if (k >= 0) {
+            values[k] = value;
+        } else if (value != 0) {
+            throw new MathUnsupportedOperationException();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws MathUnsupportedOperationException if the entry is not stored
+     * and {@code increment} is not zero.
+     */
+    @Override
+    public void addToEntry(int row,
+                           int column,
+                           double increment) {
+        final int k = find(row, column);
+        if (k >= 0) {
+            values[k] += increment;
+        } else if (increment != 0) {
+            throw new MathUnsupportedOperationException();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void multiplyEntry(int row,
+                              int column,
+                              double factor) {
+        final int k = find(row, column);
+        if (k >= 0) {
+            values[k] *= factor;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CSCRealMatrix scalarMultiply(double d) {
+        final CSCRealMatrix out = copy();
+        for (int k = 0; k < out.values.length; k++) {
+            out.values[k] *= d;
+        }
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the transpose, in compressed sparse row format. The returned
+     * matrix shares the sparsity pattern (which cannot change) of this one,
+     * but not its values.
+     */
+    @Override
+    public CSRRealMatrix transpose() {
+        return new CSRRealMatrix(columns, rows, columnPointers, rowIndices, values.clone(), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] operate(double[] v) {
+        if (v.length != columns) {
+            throw new DimensionMismatchException(v.length, columns);
+        }
+        final double[] out = new double[rows];
+        for (int j = 0; j < columns; j++) {
+            final double vJ = v[j];
+            final int end = columnPointers[j + 1];
+            for (int k = columnPointers[j]; k < end; k++) {
+                out[rowIndices[k]] += values[k] * vJ;
+            }
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(RealVector v) {
+        if (v instanceof ArrayRealVector) {
+            return new ArrayRealVector(operate(((ArrayRealVector) v).getDataRef()), false);
+        }
+        return new ArrayRealVector(operate(v.toArray()), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] preMultiply(double[] v) {
+        if (v.length != rows) {
+            throw new DimensionMismatchException(v.length, rows);
+        }
+        final double[] out = new double[columns];
+        for (int j = 0; j < columns; j++) {
+            double sum = 0;
+            final int end = columnPointers[j + 1];
+            for (int k = columnPointers[j]; k < end; k++) {
+                sum += values[k] * v[rowIndices[k]];
+            }
+            out[j] = sum;
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector preMultiply(RealVector v) {
+        if (v instanceof ArrayRealVector) {
+            return new ArrayRealVector(preMultiply(((ArrayRealVector) v).getDataRef()), false);
+        }
+        return new ArrayRealVector(preMultiply(v.toArray()), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operateTranspose(RealVector x) {
+        return preMultiply(x);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isTransposable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return a {@link CSCRealMatrix} if {@code m} is a {@link SparseRealMatrix},
+     * a dense matrix otherwise.
+     */
+    @Override
+    public RealMatrix multiply(RealMatrix m) {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+
+        if (m instanceof SparseRealMatrix) {
+            final CSCRealMatrix b = (m instanceof CSCRealMatrix) ?
+                (CSCRealMatrix) m :
+                new CSCRealMatrix(m);
+            // (this m)^T = m^T this^T, whose CSR arrays are the CSC arrays of the operands
+            return CompressedStorage.multiply(b.columns, rows,
+                                              b.columnPointers, b.rowIndices, b.values,
+                                              columnPointers, rowIndices, values).transpose();
+        }
+
+        final double[][] b = (m instanceof Array2DRowRealMatrix) ?
+            ((Array2DRowRealMatrix) m).getDataRef() :
+            m.getData();
+        final int outCols = m.getColumnDimension();
+        final double[][] out = new double[rows][outCols];
+        for (int j = 0; j < columns; j++) {
+            final double[] bJ = b[j];
+            final int end = columnPointers[j + 1];
+            for (int k = columnPointers[j]; k < end; k++) {
+                final double a = values[k];
+                final double[] outI = out[rowIndices[k]];
+                for (int l = 0; l < outCols; l++) {
+                    outI[l] += a * bJ[l];
+                }
+            }
+        }
+        return new Array2DRowRealMatrix(out, false);
+    }
+
+    /**
+     * @param row Row index.
+     * @param column Column index.
+     * @return the position of the entry in the storage arrays, or a
+     * negative value if it is not stored.
+     * @throws OutOfRangeException if an index is out of range.
+     */
+    private int find(int row,
+                     int column) {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int start = columnPointers[column];
+        final int end = columnPointers[column + 1];
+        return start == end ? -1 : Arrays.binarySearch(rowIndices, start, end, row);
+    }
+}
@@ -0,0 +1,382 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.linear;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.apache.commons.math4.exception.DimensionMismatchException;
+import org.apache.commons.math4.exception.MathUnsupportedOperationException;
+import org.apache.commons.math4.exception.NotStrictlyPositiveException;
+import org.apache.commons.math4.exception.OutOfRangeException;
+
+/**
+ * Sparse matrix stored in compressed sparse row (CSR) format.
+ * <p>
+ * The non-zero entries are stored row after row in two contiguous arrays
+ * holding their column indices and values; a third array holds, for each
+ * row, the position of its first entry. Within a row, column indices are
+ * strictly increasing. This layout makes {@link #operate(double[]) operate}
+ * a single sequential pass over the non-zero entries, which is the
+ * operation performed at each iteration of the {@link IterativeLinearSolver
+ * iterative solvers}.
+ * </p>
+ * <p>
+ * The sparsity pattern is fixed at construction: {@link #setEntry(int, int, double)
+ * setEntry} (and related methods) can only modify entries that are stored.
+ * Matrices are most easily created with a {@link SparseRealMatrixBuilder}.
+ * </p>
+ * <p>
+ *  Caveat: This implementation assumes that, for any {@code x},
+ *  the equality {@code x * 0d == 0d} holds. But it is is not true for
+ *  {@code NaN}. Moreover, zero entries will lose their sign.
+ *  Some operations (that involve {@code NaN} and/or infinities) may
+ *  thus give incorrect results.
+ * </p>
+ *
+ * @see CSCRealMatrix
+ * @since 4.0
+ */
+public class CSRRealMatrix extends AbstractRealMatrix
+    implements SparseRealMatrix, Serializable {
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20201016L;
+    /** Number of rows of the matrix. */
+    private final int rows;
+    /** Number of columns of the matrix. */
+    private final int columns;
+    /** Position of the first entry of each row (length is {@code rows + 1}). */
+    private final int[] rowPointers;
+    /** Column indices of the entries. */
+    private final int[] columnIndices;
+    /** Values of the entries. */
+    private final double[] values;
+
+    /**
+     * Creates a matrix from its compressed representation.
+     *
+     * @param rows Number of rows.
+     * @param columns Number of columns.
+     * @param rowPointers Position, in {@code columnIndices} and {@code values},
+     * of the first entry of each row; the last element is the number of entries.
+     * @param columnIndices Column indices of the entries, strictly increasing
+     * within each row.
+     * @param values Values of the entries.
+     * @param copyArray Whether to copy the arrays or reference them.
+     * @throws NotStrictlyPositiveException if {@code rows} or {@code columns}
+     * is not positive.
+     * @throws DimensionMismatchException if the array lengths are inconsistent.
+     * @throws org.apache.commons.math4.exception.NonMonotonicSequenceException
+     * if {@code rowPointers} is not increasing, or if column indices are not
+     * strictly increasing within a row.
+     * @throws OutOfRangeException if a column index is out of range.
+     */
+    public CSRRealMatrix(int rows,
+                         int columns,
+                         int[] rowPointers,
+                         int[] columnIndices,
+                         double[] values,
+                         boolean copyArray) {
+        super(rows, columns);
+        CompressedStorage.check(rows, columns, rowPointers, columnIndices, values);
+
+        this.rows = rows;
+        this.columns = columns;
+        this.rowPointers = copyArray ? rowPointers.clone() : rowPointers;
+        this.columnIndices = copyArray ? columnIndices.clone() : columnIndices;
+        this.values = copyArray ? values.clone() : values;
+    }
+
+    /**
+     * Creates a matrix containing the non-zero entries of {@code m}.
+     *
+     * @param m Matrix to copy.
+     */
+    public CSRRealMatrix(RealMatrix m) {
+        this(CompressedStorage.builder(m).buildCSR());
+    }
+
+    /**
+     * Creates a matrix sharing the storage of another one.
+     *
+     * @param m Matrix.
+     */
+    private CSRRealMatrix(CSRRealMatrix m) {
+        super(m.rows, m.columns);
+        rows = m.rows;
+        columns = m.columns;
+        rowPointers = m.rowPointers;
+        columnIndices = m.columnIndices;
+        values = m.values;
+    }
+
+    /**
+     * @return the number of stored entries.
+     */
+    public int getNonZeroCount() {
+        return values.length;
+    }
+
+    /**
+     * @return a copy of the positions of the first entry of each row.
+     */
+    public int[] getRowPointers() {
+        return rowPointers.clone();
+    }
+
+    /**
+     * @return a copy of the column indices of the stored entries.
+     */
+    public int[] getColumnIndices() {
+        return columnIndices.clone();
+    }
+
+    /**
+     * @return a copy of the values of the stored entries.
+     */
+    public double[] getValues() {
+        return values.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return a (mutable) {@link OpenMapRealMatrix}.
+     */
+    @Override
+    public RealMatrix createMatrix(int rowDimension,
+                                   int columnDimension) {
+        return new OpenMapRealMatrix(rowDimension, columnDimension);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CSRRealMatrix copy() {
+        return new CSRRealMatrix(rows, columns, rowPointers, columnIndices, values, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return rows;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return columns;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getEntry(int row,
+                           int column) {
+        final int k = find(row, column);
+        return k < 0 ? 0 : values[k];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws MathUnsupportedOperationException if the entry is not stored
+     * and {@code value} is not zero.
+     */
+    @Override
+    public void setEntry(int row,
+                         int column,
+                         double value) {
+        final int k = find(row, column);
+        if (k >= 0) {
+            values[k] = value;
+        } else if (value != 0) {
+            throw new MathUnsupportedOperationException();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws MathUnsupportedOperationException if the entry is not stored
+     * and {@code increment} is not zero.
+     */
+    @Override
+    public void addToEntry(int row,
+                           int column,
+                           double increment) {
+        final int k = find(row, column);
+        if (k >= 0) {
+            values[k] += increment;
+        } else if (increment != 0) {
+            throw new MathUnsupportedOperationException();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void multiplyEntry(int row,
+                              int column,
+                              double factor) {
+        final int k = find(row, column);
+        if (k >= 0) {
+            values[k] *= factor;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CSRRealMatrix scalarMultiply(double d) {
+        final CSRRealMatrix out = copy();
+        for (int k = 0; k < out.values.length; k++) {
+            out.values[k] *= d;
+        }
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the transpose, in compressed sparse column format. The returned
+     * matrix shares the sparsity pattern (which cannot change) of this one,
+     * but not its values.
+     */
+    @Override
+    public CSCRealMatrix transpose() {
+        return new CSCRealMatrix(columns, rows, rowPointers, columnIndices, values.clone(), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] operate(double[] v) {
+        if (v.length != columns) {
+            throw new DimensionMismatchException(v.length, columns);
+        }
+        final double[] out = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            double sum = 0;
+            final int end = rowPointers[i + 1];
+            for (int k = rowPointers[i]; k < end; k++) {
+                sum += values[k] * v[columnIndices[k]];
+            }
+            out[i] = sum;
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(RealVector v) {
+        if (v instanceof ArrayRealVector) {
+            return new ArrayRealVector(operate(((ArrayRealVector) v).getDataRef()), false);
+        }
+        return new ArrayRealVector(operate(v.toArray()), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] preMultiply(double[] v) {
+        if (v.length != rows) {
+            throw new DimensionMismatchException(v.length, rows);
+        }
+        final double[] out = new double[columns];
+        for (int i = 0; i < rows; i++) {
+            final double vI = v[i];
+            final int end = rowPointers[i + 1];
+            for (int k = rowPointers[i]; k < end; k++) {
+                out[columnIndices[k]] += values[k] * vI;
+            }
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector preMultiply(RealVector v) {
+        if (v instanceof ArrayRealVector) {
+            return new ArrayRealVector(preMultiply(((ArrayRealVector) v).getDataRef()), false);
+        }
+        return new ArrayRealVector(preMultiply(v.toArray()), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operateTranspose(RealVector x) {
+        return preMultiply(x);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isTransposable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return a {@link CSRRealMatrix} if {@code m} is a {@link SparseRealMatrix},
+     * a dense matrix otherwise.
+     */
+    @Override
+    public RealMatrix multiply(RealMatrix m) {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+
+        if (m instanceof SparseRealMatrix) {
+            final CSRRealMatrix b = (m instanceof CSRRealMatrix) ?
+                (CSRRealMatrix) m :
+                new CSRRealMatrix(m);
+            return CompressedStorage.multiply(rows, b.columns,
+                                              rowPointers, columnIndices, values,
+                                              b.rowPointers, b.columnIndices, b.values);
+        }
+
+        final double[][] b = (m instanceof Array2DRowRealMatrix) ?
+            ((Array2DRowRealMatrix) m).getDataRef() :
+            m.getData();
+        final int outCols = m.getColumnDimension();
+        final double[][] out = new double[rows][outCols];
+        for (int i = 0; i < rows; i++) {
+            final double[] outI = out[i];
+            final int end = rowPointers[i + 1];
+            for (int k = rowPointers[i]; k < end; k++) {
+                final double a = values[k];
+                final double[] bK = b[columnIndices[k]];
+                for (int j = 0; j < outCols; j++) {
+                    outI[j] += a * bK[j];
+                }
+            }
+        }
+        return new Array2DRowRealMatrix(out, false);
+    }
+
+    /**
+     * @param row Row index.
+     * @param column Column index.
+     * @return the position of the entry in the storage arrays, or a
+     * negative value if it is not stored.
+     * @throws OutOfRangeException if an index is out of range.
+     */
+    private int find(int row,
+                     int column) {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int start = rowPointers[row];
+        final int end = rowPointers[row + 1];
+        return start == end ? -1 : Arrays.binarySearch(columnIndices, start, end, column);
+    }
+}
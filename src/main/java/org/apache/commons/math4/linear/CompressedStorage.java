@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.linear;
+
+import java.util.Arrays;
+
+import org.apache.commons.math4.exception.DimensionMismatchException;
+import org.apache.commons.math4.exception.NonMonotonicSequenceException;
+import org.apache.commons.math4.exception.OutOfRangeException;
+import org.apache.commons.math4.exception.util.LocalizedFormats;
+import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.math4.util.OpenIntToDoubleHashMap;
+
+/**
+ * Utilities shared by the compressed sparse matrix implementations.
+ *
+ * @see CSRRealMatrix
+ * @see CSCRealMatrix
+ * @since 4.0
+ */
+final class CompressedStorage {
+    /** Class contains only static methods. */
+    private CompressedStorage() {}
+
+    /**
+     * Checks the consistency of a compressed representation.
+     *
+     * @param nMajor Major dimension (number of rows for CSR).
+     * @param nMinor Minor dimension (number of columns for CSR).
+     * @param pointers Start of each major slice.
+     * @param indices Minor indices.
+     * @param values Values.
+     * @throws DimensionMismatchException if the array lengths are inconsistent.
+     * @throws NonMonotonicSequenceException if {@code pointers} is not increasing,
+     * or if the indices are not strictly increasing within a slice.
+     * @throws OutOfRangeException if an index is out of range.
+     */
+    static void check(int nMajor,
+                      int nMinor,
+                      int[] pointers,
+                      int[] indices,
+                      double[] values) {
+        if (pointers.length != nMajor + 1) {
+            throw new DimensionMismatchException(pointers.length, nMajor + 1);
+        }
+        if (indices.length != values.length) {
+            throw new DimensionMismatchException(indices.length, values.length);
+        }
+        if (pointers[0] != 0) {
+            throw new OutOfRangeException(pointers[0], 0, 0);
+        }
+        if (pointers[nMajor] != values.length) {
+            throw new DimensionMismatchException(pointers[nMajor], values.length);
+        }
+
+        for (int i = 0; i < nMajor; i++) {
+            final int start = pointers[i];
+            final int end = pointers[i + 1];
+            if (end < start) {
+                throw new NonMonotonicSequenceException(end, start, i + 1);
+            }
+            for (int k = start; k < end; k++) {
+                final int index = indices[k];
+                if (index < 0 || index >= nMinor) {
+                    throw new OutOfRangeException(LocalizedFormats.INDEX, index, 0, nMinor - 1);
+                }
+                if (k > start && index <= indices[k - 1]) {
+                    throw new NonMonotonicSequenceException(index, indices[k - 1], k);
+                }
+            }
+        }
+    }
+
+    /**
+     * Multiplies two matrices stored in compressed sparse row format, one row
+     * of the product at a time (Gustavson's algorithm).
+     * Since the compressed sparse column arrays of a matrix are the compressed
+     * sparse row arrays of its transpose, calling this method with the arrays
+     * of two CSC matrices B and A (in that order) gives the transpose of A B.
+     *
+     * @param nMajor Number of rows of the left operand.
+     * @param nMinor Number of columns of the right operand.
+     * @param lPointers Start of each row of the left operand.
+     * @param lIndices Column indices of the left operand.
+     * @param lValues Values of the left operand.
+     * @param rPointers Start of each row of the right operand.
+     * @param rIndices Column indices of the right operand.
+     * @param rValues Values of the right operand.
+     * @return the product.
+     */
+    static CSRRealMatrix multiply(int nMajor,
+                                  int nMinor,
+                                  int[] lPointers,
+                                  int[] lIndices,
+                                  double[] lValues,
+                                  int[] rPointers,
+                                  int[] rIndices,
+                                  double[] rValues) {
+        final int[] pointers = new int[nMajor + 1];
+        int[] indices = new int[FastMath.max(16, lValues.length + rValues.length)];
+        double[] values = new double[indices.length];
+
+        // dense accumulator for the current row, with the last row that used each column
+        final double[] row = new double[nMinor];
+        final int[] marker = new int[nMinor];
+        Arrays.fill(marker, -1);
+
+        int size = 0;
+        for (int i = 0; i < nMajor; i++) {
+            final int start = size;
+            for (int k = lPointers[i]; k < lPointers[i + 1]; k++) {
+                final double a = lValues[k];
+                final int c = lIndices[k];
+                for (int l = rPointers[c]; l < rPointers[c + 1]; l++) {
+                    final int j = rIndices[l];
+                    if (marker[j] == i) {
+                        row[j] += a * rValues[l];
+                    } else {
+                        marker[j] = i;
+                        row[j] = a * rValues[l];
+                        if (size == indices.length) {
+                            indices = Arrays.copyOf(indices, 2 * size);
+                            values = Arrays.copyOf(values, 2 * size);
+                        }
+                        indices[size++] = j;
+                    }
+                }
+            }
+            Arrays.sort(indices, start, size);
+            for (int k = start; k < size; k++) {
+                values[k] = row[indices[k]];
+            }
+            pointers[i + 1] = size;
+        }
+
+        return new CSRRealMatrix(nMajor, nMinor, pointers,
+                                 Arrays.copyOf(indices, size), Arrays.copyOf(values, size),
+                                 false);
+    }
+
+    /**
+     * Creates a builder holding the non-zero entries of a matrix.
+     *
+     * @param m Matrix.
+     * @return a builder.
+     */
+    static SparseRealMatrixBuilder builder(RealMatrix m) {
+        final int rows = m.getRowDimension();
+        final int columns = m.getColumnDimension();
+
+        if (m instanceof CSRRealMatrix) {
+            final CSRRealMatrix csr = (CSRRealMatrix) m;
+            final int[] pointers = csr.getRowPointers();
+            final int[] indices = csr.getColumnIndices();
+            final double[] values = csr.getValues();
+            final SparseRealMatrixBuilder builder =
+                new SparseRealMatrixBuilder(rows, columns, FastMath.max(1, values.length));
+            for (int i = 0; i < rows; i++) {
+                for (int k = pointers[i]; k < pointers[i + 1]; k++) {
+                    builder.addEntry(i, indices[k], values[k]);
+                }
+            }
+            return builder;
+        }
+
+        if (m instanceof CSCRealMatrix) {
+            final CSCRealMatrix csc = (CSCRealMatrix) m;
+            final int[] pointers = csc.getColumnPointers();
+            final int[] indices = csc.getRowIndices();
+            final double[] values = csc.getValues();
+            final SparseRealMatrixBuilder builder =
+                new SparseRealMatrixBuilder(rows, columns, FastMath.max(1, values.length));
+            for (int j = 0; j < columns; j++) {
+                for (int k = pointers[j]; k < pointers[j + 1]; k++) {
+                    builder.addEntry(indices[k], j, values[k]);
+                }
+            }
+            return builder;
+        }
+
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(rows, columns);
+        if (m instanceof OpenMapRealMatrix) {
+            // avoid scanning the whole matrix
+            for (OpenIntToDoubleHashMap.Iterator iterator = ((OpenMapRealMatrix) m).entriesIterator();
+                 iterator.hasNext();) {
+                iterator.advance();
+                final int row = iterator.key() / columns;
+                final int col = iterator.key() - row * columns;
+                builder.addEntry(row, col, iterator.value());
+            }
+        } else {
+            m.walkInOptimizedOrder(new DefaultRealMatrixPreservingVisitor() {
+                /** {@inheritDoc} */
+                @Override
+                public void visit(int row, int column, double value) {
+                    if (value != 0) {
+                        builder.addEntry(row, column, value);
+                    }
+                }
+            });
+        }
+        return builder;
+    }
+}
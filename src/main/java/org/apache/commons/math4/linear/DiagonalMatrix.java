@@ -174,7 +174,8 @@ public class DiagonalMatrix extends AbstractRealMatrix
      * Returns the result of postmultiplying {@code this} by {@code m}.
      *
      * @param m matrix to postmultiply by
-     * @return {@code this * m}
+     * @return {@code this * m}; the product is a {@link CSRRealMatrix} with
+     * the same sparsity pattern if {@code m} is one.
      * @throws DimensionMismatchException if
      * {@code columnDimension(this) != rowDimension(m)}
      */
@@ -183,6 +184,19 @@ public class DiagonalMatrix extends AbstractRealMatrix
         throws DimensionMismatchException {
         if (m instanceof DiagonalMatrix) {
             return multiply((DiagonalMatrix) m);
+        } else if (m instanceof CSRRealMatrix) {
+            // Scale the rows without changing the sparsity pattern.
+            MatrixUtils.checkMultiplicationCompatible(this, m);
+            final CSRRealMatrix sparse = (CSRRealMatrix) m;
+            final int[] rowPointers = sparse.getRowPointers();
+            final double[] values = sparse.getValues();
+            for (int r = 0; r < data.length; r++) {
+                for (int k = rowPointers[r]; k < rowPointers[r + 1]; k++) {
+                    values[k] *= data[r];
+                }
+            }
+            return new CSRRealMatrix(sparse.getRowDimension(), sparse.getColumnDimension(),
+                                     rowPointers, sparse.getColumnIndices(), values, false);
         } else {
             MatrixUtils.checkMultiplicationCompatible(this, m);
             final int nRows = m.getRowDimension();
@@ -294,6 +294,16 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
         }
     }
 
+    /**
+     * Gets an iterator over the stored entries.
+     * The key of an entry is {@code row * columns + column}.
+     *
+     * @return an iterator over the stored entries.
+     */
+    OpenIntToDoubleHashMap.Iterator entriesIterator() {
+        return entries.iterator();
+    }
+
     /**
      * Compute the key to access a matrix element
      * @param row row index of the matrix element
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.linear;
+
+import java.util.Arrays;
+
+import org.apache.commons.math4.exception.NotStrictlyPositiveException;
+import org.apache.commons.math4.exception.OutOfRangeException;
+import org.apache.commons.math4.exception.util.LocalizedFormats;
+
+/**
+ * Assembles a sparse matrix from coordinate (COO) triplets.
+ * <p>
+ * Entries can be added in any order. Several triplets with the same
+ * row and column indices are summed, as is customary when assembling
+ * finite-element systems. Entries whose final value is zero are not
+ * stored.
+ * </p>
+ * <p>
+ * The builder can be reused: calling {@link #buildCSR()} or
+ * {@link #buildCSC()} does not clear the entries added so far.
+ * </p>
+ *
+ * @see CSRRealMatrix
+ * @see CSCRealMatrix
+ * @since 4.0
+ */
+public class SparseRealMatrixBuilder {
+    /** Default initial capacity. */
+    private static final int DEFAULT_CAPACITY = 16;
+    /** Number of rows of the matrix. */
+    private final int rows;
+    /** Number of columns of the matrix. */
+    private final int columns;
+    /** Row indices of the triplets. */
+    private int[] rowIndices;
+    /** Column indices of the triplets. */
+    private int[] columnIndices;
+    /** Values of the triplets. */
+    private double[] values;
+    /** Number of triplets. */
+    private int size;
+
+    /**
+     * @param rows Number of rows of the matrix.
+     * @param columns Number of columns of the matrix.
+     * @throws NotStrictlyPositiveException if {@code rows} or {@code columns}
+     * is not positive.
+     */
+    public SparseRealMatrixBuilder(int rows,
+                                   int columns) {
+        this(rows, columns, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param rows Number of rows of the matrix.
+     * @param columns Number of columns of the matrix.
+     * @param expectedEntries Expected number of triplets (used to size the
+     * internal storage).
+     * @throws NotStrictlyPositiveException if {@code rows}, {@code columns}
+     * or {@code expectedEntries} is not positive.
+     */
+    public SparseRealMatrixBuilder(int rows,
+                                   int columns,
+                                   int expectedEntries) {
+        if (rows <= 0) {
+            throw new NotStrictlyPositiveException(LocalizedFormats.DIMENSION, rows);
+        }
+        if (columns <= 0) {
+            throw new NotStrictlyPositiveException(LocalizedFormats.DIMENSION, columns);
+        }
+        if (expectedEntries <= 0) {
+            throw new NotStrictlyPositiveException(expectedEntries);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        rowIndices = new int[expectedEntries];
+        columnIndices = new int[expectedEntries];
+        values = new double[expectedEntries];
+    }
+
+    /**
+     * Adds a triplet.
+     *
+     * @param row Row index.
+     * @param column Column index.
+     * @param value Value to add to the entry.
+     * @return this builder.
+     * @throws OutOfRangeException if {@code row} or {@code column} is
+     * not a valid index.
+     */
+    public SparseRealMatrixBuilder addEntry(int row,
+                                            int column,
+                                            double value) {
+        if (row < 0 || row >= rows) {
+            throw new OutOfRangeException(LocalizedFormats.ROW_INDEX, row, 0, rows - 1);
+        }
+        if (column < 0 || column >= columns) {
+            throw new OutOfRangeException(LocalizedFormats.COLUMN_INDEX, column, 0, columns - 1);
+        }
+
+        if (size == values.length) {
+            final int capacity = 2 * size;
+            rowIndices = Arrays.copyOf(rowIndices, capacity);
+            columnIndices = Arrays.copyOf(columnIndices, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        rowIndices[size] = row;
+        columnIndices[size] = column;
+        values[size] = value;
+        ++size;
+
+        return this;
+    }
+
+    /**
+     * @return the number of triplets added so far.
+     */
+    public int getNumberOfEntries() {
+        return size;
+    }
+
+    /**
+     * @return a matrix in compressed sparse row format.
+     */
+    public CSRRealMatrix buildCSR() {
+        final Compressed c = compress(rows, columns, rowIndices, columnIndices);
+        return new CSRRealMatrix(rows, columns, c.pointers, c.indices, c.values, false);
+    }
+
+    /**
+     * @return a matrix in compressed sparse column format.
+     */
+    public CSCRealMatrix buildCSC() {
+        final Compressed c = compress(columns, rows, columnIndices, rowIndices);
+        return new CSCRealMatrix(rows, columns, c.pointers, c.indices, c.values, false);
+    }
+
+    /**
+     * Sorts the triplets by major then minor index, and sums duplicates.
+     * Two stable counting sorts are used, so that the cost is linear in the
+     * number of triplets and dimensions.
+     *
+     * @param nMajor Major dimension.
+     * @param nMinor Minor dimension.
+     * @param major Major indices of the triplets.
+     * @param minor Minor indices of the triplets.
+     * @return the compressed representation.
+     */
+    private Compressed compress(int nMajor,
+                                int nMinor,
+                                int[] major,
+                                int[] minor) {
+        // Sort by minor index.
+        final int[] byMinor = new int[size];
+        final int[] minorStart = new int[nMinor + 1];
+        for (int k = 0; k < size; k++) {
+            ++minorStart[minor[k] + 1];
+        }
+        for (int j = 0; j < nMinor; j++) {
+            minorStart[j + 1] += minorStart[j];
+        }
+        for (int k = 0; k < size; k++) {
+            byMinor[minorStart[minor[k]]++] = k;
+        }
+
+        // Stable sort by major index: entries within a major slice
+        // end up ordered by minor index.
+        final int[] majorStart = new int[nMajor + 1];
+        for (int k = 0; k < size; k++) {
+            ++majorStart[major[k] + 1];
+        }
+        for (int i = 0; i < nMajor; i++) {
+            majorStart[i + 1] += majorStart[i];
+        }
+        final int[] next = Arrays.copyOf(majorStart, nMajor);
+        final int[] sorted = new int[size];
+        for (int s = 0; s < size; s++) {
+            final int k = byMinor[s];
+            sorted[next[major[k]]++] = k;
+        }
+
+        // Merge duplicates and drop zeros.
+        final int[] pointers = new int[nMajor + 1];
+        final int[] indices = new int[size];
+        final double[] compressed = new double[size];
+        int count = 0;
+        for (int i = 0; i < nMajor; i++) {
+            int s = majorStart[i];
+            final int end = majorStart[i + 1];
+            while (s < end) {
+                final int index = minor[sorted[s]];
+                double sum = 0;
+                while (s < end && minor[sorted[s]] == index) {
+                    sum += values[sorted[s]];
+                    ++s;
+                }
+                if (sum != 0) {
+                    indices[count] = index;
+                    compressed[count] = sum;
+                    ++count;
+                }
+            }
+            pointers[i + 1] = count;
+        }
+
+        return new Compressed(pointers,
+                              Arrays.copyOf(indices, count),
+                              Arrays.copyOf(compressed, count));
+    }
+
+    /** Compressed storage. */
+    private static class Compressed {
+        /** Start of each major slice. */
+        private final int[] pointers;
+        /** Minor indices. */
+        private final int[] indices;
+        /** Values. */
+        private final double[] values;
+
+        /**
+         * @param pointers Start of each major slice.
+         * @param indices Minor indices.
+         * @param values Values.
+         */
+        Compressed(int[] pointers,
+                   int[] indices,
+                   double[] values) {
+            this.pointers = pointers;
+            this.indices = indices;
+            this.values = values;
+        }
+    }
+}
@@ -17,16 +17,23 @@
 package org.apache.commons.math4.ml.clustering;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.function.IntFunction;
 
 import org.apache.commons.math4.exception.NotPositiveException;
+import org.apache.commons.math4.ml.distance.ChebyshevDistance;
 import org.apache.commons.math4.ml.distance.DistanceMeasure;
 import org.apache.commons.math4.ml.distance.EuclideanDistance;
+import org.apache.commons.math4.ml.distance.ManhattanDistance;
+import org.apache.commons.math4.util.ConcurrencyUtils;
+import org.apache.commons.math4.util.FastMath;
 import org.apache.commons.math4.util.MathUtils;
 
 /**
@@ -47,6 +54,18 @@ import org.apache.commons.math4.util.MathUtils;
  *   <li>eps: the distance that defines the &epsilon;-neighborhood of a point
  *   <li>minPoints: the minimum number of density-connected points required to form a cluster
  * </ul>
+ * <p>
+ * When the distance measure is a {@link EuclideanDistance}, a {@link ManhattanDistance}
+ * or a {@link ChebyshevDistance}, the &epsilon;-neighborhoods are searched with a uniform
+ * grid of cells of size eps built over (at most) three coordinates of the points, so that
+ * only points lying in adjacent cells are compared. Each neighborhood is still filtered
+ * with the exact distance measure and reported in the iteration order of the input points,
+ * so the resulting clusters are identical to those of an exhaustive search. For other
+ * distance measures, every pair of points is compared.
+ * <p>
+ * Subclasses that override {@link #distance(Clusterable, Clusterable)} must preserve
+ * the property that two points within distance eps of each other differ by at most eps
+ * in every coordinate, or use a distance measure for which the grid is not used.
  *
  * @param <T> type of the points to cluster
  * @see <a href="http://en.wikipedia.org/wiki/DBSCAN">DBSCAN (wikipedia)</a>
@@ -56,6 +75,9 @@ import org.apache.commons.math4.util.MathUtils;
  */
 public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
 
+    /** Number of neighborhood queries performed by a single parallel task. */
+    private static final int QUERIES_PER_TASK = 256;
+
     /** Maximum radius of the neighborhood to be considered. */
     private final double              eps;
 
@@ -131,18 +153,74 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
         // sanity checks
         MathUtils.checkNotNull(points);
 
+        final List<T> data = new ArrayList<>(points);
+        final IntFunction<int[]> neighborhood = createNeighborhood(data);
+        return formClusters(data, neighborhood);
+    }
+
+    /**
+     * Performs DBSCAN cluster analysis, using {@code executor} to compute
+     * the neighborhoods of the points concurrently.
+     * <p>
+     * All the neighborhoods are computed before the clusters are formed,
+     * which requires memory proportional to the total number of neighbors.
+     * The distance measure must be safe for use by several threads.
+     * The result is identical to the one of {@link #cluster(Collection)}.
+     * </p>
+     *
+     * @param points Points to cluster (cannot be {@code null}).
+     * @param executor Executor used to compute the neighborhoods.
+     * @return the list of clusters.
+     * @since 4.0
+     */
+    public List<Cluster<T>> cluster(final Collection<T> points,
+                                    final ExecutorService executor) {
+        // sanity checks
+        MathUtils.checkNotNull(points);
+        MathUtils.checkNotNull(executor);
+
+        final List<T> data = new ArrayList<>(points);
+        final IntFunction<int[]> neighborhood = createNeighborhood(data);
+        final int n = data.size();
+        final int[][] neighbors = new int[n][];
+        final int tasks = FastMath.max(1, (n + QUERIES_PER_TASK - 1) / QUERIES_PER_TASK);
+        ConcurrencyUtils.forEachRange(executor, n, tasks, (start, end) -> {
+                for (int i = start; i < end; i++) {
+                    neighbors[i] = neighborhood.apply(i);
+                }
+            });
+
+        return formClusters(data, i -> {
+                // each neighborhood is requested only once
+                final int[] result = neighbors[i];
+                neighbors[i] = null;
+                return result;
+            });
+    }
+
+    /**
+     * Performs DBSCAN cluster analysis.
+     *
+     * @param data Points to cluster.
+     * @param neighborhood Neighborhood query: returns the indices in
+     * {@code data} of the neighbors of the point at the given index.
+     * @return the list of clusters.
+     */
+    private List<Cluster<T>> formClusters(final List<T> data,
+                                          final IntFunction<int[]> neighborhood) {
         final List<Cluster<T>> clusters = new ArrayList<>();
         final Map<Clusterable, PointStatus> visited = new HashMap<>();
 
-        for (final T point : points) {
+        for (int i = 0; i < data.size(); i++) {
+            final T point = data.get(i);
             if (visited.get(point) != null) {
                 continue;
             }
-            final List<T> neighbors = getNeighbors(point, points);
-            if (neighbors.size() >= minPts) {
+            final int[] neighbors = neighborhood.apply(i);
+            if (neighbors.length >= minPts) {
                 // DBSCAN does not care about center points
                 final Cluster<T> cluster = new Cluster<>();
-                clusters.add(expandCluster(cluster, point, neighbors, points, visited));
+                clusters.add(expandCluster(cluster, point, neighbors, data, neighborhood, visited));
             } else {
                 visited.put(point, PointStatus.NOISE);
             }
@@ -156,29 +234,57 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
      *
      * @param cluster Cluster to expand
      * @param point Point to add to cluster
-     * @param neighbors List of neighbors
-     * @param points the data set
+     * @param neighbors Indices of the neighbors
+     * @param data the data set
+     * @param neighborhood the neighborhood query
      * @param visited the set of already visited points
      * @return the expanded cluster
      */
     private Cluster<T> expandCluster(final Cluster<T> cluster,
                                      final T point,
-                                     final List<T> neighbors,
-                                     final Collection<T> points,
+                                     final int[] neighbors,
+                                     final List<T> data,
+                                     final IntFunction<int[]> neighborhood,
                                      final Map<Clusterable, PointStatus> visited) {
         cluster.addPoint(point);
         visited.put(point, PointStatus.PART_OF_CLUSTER);
 
-        List<T> seeds = new ArrayList<>(neighbors);
+        int[] seeds = neighbors.clone();
+        int size = seeds.length;
+        // points in seeds[0 .. size), maintained incrementally
+        Set<T> seedSet = null;
         int index = 0;
-        while (index < seeds.size()) {
-            final T current = seeds.get(index);
+        while (index < size) {
+            final T current = data.get(seeds[index]);
             PointStatus pStatus = visited.get(current);
             // only check non-visited points
             if (pStatus == null) {
-                final List<T> currentNeighbors = getNeighbors(current, points);
-                if (currentNeighbors.size() >= minPts) {
-                    seeds = merge(seeds, currentNeighbors);
+                final int[] currentNeighbors = neighborhood.apply(seeds[index]);
+                if (currentNeighbors.length >= minPts) {
+                    if (seedSet == null) {
+                        seedSet = new HashSet<>();
+                        for (int k = 0; k < size; k++) {
+                            seedSet.add(data.get(seeds[k]));
+                        }
+                    }
+
+                    // append the neighbors that were not already seeds; as in
+                    // a plain list merge, the membership test is done against
+                    // the seeds that were present before this merge
+                    if (seeds.length - size < currentNeighbors.length) {
+                        seeds = Arrays.copyOf(seeds,
+                                              FastMath.max(2 * seeds.length,
+                                                           size + currentNeighbors.length));
+                    }
+                    final int previousSize = size;
+                    for (final int neighbor : currentNeighbors) {
+                        if (!seedSet.contains(data.get(neighbor))) {
+                            seeds[size++] = neighbor;
+                        }
+                    }
+                    for (int k = previousSize; k < size; k++) {
+                        seedSet.add(data.get(seeds[k]));
+                    }
                 }
             }
 
@@ -193,36 +299,296 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
     }
 
     /**
-     * Returns a list of density-reachable neighbors of a {@code point}.
+     * Creates the neighborhood query for the given data set.
+     * The query returns the indices of all the points that lie within distance
+     * {@link #getEps() eps} of the point at the given index (excluding that point),
+     * in increasing order.
      *
-     * @param point the point to look for
-     * @param points possible neighbors
-     * @return the List of neighbors
+     * @param data the data set
+     * @return the neighborhood query.
      */
-    private List<T> getNeighbors(final T point, final Collection<T> points) {
-        final List<T> neighbors = new ArrayList<>();
-        for (final T neighbor : points) {
+    private IntFunction<int[]> createNeighborhood(final List<T> data) {
+        final GridIndex grid = GridIndex.create(data, getDistanceMeasure(), eps);
+        if (grid == null) {
+            return i -> getNeighbors(i, data);
+        } else {
+            return i -> getNeighbors(i, data, grid);
+        }
+    }
+
+    /**
+     * Returns the indices of the density-reachable neighbors of a point,
+     * by an exhaustive search.
+     *
+     * @param index index of the point to look for
+     * @param data possible neighbors
+     * @return the indices of the neighbors
+     */
+    private int[] getNeighbors(final int index, final List<T> data) {
+        final T point = data.get(index);
+        int[] neighbors = new int[16];
+        int count = 0;
+        for (int j = 0; j < data.size(); j++) {
+            final T neighbor = data.get(j);
             if (point != neighbor && distance(neighbor, point) <= eps) {
-                neighbors.add(neighbor);
+                if (count == neighbors.length) {
+                    neighbors = Arrays.copyOf(neighbors, 2 * count);
+                }
+                neighbors[count++] = j;
             }
         }
-        return neighbors;
+        return Arrays.copyOf(neighbors, count);
     }
 
     /**
-     * Merges two lists together.
+     * Returns the indices of the density-reachable neighbors of a point,
+     * using a grid to select the candidates.
      *
-     * @param one first list
-     * @param two second list
-     * @return merged lists
+     * @param index index of the point to look for
+     * @param data possible neighbors
+     * @param grid grid index of {@code data}
+     * @return the indices of the neighbors
      */
-    private List<T> merge(final List<T> one, final List<T> two) {
-        final Set<T> oneSet = new HashSet<>(one);
-        for (T item : two) {
-            if (!oneSet.contains(item)) {
-                one.add(item);
+    private int[] getNeighbors(final int index, final List<T> data, final GridIndex grid) {
+        final int[] candidates = grid.candidates(data.get(index).getPoint());
+        if (candidates == null) {
+            // too many cells to scan
+            return getNeighbors(index, data);
+        }
+
+        final T point = data.get(index);
+        int count = 0;
+        for (final int j : candidates) {
+            final T neighbor = data.get(j);
+            if (point != neighbor && distance(neighbor, point) <= eps) {
+                candidates[count++] = j;
+            }
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    /**
+     * Uniform grid over a subset of the coordinates of the points.
+     * <p>
+     * The grid is only valid for distances that are bounded from below by
+     * the largest coordinate difference, so that all the points within
+     * distance eps of a point lie in the adjacent cells.
+     */
+    private static final class GridIndex {
+        /** Maximum number of indexed coordinates. */
+        private static final int MAX_DIMENSIONS = 3;
+        /** Maximum number of cells scanned by a single query. */
+        private static final int MAX_CELLS = 64;
+        /** Relative margin covering the rounding errors of the distance computation. */
+        private static final double RELATIVE_MARGIN = 1e-9;
+        /** Absolute margin covering the underflow of the distance computation. */
+        private static final double ABSOLUTE_MARGIN = 1e-150;
+
+        /** Indexed coordinates. */
+        private final int[] dimensions;
+        /** Size of the cells. */
+        private final double size;
+        /** Indices of the points contained in each non-empty cell, in increasing order. */
+        private final Map<Cell, int[]> cells;
+
+        /**
+         * @param dimensions Indexed coordinates.
+         * @param size Size of the cells.
+         * @param cells Contents of the cells.
+         */
+        private GridIndex(final int[] dimensions,
+                          final double size,
+                          final Map<Cell, int[]> cells) {
+            this.dimensions = dimensions;
+            this.size = size;
+            this.cells = cells;
+        }
+
+        /**
+         * Creates a grid index of the given points.
+         *
+         * @param <T> Type of the points.
+         * @param data Points to index.
+         * @param measure Distance measure.
+         * @param eps Radius of the neighborhoods.
+         * @return the grid, or {@code null} if it cannot be used for the
+         * given distance measure and data.
+         */
+        static <T extends Clusterable> GridIndex create(final List<T> data,
+                                                        final DistanceMeasure measure,
+                                                        final double eps) {
+            final Class<?> type = measure.getClass();
+            if ((type != EuclideanDistance.class &&
+                 type != ManhattanDistance.class &&
+                 type != ChebyshevDistance.class) ||
+                Double.isInfinite(eps) ||
+                data.isEmpty()) {
+                return null;
+            }
+
+            // the grid is built over the coordinates with the widest spread
+            final int dim = data.get(0).getPoint().length;
+            final double[] min = new double[dim];
+            final double[] max = new double[dim];
+            Arrays.fill(min, Double.POSITIVE_INFINITY);
+            Arrays.fill(max, Double.NEGATIVE_INFINITY);
+            for (final T t : data) {
+                final double[] p = t.getPoint();
+                if (p.length != dim) {
+                    // let the distance measure report the mismatch
+                    return null;
+                }
+                for (int k = 0; k < dim; k++) {
+                    min[k] = FastMath.min(min[k], p[k]);
+                    max[k] = FastMath.max(max[k], p[k]);
+                }
+            }
+            final Integer[] order = new Integer[dim];
+            for (int k = 0; k < dim; k++) {
+                order[k] = k;
+            }
+            Arrays.sort(order, (k1, k2) -> Double.compare(max[k2] - min[k2], max[k1] - min[k1]));
+            final int[] dimensions = new int[FastMath.min(dim, MAX_DIMENSIONS)];
+            if (dimensions.length == 0) {
+                return null;
+            }
+            for (int k = 0; k < dimensions.length; k++) {
+                dimensions[k] = order[k];
+            }
+
+            final double size = eps * (1 + RELATIVE_MARGIN) + ABSOLUTE_MARGIN;
+
+            // count the points in each cell, then fill the cells
+            final Cell[] keys = new Cell[data.size()];
+            final Map<Cell, int[]> counts = new HashMap<>();
+            for (int i = 0; i < keys.length; i++) {
+                final double[] p = data.get(i).getPoint();
+                final long[] c = new long[dimensions.length];
+                for (int k = 0; k < c.length; k++) {
+                    c[k] = cell(p[dimensions[k]], size);
+                }
+                keys[i] = new Cell(c);
+                final int[] count = counts.get(keys[i]);
+                if (count == null) {
+                    counts.put(keys[i], new int[] { 1 });
+                } else {
+                    ++count[0];
+                }
+            }
+            final Map<Cell, int[]> cells = new HashMap<>();
+            for (final Map.Entry<Cell, int[]> entry : counts.entrySet()) {
+                cells.put(entry.getKey(), new int[entry.getValue()[0]]);
+                // from now on, the count is used as a decreasing cursor
+            }
+            for (int i = keys.length - 1; i >= 0; i--) {
+                final int[] count = counts.get(keys[i]);
+                cells.get(keys[i])[--count[0]] = i;
+            }
+
+            return new GridIndex(dimensions, size, cells);
+        }
+
+        /**
+         * Returns the indices of the points lying in the cells that may
+         * contain neighbors of the given point.
+         *
+         * @param p Coordinates of the point.
+         * @return the indices of the candidates, in increasing order, or
+         * {@code null} if too many cells would need to be scanned.
+         */
+        int[] candidates(final double[] p) {
+            final int n = dimensions.length;
+            final long[] lo = new long[n];
+            final long[] hi = new long[n];
+            long total = 1;
+            for (int k = 0; k < n; k++) {
+                final double x = p[dimensions[k]];
+                // as rounding is monotonic, the cell of any neighbor
+                // lies within these bounds
+                lo[k] = cell(x - size, size);
+                hi[k] = cell(x + size, size);
+                if (hi[k] - lo[k] < 0 || hi[k] - lo[k] >= MAX_CELLS) {
+                    return null;
+                }
+                total *= hi[k] - lo[k] + 1;
+                if (total > MAX_CELLS) {
+                    return null;
+                }
+            }
+
+            final List<int[]> found = new ArrayList<>();
+            int count = 0;
+            final long[] c = lo.clone();
+            while (true) {
+                final int[] content = cells.get(new Cell(c));
+                if (content != null) {
+                    found.add(content);
+                    count += content.length;
+                }
+
+                // next cell
+                int k = 0;
+                while (k < n && c[k] == hi[k]) {
+                    c[k] = lo[k];
+                    ++k;
+                }
+                if (k == n) {
+                    break;
+                }
+                ++c[k];
+            }
+
+            final int[] candidates = new int[count];
+            int offset = 0;
+            for (final int[] content : found) {
+                System.arraycopy(content, 0, candidates, offset, content.length);
+                offset += content.length;
+            }
+            if (found.size() > 1) {
+                Arrays.sort(candidates);
+            }
+            return candidates;
+        }
+
+        /**
+         * Computes the cell index of a coordinate.
+         *
+         * @param x Coordinate.
+         * @param size Size of the cells.
+         * @return the cell index.
+         */
+        private static long cell(final double x, final double size) {
+            // the conversion saturates for huge values, which only merges cells
+            return (long) FastMath.floor(x / size);
+        }
+
+        /** Key of a grid cell. */
+        private static final class Cell {
+            /** Cell indices along the indexed coordinates. */
+            private final long[] indices;
+            /** Cached hash code. */
+            private final int hash;
+
+            /**
+             * @param indices Cell indices (not copied).
+             */
+            Cell(final long[] indices) {
+                this.indices = indices;
+                this.hash = Arrays.hashCode(indices);
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public boolean equals(final Object other) {
+                return other instanceof Cell &&
+                    Arrays.equals(indices, ((Cell) other).indices);
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public int hashCode() {
+                return hash;
             }
         }
-        return one;
     }
 }
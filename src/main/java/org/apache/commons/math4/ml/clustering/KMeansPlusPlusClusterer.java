@@ -20,21 +20,43 @@ package org.apache.commons.math4.ml.clustering;
 import org.apache.commons.math4.exception.ConvergenceException;
 import org.apache.commons.math4.exception.NumberIsTooSmallException;
 import org.apache.commons.math4.exception.util.LocalizedFormats;
+import org.apache.commons.math4.ml.distance.ChebyshevDistance;
 import org.apache.commons.math4.ml.distance.DistanceMeasure;
 import org.apache.commons.math4.ml.distance.EuclideanDistance;
+import org.apache.commons.math4.ml.distance.ManhattanDistance;
 import org.apache.commons.math4.stat.descriptive.moment.Variance;
+import org.apache.commons.math4.util.ConcurrencyUtils;
+import org.apache.commons.math4.util.FastMath;
 import org.apache.commons.math4.util.MathUtils;
 import org.apache.commons.rng.UniformRandomProvider;
 import org.apache.commons.rng.simple.RandomSource;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Clustering algorithm based on David Arthur and Sergei Vassilvitski k-means++ algorithm.
+ * <p>
+ * When the distance measure is a {@link EuclideanDistance}, a {@link ManhattanDistance}
+ * or a {@link ChebyshevDistance}, the assignment of the points to the clusters uses
+ * the bounds of Hamerly's algorithm: an upper bound of the distance of each point to
+ * its center and a lower bound of its distance to all the other centers are maintained
+ * across iterations through the triangle inequality, so that the distances to the
+ * centers need only be computed for the points whose assignment may have changed.
+ * A point is kept in its cluster only when the bounds prove that its center is
+ * strictly the nearest one (with a small margin for rounding errors), so the clusters
+ * are identical to those found by computing all the distances.
+ * <p>
+ * Subclasses that override {@link #distance(Clusterable, Clusterable)} must either
+ * keep it a metric or use a distance measure for which the bounds are not used.
+ *
  * @param <T> type of the points to cluster
+ * @see <a href="https://doi.org/10.1137/1.9781611972801.12">
+ * G. Hamerly, Making k-means even faster</a>
  * @see <a href="http://en.wikipedia.org/wiki/K-means%2B%2B">K-means++ (wikipedia)</a>
  * @since 3.2
  */
@@ -57,6 +79,12 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
 
     }
 
+    /** Number of points assigned by a single parallel task. */
+    private static final int POINTS_PER_TASK = 4096;
+
+    /** Relative size of the safety margin of the distance bounds. */
+    private static final double BOUNDS_MARGIN = 1e-9;
+
     /** The number of clusters. */
     private final int numberOfClusters;
 
@@ -181,25 +209,67 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
         // sanity checks
         MathUtils.checkNotNull(points);
 
+        return doCluster(points, null);
+    }
+
+    /**
+     * Runs the K-means++ clustering algorithm, using {@code executor} to
+     * compute the distances between the points and the centers concurrently.
+     * <p>
+     * The random selection of the initial centers and the update of the
+     * centers are performed in the calling thread. The distance measure must
+     * be safe for use by several threads. The result is identical to the one
+     * of {@link #cluster(Collection)}.
+     * </p>
+     *
+     * @param points the points to cluster
+     * @param executor executor used to compute the distances
+     * @return a list of clusters containing the points
+     * @throws org.apache.commons.math4.exception.MathIllegalArgumentException
+     * if the data points or the executor are null or the number of clusters is
+     * larger than the number of data points
+     * @throws ConvergenceException if an empty cluster is encountered and the
+     * empty cluster strategy is set to {@link EmptyClusterStrategy#ERROR}
+     * @since 4.0
+     */
+    public List<CentroidCluster<T>> cluster(final Collection<T> points,
+                                            final ExecutorService executor) {
+        // sanity checks
+        MathUtils.checkNotNull(points);
+        MathUtils.checkNotNull(executor);
+
+        return doCluster(points, executor);
+    }
+
+    /**
+     * Runs the K-means++ clustering algorithm.
+     *
+     * @param points the points to cluster
+     * @param executor executor used to compute the distances, or
+     * {@code null} to compute them in the calling thread
+     * @return a list of clusters containing the points
+     */
+    private List<CentroidCluster<T>> doCluster(final Collection<T> points,
+                                               final ExecutorService executor) {
         // number of clusters has to be smaller or equal the number of data points
         if (points.size() < numberOfClusters) {
             throw new NumberIsTooSmallException(points.size(), numberOfClusters, false);
         }
 
         // create the initial clusters
-        List<CentroidCluster<T>> clusters = chooseInitialCenters(points);
+        List<CentroidCluster<T>> clusters = chooseInitialCenters(points, executor);
 
         // create an array containing the latest assignment of a point to a cluster
         // no need to initialize the array, as it will be filled with the first assignment
-        int[] assignments = new int[points.size()];
-        assignPointsToClusters(clusters, points, assignments);
+        final Assignment assignment = new Assignment(points, executor);
+        assignment.assign(clusters, null);
 
         // iterate through updating the centers until we're done
         final int max = (maxIterations < 0) ? Integer.MAX_VALUE : maxIterations;
         for (int count = 0; count < max; count++) {
             boolean hasEmptyCluster = clusters.stream().anyMatch(cluster->cluster.getPoints().isEmpty());
             List<CentroidCluster<T>> newClusters = adjustClustersCenters(clusters);
-            int changes = assignPointsToClusters(newClusters, points, assignments);
+            int changes = assignment.assign(newClusters, clusters);
             clusters = newClusters;
 
             // if there were no more changes in the point-to-cluster assignment
@@ -225,6 +295,25 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
         return emptyStrategy;
     }
 
+    /**
+     * Creates a clusterer with the same configuration as this instance, but
+     * with a different random generator.
+     * <p>
+     * Subclasses that change the clustering algorithm must override this
+     * method so that the new clusterer runs the same algorithm; otherwise
+     * {@link MultiKMeansPlusPlusClusterer#cluster(Collection, ExecutorService)}
+     * cannot run their trials concurrently.
+     * </p>
+     *
+     * @param generator random generator to use for choosing initial centers
+     * @return a new clusterer
+     * @since 4.0
+     */
+    public KMeansPlusPlusClusterer<T> withRandomGenerator(final UniformRandomProvider generator) {
+        return new KMeansPlusPlusClusterer<>(numberOfClusters, maxIterations,
+                                             getDistanceMeasure(), generator, emptyStrategy);
+    }
+
     /**
      * Adjust the clusters's centers with means of points
      * @param clusters the origin clusters
@@ -257,39 +346,25 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
     }
 
     /**
-     * Adds the given points to the closest {@link Cluster}.
+     * Use K-means++ to choose the initial centers.
      *
-     * @param clusters the {@link Cluster}s to add the points to
-     * @param points the points to add to the given {@link Cluster}s
-     * @param assignments points assignments to clusters
-     * @return the number of points assigned to different clusters as the iteration before
+     * @param points the points to choose the initial centers from
+     * @return the initial centers
      */
-    private int assignPointsToClusters(final List<CentroidCluster<T>> clusters,
-                                       final Collection<T> points,
-                                       final int[] assignments) {
-        int assignedDifferently = 0;
-        int pointIndex = 0;
-        for (final T p : points) {
-            int clusterIndex = getNearestCluster(clusters, p);
-            if (clusterIndex != assignments[pointIndex]) {
-                assignedDifferently++;
-            }
-
-            CentroidCluster<T> cluster = clusters.get(clusterIndex);
-            cluster.addPoint(p);
-            assignments[pointIndex++] = clusterIndex;
-        }
-
-        return assignedDifferently;
+    List<CentroidCluster<T>> chooseInitialCenters(final Collection<T> points) {
+        return chooseInitialCenters(points, null);
     }
 
     /**
      * Use K-means++ to choose the initial centers.
      *
      * @param points the points to choose the initial centers from
+     * @param executor executor used to update the distances to the centers,
+     * or {@code null} to update them in the calling thread
      * @return the initial centers
      */
-    List<CentroidCluster<T>> chooseInitialCenters(final Collection<T> points) {
+    private List<CentroidCluster<T>> chooseInitialCenters(final Collection<T> points,
+                                                          final ExecutorService executor) {
 
         // Convert to list for indexed access. Make it unmodifiable, since removal of items
         // would screw up the logic of this method.
@@ -321,12 +396,14 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
 
         // Initialize the elements.  Since the only point in resultSet is firstPoint,
         // this is very easy.
-        for (int i = 0; i < numPoints; i++) {
-            if (i != firstPointIndex) { // That point isn't considered
-                double d = distance(firstPoint, pointList.get(i));
-                minDistSquared[i] = d*d;
-            }
-        }
+        forEachRange(executor, numPoints, (start, end) -> {
+                for (int i = start; i < end; i++) {
+                    if (i != firstPointIndex) { // That point isn't considered
+                        double d = distance(firstPoint, pointList.get(i));
+                        minDistSquared[i] = d*d;
+                    }
+                }
+            });
 
         while (resultSet.size() < numberOfClusters) {
 
@@ -385,16 +462,18 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
                 if (resultSet.size() < numberOfClusters) {
                     // Now update elements of minDistSquared.  We only have to compute
                     // the distance to the new center to do this.
-                    for (int j = 0; j < numPoints; j++) {
-                        // Only have to worry about the points still not taken.
-                        if (!taken[j]) {
-                            double d = distance(p, pointList.get(j));
-                            double d2 = d * d;
-                            if (d2 < minDistSquared[j]) {
-                                minDistSquared[j] = d2;
+                    forEachRange(executor, numPoints, (start, end) -> {
+                            for (int j = start; j < end; j++) {
+                                // Only have to worry about the points still not taken.
+                                if (!taken[j]) {
+                                    double d = distance(p, pointList.get(j));
+                                    double d2 = d * d;
+                                    if (d2 < minDistSquared[j]) {
+                                        minDistSquared[j] = d2;
+                                    }
+                                }
                             }
-                        }
-                    }
+                        });
                 }
 
             } else {
@@ -520,24 +599,262 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
     }
 
     /**
-     * Returns the nearest {@link Cluster} to the given point
+     * Processes ranges of points.
      *
-     * @param clusters the {@link Cluster}s to search
-     * @param point the point to find the nearest {@link Cluster} for
-     * @return the index of the nearest {@link Cluster} to the given point
+     * @param executor Executor, or {@code null} to process all the points
+     * in the calling thread.
+     * @param n Number of points.
+     * @param body Processing of a range of points.
+     */
+    private static void forEachRange(final ExecutorService executor,
+                                     final int n,
+                                     final ConcurrencyUtils.RangeConsumer body) {
+        if (executor == null) {
+            body.accept(0, n);
+        } else {
+            final int tasks = FastMath.max(1, (n + POINTS_PER_TASK - 1) / POINTS_PER_TASK);
+            ConcurrencyUtils.forEachRange(executor, n, tasks, body);
+        }
+    }
+
+    /**
+     * Returns the nearest center to the given point.
+     *
+     * @param centers the centers to search
+     * @param point the point to find the nearest center for
+     * @return the index of the nearest center to the given point
      */
-    private int getNearestCluster(final Collection<CentroidCluster<T>> clusters, final T point) {
+    private int getNearestCluster(final Clusterable[] centers, final T point) {
         double minDistance = Double.MAX_VALUE;
-        int clusterIndex = 0;
         int minCluster = 0;
-        for (final CentroidCluster<T> c : clusters) {
-            final double distance = distance(point, c.getCenter());
+        for (int clusterIndex = 0; clusterIndex < centers.length; clusterIndex++) {
+            final double distance = distance(point, centers[clusterIndex]);
             if (distance < minDistance) {
                 minDistance = distance;
                 minCluster = clusterIndex;
             }
-            clusterIndex++;
         }
         return minCluster;
     }
+
+    /**
+     * Assignment of the points to their nearest cluster.
+     */
+    private class Assignment {
+        /** Points to assign. */
+        private final List<T> points;
+        /** Executor, or {@code null} if the points are assigned in the calling thread. */
+        private final ExecutorService executor;
+        /** Latest assignment of each point to a cluster. */
+        private final int[] assignments;
+        /** Upper bound of the distance of each point to its center (Hamerly bounds only). */
+        private final double[] upper;
+        /** Lower bound of the distance of each point to the other centers (Hamerly bounds only). */
+        private final double[] lower;
+        /** Safety margin of the bounds. */
+        private double margin;
+
+        /**
+         * @param points Points to assign.
+         * @param executor Executor, or {@code null}.
+         */
+        Assignment(final Collection<T> points,
+                   final ExecutorService executor) {
+            this.points = new ArrayList<>(points);
+            this.executor = executor;
+            this.assignments = new int[points.size()];
+
+            final Class<?> type = getDistanceMeasure().getClass();
+            if (type == EuclideanDistance.class ||
+                type == ManhattanDistance.class ||
+                type == ChebyshevDistance.class) {
+                upper = new double[points.size()];
+                lower = new double[points.size()];
+            } else {
+                upper = null;
+                lower = null;
+            }
+        }
+
+        /**
+         * Adds the points to the closest cluster.
+         *
+         * @param clusters the clusters to add the points to
+         * @param previous the clusters of the previous iteration, or {@code null}
+         * for the first assignment
+         * @return the number of points assigned to different clusters as the iteration before
+         */
+        int assign(final List<CentroidCluster<T>> clusters,
+                   final List<CentroidCluster<T>> previous) {
+            final int n = points.size();
+            final Clusterable[] centers = new Clusterable[clusters.size()];
+            for (int j = 0; j < centers.length; j++) {
+                centers[j] = clusters.get(j).getCenter();
+            }
+            final int[] nearest = new int[n];
+
+            if (upper == null) {
+                forEachRange(executor, n, (start, end) -> {
+                        for (int i = start; i < end; i++) {
+                            nearest[i] = getNearestCluster(centers, points.get(i));
+                        }
+                    });
+            } else if (previous == null) {
+                forEachRange(executor, n, (start, end) -> {
+                        for (int i = start; i < end; i++) {
+                            nearest[i] = scan(centers, i);
+                        }
+                    });
+                // all the distances and center displacements are bounded by
+                // the diameter of the data set, so the rounding errors of the
+                // bounds are bounded by a small fraction of this diameter
+                double radius = 0;
+                for (int i = 0; i < n; i++) {
+                    radius = FastMath.max(radius, distance(points.get(i), centers[0]));
+                }
+                margin = 2 * BOUNDS_MARGIN * radius;
+            } else {
+                final Bounds bounds = new Bounds(centers, previous);
+                forEachRange(executor, n, (start, end) -> {
+                        for (int i = start; i < end; i++) {
+                            nearest[i] = update(centers, bounds, i);
+                        }
+                    });
+            }
+
+            int assignedDifferently = 0;
+            for (int i = 0; i < n; i++) {
+                final int clusterIndex = nearest[i];
+                if (clusterIndex != assignments[i]) {
+                    assignedDifferently++;
+                }
+
+                clusters.get(clusterIndex).addPoint(points.get(i));
+                assignments[i] = clusterIndex;
+            }
+
+            return assignedDifferently;
+        }
+
+        /**
+         * Finds the nearest center of a point by computing its distance to all
+         * the centers, and resets its bounds.
+         *
+         * @param centers Centers of the clusters.
+         * @param i Index of the point.
+         * @return the index of the nearest center.
+         */
+        private int scan(final Clusterable[] centers,
+                         final int i) {
+            final T point = points.get(i);
+            // same selection as getNearestCluster, also keeping track of the
+            // second smallest distance (NaN distances propagate to the bounds,
+            // which then always fail)
+            double nearestDistance = distance(point, centers[0]);
+            double minDistance = nearestDistance < Double.MAX_VALUE ? nearestDistance : Double.MAX_VALUE;
+            int minCluster = 0;
+            double secondDistance = Double.POSITIVE_INFINITY;
+            for (int clusterIndex = 1; clusterIndex < centers.length; clusterIndex++) {
+                final double distance = distance(point, centers[clusterIndex]);
+                if (distance < minDistance) {
+                    secondDistance = FastMath.min(secondDistance, nearestDistance);
+                    minDistance = distance;
+                    minCluster = clusterIndex;
+                    nearestDistance = distance;
+                } else {
+                    secondDistance = FastMath.min(secondDistance, distance);
+                }
+            }
+            upper[i] = nearestDistance;
+            lower[i] = secondDistance;
+            return minCluster;
+        }
+
+        /**
+         * Updates the bounds of a point after the centers have moved, and
+         * finds its nearest center.
+         *
+         * @param centers Centers of the clusters.
+         * @param bounds Displacements and separations of the centers.
+         * @param i Index of the point.
+         * @return the index of the nearest center.
+         */
+        private int update(final Clusterable[] centers,
+                           final Bounds bounds,
+                           final int i) {
+            final int a = assignments[i];
+            final double u = upper[i] + bounds.drift[a];
+            final double l = lower[i] - (a == bounds.farthest ? bounds.secondDrift : bounds.maxDrift);
+            final double m = FastMath.max(bounds.halfSeparation[a], l) - margin;
+            if (u < m) {
+                // the center cannot have changed
+                upper[i] = u;
+                lower[i] = l;
+                return a;
+            }
+
+            final double tight = distance(points.get(i), centers[a]);
+            if (tight < m) {
+                upper[i] = tight;
+                lower[i] = l;
+                return a;
+            }
+
+            return scan(centers, i);
+        }
+
+        /**
+         * Displacements and separations of the centers for one iteration.
+         */
+        private class Bounds {
+            /** Displacement of each center since the previous iteration. */
+            private final double[] drift;
+            /** Index of the center with the largest displacement. */
+            private final int farthest;
+            /** Largest displacement. */
+            private final double maxDrift;
+            /** Largest displacement of the centers other than {@link #farthest}. */
+            private final double secondDrift;
+            /** Half the distance from each center to the closest other center. */
+            private final double[] halfSeparation;
+
+            /**
+             * @param centers Current centers.
+             * @param previous Clusters of the previous iteration.
+             */
+            Bounds(final Clusterable[] centers,
+                   final List<CentroidCluster<T>> previous) {
+                final int k = centers.length;
+                drift = new double[k];
+                int far = 0;
+                double max = Double.NEGATIVE_INFINITY;
+                double second = Double.NEGATIVE_INFINITY;
+                for (int j = 0; j < k; j++) {
+                    // NaN displacements disable the bounds
+                    final double d = distance(previous.get(j).getCenter(), centers[j]);
+                    drift[j] = Double.isNaN(d) ? Double.POSITIVE_INFINITY : d;
+                    if (drift[j] > max) {
+                        second = max;
+                        max = drift[j];
+                        far = j;
+                    } else if (drift[j] > second) {
+                        second = drift[j];
+                    }
+                }
+                farthest = far;
+                maxDrift = max;
+                secondDrift = k > 1 ? second : 0;
+
+                halfSeparation = new double[k];
+                Arrays.fill(halfSeparation, Double.POSITIVE_INFINITY);
+                for (int j1 = 0; j1 < k; j1++) {
+                    for (int j2 = j1 + 1; j2 < k; j2++) {
+                        final double d = 0.5 * distance(centers[j1], centers[j2]);
+                        halfSeparation[j1] = FastMath.min(halfSeparation[j1], d);
+                        halfSeparation[j2] = FastMath.min(halfSeparation[j2], d);
+                    }
+                }
+            }
+        }
+    }
 }
@@ -17,8 +17,11 @@
 
 package org.apache.commons.math4.ml.clustering;
 
+import org.apache.commons.math4.exception.NullArgumentException;
 import org.apache.commons.math4.exception.NumberIsTooSmallException;
 import org.apache.commons.math4.ml.distance.DistanceMeasure;
+import org.apache.commons.math4.util.ConcurrencyUtils;
+import org.apache.commons.math4.util.FastMath;
 import org.apache.commons.math4.util.MathUtils;
 import org.apache.commons.math4.util.Pair;
 import org.apache.commons.rng.UniformRandomProvider;
@@ -27,6 +30,7 @@ import org.apache.commons.rng.sampling.ListSampler;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Clustering algorithm <a href="https://www.eecs.tufts.edu/~dsculley/papers/fastkmeans.pdf">
@@ -36,6 +40,8 @@ import java.util.List;
  */
 public class MiniBatchKMeansClusterer<T extends Clusterable>
     extends KMeansPlusPlusClusterer<T> {
+    /** Number of points assigned by a single parallel task. */
+    private static final int POINTS_PER_TASK = 4096;
     /** Batch data size in iteration. */
     private final int batchSize;
     /** Iteration count of initialize the centers. */
@@ -94,6 +100,20 @@ public class MiniBatchKMeansClusterer<T extends Clusterable>
         this.maxNoImprovementTimes = maxNoImprovementTimes;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @return a new clusterer, with the same mini batch settings.
+     * @since 4.0
+     */
+    @Override
+    public MiniBatchKMeansClusterer<T> withRandomGenerator(final UniformRandomProvider generator) {
+        return new MiniBatchKMeansClusterer<>(getNumberOfClusters(), getMaxIterations(),
+                                              batchSize, initIterations, initBatchSize,
+                                              maxNoImprovementTimes, getDistanceMeasure(),
+                                              generator, getEmptyClusterStrategy());
+    }
+
     /**
      * Runs the MiniBatch K-means clustering algorithm.
      *
@@ -106,6 +126,46 @@ public class MiniBatchKMeansClusterer<T extends Clusterable>
     public List<CentroidCluster<T>> cluster(final Collection<T> points) {
         // Sanity check.
         MathUtils.checkNotNull(points);
+
+        return doCluster(points, null);
+    }
+
+    /**
+     * Runs the MiniBatch K-means clustering algorithm, using {@code executor}
+     * for the final assignment of all the points to the clusters.
+     * <p>
+     * The mini batch iterations are performed in the calling thread. The
+     * distance measure must be safe for use by several threads. The result
+     * is identical to the one of {@link #cluster(Collection)}.
+     * </p>
+     *
+     * @param points Points to cluster (cannot be {@code null}).
+     * @param executor Executor used to assign the points to the clusters.
+     * @return the clusters.
+     * @throws org.apache.commons.math4.exception.MathIllegalArgumentException
+     * if the number of points is smaller than the number of clusters.
+     * @since 4.0
+     */
+    @Override
+    public List<CentroidCluster<T>> cluster(final Collection<T> points,
+                                            final ExecutorService executor) {
+        // Sanity check.
+        MathUtils.checkNotNull(points);
+        MathUtils.checkNotNull(executor);
+
+        return doCluster(points, executor);
+    }
+
+    /**
+     * Runs the MiniBatch K-means clustering algorithm.
+     *
+     * @param points Points to cluster.
+     * @param executor Executor used for the final assignment, or {@code null}
+     * to perform it in the calling thread.
+     * @return the clusters.
+     */
+    private List<CentroidCluster<T>> doCluster(final Collection<T> points,
+                                               final ExecutorService executor) {
         if (points.size() < getNumberOfClusters()) {
             throw new NumberIsTooSmallException(points.size(), getNumberOfClusters(), false);
         }
@@ -136,8 +196,26 @@ public class MiniBatchKMeansClusterer<T extends Clusterable>
 
         // Add every mini batch points to their nearest cluster.
         clearClustersPoints(clusters);
-        for (final T point : points) {
-            addToNearestCentroidCluster(point, clusters);
+        if (executor == null) {
+            for (final T point : points) {
+                addToNearestCentroidCluster(point, clusters);
+            }
+        } else {
+            final List<CentroidCluster<T>> centers = clusters;
+            final int[] nearest = new int[pointSize];
+            final int tasks = FastMath.max(1, (pointSize + POINTS_PER_TASK - 1) / POINTS_PER_TASK);
+            ConcurrencyUtils.forEachRange(executor, pointSize, tasks, (start, end) -> {
+                    for (int i = start; i < end; i++) {
+                        nearest[i] = getNearestCentroidCluster(pointList.get(i), centers);
+                    }
+                });
+            for (int i = 0; i < pointSize; i++) {
+                if (nearest[i] < 0) {
+                    // same failure as addToNearestCentroidCluster
+                    throw new NullArgumentException();
+                }
+                clusters.get(nearest[i]).addPoint(pointList.get(i));
+            }
         }
 
         return clusters;
@@ -234,6 +312,28 @@ public class MiniBatchKMeansClusterer<T extends Clusterable>
         return minDistance;
     }
 
+    /**
+     * Finds the cluster whose center is closest to a point.
+     *
+     * @param point Point.
+     * @param clusters Clusters.
+     * @return the index of the closest cluster, or -1 if no distance is
+     * smaller than infinity.
+     */
+    private int getNearestCentroidCluster(final T point,
+                                          final List<CentroidCluster<T>> clusters) {
+        double minDistance = Double.POSITIVE_INFINITY;
+        int closest = -1;
+        for (int i = 0; i < clusters.size(); i++) {
+            final double distance = distance(point, clusters.get(i).getCenter());
+            if (distance < minDistance) {
+                minDistance = distance;
+                closest = i;
+            }
+        }
+        return closest;
+    }
+
     /**
      * Stopping criterion.
      * The evaluator checks whether improvement occurred during the
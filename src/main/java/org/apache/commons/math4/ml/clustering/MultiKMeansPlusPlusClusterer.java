@@ -17,10 +17,19 @@
 
 package org.apache.commons.math4.ml.clustering;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
+import org.apache.commons.math4.exception.MathInternalError;
 import org.apache.commons.math4.ml.clustering.evaluation.SumOfClusterVariances;
+import org.apache.commons.math4.util.ConcurrencyUtils;
+import org.apache.commons.math4.util.MathUtils;
+import org.apache.commons.math4.util.Pair;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
 
 /**
  * A wrapper around a k-means++ clustering algorithm which performs multiple trials
@@ -102,4 +111,90 @@ public class MultiKMeansPlusPlusClusterer<T extends Clusterable> extends Cluster
         // return the best clusters list found
         return best;
     }
+
+    /**
+     * Runs the K-means++ clustering algorithm, performing the trials
+     * concurrently with {@code executor}.
+     * <p>
+     * Each trial is performed by a copy of the underlying clusterer, obtained
+     * with {@link KMeansPlusPlusClusterer#withRandomGenerator(UniformRandomProvider)}:
+     * the generator of the underlying clusterer is only used, in the calling
+     * thread, to seed one independent generator per trial. The result is
+     * therefore reproducible, but different from the one of
+     * {@link #cluster(Collection)}. The distance measure and the cluster
+     * evaluator must be safe for use by several threads.
+     * </p>
+     * <p>
+     * If the class of the underlying clusterer does not itself override
+     * {@code withRandomGenerator} (i.e. its copies would not run the same
+     * algorithm), the trials are performed sequentially by the underlying
+     * clusterer, as in {@link #cluster(Collection)}.
+     * </p>
+     *
+     * @param points the points to cluster
+     * @param executor executor used to run the trials
+     * @return a list of clusters containing the points
+     * @throws org.apache.commons.math4.exception.MathIllegalArgumentException if
+     * the data points or the executor are null or the number of clusters is
+     * larger than the number of data points
+     * @throws org.apache.commons.math4.exception.ConvergenceException if
+     * an empty cluster is encountered and the underlying {@link KMeansPlusPlusClusterer}
+     * has its {@link KMeansPlusPlusClusterer.EmptyClusterStrategy} is set to {@code ERROR}.
+     * @since 4.0
+     */
+    public List<CentroidCluster<T>> cluster(final Collection<T> points,
+                                            final ExecutorService executor) {
+        MathUtils.checkNotNull(points);
+        MathUtils.checkNotNull(executor);
+
+        if (!overridesWithRandomGenerator(clusterer)) {
+            // copies would silently drop the behaviour of the subclass
+            return cluster(points);
+        }
+
+        final UniformRandomProvider random = clusterer.getRandomGenerator();
+
+        final List<Callable<Pair<List<CentroidCluster<T>>, Double>>> trials = new ArrayList<>(numTrials);
+        for (int i = 0; i < numTrials; ++i) {
+            final long seed = random.nextLong();
+            trials.add(() -> {
+                    final KMeansPlusPlusClusterer<T> trial =
+                        clusterer.withRandomGenerator(RandomSource.create(RandomSource.MT_64, seed));
+                    final List<CentroidCluster<T>> clusters = trial.cluster(points);
+                    return new Pair<>(clusters, evaluator.compute(clusters));
+                });
+        }
+
+        // select the best trial, in the same order as the sequential method
+        List<CentroidCluster<T>> best = null;
+        double bestRank = Double.NEGATIVE_INFINITY;
+        for (final Pair<List<CentroidCluster<T>>, Double> result : ConcurrencyUtils.invokeAll(executor, trials)) {
+            final double rank = result.getSecond();
+            if (rank > bestRank) {
+                best = result.getFirst();
+                bestRank = rank;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Checks whether the class of a clusterer declares its own
+     * {@link KMeansPlusPlusClusterer#withRandomGenerator(UniformRandomProvider)
+     * withRandomGenerator} method.
+     *
+     * @param clusterer Clusterer.
+     * @return {@code true} if the copies of {@code clusterer} have its class.
+     */
+    private static boolean overridesWithRandomGenerator(final KMeansPlusPlusClusterer<?> clusterer) {
+        try {
+            return clusterer.getClass()
+                .getMethod("withRandomGenerator", UniformRandomProvider.class)
+                .getDeclaringClass() == clusterer.getClass();
+        } catch (NoSuchMethodException e) {
+            // cannot happen, the method is public
+            throw new MathInternalError(e);
+        }
+    }
 }
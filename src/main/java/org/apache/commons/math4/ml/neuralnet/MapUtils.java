@@ -27,6 +27,7 @@ import java.util.Comparator;
 import org.apache.commons.math4.exception.NoDataException;
 import org.apache.commons.math4.ml.distance.DistanceMeasure;
 import org.apache.commons.math4.ml.neuralnet.twod.NeuronSquareMesh2D;
+import org.apache.commons.math4.util.FastMath;
 import org.apache.commons.math4.util.Pair;
 
 /**
@@ -290,6 +291,73 @@ public class MapUtils {
         return ((double) notAdjacentCount) / count;
     }
 
+    /**
+     * Computes the quantization error, using the Euclidean distance.
+     * This method is equivalent to
+     * {@link #computeQuantizationError(Iterable,Iterable,DistanceMeasure)}
+     * called with the neurons of the snapshot and an
+     * {@link org.apache.commons.math4.ml.distance.EuclideanDistance
+     * EuclideanDistance}, but it is much faster.
+     *
+     * @param data Feature vectors.
+     * @param snapshot Snapshot of the network.
+     * @return the error.
+     * @throws NoDataException if {@code data} is empty.
+     * @since 4.0
+     */
+    public static double computeQuantizationError(Iterable<double[]> data,
+                                                  NetworkSnapshot snapshot) {
+        double d = 0;
+        int count = 0;
+        for (double[] f : data) {
+            ++count;
+            d += FastMath.sqrt(snapshot.squaredDistance(snapshot.findBestIndex(f), f));
+        }
+
+        if (count == 0) {
+            throw new NoDataException();
+        }
+
+        return d / count;
+    }
+
+    /**
+     * Computes the topographic error, using the Euclidean distance.
+     * This method is equivalent to
+     * {@link #computeTopographicError(Iterable,Network,DistanceMeasure)}
+     * called with the network of the snapshot and an
+     * {@link org.apache.commons.math4.ml.distance.EuclideanDistance
+     * EuclideanDistance}, but it is much faster.
+     *
+     * @param data Feature vectors.
+     * @param snapshot Snapshot of the network.
+     * @return the error.
+     * @throws NoDataException if {@code data} is empty.
+     * @since 4.0
+     */
+    public static double computeTopographicError(Iterable<double[]> data,
+                                                 NetworkSnapshot snapshot) {
+        final Network net = snapshot.getNetwork();
+        int notAdjacentCount = 0;
+        int count = 0;
+        for (double[] f : data) {
+            ++count;
+            final int[] p = snapshot.findBestAndSecondBestIndices(f);
+            final Neuron second = p[1] < 0 ? null : snapshot.getNeuron(p[1]);
+            if (!net.getNeighbours(snapshot.getNeuron(p[0])).contains(second)) {
+                // Increment count if first and second best matching units
+                // are not neighbours.
+                ++notAdjacentCount;
+            }
+        }
+
+        if (count == 0) {
+            throw new NoDataException();
+        }
+
+        return ((double) notAdjacentCount) / count;
+    }
+
     /**
      * Helper data structure holding a (Neuron, double) pair.
      */
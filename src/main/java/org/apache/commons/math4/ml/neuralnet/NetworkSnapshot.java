@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.ml.neuralnet;
+
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.math4.exception.DimensionMismatchException;
+import org.apache.commons.math4.util.ConcurrencyUtils;
+import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.math4.util.MathUtils;
+
+/**
+ * Immutable copy of the features of all the neurons of a {@link Network},
+ * stored in a single contiguous array, for fast searches of the
+ * "best matching unit" of a sample.
+ * <br>
+ * The searches use the squared Euclidean distance; they select the same
+ * neurons as the methods of {@link MapUtils} used with an
+ * {@link org.apache.commons.math4.ml.distance.EuclideanDistance
+ * EuclideanDistance}, except for neurons whose distances to the sample
+ * are equal after rounding, and provided that the neurons are scanned in
+ * the same order.
+ * <br>
+ * The snapshot is not updated when the features of the neurons change.
+ * Searches are thread-safe.
+ *
+ * @since 4.0
+ */
+public class NetworkSnapshot {
+    /** Number of samples processed by a single parallel task. */
+    private static final int SAMPLES_PER_TASK = 256;
+    /** Network. */
+    private final Network net;
+    /** Neurons, sorted by identifier. */
+    private final Neuron[] neurons;
+    /** Features size. */
+    private final int featureSize;
+    /** Features of neuron {@code i} are at {@code [i * featureSize, (i + 1) * featureSize)}. */
+    private final double[] features;
+
+    /**
+     * Creates a snapshot of the current features of the neurons.
+     * The neurons are indexed in increasing order of their identifier.
+     *
+     * @param net Network.
+     */
+    public NetworkSnapshot(Network net) {
+        this.net = net;
+        neurons = net.getNeurons(new Network.NeuronIdentifierComparator()).toArray(new Neuron[0]);
+        featureSize = net.getFeaturesSize();
+        features = new double[neurons.length * featureSize];
+        for (int i = 0; i < neurons.length; i++) {
+            System.arraycopy(neurons[i].getFeatures(), 0, features, i * featureSize, featureSize);
+        }
+    }
+
+    /**
+     * Gets the network from which this snapshot was taken.
+     *
+     * @return the network.
+     */
+    public Network getNetwork() {
+        return net;
+    }
+
+    /**
+     * Gets the number of neurons.
+     *
+     * @return the number of neurons.
+     */
+    public int getNumberOfNeurons() {
+        return neurons.length;
+    }
+
+    /**
+     * Gets the neuron at the given index.
+     *
+     * @param index Index of the neuron.
+     * @return the neuron.
+     * @throws ArrayIndexOutOfBoundsException if the index is out of range.
+     */
+    public Neuron getNeuron(int index) {
+        return neurons[index];
+    }
+
+    /**
+     * Gets the features of the neuron at the given index, as they were
+     * when the snapshot was created.
+     *
+     * @param index Index of the neuron.
+     * @return a copy of the features.
+     * @throws ArrayIndexOutOfBoundsException if the index is out of range.
+     */
+    public double[] getFeatures(int index) {
+        final double[] f = new double[featureSize];
+        System.arraycopy(features, index * featureSize, f, 0, featureSize);
+        return f;
+    }
+
+    /**
+     * Computes the squared Euclidean distance between the features of a
+     * neuron and a sample.
+     *
+     * @param index Index of the neuron.
+     * @param sample Sample.
+     * @return the squared distance.
+     * @throws DimensionMismatchException if the size of the sample is not
+     * equal to the features size.
+     */
+    public double squaredDistance(int index,
+                                  double[] sample) {
+        checkSize(sample);
+        return squaredDistance(index, sample, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Finds the neuron whose features are closest to the given sample.
+     *
+     * @param sample Sample.
+     * @return the index of the best matching neuron, or -1 if the network
+     * has no neurons.
+     * @throws DimensionMismatchException if the size of the sample is not
+     * equal to the features size.
+     */
+    public int findBestIndex(double[] sample) {
+        checkSize(sample);
+
+        int best = -1;
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < neurons.length; i++) {
+            final double d = squaredDistance(i, sample, min);
+            if (d < min) {
+                min = d;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Finds the two neurons whose features are closest to the given sample.
+     *
+     * @param sample Sample.
+     * @return the indices of the best and second best matching neurons;
+     * an index is set to -1 if the network does not have enough neurons.
+     * @throws DimensionMismatchException if the size of the sample is not
+     * equal to the features size.
+     */
+    public int[] findBestAndSecondBestIndices(double[] sample) {
+        checkSize(sample);
+
+        final int[] best = { -1, -1 };
+        final double[] min = { Double.POSITIVE_INFINITY,
+                               Double.POSITIVE_INFINITY };
+        for (int i = 0; i < neurons.length; i++) {
+            final double d = squaredDistance(i, sample, min[1]);
+            if (d < min[0]) {
+                // Replace second best with old best.
+                min[1] = min[0];
+                best[1] = best[0];
+
+                // Store current as new best.
+                min[0] = d;
+                best[0] = i;
+            } else if (d < min[1]) {
+                // Replace old second best with current.
+                min[1] = d;
+                best[1] = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Finds the best matching neuron of each sample.
+     *
+     * @param samples Samples.
+     * @return the index of the best matching neuron of each sample.
+     * @throws DimensionMismatchException if the size of a sample is not
+     * equal to the features size.
+     */
+    public int[] findBestIndices(double[][] samples) {
+        final int[] best = new int[samples.length];
+        for (int k = 0; k < samples.length; k++) {
+            best[k] = findBestIndex(samples[k]);
+        }
+        return best;
+    }
+
+    /**
+     * Finds the best matching neuron of each sample, processing ranges of
+     * samples concurrently with {@code executor}.
+     *
+     * @param samples Samples.
+     * @param executor Executor.
+     * @return the index of the best matching neuron of each sample.
+     * @throws DimensionMismatchException if the size of a sample is not
+     * equal to the features size.
+     * @throws org.apache.commons.math4.exception.NullArgumentException
+     * if {@code executor} is {@code null}.
+     */
+    public int[] findBestIndices(final double[][] samples,
+                                 final ExecutorService executor) {
+        MathUtils.checkNotNull(executor);
+
+        final int[] best = new int[samples.length];
+        final int tasks = FastMath.max(1, (samples.length + SAMPLES_PER_TASK - 1) / SAMPLES_PER_TASK);
+        ConcurrencyUtils.forEachRange(executor, samples.length, tasks, (start, end) -> {
+                for (int k = start; k < end; k++) {
+                    best[k] = findBestIndex(samples[k]);
+                }
+            });
+        return best;
+    }
+
+    /**
+     * Computes the squared Euclidean distance between the features of a
+     * neuron and a sample, stopping early when it exceeds a bound.
+     *
+     * @param index Index of the neuron.
+     * @param sample Sample.
+     * @param bound Bound.
+     * @return the squared distance, or a value larger than or equal to
+     * {@code bound} (but not larger than the distance).
+     */
+    private double squaredDistance(int index,
+                                   double[] sample,
+                                   double bound) {
+        final int offset = index * featureSize;
+        double sum = 0;
+        for (int j = 0; j < featureSize; j++) {
+            final double d = features[offset + j] - sample[j];
+            sum += d * d;
+            if (sum >= bound) {
+                // The partial sum can only increase.
+                break;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Checks the size of a sample.
+     *
+     * @param sample Sample.
+     * @throws DimensionMismatchException if the size of the sample is not
+     * equal to the features size.
+     */
+    private void checkSize(double[] sample) {
+        if (sample.length != featureSize) {
+            throw new DimensionMismatchException(sample.length, featureSize);
+        }
+    }
+}
@@ -0,0 +1,489 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.ml.neuralnet.sofm;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math4.analysis.function.Gaussian;
+import org.apache.commons.math4.exception.NotPositiveException;
+import org.apache.commons.math4.exception.NotStrictlyPositiveException;
+import org.apache.commons.math4.ml.distance.DistanceMeasure;
+import org.apache.commons.math4.ml.distance.EuclideanDistance;
+import org.apache.commons.math4.ml.neuralnet.Network;
+import org.apache.commons.math4.ml.neuralnet.NetworkSnapshot;
+import org.apache.commons.math4.ml.neuralnet.Neuron;
+import org.apache.commons.math4.util.ConcurrencyUtils;
+import org.apache.commons.math4.util.MathUtils;
+
+/**
+ * Concurrent trainer for Kohonen's Self-Organizing Map.
+ * <p>
+ * Two training modes are available:
+ * <ul>
+ *  <li>
+ *   {@link #train(Iterator) Online training}: several
+ *   {@link KohonenTrainingTask tasks} share a single
+ *   {@link KohonenUpdateAction} and draw their samples from a common
+ *   source. Concurrent modifications of a neuron are detected by
+ *   {@link Neuron#compareAndSetFeatures(double[],double[])} and retried;
+ *   their frequency is reported by
+ *   {@link #getNumberOfFailedUpdateAttempts()}.
+ *  </li>
+ *  <li>
+ *   {@link #trainBatch(List,int) Batch training}: for each epoch, the
+ *   winning neurons of all the samples are searched concurrently on a
+ *   snapshot of the network, and then every neuron is moved towards the
+ *   neighbourhood-weighted mean of the samples won by the neurons in its
+ *   neighbourhood. The network is only modified by the calling thread,
+ *   so that there is no contention; moreover, the result does not depend
+ *   on the scheduling of the tasks.
+ *  </li>
+ * </ul>
+ * <p>
+ * The distance measure and the learning factor and neighbourhood size
+ * functions must be safe for use by several threads. The methods of this
+ * class must not be called concurrently.
+ *
+ * @since 4.0
+ */
+public class KohonenTrainingEngine {
+    /** Number of samples fetched at once by an online training task. */
+    private static final int SAMPLES_PER_FETCH = 64;
+    /** SOFM to be trained. */
+    private final Network net;
+    /** Distance function. */
+    private final DistanceMeasure distance;
+    /** Learning factor update function. */
+    private final LearningFactorFunction learningFactor;
+    /** Neighbourhood size update function. */
+    private final NeighbourhoodSizeFunction neighbourhoodSize;
+    /** Executor. */
+    private final ExecutorService executor;
+    /** Number of tasks. */
+    private final int numberOfTasks;
+    /** Update procedure shared by the online training tasks. */
+    private final KohonenUpdateAction updateAction;
+    /** Number of epochs performed by batch training. */
+    private long numberOfEpochs;
+
+    /**
+     * @param net Network to be trained.
+     * @param distance Distance function.
+     * @param learningFactor Learning factor update function.
+     * @param neighbourhoodSize Neighbourhood size update function.
+     * @param executor Executor used to run the training tasks.
+     * @param numberOfTasks Number of tasks to run concurrently.
+     * @throws NotStrictlyPositiveException if {@code numberOfTasks <= 0}.
+     * @throws org.apache.commons.math4.exception.NullArgumentException if
+     * any of the other arguments is {@code null}.
+     */
+    public KohonenTrainingEngine(Network net,
+                                 DistanceMeasure distance,
+                                 LearningFactorFunction learningFactor,
+                                 NeighbourhoodSizeFunction neighbourhoodSize,
+                                 ExecutorService executor,
+                                 int numberOfTasks) {
+        MathUtils.checkNotNull(net);
+        MathUtils.checkNotNull(distance);
+        MathUtils.checkNotNull(learningFactor);
+        MathUtils.checkNotNull(neighbourhoodSize);
+        MathUtils.checkNotNull(executor);
+        if (numberOfTasks <= 0) {
+            throw new NotStrictlyPositiveException(numberOfTasks);
+        }
+
+        this.net = net;
+        this.distance = distance;
+        this.learningFactor = learningFactor;
+        this.neighbourhoodSize = neighbourhoodSize;
+        this.executor = executor;
+        this.numberOfTasks = numberOfTasks;
+        updateAction = new KohonenUpdateAction(distance, learningFactor, neighbourhoodSize);
+    }
+
+    /**
+     * Trains the network with the given samples, using the online SOFM
+     * algorithm.
+     * The samples are presented to the network by {@code numberOfTasks}
+     * concurrent tasks; the method returns when all the samples have been
+     * used.
+     * The learning factor and neighbourhood size functions are evaluated
+     * with the number of samples processed so far by the online training
+     * (see {@link KohonenUpdateAction#getNumberOfCalls()}).
+     *
+     * @param samples Training data.
+     * Its iterator is only accessed by one thread at a time.
+     * @throws org.apache.commons.math4.exception.NullArgumentException if
+     * {@code samples} is {@code null}.
+     */
+    public void train(Iterator<double[]> samples) {
+        MathUtils.checkNotNull(samples);
+
+        final List<Callable<Object>> tasks = new ArrayList<>(numberOfTasks);
+        for (int i = 0; i < numberOfTasks; i++) {
+            final Runnable task = new KohonenTrainingTask(net,
+                                                          new FetchingIterator(samples),
+                                                          updateAction);
+            tasks.add(Executors.callable(task));
+        }
+        ConcurrencyUtils.invokeAll(executor, tasks);
+    }
+
+    /**
+     * Trains the network with the given samples, using the batch SOFM
+     * algorithm.
+     * At each epoch, every neuron {@code j} is updated according to
+     * <code>
+     *  w<sub>new</sub> = w<sub>old</sub> + &alpha; (m<sub>j</sub> - w<sub>old</sub>)
+     * </code>
+     * where {@code m}<sub>j</sub> is the mean of all the samples, each weighted
+     * by <code>e<sup>(-d<sup>2</sup> / 2&sigma;<sup>2</sup>)</sup></code>, {@code d}
+     * being the number of links from the sample's winning neuron to neuron
+     * {@code j} (neurons that are farther than &sigma; links, or that are not
+     * in the neighbourhood of any winning neuron, are not updated).
+     * The learning factor &alpha; and the neighbourhood size &sigma; are
+     * computed from the number of epochs performed so far by the batch
+     * training; a constant learning factor of 1 yields the classical batch
+     * algorithm.
+     *
+     * @param samples Training data.
+     * @param epochs Number of passes over the training data.
+     * @throws NotPositiveException if {@code epochs < 0}.
+     * @throws org.apache.commons.math4.exception.NullArgumentException if
+     * {@code samples} is {@code null}.
+     */
+    public void trainBatch(List<double[]> samples,
+                           int epochs) {
+        MathUtils.checkNotNull(samples);
+        if (epochs < 0) {
+            throw new NotPositiveException(epochs);
+        }
+
+        final Neuron[] neurons = net.getNeurons(new Network.NeuronIdentifierComparator()).toArray(new Neuron[0]);
+        final Map<Neuron, Integer> index = new HashMap<>();
+        for (int j = 0; j < neurons.length; j++) {
+            index.put(neurons[j], j);
+        }
+
+        for (int e = 0; e < epochs; e++) {
+            // sum and number of the samples won by each neuron (the snapshot
+            // and the array index the neurons in the same order)
+            final NetworkSnapshot snapshot;
+            final double[][] current;
+            if (distance.getClass() == EuclideanDistance.class) {
+                snapshot = new NetworkSnapshot(net);
+                current = null;
+            } else {
+                snapshot = null;
+                current = new double[neurons.length][];
+                for (int j = 0; j < neurons.length; j++) {
+                    current[j] = neurons[j].getFeatures();
+                }
+            }
+            final BatchAccumulator winners = accumulateWinners(samples, current, snapshot);
+
+            // neighbourhood-weighted sums
+            final long epoch = numberOfEpochs;
+            final double learning = learningFactor.value(epoch);
+            final int radius = neighbourhoodSize.value(epoch);
+            final Gaussian decay = radius > 0 ? new Gaussian(1, 0, radius) : null;
+            final BatchAccumulator weighted = new BatchAccumulator(neurons.length, net.getFeaturesSize());
+            for (int b = 0; b < neurons.length; b++) {
+                if (winners.weights[b] == 0) {
+                    continue;
+                }
+
+                weighted.add(b, winners, b, 1);
+
+                Collection<Neuron> neighbours = new HashSet<>();
+                neighbours.add(neurons[b]);
+                final HashSet<Neuron> exclude = new HashSet<>(neighbours);
+                for (int r = 1; r <= radius; r++) {
+                    neighbours = net.getNeighbours(neighbours, exclude);
+                    final double h = decay.value(r);
+                    for (final Neuron n : neighbours) {
+                        weighted.add(index.get(n), winners, b, h);
+                    }
+                    exclude.addAll(neighbours);
+                }
+            }
+
+            for (int j = 0; j < neurons.length; j++) {
+                if (weighted.weights[j] > 0) {
+                    updateNeuron(neurons[j], weighted.sums[j], weighted.weights[j], learning);
+                }
+            }
+            ++numberOfEpochs;
+        }
+    }
+
+    /**
+     * Retrieves the number of samples processed by the online training.
+     *
+     * @return the number of samples.
+     */
+    public long getNumberOfSamples() {
+        return updateAction.getNumberOfCalls();
+    }
+
+    /**
+     * Retrieves the number of epochs performed by the batch training.
+     *
+     * @return the number of epochs.
+     */
+    public long getNumberOfEpochs() {
+        return numberOfEpochs;
+    }
+
+    /**
+     * Retrieves the number of attempts to update a neuron during the
+     * online training.
+     *
+     * @return the number of update attempts.
+     * @see KohonenUpdateAction#getNumberOfUpdateAttempts()
+     */
+    public long getNumberOfUpdateAttempts() {
+        return updateAction.getNumberOfUpdateAttempts();
+    }
+
+    /**
+     * Retrieves the number of attempts to update a neuron during the
+     * online training that failed because of a concurrent update.
+     *
+     * @return the number of failed update attempts.
+     * @see KohonenUpdateAction#getNumberOfFailedUpdateAttempts()
+     */
+    public long getNumberOfFailedUpdateAttempts() {
+        return updateAction.getNumberOfFailedUpdateAttempts();
+    }
+
+    /**
+     * Finds the winning neuron of each sample, and accumulates the samples
+     * per winning neuron.
+     * The samples are split in {@code numberOfTasks} contiguous ranges,
+     * and the partial results are combined in the order of the ranges.
+     *
+     * @param samples Training data.
+     * @param current Features of the neurons, or {@code null} if the
+     * snapshot is used.
+     * @param snapshot Snapshot of the network, to be used for the search
+     * when the distance is Euclidean, or {@code null}.
+     * @return the sum and number of the samples won by each neuron.
+     */
+    private BatchAccumulator accumulateWinners(final List<double[]> samples,
+                                               final double[][] current,
+                                               final NetworkSnapshot snapshot) {
+        final int dim = net.getFeaturesSize();
+        final int numNeurons = snapshot != null ? snapshot.getNumberOfNeurons() : current.length;
+        final int[] bounds = ConcurrencyUtils.split(samples.size(), numberOfTasks);
+        final List<Callable<BatchAccumulator>> tasks = new ArrayList<>(bounds.length - 1);
+        for (int k = 0; k < bounds.length - 1; k++) {
+            final int start = bounds[k];
+            final int end = bounds[k + 1];
+            tasks.add(() -> {
+                    final BatchAccumulator acc = new BatchAccumulator(numNeurons, dim);
+                    for (int i = start; i < end; i++) {
+                        final double[] sample = samples.get(i);
+                        final int best = snapshot != null ?
+                            snapshot.findBestIndex(sample) :
+                            findBest(sample, current);
+                        acc.add(best, sample, 1);
+                    }
+                    return acc;
+                });
+        }
+
+        final BatchAccumulator total = new BatchAccumulator(numNeurons, dim);
+        for (final BatchAccumulator acc : ConcurrencyUtils.invokeAll(executor, tasks)) {
+            for (int j = 0; j < numNeurons; j++) {
+                if (acc.weights[j] > 0) {
+                    total.add(j, acc, j, 1);
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Searches for the neuron whose features are closest to the given sample.
+     *
+     * @param sample Sample.
+     * @param current Features of the neurons.
+     * @return the index of the closest neuron.
+     */
+    private int findBest(double[] sample,
+                         double[][] current) {
+        int best = 0;
+        double min = Double.POSITIVE_INFINITY;
+        for (int j = 0; j < current.length; j++) {
+            final double d = distance.compute(current[j], sample);
+            if (d < min) {
+                min = d;
+                best = j;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Atomically moves a neuron towards the weighted mean of samples.
+     *
+     * @param neuron Neuron.
+     * @param sum Weighted sum of the samples.
+     * @param weight Sum of the weights.
+     * @param learning Learning factor.
+     */
+    private static void updateNeuron(Neuron neuron,
+                                     double[] sum,
+                                     double weight,
+                                     double learning) {
+        while (true) {
+            final double[] expect = neuron.getFeatures();
+            final double[] update = new double[expect.length];
+            for (int d = 0; d < update.length; d++) {
+                update[d] = expect[d] + learning * (sum[d] / weight - expect[d]);
+            }
+            if (neuron.compareAndSetFeatures(expect, update)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Weighted sums of samples, per neuron.
+     */
+    private static class BatchAccumulator {
+        /** Feature size. */
+        private final int dim;
+        /** Weighted sums (allocated on first use). */
+        private final double[][] sums;
+        /** Sums of the weights. */
+        private final double[] weights;
+
+        /**
+         * @param numNeurons Number of neurons.
+         * @param dim Feature size.
+         */
+        BatchAccumulator(int numNeurons,
+                         int dim) {
+            this.dim = dim;
+            sums = new double[numNeurons][];
+            weights = new double[numNeurons];
+        }
+
+        /**
+         * Adds a weighted sample.
+         *
+         * @param j Neuron index.
+         * @param sample Sample.
+         * @param w Weight.
+         */
+        void add(int j,
+                 double[] sample,
+                 double w) {
+            if (sums[j] == null) {
+                sums[j] = new double[dim];
+            }
+            final double[] s = sums[j];
+            for (int d = 0; d < dim; d++) {
+                s[d] += w * sample[d];
+            }
+            weights[j] += w;
+        }
+
+        /**
+         * Adds the weighted sums of another neuron.
+         *
+         * @param j Neuron index.
+         * @param other Other accumulator.
+         * @param k Neuron index in the other accumulator.
+         * @param w Weight.
+         */
+        void add(int j,
+                 BatchAccumulator other,
+                 int k,
+                 double w) {
+            if (sums[j] == null) {
+                sums[j] = new double[dim];
+            }
+            final double[] s = sums[j];
+            final double[] o = other.sums[k];
+            for (int d = 0; d < dim; d++) {
+                s[d] += w * o[d];
+            }
+            weights[j] += w * other.weights[k];
+        }
+    }
+
+    /**
+     * Iterator that fetches blocks of samples from a shared source.
+     */
+    private static class FetchingIterator implements Iterator<double[]> {
+        /** Shared source (also used as lock). */
+        private final Iterator<double[]> source;
+        /** Fetched samples. */
+        private final double[][] buffer = new double[SAMPLES_PER_FETCH][];
+        /** Number of fetched samples. */
+        private int size;
+        /** Index of the next sample. */
+        private int next;
+
+        /**
+         * @param source Shared source.
+         */
+        FetchingIterator(Iterator<double[]> source) {
+            this.source = source;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean hasNext() {
+            if (next == size) {
+                next = 0;
+                size = 0;
+                synchronized (source) {
+                    while (size < buffer.length &&
+                           source.hasNext()) {
+                        buffer[size++] = source.next();
+                    }
+                }
+            }
+            return next < size;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final double[] sample = buffer[next];
+            buffer[next++] = null;
+            return sample;
+        }
+    }
+}
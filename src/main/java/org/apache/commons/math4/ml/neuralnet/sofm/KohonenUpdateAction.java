@@ -20,6 +20,7 @@ package org.apache.commons.math4.ml.neuralnet.sofm;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.math4.analysis.function.Gaussian;
 import org.apache.commons.math4.linear.ArrayRealVector;
@@ -75,6 +76,10 @@ public class KohonenUpdateAction implements UpdateAction {
     private final NeighbourhoodSizeFunction neighbourhoodSize;
     /** Number of calls to {@link #update(Network,double[])}. */
     private final AtomicLong numberOfCalls = new AtomicLong(0);
+    /** Number of attempts to update the features of a neuron. */
+    private final LongAdder numberOfUpdateAttempts = new LongAdder();
+    /** Number of attempts that failed because of a concurrent update. */
+    private final LongAdder numberOfFailedUpdateAttempts = new LongAdder();
 
     /**
      * @param distance Distance function.
@@ -102,14 +107,15 @@ public class KohonenUpdateAction implements UpdateAction {
                                                     currentLearning);
 
         final int currentNeighbourhood = neighbourhoodSize.value(numCalls);
-        // The farther away the neighbour is from the winning neuron, the
-        // smaller the learning rate will become.
-        final Gaussian neighbourhoodDecay
-            = new Gaussian(currentLearning,
-                           0,
-                           currentNeighbourhood);
 
         if (currentNeighbourhood > 0) {
+            // The farther away the neighbour is from the winning neuron, the
+            // smaller the learning rate will become.
+            final Gaussian neighbourhoodDecay
+                = new Gaussian(currentLearning,
+                               0,
+                               currentNeighbourhood);
+
             // Initial set of neurons only contains the winning neuron.
             Collection<Neuron> neighbours = new HashSet<>();
             neighbours.add(best);
@@ -145,6 +151,32 @@ public class KohonenUpdateAction implements UpdateAction {
         return numberOfCalls.get();
     }
 
+    /**
+     * Retrieves the number of attempts to update the features of a neuron,
+     * for all the neurons updated by this instance.
+     * In the absence of concurrent updates, this is the number of neurons
+     * that have been updated.
+     *
+     * @return the current number of update attempts.
+     * @since 4.0
+     */
+    public long getNumberOfUpdateAttempts() {
+        return numberOfUpdateAttempts.sum();
+    }
+
+    /**
+     * Retrieves the number of attempts to update the features of a neuron
+     * that failed because another thread modified the neuron concurrently.
+     * Each failed attempt is retried (after a new search for the winning
+     * neuron, if the failed neuron was the winner).
+     *
+     * @return the current number of failed update attempts.
+     * @since 4.0
+     */
+    public long getNumberOfFailedUpdateAttempts() {
+        return numberOfFailedUpdateAttempts.sum();
+    }
+
     /**
      * Tries to update a neuron.
      *
@@ -162,7 +194,13 @@ public class KohonenUpdateAction implements UpdateAction {
                                                 features,
                                                 learningRate);
 
-        return n.compareAndSetFeatures(expect, update);
+        numberOfUpdateAttempts.increment();
+        if (n.compareAndSetFeatures(expect, update)) {
+            return true;
+        } else {
+            numberOfFailedUpdateAttempts.increment();
+            return false;
+        }
     }
 
     /**
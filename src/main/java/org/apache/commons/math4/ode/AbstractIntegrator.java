@@ -20,11 +20,7 @@ package org.apache.commons.math4.ode;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
-import java.util.Iterator;
 import java.util.List;
-import java.util.SortedSet;
-import java.util.TreeSet;
 
 import org.apache.commons.math4.analysis.solvers.BracketingNthOrderBrentSolver;
 import org.apache.commons.math4.analysis.solvers.UnivariateSolver;
@@ -63,7 +59,16 @@ public abstract class AbstractIntegrator implements FirstOrderIntegrator {
     protected boolean resetOccurred;
 
     /** Events states. */
-    private Collection<EventState> eventsStates;
+    private List<EventState> eventsStates;
+
+    /** Events occurring during the step being accepted (reused across steps). */
+    private final List<EventState> occurringEvents;
+
+    /** Complete state at the end of a step part (reused across steps). */
+    private double[] acceptedState;
+
+    /** Equations mappers for the secondary equations sets. */
+    private EquationsMapper[] secondaryMappers;
 
     /** Initialization indicator of events states. */
     private boolean statesInitialized;
@@ -86,6 +91,7 @@ public abstract class AbstractIntegrator implements FirstOrderIntegrator {
         stepStart = Double.NaN;
         stepSize  = Double.NaN;
         eventsStates = new ArrayList<>();
+        occurringEvents = new ArrayList<>();
         statesInitialized = false;
         evaluations = IntegerSequence.Incrementor.create().withMaximalCount(Integer.MAX_VALUE);
     }
@@ -215,6 +221,7 @@ public abstract class AbstractIntegrator implements FirstOrderIntegrator {
      */
     protected void setEquations(final ExpandableStatefulODE equations) {
         this.expandable = equations;
+        this.secondaryMappers = equations.getSecondaryMappers();
     }
 
     /** Get the differential equations to integrate.
@@ -339,50 +346,45 @@ public abstract class AbstractIntegrator implements FirstOrderIntegrator {
                 statesInitialized = true;
             }
 
+            if (acceptedState == null || acceptedState.length != y.length) {
+                acceptedState = new double[y.length];
+            }
+
             // search for next events that may occur during the step
             final int orderingSign = interpolator.isForward() ? +1 : -1;
-            SortedSet<EventState> occurringEvents = new TreeSet<>(new Comparator<EventState>() {
-
-                /** {@inheritDoc} */
-                @Override
-                public int compare(EventState es0, EventState es1) {
-                    return orderingSign * Double.compare(es0.getEventTime(), es1.getEventTime());
-                }
-
-            });
-
-            for (final EventState state : eventsStates) {
+            occurringEvents.clear();
+            for (int i = 0; i < eventsStates.size(); ++i) {
+                final EventState state = eventsStates.get(i);
                 if (state.evaluateStep(interpolator)) {
                     // the event occurs during the current step
-                    occurringEvents.add(state);
+                    addOccurringEvent(state, orderingSign);
                 }
             }
 
             while (!occurringEvents.isEmpty()) {
 
                 // handle the chronologically first event
-                final Iterator<EventState> iterator = occurringEvents.iterator();
-                final EventState currentEvent = iterator.next();
-                iterator.remove();
+                final EventState currentEvent = occurringEvents.remove(0);
 
                 // restrict the interpolator to the first part of the step, up to the event
                 final double eventT = currentEvent.getEventTime();
                 interpolator.setSoftPreviousTime(previousT);
                 interpolator.setSoftCurrentTime(eventT);
 
-                // get state at event time
+                // get state at event time, in a new array as the handlers
+                // may keep the one given to eventOccurred and resetState
                 interpolator.setInterpolatedTime(eventT);
                 final double[] eventYComplete = new double[y.length];
                 expandable.getPrimaryMapper().insertEquationData(interpolator.getInterpolatedState(),
                                                                  eventYComplete);
-                int index = 0;
-                for (EquationsMapper secondary : expandable.getSecondaryMappers()) {
-                    secondary.insertEquationData(interpolator.getInterpolatedSecondaryState(index++),
-                                                 eventYComplete);
+                for (int index = 0; index < secondaryMappers.length; ++index) {
+                    secondaryMappers[index].insertEquationData(interpolator.getInterpolatedSecondaryState(index),
+                                                               eventYComplete);
                 }
 
                 // advance all event states to current time
-                for (final EventState state : eventsStates) {
+                for (int i = 0; i < eventsStates.size(); ++i) {
+                    final EventState state = eventsStates.get(i);
                     state.stepAccepted(eventT, eventYComplete);
                     isLastStep = isLastStep || state.stop();
                 }
@@ -418,22 +420,22 @@ public abstract class AbstractIntegrator implements FirstOrderIntegrator {
                 // check if the same event occurs again in the remaining part of the step
                 if (currentEvent.evaluateStep(interpolator)) {
                     // the event occurs during the current step
-                    occurringEvents.add(currentEvent);
+                    addOccurringEvent(currentEvent, orderingSign);
                 }
 
             }
 
             // last part of the step, after the last event
             interpolator.setInterpolatedTime(currentT);
-            final double[] currentY = new double[y.length];
+            final double[] currentY = acceptedState;
             expandable.getPrimaryMapper().insertEquationData(interpolator.getInterpolatedState(),
                                                              currentY);
-            int index = 0;
-            for (EquationsMapper secondary : expandable.getSecondaryMappers()) {
-                secondary.insertEquationData(interpolator.getInterpolatedSecondaryState(index++),
-                                             currentY);
+            for (int index = 0; index < secondaryMappers.length; ++index) {
+                secondaryMappers[index].insertEquationData(interpolator.getInterpolatedSecondaryState(index),
+                                                           currentY);
             }
-            for (final EventState state : eventsStates) {
+            for (int i = 0; i < eventsStates.size(); ++i) {
+                final EventState state = eventsStates.get(i);
                 state.stepAccepted(currentT, currentY);
                 isLastStep = isLastStep || state.stop();
             }
@@ -448,6 +450,28 @@ public abstract class AbstractIntegrator implements FirstOrderIntegrator {
 
     }
 
+    /** Add an event to the events occurring during the current step.
+     * <p>Events are kept in chronological order with respect to the
+     * integration direction; as with a sorted set, an event occurring
+     * at the same time as an already registered one is ignored.</p>
+     * @param state event state
+     * @param orderingSign +1 for forward integration, -1 otherwise
+     */
+    private void addOccurringEvent(final EventState state, final int orderingSign) {
+        final double t = state.getEventTime();
+        int i = occurringEvents.size();
+        while (i > 0) {
+            final int cmp = orderingSign * Double.compare(occurringEvents.get(i - 1).getEventTime(), t);
+            if (cmp == 0) {
+                return;
+            } else if (cmp < 0) {
+                break;
+            }
+            --i;
+        }
+        occurringEvents.add(i, state);
+    }
+
     /** Check the integration span.
      * @param equations set of differential equations
      * @param t target time for the integration
@@ -0,0 +1,743 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.ode;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.math4.exception.DimensionMismatchException;
+import org.apache.commons.math4.exception.MathIllegalArgumentException;
+import org.apache.commons.math4.exception.MathIllegalStateException;
+import org.apache.commons.math4.exception.MaxCountExceededException;
+import org.apache.commons.math4.exception.NumberIsTooSmallException;
+import org.apache.commons.math4.exception.util.LocalizedFormats;
+import org.apache.commons.math4.ode.sampling.StepHandler;
+import org.apache.commons.math4.ode.sampling.StepInterpolator;
+import org.apache.commons.math4.util.FastMath;
+
+/**
+ * Memory-efficient alternative to {@link ContinuousOutputModel}.
+ *
+ * <p>Rather than keeping a copy of the step interpolator for each
+ * accepted step, this class samples the interpolator at the
+ * Chebyshev-Gauss-Lobatto points of the step and stores the
+ * coefficients of the Chebyshev expansion of degree {@code d} of
+ * the primary state. For a state vector of dimension {@code n}, a
+ * step then uses {@code n (d + 1) + 2} doubles, packed in large
+ * contiguous primitive arrays. If the interpolator of the integrator
+ * is a polynomial of degree at most {@code d} (which is the case for
+ * all the Runge-Kutta integrators of the {@link
+ * org.apache.commons.math4.ode.nonstiff nonstiff} package with the
+ * default degree of {@value #DEFAULT_DEGREE}), the interpolated state
+ * is the same as the one provided by the integrator up to rounding
+ * errors. The interpolated derivatives are the derivatives of this
+ * polynomial.</p>
+ *
+ * <p>The coefficient arrays can optionally be spilled to a file as
+ * soon as they are full. They are then accessed through memory-mapped
+ * buffers, so that the operating system, not the Java heap, holds the
+ * bulk of the data.</p>
+ *
+ * <p>Steps are located by a binary search over a flat index of the
+ * step boundaries, and {@link #getInterpolatedStates(double[])} and
+ * {@link #getInterpolatedDerivatives(double[])} evaluate the model
+ * at many times in a single call.</p>
+ *
+ * <p>Only the primary state is stored: secondary states are not
+ * available from this model. When serialized, the model is written
+ * with all its coefficients, and it is read back in memory.</p>
+ *
+ * @see ContinuousOutputModel
+ * @since 4.0
+ */
+public class CompactContinuousOutputModel
+    implements StepHandler, Serializable {
+
+    /** Default degree of the Chebyshev expansions. */
+    public static final int DEFAULT_DEGREE = 7;
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261017L;
+
+    /** Default number of doubles in each coefficient array. */
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 17;
+
+    /** Degree of the Chebyshev expansions. */
+    private final int degree;
+
+    /** Requested number of doubles in each coefficient array. */
+    private final int chunkSize;
+
+    /** Matrix converting samples at the nodes to Chebyshev coefficients. */
+    private final double[][] transform;
+
+    /** File receiving the full coefficient arrays (may be null). */
+    private final transient File spillFile;
+
+    /** Size of the data already written to the spill file, in bytes. */
+    private transient long spillPosition;
+
+    /** Coefficient arrays. */
+    private transient List<DoubleBuffer> chunks;
+
+    /** Coefficient array being filled (null if none). */
+    private transient double[] currentChunk;
+
+    /** Dimension of the state vector (-1 if no step has been stored). */
+    private int dimension;
+
+    /** Number of doubles per step in the coefficient arrays. */
+    private int stride;
+
+    /** Number of steps per coefficient array. */
+    private int stepsPerChunk;
+
+    /** Number of stored steps. */
+    private int count;
+
+    /** Start times of the steps. */
+    private double[] previousTimes;
+
+    /** End times of the steps. */
+    private double[] currentTimes;
+
+    /** Initial integration time. */
+    private double initialTime;
+
+    /** Final integration time. */
+    private double finalTime;
+
+    /** Integration direction indicator. */
+    private boolean forward;
+
+    /** Index of the step containing the interpolated time. */
+    private int index;
+
+    /** Time of the interpolated point. */
+    private double interpolatedTime;
+
+    /** State at the interpolated time. */
+    private double[] interpolatedState;
+
+    /** Derivatives at the interpolated time. */
+    private double[] interpolatedDerivatives;
+
+    /**
+     * Builds an empty model, kept in memory, using expansions of
+     * degree {@value #DEFAULT_DEGREE}.
+     */
+    public CompactContinuousOutputModel() {
+        this(DEFAULT_DEGREE);
+    }
+
+    /**
+     * Builds an empty model kept in memory.
+     *
+     * @param degree Degree of the Chebyshev expansions.
+     * @throws NumberIsTooSmallException if {@code degree < 1}.
+     */
+    public CompactContinuousOutputModel(final int degree) {
+        this(degree, null);
+    }
+
+    /**
+     * Builds an empty model whose full coefficient arrays are spilled
+     * to a memory-mapped file.
+     * <p>The content of the file is overwritten. The file is only used
+     * as backing storage: it is neither deleted nor read back by this
+     * class once the model is discarded.</p>
+     *
+     * @param degree Degree of the Chebyshev expansions.
+     * @param spillFile File receiving the coefficients (if {@code null},
+     * all coefficients are kept in memory).
+     * @throws NumberIsTooSmallException if {@code degree < 1}.
+     */
+    public CompactContinuousOutputModel(final int degree,
+                                        final File spillFile) {
+        this(degree, spillFile, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Builds an empty model.
+     *
+     * @param degree Degree of the Chebyshev expansions.
+     * @param spillFile File receiving the coefficients (may be null).
+     * @param chunkSize Requested number of doubles in each coefficient array.
+     * @throws NumberIsTooSmallException if {@code degree < 1}.
+     */
+    CompactContinuousOutputModel(final int degree,
+                                 final File spillFile,
+                                 final int chunkSize) {
+        if (degree < 1) {
+            throw new NumberIsTooSmallException(degree, 1, true);
+        }
+        this.degree    = degree;
+        this.chunkSize = chunkSize;
+        this.spillFile = spillFile;
+
+        // c_k = (2 / d) sum''_j f_j cos(pi j k / d), the first and
+        // last terms of the sum and of the expansion being halved
+        transform = new double[degree + 1][degree + 1];
+        for (int k = 0; k <= degree; k++) {
+            final double scaleK = (k == 0 || k == degree) ? 1.0 / degree : 2.0 / degree;
+            for (int j = 0; j <= degree; j++) {
+                final double scaleJ = (j == 0 || j == degree) ? 0.5 : 1.0;
+                transform[k][j] = scaleK * scaleJ *
+                                  FastMath.cos(FastMath.PI * ((j * k) % (2 * degree)) / degree);
+            }
+        }
+
+        chunks = new ArrayList<>();
+        reset();
+    }
+
+    /**
+     * Gets the degree of the Chebyshev expansions.
+     *
+     * @return the degree of the expansions.
+     */
+    public int getDegree() {
+        return degree;
+    }
+
+    /**
+     * Gets the number of stored steps.
+     *
+     * @return the number of steps.
+     */
+    public int getStepsCount() {
+        return count;
+    }
+
+    /**
+     * Appends another model at the end of the instance.
+     *
+     * @param model Model to add at the end of the instance.
+     * @throws MathIllegalArgumentException if the model to append is not
+     * compatible with the instance (degree of the expansions, dimension
+     * of the state vector, propagation direction, hole between the dates).
+     */
+    public void append(final CompactContinuousOutputModel model)
+        throws MathIllegalArgumentException {
+
+        if (model.count == 0) {
+            return;
+        }
+
+        // the steps are copied as raw coefficient arrays, which must have
+        // the layout of the instance even if it does not hold any step yet
+        if (degree != model.degree) {
+            throw new MathIllegalArgumentException(LocalizedFormats.EXPANSION_DEGREE_MISMATCH,
+                                                   model.degree, degree);
+        }
+
+        if (count == 0) {
+            initialTime = model.initialTime;
+            forward     = model.forward;
+        } else {
+
+            if (dimension != model.dimension) {
+                throw new DimensionMismatchException(model.dimension, dimension);
+            }
+
+            if (forward ^ model.forward) {
+                throw new MathIllegalArgumentException(LocalizedFormats.PROPAGATION_DIRECTION_MISMATCH);
+            }
+
+            final double current = currentTimes[count - 1];
+            final double step    = current - previousTimes[count - 1];
+            final double gap     = model.getInitialTime() - current;
+            if (FastMath.abs(gap) > 1.0e-3 * FastMath.abs(step)) {
+                throw new MathIllegalArgumentException(LocalizedFormats.HOLE_BETWEEN_MODELS_TIME_RANGES,
+                                                       FastMath.abs(gap));
+            }
+
+        }
+
+        final double[] coefficients = new double[model.stride];
+        for (int i = 0; i < model.count; i++) {
+            model.readStep(i, coefficients);
+            storeStep(model.previousTimes[i], model.currentTimes[i], coefficients, model.dimension);
+        }
+
+        finalTime = currentTimes[count - 1];
+        setInterpolatedTime(finalTime);
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void init(double t0, double[] y0, double t) {
+        reset();
+    }
+
+    /**
+     * Handles the last accepted step.
+     * The interpolator is sampled at the nodes of the step, and only
+     * the resulting expansion is stored. When this method returns, the
+     * interpolated time of the interpolator is its current time.
+     *
+     * @param interpolator Interpolator for the last accepted step.
+     * @param isLast True if the step is the last one.
+     * @throws MaxCountExceededException if the number of functions
+     * evaluations is exceeded during step finalization.
+     * @throws MathIllegalStateException if the coefficients cannot be
+     * written to the spill file.
+     */
+    @Override
+    public void handleStep(final StepInterpolator interpolator, final boolean isLast)
+        throws MaxCountExceededException {
+
+        if (count == 0) {
+            initialTime = interpolator.getPreviousTime();
+            forward     = interpolator.isForward();
+        }
+
+        final double previous = interpolator.getPreviousTime();
+        final double current  = interpolator.getCurrentTime();
+        final double h        = current - previous;
+
+        // sample at the nodes x_j = cos(pi j / d), from x_d = -1 to x_0 = +1,
+        // so that the interpolator ends up at its current time
+        double[] coefficients = null;
+        int n = 0;
+        for (int j = degree; j >= 0; j--) {
+            final double t;
+            if (j == degree) {
+                t = previous;
+            } else if (j == 0) {
+                t = current;
+            } else {
+                t = previous + 0.5 * (1 + FastMath.cos(FastMath.PI * j / degree)) * h;
+            }
+            interpolator.setInterpolatedTime(t);
+            final double[] y = interpolator.getInterpolatedState();
+            if (coefficients == null) {
+                n = y.length;
+                coefficients = new double[n * (degree + 1)];
+            }
+            for (int i = 0; i < n; i++) {
+                final double yi = y[i];
+                final int base = i * (degree + 1);
+                for (int k = 0; k <= degree; k++) {
+                    coefficients[base + k] += transform[k][j] * yi;
+                }
+            }
+        }
+
+        storeStep(previous, current, coefficients, n);
+
+        if (isLast) {
+            finalTime = current;
+            setInterpolatedTime(finalTime);
+        }
+
+    }
+
+    /**
+     * Gets the initial integration time.
+     *
+     * @return the initial integration time.
+     */
+    public double getInitialTime() {
+        return initialTime;
+    }
+
+    /**
+     * Gets the final integration time.
+     *
+     * @return the final integration time.
+     */
+    public double getFinalTime() {
+        return finalTime;
+    }
+
+    /**
+     * Gets the time of the interpolated point.
+     * If {@link #setInterpolatedTime} has not been called, it returns
+     * the final integration time.
+     *
+     * @return the interpolation point time.
+     */
+    public double getInterpolatedTime() {
+        return interpolatedTime;
+    }
+
+    /**
+     * Sets the time of the interpolated point.
+     * <p>The step containing the point is found by a binary search.
+     * As for {@link ContinuousOutputModel}, times outside of the
+     * integration interval are allowed, the first or last step being
+     * extrapolated.</p>
+     * <p>Each time this method is called, the arrays returned by
+     * {@link #getInterpolatedState()} and {@link #getInterpolatedDerivatives()}
+     * are overwritten.</p>
+     *
+     * @param time Time of the interpolated point.
+     */
+    public void setInterpolatedTime(final double time) {
+        index = locate(time, index);
+        interpolatedTime = time;
+        evaluate(index, time, interpolatedState, interpolatedDerivatives);
+    }
+
+    /**
+     * Gets the state vector of the interpolated point.
+     * <p>The returned vector is a reference to a reused array, so
+     * it should not be modified and it should be copied if it needs
+     * to be preserved across several calls to {@link #setInterpolatedTime(double)}.</p>
+     *
+     * @return the state vector at time {@link #getInterpolatedTime}.
+     */
+    public double[] getInterpolatedState() {
+        return interpolatedState;
+    }
+
+    /**
+     * Gets the derivatives of the state vector of the interpolated point.
+     * <p>The returned vector is a reference to a reused array, so
+     * it should not be modified and it should be copied if it needs
+     * to be preserved across several calls to {@link #setInterpolatedTime(double)}.</p>
+     *
+     * @return the derivatives of the state vector at time {@link #getInterpolatedTime}.
+     */
+    public double[] getInterpolatedDerivatives() {
+        return interpolatedDerivatives;
+    }
+
+    /**
+     * Evaluates the state vector at many times.
+     * <p>The interpolated point of the model is not changed. Lookups are
+     * fastest when {@code times} is sorted in the integration direction.</p>
+     *
+     * @param times Times of the points.
+     * @return the state vectors; row {@code i} is the state at {@code times[i]}.
+     */
+    public double[][] getInterpolatedStates(final double[] times) {
+        return evaluate(times, true);
+    }
+
+    /**
+     * Evaluates the derivatives of the state vector at many times.
+     * <p>The interpolated point of the model is not changed. Lookups are
+     * fastest when {@code times} is sorted in the integration direction.</p>
+     *
+     * @param times Times of the points.
+     * @return the derivatives; row {@code i} is the derivative at {@code times[i]}.
+     */
+    public double[][] getInterpolatedDerivatives(final double[] times) {
+        return evaluate(times, false);
+    }
+
+    /**
+     * Evaluates the model at many times.
+     *
+     * @param times Times of the points.
+     * @param states If true, the states are returned, otherwise the derivatives.
+     * @return the evaluated vectors.
+     */
+    private double[][] evaluate(final double[] times,
+                                final boolean states) {
+        final double[][] result = new double[times.length][dimension];
+        final double[] scratch = new double[dimension];
+        int hint = index;
+        for (int i = 0; i < times.length; i++) {
+            hint = locate(times[i], hint);
+            if (states) {
+                evaluate(hint, times[i], result[i], scratch);
+            } else {
+                evaluate(hint, times[i], scratch, result[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the step to use for interpolating at the given time.
+     *
+     * @param time Time of the point.
+     * @param hint Index of a step likely to contain the point or to be
+     * just before it.
+     * @return the index of the step containing {@code time}, or of the
+     * first (resp. last) step if {@code time} is before (resp. after)
+     * the integration interval.
+     */
+    private int locate(final double time, final int hint) {
+        if (hint >= 0 && hint < count) {
+            // quick check of the hint and of its successor
+            if (locatePoint(time, hint) == 0) {
+                return hint;
+            }
+            if (hint + 1 < count && locatePoint(time, hint + 1) == 0) {
+                return hint + 1;
+            }
+        }
+
+        // binary search for the first step ending at or after the time
+        final double sign = forward ? 1 : -1;
+        int low  = 0;
+        int high = count - 1;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (sign * (time - currentTimes[mid]) <= 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Compares a step interval and a double.
+     *
+     * @param time Point to locate.
+     * @param step Index of the step.
+     * @return -1 if the double is before the interval, 0 if it is in
+     * the interval, and +1 if it is after the interval, according to
+     * the interval direction.
+     */
+    private int locatePoint(final double time, final int step) {
+        if (forward) {
+            if (time < previousTimes[step]) {
+                return -1;
+            } else if (time > currentTimes[step]) {
+                return +1;
+            } else {
+                return 0;
+            }
+        }
+        if (time > previousTimes[step]) {
+            return -1;
+        } else if (time < currentTimes[step]) {
+            return +1;
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * Evaluates the expansion of a step, using the Clenshaw recurrence
+     * and its derivative.
+     *
+     * @param step Index of the step.
+     * @param time Time of the point.
+     * @param y Array receiving the state.
+     * @param yDot Array receiving the derivatives.
+     */
+    private void evaluate(final int step, final double time,
+                          final double[] y, final double[] yDot) {
+        final double previous = previousTimes[step];
+        final double h        = currentTimes[step] - previous;
+        final double x        = h == 0 ? 1 : 2 * (time - previous) / h - 1;
+        final double scale    = h == 0 ? 0 : 2 / h;
+
+        final DoubleBuffer chunk = chunks.get(step / stepsPerChunk);
+        int base = (step % stepsPerChunk) * stride;
+        for (int i = 0; i < dimension; i++) {
+            double b1  = 0;
+            double b2  = 0;
+            double db1 = 0;
+            double db2 = 0;
+            for (int k = degree; k > 0; k--) {
+                final double b  = chunk.get(base + k) + 2 * x * b1 - b2;
+                final double db = 2 * b1 + 2 * x * db1 - db2;
+                b2  = b1;
+                b1  = b;
+                db2 = db1;
+                db1 = db;
+            }
+            y[i]    = chunk.get(base) + x * b1 - b2;
+            yDot[i] = scale * (b1 + x * db1 - db2);
+            base += degree + 1;
+        }
+    }
+
+    /**
+     * Copies the coefficients of a step.
+     *
+     * @param step Index of the step.
+     * @param coefficients Array receiving the coefficients.
+     */
+    private void readStep(final int step, final double[] coefficients) {
+        final DoubleBuffer chunk = chunks.get(step / stepsPerChunk);
+        final int base = (step % stepsPerChunk) * stride;
+        for (int k = 0; k < stride; k++) {
+            coefficients[k] = chunk.get(base + k);
+        }
+    }
+
+    /**
+     * Adds a step at the end of the model.
+     *
+     * @param previous Start time of the step.
+     * @param current End time of the step.
+     * @param coefficients Coefficients of the step.
+     * @param n Dimension of the state vector.
+     * @throws DimensionMismatchException if {@code n} is not the dimension
+     * of the steps already stored.
+     * @throws MathIllegalStateException if a full coefficient array cannot
+     * be written to the spill file.
+     */
+    private void storeStep(final double previous, final double current,
+                           final double[] coefficients, final int n) {
+        if (dimension < 0) {
+            dimension               = n;
+            stride                  = n * (degree + 1);
+            stepsPerChunk           = FastMath.max(1, chunkSize / FastMath.max(1, stride));
+            interpolatedState       = new double[n];
+            interpolatedDerivatives = new double[n];
+        } else if (n != dimension) {
+            throw new DimensionMismatchException(n, dimension);
+        }
+
+        if (count == previousTimes.length) {
+            final int capacity = FastMath.max(16, 2 * count);
+            final double[] newPrevious = new double[capacity];
+            final double[] newCurrent  = new double[capacity];
+            System.arraycopy(previousTimes, 0, newPrevious, 0, count);
+            System.arraycopy(currentTimes,  0, newCurrent,  0, count);
+            previousTimes = newPrevious;
+            currentTimes  = newCurrent;
+        }
+
+        if (currentChunk == null) {
+            currentChunk = new double[stepsPerChunk * stride];
+            chunks.add(DoubleBuffer.wrap(currentChunk));
+        }
+        final int slot = count % stepsPerChunk;
+        System.arraycopy(coefficients, 0, currentChunk, slot * stride, stride);
+        previousTimes[count] = previous;
+        currentTimes[count]  = current;
+        ++count;
+
+        if (slot == stepsPerChunk - 1) {
+            if (spillFile != null) {
+                chunks.set(chunks.size() - 1, spill(currentChunk));
+            }
+            currentChunk = null;
+        }
+    }
+
+    /**
+     * Writes a full coefficient array at the end of the spill file.
+     *
+     * @param chunk Coefficient array.
+     * @return a read-only buffer mapping the written data.
+     * @throws MathIllegalStateException if the data cannot be written.
+     */
+    private DoubleBuffer spill(final double[] chunk) {
+        final int bytes = chunk.length * Double.BYTES;
+        final ByteBuffer buffer = ByteBuffer.allocate(bytes).order(ByteOrder.nativeOrder());
+        buffer.asDoubleBuffer().put(chunk);
+        try (FileChannel channel = FileChannel.open(spillFile.toPath(),
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE)) {
+            if (spillPosition == 0) {
+                channel.truncate(0);
+            }
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, spillPosition + buffer.position());
+            }
+            final DoubleBuffer mapped =
+                channel.map(FileChannel.MapMode.READ_ONLY, spillPosition, bytes).
+                order(ByteOrder.nativeOrder()).asDoubleBuffer();
+            spillPosition += bytes;
+            return mapped;
+        } catch (IOException e) {
+            throw new MathIllegalStateException(e, LocalizedFormats.SIMPLE_MESSAGE,
+                                                e.getLocalizedMessage());
+        }
+    }
+
+    /** Removes all the steps. */
+    private void reset() {
+        initialTime             = Double.NaN;
+        finalTime               = Double.NaN;
+        interpolatedTime        = Double.NaN;
+        forward                 = true;
+        index                   = 0;
+        count                   = 0;
+        dimension               = -1;
+        stride                  = 0;
+        stepsPerChunk           = 1;
+        previousTimes           = new double[0];
+        currentTimes            = new double[0];
+        interpolatedState       = null;
+        interpolatedDerivatives = null;
+        chunks.clear();
+        currentChunk            = null;
+        spillPosition           = 0;
+    }
+
+    /**
+     * Serializes the instance, including all its coefficients.
+     *
+     * @param out Output stream.
+     * @throws IOException if object cannot be written to stream.
+     */
+    private void writeObject(final ObjectOutputStream out)
+        throws IOException {
+        out.defaultWriteObject();
+        final double[] coefficients = new double[stride];
+        for (int i = 0; i < count; i++) {
+            readStep(i, coefficients);
+            for (final double c : coefficients) {
+                out.writeDouble(c);
+            }
+        }
+    }
+
+    /**
+     * Deserializes the instance; all coefficients are kept in memory.
+     *
+     * @param in Input stream.
+     * @throws IOException if object cannot be read from the stream.
+     * @throws ClassNotFoundException if an object class cannot be found.
+     */
+    private void readObject(final ObjectInputStream in)
+        throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        chunks = new ArrayList<>();
+        currentChunk = null;
+        for (int i = 0; i < count; i++) {
+            final int slot = i % stepsPerChunk;
+            if (slot == 0) {
+                currentChunk = new double[stepsPerChunk * stride];
+                chunks.add(DoubleBuffer.wrap(currentChunk));
+            }
+            for (int k = 0; k < stride; k++) {
+                currentChunk[slot * stride + k] = in.readDouble();
+            }
+            if (slot == stepsPerChunk - 1) {
+                currentChunk = null;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,339 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.ode;
+
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import org.apache.commons.math4.exception.DimensionMismatchException;
+import org.apache.commons.math4.exception.MaxCountExceededException;
+import org.apache.commons.math4.exception.NoBracketingException;
+import org.apache.commons.math4.exception.NumberIsTooSmallException;
+import org.apache.commons.math4.ode.sampling.StepHandler;
+import org.apache.commons.math4.ode.sampling.StepInterpolator;
+import org.apache.commons.math4.util.ConcurrencyUtils;
+import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.math4.util.MathUtils;
+
+/**
+ * Integrates a common set of differential equations from many initial
+ * states (e.g. for Monte-Carlo dispersion analyses).
+ *
+ * <p>Integrators are stateful, so they cannot be shared between
+ * threads. This class therefore creates its integrators from a
+ * user-supplied factory: the trajectories are split into contiguous
+ * groups, and each group is integrated by a single integrator, which
+ * is reused, together with its equations wrapper and its step handlers,
+ * for all the trajectories of the group. Groups are processed
+ * concurrently when an executor is provided. Any {@link AbstractIntegrator}
+ * can be used, typically a
+ * {@link org.apache.commons.math4.ode.nonstiff.RungeKuttaIntegrator} or an
+ * {@link org.apache.commons.math4.ode.nonstiff.EmbeddedRungeKuttaIntegrator}
+ * such as {@link org.apache.commons.math4.ode.nonstiff.DormandPrince853Integrator}.</p>
+ *
+ * <p>The results, as well as the per-trajectory statistics, do not depend
+ * on whether an executor is used or not.</p>
+ *
+ * @since 4.0
+ */
+public class EnsembleIntegrator {
+
+    /** Number of trajectories handled by a single task. */
+    private static final int TRAJECTORIES_PER_TASK = 64;
+
+    /** Factory for the integrators. */
+    private final Supplier<? extends AbstractIntegrator> factory;
+
+    /**
+     * Creates an ensemble integrator.
+     * <p>The factory is called once per group of trajectories, possibly
+     * from several threads, and it must return a new integrator at each
+     * call. Step and event handlers configured by the factory are called
+     * for every trajectory of the group handled by the integrator.</p>
+     *
+     * @param factory Factory for the integrators.
+     * @throws org.apache.commons.math4.exception.NullArgumentException
+     * if {@code factory} is {@code null}.
+     */
+    public EnsembleIntegrator(final Supplier<? extends AbstractIntegrator> factory) {
+        MathUtils.checkNotNull(factory);
+        this.factory = factory;
+    }
+
+    /**
+     * Integrates the equations from all initial states, in the calling thread.
+     *
+     * @param equations Differential equations to integrate.
+     * @param t0 Initial time.
+     * @param y0 Initial states; row {@code i} is the initial state of
+     * trajectory {@code i}.
+     * @param t Target time for the integration (can be set to a value
+     * smaller than {@code t0} for backward integration).
+     * @return the final states and the statistics of all trajectories.
+     * @throws DimensionMismatchException if the length of an initial state
+     * does not match the dimension of the equations.
+     * @throws NumberIsTooSmallException if the integration step is too small.
+     * @throws MaxCountExceededException if the number of functions evaluations
+     * is exceeded.
+     * @throws NoBracketingException if the location of an event cannot be bracketed.
+     */
+    public Result integrate(final FirstOrderDifferentialEquations equations,
+                            final double t0, final double[][] y0, final double t)
+        throws DimensionMismatchException, NumberIsTooSmallException,
+               MaxCountExceededException, NoBracketingException {
+        final Result result = prepare(equations, y0);
+        integrate(equations, t0, y0, t, result, 0, y0.length);
+        return result;
+    }
+
+    /**
+     * Integrates the equations from all initial states, using the given
+     * executor.
+     * <p>Since the equations are evaluated concurrently, they must be
+     * thread-safe.</p>
+     *
+     * @param equations Differential equations to integrate.
+     * @param t0 Initial time.
+     * @param y0 Initial states; row {@code i} is the initial state of
+     * trajectory {@code i}.
+     * @param t Target time for the integration (can be set to a value
+     * smaller than {@code t0} for backward integration).
+     * @param executor Executor used to run the integrations.
+     * @return the final states and the statistics of all trajectories.
+     * @throws DimensionMismatchException if the length of an initial state
+     * does not match the dimension of the equations.
+     * @throws NumberIsTooSmallException if the integration step is too small.
+     * @throws MaxCountExceededException if the number of functions evaluations
+     * is exceeded.
+     * @throws NoBracketingException if the location of an event cannot be bracketed.
+     * @throws org.apache.commons.math4.exception.MathIllegalStateException
+     * if the calling thread is interrupted.
+     */
+    public Result integrate(final FirstOrderDifferentialEquations equations,
+                            final double t0, final double[][] y0, final double t,
+                            final ExecutorService executor)
+        throws DimensionMismatchException, NumberIsTooSmallException,
+               MaxCountExceededException, NoBracketingException {
+        final Result result = prepare(equations, y0);
+        final int tasks = FastMath.max(1, (y0.length + TRAJECTORIES_PER_TASK - 1) / TRAJECTORIES_PER_TASK);
+        ConcurrencyUtils.forEachRange(executor, y0.length, tasks,
+                                      (start, end) -> integrate(equations, t0, y0, t, result, start, end));
+        return result;
+    }
+
+    /**
+     * Checks the initial states and allocates the results.
+     *
+     * @param equations Differential equations to integrate.
+     * @param y0 Initial states.
+     * @return the container for the results.
+     * @throws DimensionMismatchException if the length of an initial state
+     * does not match the dimension of the equations.
+     */
+    private static Result prepare(final FirstOrderDifferentialEquations equations,
+                                  final double[][] y0) {
+        MathUtils.checkNotNull(equations);
+        MathUtils.checkNotNull(y0);
+        final int n = equations.getDimension();
+        for (final double[] y : y0) {
+            if (y.length != n) {
+                throw new DimensionMismatchException(y.length, n);
+            }
+        }
+        return new Result(y0.length, n);
+    }
+
+    /**
+     * Integrates a group of trajectories with a single integrator.
+     *
+     * @param equations Differential equations to integrate.
+     * @param t0 Initial time.
+     * @param y0 Initial states.
+     * @param t Target time.
+     * @param result Container for the results.
+     * @param start First trajectory of the group (inclusive).
+     * @param end Last trajectory of the group (exclusive).
+     */
+    private void integrate(final FirstOrderDifferentialEquations equations,
+                           final double t0, final double[][] y0, final double t,
+                           final Result result, final int start, final int end) {
+        final AbstractIntegrator integrator = factory.get();
+        final StepStatistics statistics = new StepStatistics();
+        integrator.addStepHandler(statistics);
+        final ExpandableStatefulODE expandable = new ExpandableStatefulODE(equations);
+
+        for (int i = start; i < end; i++) {
+            expandable.setTime(t0);
+            expandable.setPrimaryState(y0[i]);
+            integrator.integrate(expandable, t);
+
+            System.arraycopy(expandable.getPrimaryState(), 0, result.finalStates[i], 0, result.dimension);
+            result.finalTimes[i]    = expandable.getTime();
+            result.evaluations[i]   = integrator.getEvaluations();
+            result.steps[i]         = statistics.steps;
+            result.minStepSizes[i]  = statistics.min;
+            result.maxStepSizes[i]  = statistics.max;
+        }
+    }
+
+    /** Step handler collecting the statistics of the accepted steps. */
+    private static class StepStatistics implements StepHandler {
+        /** Number of accepted steps. */
+        private int steps;
+        /** Smallest step size. */
+        private double min;
+        /** Largest step size. */
+        private double max;
+
+        /** {@inheritDoc} */
+        @Override
+        public void init(final double t0, final double[] y0, final double t) {
+            steps = 0;
+            min   = Double.NaN;
+            max   = Double.NaN;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void handleStep(final StepInterpolator interpolator, final boolean isLast) {
+            final double h = FastMath.abs(interpolator.getCurrentTime() - interpolator.getPreviousTime());
+            min = steps == 0 ? h : FastMath.min(min, h);
+            max = steps == 0 ? h : FastMath.max(max, h);
+            ++steps;
+        }
+    }
+
+    /**
+     * Final states and statistics of the trajectories of an ensemble.
+     * Trajectories are indexed as the initial states they start from.
+     */
+    public static final class Result {
+        /** Dimension of the states. */
+        private final int dimension;
+        /** Final states. */
+        private final double[][] finalStates;
+        /** Final times. */
+        private final double[] finalTimes;
+        /** Numbers of evaluations of the equations. */
+        private final int[] evaluations;
+        /** Numbers of accepted steps. */
+        private final int[] steps;
+        /** Smallest accepted step sizes. */
+        private final double[] minStepSizes;
+        /** Largest accepted step sizes. */
+        private final double[] maxStepSizes;
+
+        /**
+         * @param size Number of trajectories.
+         * @param dimension Dimension of the states.
+         */
+        Result(final int size, final int dimension) {
+            this.dimension = dimension;
+            finalStates  = new double[size][dimension];
+            finalTimes   = new double[size];
+            evaluations  = new int[size];
+            steps        = new int[size];
+            minStepSizes = new double[size];
+            maxStepSizes = new double[size];
+        }
+
+        /**
+         * Gets the number of trajectories.
+         *
+         * @return the number of trajectories.
+         */
+        public int getSize() {
+            return finalTimes.length;
+        }
+
+        /**
+         * Gets the final state of a trajectory.
+         *
+         * @param i Index of the trajectory.
+         * @return a copy of the state at the end of the integration.
+         */
+        public double[] getFinalState(final int i) {
+            return finalStates[i].clone();
+        }
+
+        /**
+         * Gets the final time of a trajectory.
+         * It is the target time, unless an event handler stopped the integration.
+         *
+         * @param i Index of the trajectory.
+         * @return the time at the end of the integration.
+         */
+        public double getFinalTime(final int i) {
+            return finalTimes[i];
+        }
+
+        /**
+         * Gets the number of evaluations of the equations for a trajectory.
+         *
+         * @param i Index of the trajectory.
+         * @return the number of evaluations.
+         */
+        public int getEvaluations(final int i) {
+            return evaluations[i];
+        }
+
+        /**
+         * Gets the total number of evaluations of the equations.
+         *
+         * @return the number of evaluations, for all trajectories.
+         */
+        public long getTotalEvaluations() {
+            long total = 0;
+            for (final int e : evaluations) {
+                total += e;
+            }
+            return total;
+        }
+
+        /**
+         * Gets the number of accepted steps of a trajectory.
+         *
+         * @param i Index of the trajectory.
+         * @return the number of accepted steps.
+         */
+        public int getAcceptedSteps(final int i) {
+            return steps[i];
+        }
+
+        /**
+         * Gets the smallest accepted step size of a trajectory.
+         *
+         * @param i Index of the trajectory.
+         * @return the absolute value of the smallest step size, or
+         * {@code NaN} if no step was accepted.
+         */
+        public double getMinStepSize(final int i) {
+            return minStepSizes[i];
+        }
+
+        /**
+         * Gets the largest accepted step size of a trajectory.
+         *
+         * @param i Index of the trajectory.
+         * @return the absolute value of the largest step size, or
+         * {@code NaN} if no step was accepted.
+         */
+        public double getMaxStepSize(final int i) {
+            return maxStepSizes[i];
+        }
+    }
+}
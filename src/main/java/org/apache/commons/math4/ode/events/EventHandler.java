@@ -44,6 +44,14 @@ package org.apache.commons.math4.ode.events;
  * error (this event handling feature is available for all integrators,
  * including fixed step ones).</p>
  *
+ * <p><b>Arrays are reused.</b> The state array passed to {@link
+ * #g(double, double[]) g} belongs to the integrator, which reuses it from
+ * one call to the next in order to avoid allocating arrays at each step:
+ * implementations must neither keep a reference to it nor change its
+ * content. The arrays passed to {@link #eventOccurred(double, double[],
+ * boolean) eventOccurred} and {@link #resetState(double, double[])
+ * resetState} are built for each event and may be kept.</p>
+ *
  * @since 1.2
  */
 
@@ -132,6 +140,7 @@ public interface EventHandler  {
 
    * @param t current value of the independent <i>time</i> variable
    * @param y array containing the current value of the state vector
+   * (reused by the integrator, it must not be kept or modified)
    * @return value of the g switching function
    */
   double g(double t, double[] y);
@@ -91,6 +91,12 @@ public class EventState {
     /** Root-finding algorithm to use to detect state events. */
     private final UnivariateSolver solver;
 
+    /** Equations mappers for the secondary equations sets. */
+    private EquationsMapper[] secondaryMappers;
+
+    /** Complete state passed to the switching function (reused across calls). */
+    private double[] completeState;
+
     /** Simple constructor.
      * @param handler event handler
      * @param maxCheckInterval maximal time interval between switching
@@ -134,7 +140,9 @@ public class EventState {
      * @param expandable equation being integrated
      */
     public void setExpandable(final ExpandableStatefulODE expandable) {
-        this.expandable = expandable;
+        this.expandable       = expandable;
+        this.secondaryMappers = expandable.getSecondaryMappers();
+        this.completeState    = null;
     }
 
     /** Get the maximal time interval between events handler checks.
@@ -195,18 +203,20 @@ public class EventState {
 
     /** Get the complete state (primary and secondary).
      * @param interpolator interpolator to use
-     * @return complete state
+     * @return complete state (the array is reused by subsequent calls)
      */
     private double[] getCompleteState(final StepInterpolator interpolator) {
 
-        final double[] complete = new double[expandable.getTotalDimension()];
+        if (completeState == null) {
+            completeState = new double[expandable.getTotalDimension()];
+        }
+        final double[] complete = completeState;
 
         expandable.getPrimaryMapper().insertEquationData(interpolator.getInterpolatedState(),
                                                          complete);
-        int index = 0;
-        for (EquationsMapper secondary : expandable.getSecondaryMappers()) {
-            secondary.insertEquationData(interpolator.getInterpolatedSecondaryState(index++),
-                                         complete);
+        for (int index = 0; index < secondaryMappers.length; ++index) {
+            secondaryMappers[index].insertEquationData(interpolator.getInterpolatedSecondaryState(index),
+                                                       complete);
         }
 
         return complete;
@@ -235,18 +245,8 @@ public class EventState {
             final int    n = FastMath.max(1, (int) FastMath.ceil(FastMath.abs(dt) / maxCheckInterval));
             final double h = dt / n;
 
-            final UnivariateFunction f = new UnivariateFunction() {
-                /** {@inheritDoc} */
-                @Override
-                public double value(final double t) throws LocalMaxCountExceededException {
-                    try {
-                        interpolator.setInterpolatedTime(t);
-                        return handler.g(t, getCompleteState(interpolator));
-                    } catch (MaxCountExceededException mcee) {
-                        throw new LocalMaxCountExceededException(mcee);
-                    }
-                }
-            };
+            // the root solver function is only built when a sign change is found
+            UnivariateFunction f = null;
 
             double ta = t0;
             double ga = g0;
@@ -264,6 +264,21 @@ public class EventState {
                     // variation direction, with respect to the integration direction
                     increasing = gb >= ga;
 
+                    if (f == null) {
+                        f = new UnivariateFunction() {
+                            /** {@inheritDoc} */
+                            @Override
+                            public double value(final double t) throws LocalMaxCountExceededException {
+                                try {
+                                    interpolator.setInterpolatedTime(t);
+                                    return handler.g(t, getCompleteState(interpolator));
+                                } catch (MaxCountExceededException mcee) {
+                                    throw new LocalMaxCountExceededException(mcee);
+                                }
+                            }
+                        };
+                    }
+
                     // find the event time making sure we select a solution just at or past the exact root
                     final double root;
                     if (solver instanceof BracketedUnivariateSolver<?>) {
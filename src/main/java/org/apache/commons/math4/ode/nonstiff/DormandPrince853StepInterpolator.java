@@ -218,6 +218,9 @@ class DormandPrince853StepInterpolator
     /** Initialization indicator for the interpolation vectors. */
     private boolean vectorsInitialized;
 
+    /** Work array for the last evaluations. */
+    private double[] yTmp;
+
   /** Simple constructor.
    * This constructor builds an instance that is not usable yet, the
    * {@link #reinitialize} method should be called before using the
@@ -414,7 +417,9 @@ class DormandPrince853StepInterpolator
       }
 
       double s;
-      final double[] yTmp = new double[currentState.length];
+      if (yTmp == null || yTmp.length != currentState.length) {
+          yTmp = new double[currentState.length];
+      }
       final double pT = getGlobalPreviousTime();
 
       // k14
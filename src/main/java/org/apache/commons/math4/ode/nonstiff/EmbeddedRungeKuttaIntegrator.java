@@ -56,6 +56,13 @@ import org.apache.commons.math4.util.FastMath;
  * evaluation is saved. For an <i>fsal</i> method, we have cs = 1 and
  * asi = bi for all i.</p>
  *
+ * <p>The working arrays and the step interpolator are allocated by the
+ * first integration and reused by the following ones with the same
+ * state dimension, so that the step loop does not allocate memory.
+ * As required by {@link org.apache.commons.math4.ode.sampling.StepHandler
+ * StepHandler}, handlers that need to keep the interpolator after a step
+ * must copy it.</p>
+ *
  * @since 1.2
  */
 
@@ -89,6 +96,9 @@ public abstract class EmbeddedRungeKuttaIntegrator
     /** Maximal growth factor for stepsize control. */
     private double maxGrowth;
 
+    /** Working arrays and interpolator of the last integration. */
+    private RungeKuttaWorkspace workspace;
+
   /** Build a Runge-Kutta integrator with the given Butcher array.
    * @param name name of the method
    * @param fsal indicate that the method is an <i>fsal</i>
@@ -196,16 +206,19 @@ public abstract class EmbeddedRungeKuttaIntegrator
     setEquations(equations);
     final boolean forward = t > equations.getTime();
 
-    // create some internal working arrays
+    // get the internal working arrays, reusing those of the previous integration
     final double[] y0  = equations.getCompleteState();
-    final double[] y = y0.clone();
     final int stages = c.length + 1;
-    final double[][] yDotK = new double[stages][y.length];
-    final double[] yTmp    = y0.clone();
-    final double[] yDotTmp = new double[y.length];
+    workspace = RungeKuttaWorkspace.reuse(workspace, y0.length, stages, prototype);
+    final double[] y       = workspace.getY();
+    final double[][] yDotK = workspace.getYDotK();
+    final double[] yTmp    = workspace.getYTmp();
+    final double[] yDotTmp = workspace.getYDotTmp();
+    System.arraycopy(y0, 0, y,    0, y0.length);
+    System.arraycopy(y0, 0, yTmp, 0, y0.length);
 
     // set up an interpolator sharing the integrator arrays
-    final RungeKuttaStepInterpolator interpolator = (RungeKuttaStepInterpolator) prototype.copy();
+    final RungeKuttaStepInterpolator interpolator = workspace.getInterpolator();
     interpolator.reinitialize(this, yTmp, yDotK, forward,
                               equations.getPrimaryMapper(), equations.getSecondaryMappers());
     interpolator.storeTime(equations.getTime());
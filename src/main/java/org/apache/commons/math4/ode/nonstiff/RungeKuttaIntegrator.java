@@ -43,6 +43,13 @@ import org.apache.commons.math4.util.FastMath;
  *       |  b1   b2  ...   bs-1  bs
  * </pre>
  *
+ * <p>The working arrays and the step interpolator are allocated by the
+ * first integration and reused by the following ones with the same
+ * state dimension, so that the step loop does not allocate memory.
+ * As required by {@link org.apache.commons.math4.ode.sampling.StepHandler
+ * StepHandler}, handlers that need to keep the interpolator after a step
+ * must copy it.</p>
+ *
  * @see EulerIntegrator
  * @see ClassicalRungeKuttaIntegrator
  * @see GillIntegrator
@@ -67,6 +74,9 @@ public abstract class RungeKuttaIntegrator extends AbstractIntegrator {
     /** Integration step. */
     private final double step;
 
+    /** Working arrays and interpolator of the last integration. */
+    private RungeKuttaWorkspace workspace;
+
   /** Simple constructor.
    * Build a Runge-Kutta integrator with the given
    * step. The default step handler does nothing.
@@ -99,19 +109,19 @@ public abstract class RungeKuttaIntegrator extends AbstractIntegrator {
     setEquations(equations);
     final boolean forward = t > equations.getTime();
 
-    // create some internal working arrays
+    // get the internal working arrays, reusing those of the previous integration
     final double[] y0      = equations.getCompleteState();
-    final double[] y       = y0.clone();
     final int stages       = c.length + 1;
-    final double[][] yDotK = new double[stages][];
-    for (int i = 0; i < stages; ++i) {
-      yDotK [i] = new double[y0.length];
-    }
-    final double[] yTmp    = y0.clone();
-    final double[] yDotTmp = new double[y0.length];
+    workspace = RungeKuttaWorkspace.reuse(workspace, y0.length, stages, prototype);
+    final double[] y       = workspace.getY();
+    final double[][] yDotK = workspace.getYDotK();
+    final double[] yTmp    = workspace.getYTmp();
+    final double[] yDotTmp = workspace.getYDotTmp();
+    System.arraycopy(y0, 0, y,    0, y0.length);
+    System.arraycopy(y0, 0, yTmp, 0, y0.length);
 
     // set up an interpolator sharing the integrator arrays
-    final RungeKuttaStepInterpolator interpolator = (RungeKuttaStepInterpolator) prototype.copy();
+    final RungeKuttaStepInterpolator interpolator = workspace.getInterpolator();
     interpolator.reinitialize(this, yTmp, yDotK, forward,
                               equations.getPrimaryMapper(), equations.getSecondaryMappers());
     interpolator.storeTime(equations.getTime());
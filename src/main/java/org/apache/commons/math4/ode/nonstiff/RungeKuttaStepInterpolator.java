@@ -139,7 +139,10 @@ abstract class RungeKuttaStepInterpolator
   /** {@inheritDoc} */
   @Override
   public void shift() {
-    previousState = currentState.clone();
+    if (previousState == null || previousState.length != currentState.length) {
+      previousState = new double[currentState.length];
+    }
+    System.arraycopy(currentState, 0, previousState, 0, currentState.length);
     super.shift();
   }
 
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.ode.nonstiff;
+
+/**
+ * Working arrays and step interpolator of a Runge-Kutta integration.
+ *
+ * <p>{@link RungeKuttaIntegrator} and {@link EmbeddedRungeKuttaIntegrator}
+ * keep the workspace of their last integration and reuse it for the next
+ * one when the dimension of the state vector is unchanged, so that
+ * repeated integrations of the same problem do not allocate new arrays
+ * and do not copy the prototype interpolator again. The step loop itself
+ * only works in these arrays.</p>
+ *
+ * @since 4.0
+ */
+final class RungeKuttaWorkspace {
+
+    /** State at the start of the current step. */
+    private final double[] y;
+
+    /** Intermediate and end-of-step states. */
+    private final double[] yTmp;
+
+    /** Slopes of the stages. */
+    private final double[][] yDotK;
+
+    /** Derivatives at the end of the step. */
+    private final double[] yDotTmp;
+
+    /** Step interpolator sharing {@link #yTmp} and {@link #yDotK}. */
+    private final RungeKuttaStepInterpolator interpolator;
+
+    /**
+     * @param dimension Dimension of the complete state vector.
+     * @param stages Number of stages of the method.
+     * @param prototype Prototype of the step interpolator.
+     */
+    RungeKuttaWorkspace(final int dimension,
+                        final int stages,
+                        final RungeKuttaStepInterpolator prototype) {
+        y            = new double[dimension];
+        yTmp         = new double[dimension];
+        yDotK        = new double[stages][dimension];
+        yDotTmp      = new double[dimension];
+        interpolator = (RungeKuttaStepInterpolator) prototype.copy();
+    }
+
+    /**
+     * Gets a workspace suitable for an integration.
+     *
+     * @param workspace Workspace of the previous integration (may be null).
+     * @param dimension Dimension of the complete state vector.
+     * @param stages Number of stages of the method.
+     * @param prototype Prototype of the step interpolator.
+     * @return {@code workspace} if it can be reused, a new workspace otherwise.
+     */
+    static RungeKuttaWorkspace reuse(final RungeKuttaWorkspace workspace,
+                                     final int dimension,
+                                     final int stages,
+                                     final RungeKuttaStepInterpolator prototype) {
+        if (workspace != null &&
+            workspace.y.length == dimension &&
+            workspace.yDotK.length == stages) {
+            return workspace;
+        }
+        return new RungeKuttaWorkspace(dimension, stages, prototype);
+    }
+
+    /**
+     * @return the array holding the state at the start of the current step.
+     */
+    double[] getY() {
+        return y;
+    }
+
+    /**
+     * @return the array holding the intermediate and end-of-step states.
+     */
+    double[] getYTmp() {
+        return yTmp;
+    }
+
+    /**
+     * @return the arrays holding the slopes of the stages.
+     */
+    double[][] getYDotK() {
+        return yDotK;
+    }
+
+    /**
+     * @return the array holding the derivatives at the end of the step.
+     */
+    double[] getYDotTmp() {
+        return yDotTmp;
+    }
+
+    /**
+     * @return the step interpolator.
+     */
+    RungeKuttaStepInterpolator getInterpolator() {
+        return interpolator;
+    }
+}
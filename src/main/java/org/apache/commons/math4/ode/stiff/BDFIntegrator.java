@@ -0,0 +1,498 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.ode.stiff;
+
+import java.util.Arrays;
+
+import org.apache.commons.math4.exception.DimensionMismatchException;
+import org.apache.commons.math4.exception.MaxCountExceededException;
+import org.apache.commons.math4.exception.NoBracketingException;
+import org.apache.commons.math4.exception.NumberIsTooSmallException;
+import org.apache.commons.math4.linear.DecompositionSolver;
+import org.apache.commons.math4.ode.ExpandableStatefulODE;
+import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.numbers.core.Precision;
+
+/**
+ * This class implements a variable order, variable step Backward
+ * Differentiation Formulas integrator for stiff Ordinary Differential
+ * Equations.
+ *
+ * <p>The formulas are the Numerical Differentiation Formulas (NDF) of
+ * orders 1 to 5 of Klopfenstein and Shampine, i.e. the BDF with a correction
+ * term that improves their error constants while keeping good stability
+ * properties. The history of the solution is kept as modified divided
+ * differences, which are interpolated when the step size changes; the order
+ * is selected from the estimated errors of the neighboring orders once the
+ * step size has been constant for a number of steps larger than the order.</p>
+ *
+ * <p>The implicit equations of each step are solved by a simplified Newton
+ * iteration. Both the Jacobian and the LU decomposition of the iteration
+ * matrix are reused across steps: the decomposition is computed again only
+ * when the step size or the order change, and the Jacobian is evaluated
+ * again only when the iteration fails to converge. On problems whose
+ * Jacobian varies slowly, a single Jacobian evaluation often serves
+ * hundreds of steps.</p>
+ *
+ * <p>This method is described in the following article :
+ * <pre>
+ *  The MATLAB ODE Suite
+ *  L. F. Shampine and M. W. Reichelt
+ *  SIAM Journal on Scientific Computing
+ *  volume 18, no 1, 1997, pp. 1-22
+ * </pre>
+ *
+ * @since 4.0
+ */
+public class BDFIntegrator extends StiffIntegrator {
+
+    /** Maximal order of the formulas. */
+    static final int MAX_ORDER = 5;
+
+    /** Integrator method name. */
+    private static final String METHOD_NAME = "BDF";
+
+    /** Maximal number of Newton iterations per step. */
+    private static final int NEWTON_MAXITER = 4;
+
+    /** Minimal reduction factor for stepsize control. */
+    private static final double MIN_FACTOR = 0.2;
+
+    /** Maximal growth factor for stepsize control. */
+    private static final double MAX_FACTOR = 10.0;
+
+    /** Correction coefficients of the numerical differentiation formulas. */
+    private static final double[] KAPPA = {
+        0.0, -0.1850, -1.0 / 9.0, -0.0823, -0.0415, 0.0
+    };
+
+    /** Partial sums of the harmonic series. */
+    private static final double[] GAMMA = new double[MAX_ORDER + 1];
+
+    /** Leading coefficients of the formulas. */
+    private static final double[] ALPHA = new double[MAX_ORDER + 1];
+
+    /** Error constants of the formulas. */
+    private static final double[] ERROR_CONST = new double[MAX_ORDER + 2];
+
+    static {
+        for (int k = 1; k <= MAX_ORDER; ++k) {
+            GAMMA[k] = GAMMA[k - 1] + 1.0 / k;
+        }
+        for (int k = 0; k <= MAX_ORDER; ++k) {
+            ALPHA[k]       = (1 - KAPPA[k]) * GAMMA[k];
+            ERROR_CONST[k] = KAPPA[k] * GAMMA[k] + 1.0 / (k + 1);
+        }
+        ERROR_CONST[MAX_ORDER + 1] = 1.0 / (MAX_ORDER + 2);
+    }
+
+    /** Simple constructor.
+     * Build a BDF integrator with the given step bounds
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param scalAbsoluteTolerance allowed absolute error
+     * @param scalRelativeTolerance allowed relative error
+     */
+    public BDFIntegrator(final double minStep, final double maxStep,
+                         final double scalAbsoluteTolerance,
+                         final double scalRelativeTolerance) {
+        super(METHOD_NAME, minStep, maxStep, scalAbsoluteTolerance, scalRelativeTolerance);
+    }
+
+    /** Simple constructor.
+     * Build a BDF integrator with the given step bounds
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param vecAbsoluteTolerance allowed absolute error
+     * @param vecRelativeTolerance allowed relative error
+     */
+    public BDFIntegrator(final double minStep, final double maxStep,
+                         final double[] vecAbsoluteTolerance,
+                         final double[] vecRelativeTolerance) {
+        super(METHOD_NAME, minStep, maxStep, vecAbsoluteTolerance, vecRelativeTolerance);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void integrate(final ExpandableStatefulODE equations, final double t)
+        throws NumberIsTooSmallException, DimensionMismatchException,
+               MaxCountExceededException, NoBracketingException {
+
+        sanityChecks(equations, t);
+        setEquations(equations);
+        final boolean forward = t > equations.getTime();
+
+        // create some internal working arrays
+        final double[] y0       = equations.getCompleteState();
+        final int n             = y0.length;
+        final double[] y        = y0.clone();
+        final double[] yDot     = new double[n];
+        final double[] yPredict = new double[n];
+        final double[] yNew     = new double[n];
+        final double[] yDotNew  = new double[n];
+        final double[] psi      = new double[n];
+        final double[] d        = new double[n];
+        final double[] dy       = new double[n];
+        final double[] rhs      = new double[n];
+        final double[] err      = new double[n];
+        final double[][] dFdY   = new double[n][n];
+        final double[][] diff   = new double[MAX_ORDER + 3][n];
+        final double[][] work   = new double[MAX_ORDER + 1][n];
+
+        // set up an interpolator sharing the integrator state array
+        final BDFStepInterpolator interpolator = new BDFStepInterpolator();
+        interpolator.reinitialize(y, forward,
+                                  equations.getPrimaryMapper(), equations.getSecondaryMappers());
+        interpolator.storeTime(equations.getTime());
+
+        // set up integration control objects
+        stepStart = equations.getTime();
+        initIntegration(equations.getTime(), y0, t);
+        computeDerivatives(stepStart, y, yDot);
+        double h = initializeStep(forward, 1, initialScale(y), stepStart, y, yDot, yNew, yDotNew);
+        int order = 1;
+        int equalSteps = 0;
+        startHistory(diff, y, yDot, h);
+        computeJacobian(stepStart, y, yDot, dFdY);
+        DecompositionSolver solver = null;
+        final double newtonTolerance = getNewtonTolerance();
+
+        // main integration loop
+        isLastStep = false;
+        do {
+
+            interpolator.shift();
+
+            // iterate over step size, ensuring local normalized error is smaller than 1
+            boolean currentJacobian = false;
+            double error = 10;
+            int iterations = 0;
+            while (error > 1.0) {
+
+                // don't step past the target time
+                final double tNew = stepStart + h;
+                if (forward ? (tNew >= t) : (tNew <= t)) {
+                    final double hLast = t - stepStart;
+                    changeDifferences(diff, order, hLast / h, work);
+                    h          = hLast;
+                    equalSteps = 0;
+                    solver     = null;
+                }
+
+                // predict the state at the end of the step
+                for (int j = 0; j < n; ++j) {
+                    double sumY   = diff[0][j];
+                    double sumPsi = 0;
+                    for (int k = 1; k <= order; ++k) {
+                        sumY   += diff[k][j];
+                        sumPsi += GAMMA[k] * diff[k][j];
+                    }
+                    yPredict[j] = sumY;
+                    psi[j]      = sumPsi / ALPHA[order];
+                }
+
+                // correct it by solving the implicit equations
+                final double c = h / ALPHA[order];
+                iterations = -1;
+                while (iterations < 0) {
+                    if (solver == null) {
+                        solver = decompose(dFdY, c);
+                    }
+                    iterations = solveImplicit(stepStart + h, c, yPredict, psi, solver, newtonTolerance,
+                                               yNew, yDotNew, d, dy, rhs);
+                    if (iterations < 0) {
+                        if (currentJacobian) {
+                            break;
+                        }
+                        // the Jacobian may be too old, update it
+                        computeDerivatives(stepStart + h, yPredict, yDotNew);
+                        computeJacobian(stepStart + h, yPredict, yDotNew, dFdY);
+                        solver          = null;
+                        currentJacobian = true;
+                    }
+                }
+
+                if (iterations < 0) {
+                    // the iteration did not converge even with an up to date Jacobian
+                    final double hNew = filterStep(0.5 * h, forward, false);
+                    changeDifferences(diff, order, hNew / h, work);
+                    h          = hNew;
+                    equalSteps = 0;
+                    solver     = null;
+                    continue;
+                }
+
+                // estimate the error at the end of the step
+                for (int j = 0; j < n; ++j) {
+                    err[j] = ERROR_CONST[order] * d[j];
+                }
+                error = errorNorm(err, yNew, yNew);
+                if (error > 1.0) {
+                    // reject the step and attempt to reduce error by stepsize control
+                    final double factor =
+                        FastMath.max(MIN_FACTOR, safety(iterations) * FastMath.pow(error, -1.0 / (order + 1)));
+                    final double hNew = filterStep(h * factor, forward, false);
+                    changeDifferences(diff, order, hNew / h, work);
+                    h          = hNew;
+                    equalSteps = 0;
+                    solver     = null;
+                }
+
+            }
+
+            // update the backward differences
+            stepSize = h;
+            ++equalSteps;
+            for (int j = 0; j < n; ++j) {
+                diff[order + 2][j] = d[j] - diff[order + 1][j];
+                diff[order + 1][j] = d[j];
+            }
+            for (int k = order; k >= 0; --k) {
+                for (int j = 0; j < n; ++j) {
+                    diff[k][j] += diff[k + 1][j];
+                }
+            }
+            interpolator.storeDifferences(diff, order);
+
+            // select the order and step size for the next step
+            if (equalSteps > order) {
+                for (int j = 0; j < n; ++j) {
+                    err[j] = ERROR_CONST[order - 1] * diff[order][j];
+                }
+                final double errorM = (order > 1) ? errorNorm(err, yNew, yNew) : Double.POSITIVE_INFINITY;
+                for (int j = 0; j < n; ++j) {
+                    err[j] = ERROR_CONST[order + 1] * diff[order + 2][j];
+                }
+                final double errorP = (order < MAX_ORDER) ? errorNorm(err, yNew, yNew) : Double.POSITIVE_INFINITY;
+
+                final double factorM = FastMath.pow(errorM, -1.0 / order);
+                final double factor0 = FastMath.pow(error,  -1.0 / (order + 1));
+                final double factorP = FastMath.pow(errorP, -1.0 / (order + 2));
+                double best = factor0;
+                int newOrder = order;
+                if (factorM > best) {
+                    best     = factorM;
+                    newOrder = order - 1;
+                }
+                if (factorP > best) {
+                    best     = factorP;
+                    newOrder = order + 1;
+                }
+                order = newOrder;
+
+                final double factor = FastMath.min(MAX_FACTOR, safety(iterations) * best);
+                final double hNew   = filterStep(h * factor, forward, false);
+                changeDifferences(diff, order, hNew / h, work);
+                h          = hNew;
+                equalSteps = 0;
+                solver     = null;
+            }
+
+            // local error is small enough: accept the step, trigger events and step handlers
+            interpolator.storeTime(stepStart + stepSize);
+            System.arraycopy(yNew, 0, y, 0, n);
+            stepStart = acceptStep(interpolator, y, yDot, t);
+
+            if (!isLastStep) {
+
+                // prepare next step
+                interpolator.storeTime(stepStart);
+
+                if (resetOccurred) {
+                    // the history is not valid anymore, restart at order 1
+                    order      = 1;
+                    equalSteps = 0;
+                    solver     = null;
+                    startHistory(diff, y, yDot, h);
+                    resetOccurred = false;
+                }
+
+            }
+
+        } while (!isLastStep);
+
+        // dispatch results
+        equations.setTime(stepStart);
+        equations.setCompleteState(y);
+
+        resetInternalState();
+
+    }
+
+    /** Solve the implicit equations of a step by simplified Newton iterations.
+     * @param tNew time at the end of the step
+     * @param c scaled step size
+     * @param yPredict predicted state
+     * @param psi contribution of the history to the equations
+     * @param solver solver for the iteration matrix
+     * @param tolerance convergence threshold for the scaled norm of the corrections
+     * @param yNew placeholder array where to put the corrected state
+     * @param f work array for the derivatives
+     * @param d placeholder array where to put the total correction
+     * @param dy work array for the corrections
+     * @param rhs work array for the right hand sides
+     * @return number of iterations, or -1 if the iterations did not converge
+     * @exception MaxCountExceededException if the number of functions evaluations is exceeded
+     * @exception DimensionMismatchException if arrays dimensions do not match equations settings
+     */
+    private int solveImplicit(final double tNew, final double c,
+                              final double[] yPredict, final double[] psi,
+                              final DecompositionSolver solver, final double tolerance,
+                              final double[] yNew, final double[] f,
+                              final double[] d, final double[] dy, final double[] rhs)
+        throws MaxCountExceededException, DimensionMismatchException {
+
+        Arrays.fill(d, 0.0);
+        System.arraycopy(yPredict, 0, yNew, 0, yNew.length);
+
+        double dyNormOld = Double.NaN;
+        for (int k = 0; k < NEWTON_MAXITER; ++k) {
+
+            computeDerivatives(tNew, yNew, f);
+            for (int j = 0; j < f.length; ++j) {
+                if (Double.isNaN(f[j]) || Double.isInfinite(f[j])) {
+                    return -1;
+                }
+                rhs[j] = c * f[j] - psi[j] - d[j];
+            }
+            solve(solver, rhs, dy);
+
+            final double dyNorm = errorNorm(dy, yPredict, yPredict);
+            final double rate   = dyNorm / dyNormOld;
+            if (k > 0 &&
+                (rate >= 1 || FastMath.pow(rate, NEWTON_MAXITER - k) / (1 - rate) * dyNorm > tolerance)) {
+                // the iterations diverge or will not converge in time
+                return -1;
+            }
+
+            for (int j = 0; j < yNew.length; ++j) {
+                yNew[j] += dy[j];
+                d[j]    += dy[j];
+            }
+
+            if (dyNorm == 0 || (k > 0 && rate / (1 - rate) * dyNorm < tolerance)) {
+                return k + 1;
+            }
+            dyNormOld = dyNorm;
+
+        }
+
+        return -1;
+
+    }
+
+    /** Get the convergence threshold of the Newton iterations.
+     * @return convergence threshold for the scaled norm of the corrections
+     */
+    private double getNewtonTolerance() {
+        double rtol = scalRelativeTolerance;
+        if (vecRelativeTolerance != null) {
+            rtol = Double.POSITIVE_INFINITY;
+            for (final double r : vecRelativeTolerance) {
+                rtol = FastMath.min(rtol, r);
+            }
+        }
+        rtol = FastMath.max(rtol, 100 * Precision.EPSILON);
+        return FastMath.max(10 * Precision.EPSILON / rtol, FastMath.min(0.03, FastMath.sqrt(rtol)));
+    }
+
+    /** Get the safety factor for stepsize control.
+     * @param iterations number of Newton iterations of the last step
+     * @return safety factor, smaller when the iterations converged slowly
+     */
+    private static double safety(final int iterations) {
+        return 0.9 * (2 * NEWTON_MAXITER + 1) / (2 * NEWTON_MAXITER + iterations);
+    }
+
+    /** Start a new history at order 1.
+     * @param diff backward differences
+     * @param y current state
+     * @param yDot derivatives at current state
+     * @param h step size
+     */
+    private static void startHistory(final double[][] diff, final double[] y, final double[] yDot,
+                                     final double h) {
+        for (final double[] row : diff) {
+            Arrays.fill(row, 0.0);
+        }
+        for (int j = 0; j < y.length; ++j) {
+            diff[0][j] = y[j];
+            diff[1][j] = h * yDot[j];
+        }
+    }
+
+    /** Change the step size of the backward differences.
+     * <p>The polynomial interpolating the history is left unchanged,
+     * only the grid on which its differences are computed changes.</p>
+     * @param diff backward differences
+     * @param order current order
+     * @param factor ratio of the new step size to the current one
+     * @param work work array with at least order + 1 rows
+     */
+    private static void changeDifferences(final double[][] diff, final int order,
+                                          final double factor, final double[][] work) {
+
+        if (factor == 1.0) {
+            return;
+        }
+
+        final double[][] r = interpolationMatrix(order, factor);
+        final double[][] u = interpolationMatrix(order, 1.0);
+        for (int j = 0; j <= order; ++j) {
+            Arrays.fill(work[j], 0.0);
+            for (int k = 0; k <= order; ++k) {
+                // element (k, j) of the product r.u
+                double ru = 0;
+                for (int l = 0; l <= order; ++l) {
+                    ru += r[k][l] * u[l][j];
+                }
+                for (int i = 0; i < work[j].length; ++i) {
+                    work[j][i] += ru * diff[k][i];
+                }
+            }
+        }
+        for (int j = 0; j <= order; ++j) {
+            System.arraycopy(work[j], 0, diff[j], 0, work[j].length);
+        }
+
+    }
+
+    /** Compute the matrix used to change the step size of the backward differences.
+     * @param order current order
+     * @param factor ratio of the new step size to the current one
+     * @return interpolation matrix
+     */
+    private static double[][] interpolationMatrix(final int order, final double factor) {
+        final double[][] r = new double[order + 1][order + 1];
+        Arrays.fill(r[0], 1.0);
+        for (int i = 1; i <= order; ++i) {
+            for (int j = 1; j <= order; ++j) {
+                r[i][j] = r[i - 1][j] * (i - 1 - factor * j) / i;
+            }
+        }
+        return r;
+    }
+
+}
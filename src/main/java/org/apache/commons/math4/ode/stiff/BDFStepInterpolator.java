@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.ode.stiff;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+
+import org.apache.commons.math4.ode.EquationsMapper;
+import org.apache.commons.math4.ode.sampling.AbstractStepInterpolator;
+import org.apache.commons.math4.ode.sampling.StepInterpolator;
+
+/**
+ * This class implements the continuous extension of the
+ * {@link BDFIntegrator BDF} integrator.
+ * <p>
+ * The interpolating polynomial is the polynomial of the current order
+ * defined by the backward differences of the solution at the end of
+ * the step, on a grid whose spacing is the step size.
+ * </p>
+ *
+ * @see BDFIntegrator
+ * @since 4.0
+ */
+class BDFStepInterpolator extends AbstractStepInterpolator {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261017L;
+
+    /** Order of the interpolating polynomial. */
+    private int order;
+
+    /** Backward differences of the solution at the end of the step. */
+    private double[][] differences;
+
+    /** Simple constructor.
+     * This constructor builds an instance that is not usable yet, the
+     * {@link #reinitialize} method should be called before using the
+     * instance in order to initialize the internal arrays.
+     */
+    // the public modifier here is needed for serialization
+    public BDFStepInterpolator() {
+        order       = 0;
+        differences = null;
+    }
+
+    /** Copy constructor.
+     * @param interpolator interpolator to copy from. The copy is a deep
+     * copy: its arrays are separated from the original arrays of the
+     * instance
+     */
+    BDFStepInterpolator(final BDFStepInterpolator interpolator) {
+        super(interpolator);
+        order = interpolator.order;
+        if (interpolator.differences == null) {
+            differences = null;
+        } else {
+            differences = new double[order + 1][];
+            for (int k = 0; k <= order; ++k) {
+                differences[k] = interpolator.differences[k].clone();
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected StepInterpolator doCopy() {
+        return new BDFStepInterpolator(this);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void reinitialize(final double[] y, final boolean isForward,
+                                final EquationsMapper primary,
+                                final EquationsMapper[] secondary) {
+        super.reinitialize(y, isForward, primary, secondary);
+        order       = 0;
+        differences = new double[BDFIntegrator.MAX_ORDER + 1][y.length];
+    }
+
+    /** Store the backward differences of the solution.
+     * @param d backward differences at the end of the step
+     * @param q order of the interpolating polynomial
+     */
+    void storeDifferences(final double[][] d, final int q) {
+        order = q;
+        for (int k = 0; k <= q; ++k) {
+            System.arraycopy(d[k], 0, differences[k], 0, differences[k].length);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void computeInterpolatedStateAndDerivatives(final double theta,
+                                                          final double oneMinusThetaH) {
+
+        System.arraycopy(differences[0], 0, interpolatedState, 0, interpolatedState.length);
+        Arrays.fill(interpolatedDerivatives, 0.0);
+
+        // product of the normalized distances to the grid points and its derivative
+        double p    = 1;
+        double pDot = 0;
+        for (int k = 0; k < order; ++k) {
+            final double x = (k * h - oneMinusThetaH) / ((k + 1) * h);
+            pDot = pDot * x + p / ((k + 1) * h);
+            p   *= x;
+            final double[] dk = differences[k + 1];
+            for (int i = 0; i < interpolatedState.length; ++i) {
+                interpolatedState[i]       += p    * dk[i];
+                interpolatedDerivatives[i] += pDot * dk[i];
+            }
+        }
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeExternal(final ObjectOutput out)
+        throws IOException {
+
+        // save the state of the base class
+        writeBaseExternal(out);
+
+        // save the local attributes
+        final int n = (currentState == null) ? -1 : currentState.length;
+        out.writeInt(order);
+        for (int k = 0; n >= 0 && k <= order; ++k) {
+            for (int i = 0; i < n; ++i) {
+                out.writeDouble(differences[k][i]);
+            }
+        }
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void readExternal(final ObjectInput in)
+        throws IOException, ClassNotFoundException {
+
+        // read the base class
+        final double t = readBaseExternal(in);
+
+        // read the local attributes
+        final int n = (currentState == null) ? -1 : currentState.length;
+        order = in.readInt();
+        differences = (n < 0) ? null : new double[order + 1][n];
+        for (int k = 0; n >= 0 && k <= order; ++k) {
+            for (int i = 0; i < n; ++i) {
+                differences[k][i] = in.readDouble();
+            }
+        }
+
+        if (currentState != null) {
+            // we can now set the interpolated time and state
+            setInterpolatedTime(t);
+        } else {
+            interpolatedTime = t;
+        }
+
+    }
+
+}
@@ -0,0 +1,279 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.ode.stiff;
+
+import org.apache.commons.math4.exception.DimensionMismatchException;
+import org.apache.commons.math4.exception.MaxCountExceededException;
+import org.apache.commons.math4.exception.NoBracketingException;
+import org.apache.commons.math4.exception.NumberIsTooSmallException;
+import org.apache.commons.math4.linear.DecompositionSolver;
+import org.apache.commons.math4.ode.ExpandableStatefulODE;
+import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.numbers.core.Precision;
+
+/**
+ * This class implements the 2(3) Rosenbrock integrator for stiff Ordinary
+ * Differential Equations.
+ *
+ * <p>This integrator is the modified Rosenbrock triple used in the
+ * {@code ode23s} solver of the MATLAB ODE suite. It is an L-stable linearly
+ * implicit method of order 2 with an embedded error estimate of order 3,
+ * stepsize control, automatic step initialization and continuous output.
+ * Each step needs one Jacobian evaluation, one LU decomposition, three
+ * linear solves and three functions evaluations, one of them being reused
+ * by the next step (<i>fsal</i>). An additional evaluation per step is used
+ * to approximate the partial derivative of the equations with respect to
+ * time. When a step is rejected, the Jacobian at the beginning of the step
+ * is reused and only the iteration matrix is decomposed again.</p>
+ *
+ * <p>This method has been published in the following article :
+ * <pre>
+ *  The MATLAB ODE Suite
+ *  L. F. Shampine and M. W. Reichelt
+ *  SIAM Journal on Scientific Computing
+ *  volume 18, no 1, 1997, pp. 1-22
+ * </pre>
+ *
+ * @since 4.0
+ */
+public class Rosenbrock23Integrator extends StiffIntegrator {
+
+    /** Diagonal coefficient of the method. */
+    static final double D = 1.0 / (2.0 + FastMath.sqrt(2.0));
+
+    /** Integrator method name. */
+    private static final String METHOD_NAME = "Rosenbrock 2(3)";
+
+    /** Coefficient of the third stage. */
+    private static final double E32 = 6.0 + FastMath.sqrt(2.0);
+
+    /** Stepsize control exponent. */
+    private static final double EXP = -1.0 / 3.0;
+
+    /** Safety factor for stepsize control. */
+    private static final double SAFETY = 0.8;
+
+    /** Minimal reduction factor for stepsize control. */
+    private static final double MIN_REDUCTION = 0.5;
+
+    /** Maximal growth factor for stepsize control. */
+    private static final double MAX_GROWTH = 5.0;
+
+    /** Simple constructor.
+     * Build a Rosenbrock 2(3) integrator with the given step bounds
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param scalAbsoluteTolerance allowed absolute error
+     * @param scalRelativeTolerance allowed relative error
+     */
+    public Rosenbrock23Integrator(final double minStep, final double maxStep,
+                                  final double scalAbsoluteTolerance,
+                                  final double scalRelativeTolerance) {
+        super(METHOD_NAME, minStep, maxStep, scalAbsoluteTolerance, scalRelativeTolerance);
+    }
+
+    /** Simple constructor.
+     * Build a Rosenbrock 2(3) integrator with the given step bounds
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param vecAbsoluteTolerance allowed absolute error
+     * @param vecRelativeTolerance allowed relative error
+     */
+    public Rosenbrock23Integrator(final double minStep, final double maxStep,
+                                  final double[] vecAbsoluteTolerance,
+                                  final double[] vecRelativeTolerance) {
+        super(METHOD_NAME, minStep, maxStep, vecAbsoluteTolerance, vecRelativeTolerance);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void integrate(final ExpandableStatefulODE equations, final double t)
+        throws NumberIsTooSmallException, DimensionMismatchException,
+               MaxCountExceededException, NoBracketingException {
+
+        sanityChecks(equations, t);
+        setEquations(equations);
+        final boolean forward = t > equations.getTime();
+
+        // create some internal working arrays
+        final double[] y0      = equations.getCompleteState();
+        final int n            = y0.length;
+        final double[] y       = y0.clone();
+        final double[] yDot    = new double[n];
+        final double[] yTmp    = new double[n];
+        final double[] yDotTmp = new double[n];
+        final double[] yNew    = new double[n];
+        final double[] yDotNew = new double[n];
+        final double[] dFdT    = new double[n];
+        final double[][] dFdY  = new double[n][n];
+        final double[] k1      = new double[n];
+        final double[] k2      = new double[n];
+        final double[] k3      = new double[n];
+        final double[] rhs     = new double[n];
+        final double[] err     = new double[n];
+
+        // set up an interpolator sharing the integrator state array
+        final Rosenbrock23StepInterpolator interpolator = new Rosenbrock23StepInterpolator();
+        interpolator.reinitialize(y, forward,
+                                  equations.getPrimaryMapper(), equations.getSecondaryMappers());
+        interpolator.storeTime(equations.getTime());
+
+        // set up integration control objects
+        stepStart = equations.getTime();
+        initIntegration(equations.getTime(), y0, t);
+        computeDerivatives(stepStart, y, yDot);
+        double hNew = initializeStep(forward, 2, initialScale(y), stepStart, y, yDot, yTmp, yDotTmp);
+
+        // main integration loop
+        isLastStep = false;
+        do {
+
+            interpolator.shift();
+
+            // the Jacobian at step start is shared by all attempts of the step
+            computeJacobian(stepStart, y, yDot, dFdY);
+            computeTimeDerivative(stepStart, hNew, y, yDot, yDotTmp, dFdT);
+
+            // iterate over step size, ensuring local normalized error is smaller than 1
+            double error = 10;
+            while (error >= 1.0) {
+
+                stepSize = hNew;
+                if (forward) {
+                    if (stepStart + stepSize >= t) {
+                        stepSize = t - stepStart;
+                    }
+                } else {
+                    if (stepStart + stepSize <= t) {
+                        stepSize = t - stepStart;
+                    }
+                }
+
+                final double hd = stepSize * D;
+                final DecompositionSolver solver = decompose(dFdY, hd);
+
+                // first stage
+                for (int j = 0; j < n; ++j) {
+                    rhs[j] = yDot[j] + hd * dFdT[j];
+                }
+                solve(solver, rhs, k1);
+
+                // second stage
+                for (int j = 0; j < n; ++j) {
+                    yTmp[j] = y[j] + 0.5 * stepSize * k1[j];
+                }
+                computeDerivatives(stepStart + 0.5 * stepSize, yTmp, yDotTmp);
+                for (int j = 0; j < n; ++j) {
+                    rhs[j] = yDotTmp[j] - k1[j];
+                }
+                solve(solver, rhs, k2);
+                for (int j = 0; j < n; ++j) {
+                    k2[j] += k1[j];
+                    yNew[j] = y[j] + stepSize * k2[j];
+                }
+
+                // third stage, used only for error estimation
+                computeDerivatives(stepStart + stepSize, yNew, yDotNew);
+                for (int j = 0; j < n; ++j) {
+                    rhs[j] = yDotNew[j] - E32 * (k2[j] - yDotTmp[j]) - 2 * (k1[j] - yDot[j]) + hd * dFdT[j];
+                }
+                solve(solver, rhs, k3);
+
+                // estimate the error at the end of the step
+                for (int j = 0; j < n; ++j) {
+                    err[j] = stepSize * (k1[j] - 2 * k2[j] + k3[j]) / 6;
+                }
+                error = errorNorm(err, y, yNew);
+                if (error >= 1.0) {
+                    // reject the step and attempt to reduce error by stepsize control
+                    final double factor = FastMath.max(MIN_REDUCTION, SAFETY * FastMath.pow(error, EXP));
+                    hNew = filterStep(stepSize * factor, forward, false);
+                }
+
+            }
+
+            // local error is small enough: accept the step, trigger events and step handlers
+            interpolator.storeStages(y, k1, k2);
+            interpolator.storeTime(stepStart + stepSize);
+            System.arraycopy(yNew, 0, y, 0, n);
+            stepStart = acceptStep(interpolator, y, yDotNew, t);
+
+            if (!isLastStep) {
+
+                // prepare next step
+                interpolator.storeTime(stepStart);
+                System.arraycopy(yDotNew, 0, yDot, 0, n);
+
+                // stepsize control for next step
+                final double factor = FastMath.min(MAX_GROWTH, SAFETY * FastMath.pow(error, EXP));
+                final double  scaledH    = stepSize * factor;
+                final double  nextT      = stepStart + scaledH;
+                final boolean nextIsLast = forward ? (nextT >= t) : (nextT <= t);
+                hNew = filterStep(scaledH, forward, nextIsLast);
+
+                final double  filteredNextT      = stepStart + hNew;
+                final boolean filteredNextIsLast = forward ? (filteredNextT >= t) : (filteredNextT <= t);
+                if (filteredNextIsLast) {
+                    hNew = t - stepStart;
+                }
+
+            }
+
+        } while (!isLastStep);
+
+        // dispatch results
+        equations.setTime(stepStart);
+        equations.setCompleteState(y);
+
+        resetInternalState();
+
+    }
+
+    /** Approximate the partial derivative of the equations with respect to time.
+     * @param t current time
+     * @param h next step size
+     * @param y current state
+     * @param yDot derivatives at current time and state
+     * @param work work array
+     * @param dFdT placeholder array where to put the partial derivative
+     * @exception MaxCountExceededException if the number of functions evaluations is exceeded
+     * @exception DimensionMismatchException if arrays dimensions do not match equations settings
+     */
+    private void computeTimeDerivative(final double t, final double h,
+                                       final double[] y, final double[] yDot,
+                                       final double[] work, final double[] dFdT)
+        throws MaxCountExceededException, DimensionMismatchException {
+        final double delta = FastMath.copySign(FastMath.sqrt(Precision.EPSILON) *
+                                               FastMath.max(FastMath.abs(t), FastMath.abs(h)),
+                                               h);
+        final double tPerturbed = t + delta;
+        computeDerivatives(tPerturbed, y, work);
+        final double dt = tPerturbed - t;
+        for (int j = 0; j < dFdT.length; ++j) {
+            dFdT[j] = (work[j] - yDot[j]) / dt;
+        }
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.ode.stiff;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import org.apache.commons.math4.ode.EquationsMapper;
+import org.apache.commons.math4.ode.sampling.AbstractStepInterpolator;
+import org.apache.commons.math4.ode.sampling.StepInterpolator;
+
+/**
+ * This class implements the continuous extension of the
+ * {@link Rosenbrock23Integrator Rosenbrock 2(3)} integrator.
+ * <p>
+ * The interpolating polynomial is the quadratic polynomial of
+ * Shampine and Reichelt, which matches the state at both ends of the step:
+ * <pre>
+ *   y(t<sub>n</sub> + &theta; h) = y<sub>n</sub> + h [&theta; (1 - &theta;) k<sub>1</sub> + &theta; (&theta; - 2d) k<sub>2</sub>] / (1 - 2d)
+ * </pre>
+ * </p>
+ *
+ * @see Rosenbrock23Integrator
+ * @since 4.0
+ */
+class Rosenbrock23StepInterpolator extends AbstractStepInterpolator {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261017L;
+
+    /** State at the beginning of the step. */
+    private double[] previousState;
+
+    /** First stage. */
+    private double[] k1;
+
+    /** Second stage. */
+    private double[] k2;
+
+    /** Simple constructor.
+     * This constructor builds an instance that is not usable yet, the
+     * {@link #reinitialize} method should be called before using the
+     * instance in order to initialize the internal arrays.
+     */
+    // the public modifier here is needed for serialization
+    public Rosenbrock23StepInterpolator() {
+        previousState = null;
+        k1            = null;
+        k2            = null;
+    }
+
+    /** Copy constructor.
+     * @param interpolator interpolator to copy from. The copy is a deep
+     * copy: its arrays are separated from the original arrays of the
+     * instance
+     */
+    Rosenbrock23StepInterpolator(final Rosenbrock23StepInterpolator interpolator) {
+        super(interpolator);
+        previousState = (interpolator.previousState == null) ? null : interpolator.previousState.clone();
+        k1            = (interpolator.k1 == null) ? null : interpolator.k1.clone();
+        k2            = (interpolator.k2 == null) ? null : interpolator.k2.clone();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected StepInterpolator doCopy() {
+        return new Rosenbrock23StepInterpolator(this);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void reinitialize(final double[] y, final boolean isForward,
+                      final EquationsMapper primary,
+                      final EquationsMapper[] secondary) {
+        super.reinitialize(y, isForward, primary, secondary);
+        previousState = new double[y.length];
+        k1            = new double[y.length];
+        k2            = new double[y.length];
+    }
+
+    /** Store the data of the step.
+     * @param y0 state at the beginning of the step
+     * @param stage1 first stage
+     * @param stage2 second stage
+     */
+    void storeStages(final double[] y0, final double[] stage1, final double[] stage2) {
+        System.arraycopy(y0,     0, previousState, 0, y0.length);
+        System.arraycopy(stage1, 0, k1,            0, y0.length);
+        System.arraycopy(stage2, 0, k2,            0, y0.length);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void computeInterpolatedStateAndDerivatives(final double theta,
+                                                          final double oneMinusThetaH) {
+
+        final double d    = Rosenbrock23Integrator.D;
+        final double c1   = theta * (1 - theta) / (1 - 2 * d);
+        final double c2   = theta * (theta - 2 * d) / (1 - 2 * d);
+        final double c1p  = (1 - 2 * theta) / (1 - 2 * d);
+        final double c2p  = (2 * theta - 2 * d) / (1 - 2 * d);
+
+        for (int i = 0; i < interpolatedState.length; ++i) {
+            interpolatedState[i]       = previousState[i] + h * (c1 * k1[i] + c2 * k2[i]);
+            interpolatedDerivatives[i] = c1p * k1[i] + c2p * k2[i];
+        }
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeExternal(final ObjectOutput out)
+        throws IOException {
+
+        // save the state of the base class
+        writeBaseExternal(out);
+
+        // save the local attributes
+        final int n = (currentState == null) ? -1 : currentState.length;
+        for (int i = 0; i < n; ++i) {
+            out.writeDouble(previousState[i]);
+            out.writeDouble(k1[i]);
+            out.writeDouble(k2[i]);
+        }
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void readExternal(final ObjectInput in)
+        throws IOException, ClassNotFoundException {
+
+        // read the base class
+        final double t = readBaseExternal(in);
+
+        // read the local attributes
+        final int n = (currentState == null) ? -1 : currentState.length;
+        previousState = (n < 0) ? null : new double[n];
+        k1            = (n < 0) ? null : new double[n];
+        k2            = (n < 0) ? null : new double[n];
+        for (int i = 0; i < n; ++i) {
+            previousState[i] = in.readDouble();
+            k1[i]            = in.readDouble();
+            k2[i]            = in.readDouble();
+        }
+
+        if (currentState != null) {
+            // we can now set the interpolated time and state
+            setInterpolatedTime(t);
+        } else {
+            interpolatedTime = t;
+        }
+
+    }
+
+}
@@ -0,0 +1,364 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.ode.stiff;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.math4.exception.DimensionMismatchException;
+import org.apache.commons.math4.exception.MaxCountExceededException;
+import org.apache.commons.math4.exception.NumberIsTooSmallException;
+import org.apache.commons.math4.linear.Array2DRowRealMatrix;
+import org.apache.commons.math4.linear.ArrayRealVector;
+import org.apache.commons.math4.linear.DecompositionSolver;
+import org.apache.commons.math4.linear.LUDecomposition;
+import org.apache.commons.math4.linear.RealVector;
+import org.apache.commons.math4.ode.ExpandableStatefulODE;
+import org.apache.commons.math4.ode.MainStateJacobianProvider;
+import org.apache.commons.math4.ode.nonstiff.AdaptiveStepsizeIntegrator;
+import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.numbers.core.Precision;
+
+/**
+ * Base class for implicit integrators of stiff ordinary differential equations.
+ * <p>
+ * Implicit integrators need the Jacobian matrix of the equations with respect
+ * to the state. If the {@link ExpandableStatefulODE#getPrimary() primary}
+ * equations implement {@link MainStateJacobianProvider} and there are no
+ * secondary equations, the Jacobian is computed exactly by the provider.
+ * Otherwise, it is approximated by finite differences on the complete state.
+ * </p>
+ * <p>
+ * When the Jacobian is sparse, its {@link #setJacobianSparsity(boolean[][])
+ * sparsity pattern} can be given to the integrator. Columns that do not share
+ * any non-zero row are then perturbed together, which reduces the number of
+ * evaluations needed by the finite differences approximation from the state
+ * dimension to the number of such groups of columns (a few units for banded
+ * Jacobians). The linear systems themselves are solved by a dense
+ * {@link LUDecomposition LU decomposition}.
+ * </p>
+ *
+ * @since 4.0
+ */
+public abstract class StiffIntegrator extends AdaptiveStepsizeIntegrator {
+
+    /** Smallest reference magnitude for the finite differences increments. */
+    private static final double INCREMENT_THRESHOLD = 1.0e-5;
+
+    /** Sparsity pattern of the Jacobian (null if the Jacobian is dense). */
+    private boolean[][] sparsity;
+
+    /** Groups of structurally orthogonal columns of the Jacobian (null if dense). */
+    private int[][] columnGroups;
+
+    /** Number of Jacobian evaluations. */
+    private int jacobianEvaluations;
+
+    /** Number of LU decompositions. */
+    private int decompositions;
+
+    /** Work array for the perturbed state. */
+    private double[] yPerturbed;
+
+    /** Work array for the derivatives at the perturbed state. */
+    private double[] yDotPerturbed;
+
+    /** Work array for the finite differences increments. */
+    private double[] increments;
+
+    /** Build a stiff integrator with the given stepsize bounds.
+     * @param name name of the method
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param scalAbsoluteTolerance allowed absolute error
+     * @param scalRelativeTolerance allowed relative error
+     */
+    protected StiffIntegrator(final String name,
+                              final double minStep, final double maxStep,
+                              final double scalAbsoluteTolerance,
+                              final double scalRelativeTolerance) {
+        super(name, minStep, maxStep, scalAbsoluteTolerance, scalRelativeTolerance);
+    }
+
+    /** Build a stiff integrator with the given stepsize bounds.
+     * @param name name of the method
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param vecAbsoluteTolerance allowed absolute error
+     * @param vecRelativeTolerance allowed relative error
+     */
+    protected StiffIntegrator(final String name,
+                              final double minStep, final double maxStep,
+                              final double[] vecAbsoluteTolerance,
+                              final double[] vecRelativeTolerance) {
+        super(name, minStep, maxStep, vecAbsoluteTolerance, vecRelativeTolerance);
+    }
+
+    /** Set the sparsity pattern of the Jacobian.
+     * <p>
+     * The pattern applies to the Jacobian of the complete state with respect
+     * to itself; element {@code [i][j]} must be {@code true} if component
+     * {@code i} of the derivatives may depend on component {@code j} of the
+     * state. It is used only when the Jacobian is approximated by finite
+     * differences.
+     * </p>
+     * @param pattern sparsity pattern of the Jacobian, or {@code null} if
+     * the Jacobian is dense
+     * @exception DimensionMismatchException if the pattern is not square
+     */
+    public void setJacobianSparsity(final boolean[][] pattern)
+        throws DimensionMismatchException {
+
+        if (pattern == null) {
+            sparsity     = null;
+            columnGroups = null;
+            return;
+        }
+
+        final int n = pattern.length;
+        final boolean[][] copy = new boolean[n][];
+        for (int i = 0; i < n; ++i) {
+            if (pattern[i].length != n) {
+                throw new DimensionMismatchException(pattern[i].length, n);
+            }
+            copy[i] = pattern[i].clone();
+        }
+
+        // greedy grouping of the columns that have no common non-zero row
+        final List<boolean[]> usedRows = new ArrayList<>();
+        final List<List<Integer>> groups = new ArrayList<>();
+        for (int j = 0; j < n; ++j) {
+            int g = 0;
+            while (g < groups.size() && !isOrthogonal(copy, j, usedRows.get(g))) {
+                ++g;
+            }
+            if (g == groups.size()) {
+                usedRows.add(new boolean[n]);
+                groups.add(new ArrayList<Integer>());
+            }
+            final boolean[] rows = usedRows.get(g);
+            for (int i = 0; i < n; ++i) {
+                rows[i] = rows[i] || copy[i][j];
+            }
+            groups.get(g).add(j);
+        }
+
+        columnGroups = new int[groups.size()][];
+        for (int g = 0; g < columnGroups.length; ++g) {
+            final List<Integer> group = groups.get(g);
+            columnGroups[g] = new int[group.size()];
+            for (int k = 0; k < columnGroups[g].length; ++k) {
+                columnGroups[g][k] = group.get(k);
+            }
+        }
+        sparsity = copy;
+
+    }
+
+    /** Check if a column has no non-zero element in already used rows.
+     * @param pattern sparsity pattern
+     * @param j index of the column
+     * @param usedRows rows already used by a group of columns
+     * @return true if the column can be added to the group
+     */
+    private static boolean isOrthogonal(final boolean[][] pattern, final int j,
+                                        final boolean[] usedRows) {
+        for (int i = 0; i < pattern.length; ++i) {
+            if (pattern[i][j] && usedRows[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Get the number of evaluations needed by a finite differences
+     * approximation of the Jacobian.
+     * @param dimension dimension of the complete state
+     * @return number of evaluations of the derivatives per Jacobian
+     */
+    private int getJacobianCost(final int dimension) {
+        return (columnGroups == null) ? dimension : columnGroups.length;
+    }
+
+    /** Get the number of Jacobian evaluations during the last integration.
+     * @return number of Jacobian evaluations
+     */
+    public int getJacobianEvaluations() {
+        return jacobianEvaluations;
+    }
+
+    /** Get the number of LU decompositions during the last integration.
+     * @return number of LU decompositions
+     */
+    public int getDecompositions() {
+        return decompositions;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void sanityChecks(final ExpandableStatefulODE equations, final double t)
+        throws DimensionMismatchException, NumberIsTooSmallException {
+
+        super.sanityChecks(equations, t);
+
+        if (sparsity != null && sparsity.length != equations.getTotalDimension()) {
+            throw new DimensionMismatchException(sparsity.length, equations.getTotalDimension());
+        }
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void initIntegration(final double t0, final double[] y0, final double t) {
+        super.initIntegration(t0, y0, t);
+        jacobianEvaluations = 0;
+        decompositions      = 0;
+        if (yPerturbed == null || yPerturbed.length != y0.length) {
+            yPerturbed    = new double[y0.length];
+            yDotPerturbed = new double[y0.length];
+            increments    = new double[y0.length];
+        }
+    }
+
+    /** Compute the Jacobian of the equations with respect to the complete state.
+     * @param t current value of the independent <I>time</I> variable
+     * @param y complete state
+     * @param yDot time derivative of the complete state
+     * @param dFdY placeholder array where to put the Jacobian
+     * @exception MaxCountExceededException if the number of functions evaluations is exceeded
+     * @exception DimensionMismatchException if arrays dimensions do not match equations settings
+     */
+    protected void computeJacobian(final double t, final double[] y, final double[] yDot,
+                                   final double[][] dFdY)
+        throws MaxCountExceededException, DimensionMismatchException {
+
+        ++jacobianEvaluations;
+
+        final ExpandableStatefulODE expandable = getExpandable();
+        if (expandable.getSecondaryMappers().length == 0 &&
+            expandable.getPrimary() instanceof MainStateJacobianProvider) {
+            ((MainStateJacobianProvider) expandable.getPrimary()).computeMainStateJacobian(t, y, yDot, dFdY);
+            return;
+        }
+
+        // finite differences approximation
+        final int n = y.length;
+        System.arraycopy(y, 0, yPerturbed, 0, n);
+        final int groups = getJacobianCost(n);
+        for (int g = 0; g < groups; ++g) {
+
+            final int size = (columnGroups == null) ? 1 : columnGroups[g].length;
+            for (int k = 0; k < size; ++k) {
+                final int j = (columnGroups == null) ? g : columnGroups[g][k];
+                final double delta =
+                    FastMath.sqrt(Precision.EPSILON * FastMath.max(INCREMENT_THRESHOLD, FastMath.abs(y[j])));
+                yPerturbed[j] = y[j] + delta;
+                increments[j] = yPerturbed[j] - y[j];
+            }
+
+            computeDerivatives(t, yPerturbed, yDotPerturbed);
+
+            for (int k = 0; k < size; ++k) {
+                final int j = (columnGroups == null) ? g : columnGroups[g][k];
+                yPerturbed[j] = y[j];
+                for (int i = 0; i < n; ++i) {
+                    dFdY[i][j] = (sparsity == null || sparsity[i][j]) ?
+                                 (yDotPerturbed[i] - yDot[i]) / increments[j] :
+                                 0.0;
+                }
+            }
+
+        }
+
+    }
+
+    /** Decompose the iteration matrix {@code I - factor J}.
+     * @param dFdY Jacobian J of the equations
+     * @param factor factor of the Jacobian
+     * @return solver for the iteration matrix
+     */
+    protected DecompositionSolver decompose(final double[][] dFdY, final double factor) {
+        ++decompositions;
+        final int n = dFdY.length;
+        final double[][] w = new double[n][n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                w[i][j] = -factor * dFdY[i][j];
+            }
+            w[i][i] += 1.0;
+        }
+        return new LUDecomposition(new Array2DRowRealMatrix(w, false)).getSolver();
+    }
+
+    /** Solve a linear system.
+     * @param solver solver for the iteration matrix
+     * @param b right hand side of the system
+     * @param x placeholder array where to put the solution
+     * @exception org.apache.commons.math4.linear.SingularMatrixException
+     * if the iteration matrix is singular
+     */
+    protected static void solve(final DecompositionSolver solver, final double[] b, final double[] x) {
+        final RealVector solution = solver.solve(new ArrayRealVector(b, false));
+        for (int i = 0; i < x.length; ++i) {
+            x[i] = solution.getEntry(i);
+        }
+    }
+
+    /** Compute the scaled root mean square norm of an error vector.
+     * <p>Only the components of the primary state are considered.</p>
+     * @param error error vector
+     * @param y0 first reference state
+     * @param y1 second reference state
+     * @return norm of the error scaled by the tolerances, using the largest
+     * magnitude of the two reference states for the relative part
+     */
+    protected double errorNorm(final double[] error, final double[] y0, final double[] y1) {
+        double sum = 0;
+        for (int j = 0; j < mainSetDimension; ++j) {
+            final double yScale = FastMath.max(FastMath.abs(y0[j]), FastMath.abs(y1[j]));
+            final double tol = (vecAbsoluteTolerance == null) ?
+                               (scalAbsoluteTolerance + scalRelativeTolerance * yScale) :
+                               (vecAbsoluteTolerance[j] + vecRelativeTolerance[j] * yScale);
+            final double ratio = error[j] / tol;
+            sum += ratio * ratio;
+        }
+        return FastMath.sqrt(sum / mainSetDimension);
+    }
+
+    /** Compute the scaling vector for the initial step size estimation.
+     * @param y0 initial state
+     * @return scaling vector for the primary state
+     */
+    protected double[] initialScale(final double[] y0) {
+        final double[] scale = new double[mainSetDimension];
+        for (int i = 0; i < scale.length; ++i) {
+            scale[i] = (vecAbsoluteTolerance == null) ?
+                       (scalAbsoluteTolerance + scalRelativeTolerance * FastMath.abs(y0[i])) :
+                       (vecAbsoluteTolerance[i] + vecRelativeTolerance[i] * FastMath.abs(y0[i]));
+        }
+        return scale;
+    }
+
+}
@@ -16,10 +16,21 @@
  */
 package org.apache.commons.math4.optim;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
 import org.apache.commons.math4.exception.MathIllegalStateException;
 import org.apache.commons.math4.exception.NotStrictlyPositiveException;
 import org.apache.commons.math4.exception.TooManyEvaluationsException;
+import org.apache.commons.math4.exception.util.LocalizedFormats;
 import org.apache.commons.math4.random.RandomVectorGenerator;
+import org.apache.commons.math4.util.ConcurrencyUtils;
+import org.apache.commons.math4.util.MathUtils;
 
 /**
  * Base class multi-start optimizer for a multivariate function.
@@ -28,6 +39,10 @@ import org.apache.commons.math4.random.RandomVectorGenerator;
  * turn with different starting points (trying to avoid being trapped
  * in a local extremum when looking for a global one).
  * <em>It is not a "user" class.</em>
+ * <br>
+ * When the instance is created from a factory of optimizers, the starts
+ * can also be run concurrently (see
+ * {@link #optimize(ExecutorService,Predicate,OptimizationData[])}).
  *
  * @param <PAIR> Type of the point/value pair returned by the optimization
  * algorithm.
@@ -38,6 +53,12 @@ public abstract class BaseMultiStartMultivariateOptimizer<PAIR>
     extends BaseMultivariateOptimizer<PAIR> {
     /** Underlying classical optimizer. */
     private final BaseMultivariateOptimizer<PAIR> optimizer;
+    /** Factory of optimizers for concurrent starts ({@code null} if not available). */
+    private final Supplier<? extends BaseMultivariateOptimizer<PAIR>> factory;
+    /** Executor for the current optimization ({@code null} if sequential). */
+    private ExecutorService executor;
+    /** Criterion for skipping the remaining starts of the current optimization. */
+    private Predicate<? super PAIR> goal;
     /** Number of evaluations already performed for all starts. */
     private int totalEvaluations;
     /** Number of starts to go. */
@@ -78,6 +99,41 @@ public abstract class BaseMultiStartMultivariateOptimizer<PAIR>
     public BaseMultiStartMultivariateOptimizer(final BaseMultivariateOptimizer<PAIR> optimizer,
                                                final int starts,
                                                final RandomVectorGenerator generator) {
+        this(optimizer, null, starts, generator);
+    }
+
+    /**
+     * Create a multi-start optimizer from a factory of single-start optimizers.
+     * <p>
+     * Each call to the factory must return a new optimizer, independent of
+     * the previous ones, so that the starts can be run concurrently by
+     * {@link #optimize(ExecutorService,Predicate,OptimizationData[])}.
+     * The optimizer returned by the first call is used by the sequential
+     * {@link #optimize(OptimizationData[]) optimize} method.
+     * </p>
+     * @param factory Factory of single-start optimizers.
+     * @param starts Number of starts to perform.
+     * @param generator Random vector generator to use for restarts.
+     * @throws NotStrictlyPositiveException if {@code starts < 1}.
+     * @since 4.0
+     */
+    public BaseMultiStartMultivariateOptimizer(final Supplier<? extends BaseMultivariateOptimizer<PAIR>> factory,
+                                               final int starts,
+                                               final RandomVectorGenerator generator) {
+        this(factory.get(), factory, starts, generator);
+    }
+
+    /**
+     * @param optimizer Single-start optimizer to wrap.
+     * @param factory Factory of single-start optimizers (may be {@code null}).
+     * @param starts Number of starts to perform.
+     * @param generator Random vector generator to use for restarts.
+     * @throws NotStrictlyPositiveException if {@code starts < 1}.
+     */
+    private BaseMultiStartMultivariateOptimizer(final BaseMultivariateOptimizer<PAIR> optimizer,
+                                                final Supplier<? extends BaseMultivariateOptimizer<PAIR>> factory,
+                                                final int starts,
+                                                final RandomVectorGenerator generator) {
         super(optimizer.getConvergenceChecker());
 
         if (starts < 1) {
@@ -85,6 +141,7 @@ public abstract class BaseMultiStartMultivariateOptimizer<PAIR>
         }
 
         this.optimizer = optimizer;
+        this.factory = factory;
         this.starts = starts;
         this.generator = generator;
     }
@@ -134,6 +191,91 @@ public abstract class BaseMultiStartMultivariateOptimizer<PAIR>
         return super.optimize(optData);
     }
 
+    /**
+     * Performs the optimization, running the starts concurrently.
+     * This is equivalent to
+     * {@link #optimize(ExecutorService,Predicate,OptimizationData[])
+     * optimize(executor, null, optData)}.
+     *
+     * @param executor Executor used to run the starts.
+     * @param optData Optimization data.
+     * @return the best point found.
+     * @throws MathIllegalStateException if this instance was not created
+     * from a factory of optimizers, or if {@code optData} does not contain
+     * an instance of {@link MaxEval} or {@link InitialGuess}.
+     * @since 4.0
+     */
+    public PAIR optimize(final ExecutorService executor,
+                         final OptimizationData... optData) {
+        return optimize(executor, null, optData);
+    }
+
+    /**
+     * Performs the optimization, running the starts concurrently.
+     * <p>
+     * Each start uses its own optimizer, obtained from the factory passed
+     * to the constructor, and its own copy of the optimization data (see
+     * {@link #copyOptimizationData(OptimizationData[])}).
+     * The start points are drawn in the calling thread, in the same order
+     * as in the sequential {@link #optimize(OptimizationData[]) optimize}
+     * method, and the results are stored in start order: for a given
+     * generator state, {@link #getOptima()} is thus independent of the
+     * scheduling of the tasks.
+     * The allowed number of evaluations is shared evenly among the starts.
+     * </p>
+     * <p>
+     * As soon as the result of a start satisfies {@code goal}, the starts
+     * that are not yet running are skipped; the starts already running
+     * are completed.
+     * </p>
+     *
+     * @param executor Executor used to run the starts.
+     * @param goal Criterion a result must meet in order to skip the
+     * remaining starts. If {@code null}, all starts are performed.
+     * @param optData Optimization data.
+     * @return the best point found.
+     * @throws MathIllegalStateException if this instance was not created
+     * from a factory of optimizers, or if {@code optData} does not contain
+     * an instance of {@link MaxEval} or {@link InitialGuess}.
+     * @throws org.apache.commons.math4.exception.NullArgumentException
+     * if {@code executor} is {@code null}.
+     * @since 4.0
+     */
+    public PAIR optimize(final ExecutorService executor,
+                         final Predicate<? super PAIR> goal,
+                         final OptimizationData... optData) {
+        MathUtils.checkNotNull(executor);
+        if (factory == null) {
+            throw new MathIllegalStateException(LocalizedFormats.SIMPLE_MESSAGE,
+                                                "concurrent starts require a factory of optimizers");
+        }
+
+        this.executor = executor;
+        this.goal = goal;
+        try {
+            return optimize(optData);
+        } finally {
+            this.executor = null;
+            this.goal = null;
+        }
+    }
+
+    /**
+     * Creates the optimization data passed to the optimizer of a concurrent
+     * start.
+     * The default implementation returns a shallow copy of the array;
+     * subclasses must override it if some of the data hold a state that is
+     * modified during the optimization.
+     *
+     * @param optData Optimization data (elements may be {@code null}).
+     * @return a copy of {@code optData} that can be used independently of
+     * the other starts.
+     * @since 4.0
+     */
+    protected OptimizationData[] copyOptimizationData(final OptimizationData[] optData) {
+        return optData.clone();
+    }
+
     /** {@inheritDoc} */
     @Override
     protected PAIR doOptimize() {
@@ -164,46 +306,31 @@ public abstract class BaseMultiStartMultivariateOptimizer<PAIR>
         totalEvaluations = 0;
         clear();
 
-        final int maxEval = getMaxEvaluations();
-        final double[] min = getLowerBound();
-        final double[] max = getUpperBound();
-        final double[] startPoint = getStartPoint();
+        if (executor != null) {
+            lastException = runConcurrently();
+        } else {
+            final int maxEval = getMaxEvaluations();
+            final double[] startPoint = getStartPoint();
 
-        // Multi-start loop.
-        for (int i = 0; i < starts; i++) {
-            // CHECKSTYLE: stop IllegalCatch
-            try {
-                // Decrease number of allowed evaluations.
-                optimData[maxEvalIndex] = new MaxEval(maxEval - totalEvaluations);
-                // New start value.
-                double[] s = null;
-                if (i == 0) {
-                    s = startPoint;
-                } else {
-                    int attempts = 0;
-                    while (s == null) {
-                        if (attempts++ >= getMaxEvaluations()) {
-                            throw new TooManyEvaluationsException(getMaxEvaluations());
-                        }
-                        s = generator.nextVector();
-                        for (int k = 0; s != null && k < s.length; ++k) {
-                            if ((min != null && s[k] < min[k]) || (max != null && s[k] > max[k])) {
-                                // reject the vector
-                                s = null;
-                            }
-                        }
-                    }
+            // Multi-start loop.
+            for (int i = 0; i < starts; i++) {
+                // CHECKSTYLE: stop IllegalCatch
+                try {
+                    // Decrease number of allowed evaluations.
+                    optimData[maxEvalIndex] = new MaxEval(maxEval - totalEvaluations);
+                    // New start value.
+                    final double[] s = (i == 0) ? startPoint : nextStartPoint();
+                    optimData[initialGuessIndex] = new InitialGuess(s);
+                    // Optimize.
+                    final PAIR result = optimizer.optimize(optimData);
+                    store(result);
+                } catch (RuntimeException mue) {
+                    lastException = mue;
                 }
-                optimData[initialGuessIndex] = new InitialGuess(s);
-                // Optimize.
-                final PAIR result = optimizer.optimize(optimData);
-                store(result);
-            } catch (RuntimeException mue) {
-                lastException = mue;
-            }
-            // CHECKSTYLE: resume IllegalCatch
+                // CHECKSTYLE: resume IllegalCatch
 
-            totalEvaluations += optimizer.getEvaluations();
+                totalEvaluations += optimizer.getEvaluations();
+            }
         }
 
         final PAIR[] optima = getOptima();
@@ -216,6 +343,130 @@ public abstract class BaseMultiStartMultivariateOptimizer<PAIR>
         return optima[0];
     }
 
+    /**
+     * Runs all the starts on {@link #executor} and stores their results.
+     *
+     * @return the exception raised by the last failed start, or {@code null}.
+     */
+    private RuntimeException runConcurrently() {
+        final int maxEval = getMaxEvaluations();
+
+        // Start points and evaluation budgets are set up in the calling
+        // thread, so that they do not depend on the scheduling of the tasks.
+        final double[][] points = new double[starts][];
+        final RuntimeException[] failures = new RuntimeException[starts];
+        for (int i = 0; i < starts; i++) {
+            // CHECKSTYLE: stop IllegalCatch
+            try {
+                points[i] = (i == 0) ? getStartPoint() : nextStartPoint();
+            } catch (RuntimeException e) {
+                failures[i] = e;
+            }
+            // CHECKSTYLE: resume IllegalCatch
+        }
+
+        final AtomicBoolean done = new AtomicBoolean(false);
+        final List<Callable<StartResult<PAIR>>> tasks = new ArrayList<>(starts);
+        for (int i = 0; i < starts; i++) {
+            final int index = i;
+            final int budget = maxEval / starts + (i < maxEval % starts ? 1 : 0);
+            tasks.add(() -> {
+                    if (failures[index] != null) {
+                        return new StartResult<>(null, failures[index], 0);
+                    }
+                    if (budget == 0) {
+                        return new StartResult<>(null, new TooManyEvaluationsException(maxEval), 0);
+                    }
+                    if (done.get()) {
+                        // Skipped start.
+                        return new StartResult<>(null, null, 0);
+                    }
+
+                    final BaseMultivariateOptimizer<PAIR> local = factory.get();
+                    final OptimizationData[] data = copyOptimizationData(optimData);
+                    data[maxEvalIndex] = new MaxEval(budget);
+                    data[initialGuessIndex] = new InitialGuess(points[index]);
+                    // CHECKSTYLE: stop IllegalCatch
+                    try {
+                        final PAIR result = local.optimize(data);
+                        if (goal != null && goal.test(result)) {
+                            done.set(true);
+                        }
+                        return new StartResult<>(result, null, local.getEvaluations());
+                    } catch (RuntimeException e) {
+                        return new StartResult<>(null, e, local.getEvaluations());
+                    }
+                    // CHECKSTYLE: resume IllegalCatch
+                });
+        }
+
+        // Merge in start order.
+        RuntimeException lastException = null;
+        for (final StartResult<PAIR> result : ConcurrencyUtils.invokeAll(executor, tasks)) {
+            if (result.optimum != null) {
+                store(result.optimum);
+            } else if (result.failure != null) {
+                lastException = result.failure;
+            }
+            totalEvaluations += result.evaluations;
+        }
+        return lastException;
+    }
+
+    /**
+     * Draws a new start point, rejecting those that violate the bounds.
+     *
+     * @return the start point.
+     * @throws TooManyEvaluationsException if no point within the bounds
+     * could be drawn in {@link #getMaxEvaluations()} attempts.
+     */
+    private double[] nextStartPoint() {
+        final double[] min = getLowerBound();
+        final double[] max = getUpperBound();
+        double[] s = null;
+        int attempts = 0;
+        while (s == null) {
+            if (attempts++ >= getMaxEvaluations()) {
+                throw new TooManyEvaluationsException(getMaxEvaluations());
+            }
+            s = generator.nextVector();
+            for (int k = 0; s != null && k < s.length; ++k) {
+                if ((min != null && s[k] < min[k]) || (max != null && s[k] > max[k])) {
+                    // reject the vector
+                    s = null;
+                }
+            }
+        }
+        return s;
+    }
+
+    /**
+     * Outcome of a concurrent start.
+     *
+     * @param <PAIR> Type of the point/value pair.
+     */
+    private static final class StartResult<PAIR> {
+        /** Optimum ({@code null} if the start failed or was skipped). */
+        private final PAIR optimum;
+        /** Exception ({@code null} if the start succeeded or was skipped). */
+        private final RuntimeException failure;
+        /** Number of evaluations. */
+        private final int evaluations;
+
+        /**
+         * @param optimum Optimum.
+         * @param failure Exception.
+         * @param evaluations Number of evaluations.
+         */
+        StartResult(final PAIR optimum,
+                    final RuntimeException failure,
+                    final int evaluations) {
+            this.optimum = optimum;
+            this.failure = failure;
+            this.evaluations = evaluations;
+        }
+    }
+
     /**
      * Method that will be called in order to store each found optimum.
      *
@@ -20,11 +20,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.apache.commons.math4.exception.NotStrictlyPositiveException;
 import org.apache.commons.math4.exception.NullArgumentException;
 import org.apache.commons.math4.optim.BaseMultiStartMultivariateOptimizer;
+import org.apache.commons.math4.optim.OptimizationData;
 import org.apache.commons.math4.optim.PointValuePair;
+import org.apache.commons.math4.optim.nonlinear.scalar.noderiv.AbstractSimplex;
 import org.apache.commons.math4.random.RandomVectorGenerator;
 
 /**
@@ -33,15 +36,19 @@ import org.apache.commons.math4.random.RandomVectorGenerator;
  * This class wraps an optimizer in order to use it several times in
  * turn with different starting points (trying to avoid being trapped
  * in a local extremum when looking for a global one).
+ * <br>
+ * When created from a factory of optimizers, the starts can be run
+ * concurrently; each start then uses its own copy of the
+ * {@link AbstractSimplex simplex}, if one is passed as optimization data.
  *
  * @since 3.0
  */
 public class MultiStartMultivariateOptimizer
     extends BaseMultiStartMultivariateOptimizer<PointValuePair> {
-    /** Underlying optimizer. */
-    private final MultivariateOptimizer optimizer;
     /** Found optima. */
     private final List<PointValuePair> optima = new ArrayList<>();
+    /** Type of optimization. */
+    private GoalType goalType;
 
     /**
      * Create a multi-start optimizer from a single-start optimizer.
@@ -61,7 +68,28 @@ public class MultiStartMultivariateOptimizer
         throws NullArgumentException,
         NotStrictlyPositiveException {
         super(optimizer, starts, generator);
-        this.optimizer = optimizer;
+    }
+
+    /**
+     * Create a multi-start optimizer from a factory of single-start optimizers.
+     * Such an instance can run the starts concurrently (see
+     * {@link #optimize(java.util.concurrent.ExecutorService,java.util.function.Predicate,OptimizationData[])}).
+     *
+     * @param factory Factory of single-start optimizers. Each call must
+     * return a new instance.
+     * @param starts Number of starts to perform.
+     * @param generator Random vector generator to use for restarts.
+     * @throws NullArgumentException if {@code factory} or {@code generator}
+     * is {@code null}.
+     * @throws NotStrictlyPositiveException if {@code starts < 1}.
+     * @since 4.0
+     */
+    public MultiStartMultivariateOptimizer(final Supplier<? extends MultivariateOptimizer> factory,
+                                           final int starts,
+                                           final RandomVectorGenerator generator)
+        throws NullArgumentException,
+        NotStrictlyPositiveException {
+        super(factory, starts, generator);
     }
 
     /**
@@ -73,6 +101,39 @@ public class MultiStartMultivariateOptimizer
         return optima.toArray(new PointValuePair[0]);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @param optData Optimization data. In addition to those registered by
+     * the base class, the {@link GoalType} is looked for.
+     */
+    @Override
+    protected void parseOptimizationData(OptimizationData... optData) {
+        super.parseOptimizationData(optData);
+
+        for (OptimizationData data : optData) {
+            if (data instanceof GoalType) {
+                goalType = (GoalType) data;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Each {@link AbstractSimplex} is replaced by a {@link AbstractSimplex#copy() copy}.
+     */
+    @Override
+    protected OptimizationData[] copyOptimizationData(final OptimizationData[] optData) {
+        final OptimizationData[] copy = super.copyOptimizationData(optData);
+        for (int i = 0; i < copy.length; i++) {
+            if (copy[i] instanceof AbstractSimplex) {
+                copy[i] = ((AbstractSimplex) copy[i]).copy();
+            }
+        }
+        return copy;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -105,7 +166,7 @@ public class MultiStartMultivariateOptimizer
                 }
                 final double v1 = o1.getValue();
                 final double v2 = o2.getValue();
-                return (optimizer.getGoalType() == GoalType.MINIMIZE) ?
+                return (goalType == GoalType.MINIMIZE) ?
                     Double.compare(v1, v2) : Double.compare(v2, v1);
             }
         };
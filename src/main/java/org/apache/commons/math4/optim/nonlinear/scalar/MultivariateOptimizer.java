@@ -16,12 +16,15 @@
  */
 package org.apache.commons.math4.optim.nonlinear.scalar;
 
+import java.util.concurrent.ExecutorService;
+
 import org.apache.commons.math4.analysis.MultivariateFunction;
 import org.apache.commons.math4.exception.TooManyEvaluationsException;
 import org.apache.commons.math4.optim.BaseMultivariateOptimizer;
 import org.apache.commons.math4.optim.ConvergenceChecker;
 import org.apache.commons.math4.optim.OptimizationData;
 import org.apache.commons.math4.optim.PointValuePair;
+import org.apache.commons.math4.util.ConcurrencyUtils;
 
 /**
  * Base class for a multivariate scalar function optimizer.
@@ -114,4 +117,33 @@ public abstract class MultivariateOptimizer
         super.incrementEvaluationCount();
         return function.value(params);
     }
+
+    /**
+     * Computes the objective function values at several points, using
+     * {@code executor} to perform the evaluations concurrently.
+     * The evaluation counter is incremented once per point, in the calling
+     * thread and before any evaluation, so that the limit is enforced as
+     * if the points were evaluated in turn by
+     * {@link #computeObjectiveValue(double[])}; if the limit is reached, none
+     * of the points is evaluated.
+     * The objective function must be safe for use by several threads.
+     *
+     * @param params Points at which the objective function must be evaluated.
+     * @param executor Executor used to run the evaluations.
+     * @return the objective function values at the specified points.
+     * @throws TooManyEvaluationsException if the maximal number of
+     * evaluations is exceeded.
+     * @since 4.0
+     */
+    protected double[] computeObjectiveValues(final double[][] params,
+                                              final ExecutorService executor) {
+        for (int i = 0; i < params.length; i++) {
+            super.incrementEvaluationCount();
+        }
+
+        final double[] values = new double[params.length];
+        ConcurrencyUtils.forEach(executor, params.length,
+                                 i -> values[i] = function.value(params[i]));
+        return values;
+    }
 }
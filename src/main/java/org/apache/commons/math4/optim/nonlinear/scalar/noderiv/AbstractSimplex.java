@@ -173,6 +173,33 @@ public abstract class AbstractSimplex implements OptimizationData {
         }
     }
 
+    /**
+     * Copy constructor.
+     * The copy shares the (immutable) start configuration of {@code original}
+     * and holds its own copy of the current simplex, if any.
+     *
+     * @param original Simplex to copy.
+     * @since 4.0
+     */
+    protected AbstractSimplex(final AbstractSimplex original) {
+        dimension = original.dimension;
+        startConfiguration = original.startConfiguration;
+        simplex = original.simplex == null ? null : original.simplex.clone();
+    }
+
+    /**
+     * Creates an independent copy of this simplex.
+     * Since a simplex holds the state of the optimization it is used for,
+     * a separate copy is needed for each optimization that runs concurrently
+     * (see e.g. {@link org.apache.commons.math4.optim.nonlinear.scalar.MultiStartMultivariateOptimizer}).
+     * Implementations will typically call the
+     * {@link #AbstractSimplex(AbstractSimplex) copy constructor}.
+     *
+     * @return a copy of this simplex.
+     * @since 4.0
+     */
+    public abstract AbstractSimplex copy();
+
     /**
      * Get simplex dimension.
      *
@@ -20,6 +20,7 @@ package org.apache.commons.math4.optim.nonlinear.scalar.noderiv;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.math4.exception.DimensionMismatchException;
 import org.apache.commons.math4.exception.NotPositiveException;
@@ -35,6 +36,7 @@ import org.apache.commons.math4.optim.OptimizationData;
 import org.apache.commons.math4.optim.PointValuePair;
 import org.apache.commons.math4.optim.nonlinear.scalar.GoalType;
 import org.apache.commons.math4.optim.nonlinear.scalar.MultivariateOptimizer;
+import org.apache.commons.math4.util.MathUtils;
 import org.apache.commons.rng.UniformRandomProvider;
 import org.apache.commons.statistics.distribution.ContinuousDistribution;
 import org.apache.commons.statistics.distribution.NormalDistribution;
@@ -198,6 +200,12 @@ public class CMAESOptimizer
 
     /** Gaussian sampler. */
     private final ContinuousDistribution.Sampler random;
+    /**
+     * Executor for evaluating the offspring of a generation ({@code null} if
+     * they are evaluated in turn).
+     * @see ParallelEvaluation
+     */
+    private ExecutorService executor;
 
     /** History of sigma values. */
     private final List<Double> statisticsSigmaHistory = new ArrayList<>();
@@ -342,6 +350,44 @@ public class CMAESOptimizer
         }
     }
 
+    /**
+     * Concurrent evaluation of the offspring.
+     * When this option is set, the offspring of each generation are
+     * generated in the calling thread, then evaluated concurrently by
+     * the given executor; the objective function must therefore be safe
+     * for use by several threads.
+     * The evaluations are counted as if they were performed in turn (see
+     * {@link MultivariateOptimizer#computeObjectiveValues(double[][],ExecutorService)}),
+     * and, the random draws being unchanged, the optimization follows the
+     * same path as with sequential evaluations.
+     * Unlike the other options of this optimizer, this one is not kept
+     * across calls to {@code optimize}: the offspring are evaluated in
+     * turn unless it is passed again.
+     *
+     * @since 4.0
+     */
+    public static class ParallelEvaluation implements OptimizationData {
+        /** Executor. */
+        private final ExecutorService executor;
+
+        /**
+         * @param executor Executor used to evaluate the offspring.
+         * @throws org.apache.commons.math4.exception.NullArgumentException
+         * if {@code executor} is {@code null}.
+         */
+        public ParallelEvaluation(ExecutorService executor) {
+            MathUtils.checkNotNull(executor);
+            this.executor = executor;
+        }
+
+        /**
+         * @return the executor.
+         */
+        public ExecutorService getExecutor() {
+            return executor;
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -351,6 +397,7 @@ public class CMAESOptimizer
      * <ul>
      *  <li>{@link Sigma}</li>
      *  <li>{@link PopulationSize}</li>
+     *  <li>{@link ParallelEvaluation}</li>
      * </ul>
      * @return {@inheritDoc}
      * @throws TooManyEvaluationsException if the maximal number of
@@ -415,11 +462,18 @@ public class CMAESOptimizer
                     arz.setColumn(k, randn(dimension));
                 }
                 copyColumn(arxk, 0, arx, k);
-                try {
-                    valuePenaltyPairs[k] = fitfun.value(arx.getColumn(k)); // compute fitness
-                } catch (TooManyEvaluationsException e) {
-                    break generationLoop;
+            }
+            // compute fitness
+            try {
+                if (executor == null) {
+                    for (int k = 0; k < lambda; k++) {
+                        valuePenaltyPairs[k] = fitfun.value(arx.getColumn(k));
+                    }
+                } else {
+                    fitfun.values(arx, valuePenaltyPairs);
                 }
+            } catch (TooManyEvaluationsException e) {
+                break generationLoop;
             }
 
             // Compute fitnesses by adding value and penalty after scaling by value range.
@@ -530,6 +584,7 @@ public class CMAESOptimizer
      * <ul>
      *  <li>{@link Sigma}</li>
      *  <li>{@link PopulationSize}</li>
+     *  <li>{@link ParallelEvaluation}</li>
      * </ul>
      */
     @Override
@@ -538,7 +593,9 @@ public class CMAESOptimizer
         super.parseOptimizationData(optData);
 
         // The existing values (as set by the previous call) are reused if
-        // not provided in the argument list.
+        // not provided in the argument list, except for the executor which
+        // must not outlive the call it was passed to.
+        executor = null;
         for (OptimizationData data : optData) {
             if (data instanceof Sigma) {
                 inputSigma = ((Sigma) data).getSigma();
@@ -548,6 +605,10 @@ public class CMAESOptimizer
                 lambda = ((PopulationSize) data).getPopulationSize();
                 continue;
             }
+            if (data instanceof ParallelEvaluation) {
+                executor = ((ParallelEvaluation) data).getExecutor();
+                continue;
+            }
         }
 
         checkParameters();
@@ -958,6 +1019,29 @@ public class CMAESOptimizer
             return new ValuePenaltyPair(value,penalty);
         }
 
+        /**
+         * Evaluates the columns of {@code arx} concurrently, using
+         * {@link CMAESOptimizer#executor}.
+         *
+         * @param arx Normalized objective variables, one point per column.
+         * @param pairs Array where to store the objective value + penalty
+         * for violated bounds of each column.
+         */
+        public void values(final RealMatrix arx, final ValuePenaltyPair[] pairs) {
+            final double[][] points = arx.transpose().getData();
+            final double[][] evaluated = new double[points.length][];
+            for (int k = 0; k < points.length; k++) {
+                evaluated[k] = isRepairMode ? repair(points[k]) : points[k];
+            }
+            final double[] values = CMAESOptimizer.this.computeObjectiveValues(evaluated, executor);
+            for (int k = 0; k < points.length; k++) {
+                final double value = values[k];
+                final double penalty = isRepairMode ? penalty(points[k], evaluated[k]) : 0.0;
+                pairs[k] = new ValuePenaltyPair(isMinimize ? value : -value,
+                                                isMinimize ? penalty : -penalty);
+            }
+        }
+
         /**
          * @param x Normalized objective variables.
          * @return {@code true} if in bounds.
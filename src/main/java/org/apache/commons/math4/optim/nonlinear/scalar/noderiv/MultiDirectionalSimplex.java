@@ -148,6 +148,28 @@ public class MultiDirectionalSimplex extends AbstractSimplex {
         this.gamma = gamma;
     }
 
+    /**
+     * Copy constructor.
+     *
+     * @param original Simplex to copy.
+     */
+    private MultiDirectionalSimplex(final MultiDirectionalSimplex original) {
+        super(original);
+
+        this.khi = original.khi;
+        this.gamma = original.gamma;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 4.0
+     */
+    @Override
+    public MultiDirectionalSimplex copy() {
+        return new MultiDirectionalSimplex(this);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void iterate(final MultivariateFunction evaluationFunction,
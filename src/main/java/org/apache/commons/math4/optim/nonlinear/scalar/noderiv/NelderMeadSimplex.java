@@ -180,6 +180,30 @@ public class NelderMeadSimplex extends AbstractSimplex {
         this.sigma = sigma;
     }
 
+    /**
+     * Copy constructor.
+     *
+     * @param original Simplex to copy.
+     */
+    private NelderMeadSimplex(final NelderMeadSimplex original) {
+        super(original);
+
+        this.rho = original.rho;
+        this.khi = original.khi;
+        this.gamma = original.gamma;
+        this.sigma = original.sigma;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 4.0
+     */
+    @Override
+    public NelderMeadSimplex copy() {
+        return new NelderMeadSimplex(this);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void iterate(final MultivariateFunction evaluationFunction,
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.stat.correlation;
+
+import java.util.concurrent.ExecutorService;
+import java.util.function.IntConsumer;
+
+import org.apache.commons.math4.linear.BlockRealMatrix;
+import org.apache.commons.math4.linear.RealMatrix;
+import org.apache.commons.math4.util.ConcurrencyUtils;
+import org.apache.commons.math4.util.FastMath;
+
+/**
+ * Computes a symmetric matrix of pairwise correlations by square tiles of
+ * variables, so that the data of a tile is reused while it is in the cache
+ * and the tiles can be computed concurrently.
+ *
+ * @since 4.0
+ */
+final class ColumnPairs {
+    /** Number of variables along each side of a tile. */
+    static final int TILE_SIZE = 32;
+
+    /** Utility class. */
+    private ColumnPairs() {}
+
+    /**
+     * Computation of the correlations within a tile.
+     */
+    @FunctionalInterface
+    interface Tile {
+        /**
+         * Computes the correlations between the variables of {@code [iStart, iEnd)}
+         * and those of {@code [jStart, jEnd)}, for all pairs {@code (i, j)} with
+         * {@code j < i}, and stores them in {@code out[i][j]} and {@code out[j][i]}.
+         *
+         * @param iStart First variable of the first range (inclusive).
+         * @param iEnd Last variable of the first range (exclusive).
+         * @param jStart First variable of the second range (inclusive).
+         * @param jEnd Last variable of the second range (exclusive).
+         * @param out Correlation matrix.
+         */
+        void compute(int iStart, int iEnd, int jStart, int jEnd, double[][] out);
+    }
+
+    /**
+     * Computes the correlation matrix.
+     *
+     * @param nVars Number of variables.
+     * @param tile Computation of the correlations within a tile; it must be
+     * safe for concurrent calls on distinct tiles.
+     * @param executor Executor used to compute the tiles concurrently, or
+     * {@code null} to compute them in turn in the calling thread.
+     * @return the correlation matrix, with ones on the diagonal.
+     */
+    static RealMatrix compute(final int nVars,
+                              final Tile tile,
+                              final ExecutorService executor) {
+        final double[][] out = new double[nVars][nVars];
+        for (int i = 0; i < nVars; i++) {
+            out[i][i] = 1d;
+        }
+
+        final int nTiles = (nVars + TILE_SIZE - 1) / TILE_SIZE;
+        // tiles on and below the diagonal, in row-major order
+        final int count = nTiles * (nTiles + 1) / 2;
+        final IntConsumer body = k -> {
+            // tile k is (bi, bj), with k = bi * (bi + 1) / 2 + bj
+            int bi = 0;
+            int bj = k;
+            while (bj > bi) {
+                bj -= ++bi;
+            }
+            tile.compute(bi * TILE_SIZE, FastMath.min(nVars, (bi + 1) * TILE_SIZE),
+                         bj * TILE_SIZE, FastMath.min(nVars, (bj + 1) * TILE_SIZE),
+                         out);
+        };
+        if (executor == null) {
+            for (int k = 0; k < count; k++) {
+                body.accept(k);
+            }
+        } else {
+            ConcurrencyUtils.forEach(executor, count, body);
+        }
+
+        return new BlockRealMatrix(out);
+    }
+
+    /**
+     * Extracts the columns of a matrix.
+     *
+     * @param matrix Matrix.
+     * @return the columns of {@code matrix}.
+     */
+    static double[][] columns(final RealMatrix matrix) {
+        return matrix.transpose().getData();
+    }
+}
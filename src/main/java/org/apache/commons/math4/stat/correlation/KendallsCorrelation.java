@@ -17,14 +17,15 @@
 package org.apache.commons.math4.stat.correlation;
 
 import java.util.Arrays;
-import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.math4.exception.DimensionMismatchException;
 import org.apache.commons.math4.linear.BlockRealMatrix;
 import org.apache.commons.math4.linear.MatrixUtils;
 import org.apache.commons.math4.linear.RealMatrix;
+import org.apache.commons.math4.util.ConcurrencyUtils;
 import org.apache.commons.math4.util.FastMath;
-import org.apache.commons.math4.util.Pair;
+import org.apache.commons.math4.util.MathUtils;
 
 /**
  * Implementation of Kendall's Tau-b rank correlation.
@@ -59,6 +60,9 @@ import org.apache.commons.math4.util.Pair;
  * William R. Knight's 1966 paper "A Computer Method for Calculating
  * Kendall's Tau with Ungrouped Data" in the Journal of the American
  * Statistical Association.
+ * When computing a correlation matrix, each column is sorted only once and
+ * the values of the other column of each pair are merely reordered
+ * accordingly.
  *
  * @see <a href="http://en.wikipedia.org/wiki/Kendall_tau_rank_correlation_coefficient">
  * Kendall tau rank correlation coefficient (Wikipedia)</a>
@@ -118,17 +122,26 @@ public class KendallsCorrelation {
      * @return correlation matrix
      */
     public RealMatrix computeCorrelationMatrix(final RealMatrix matrix) {
-        int nVars = matrix.getColumnDimension();
-        RealMatrix outMatrix = new BlockRealMatrix(nVars, nVars);
-        for (int i = 0; i < nVars; i++) {
-            for (int j = 0; j < i; j++) {
-                double corr = correlation(matrix.getColumn(i), matrix.getColumn(j));
-                outMatrix.setEntry(i, j, corr);
-                outMatrix.setEntry(j, i, corr);
-            }
-            outMatrix.setEntry(i, i, 1d);
-        }
-        return outMatrix;
+        return compute(matrix, null);
+    }
+
+    /**
+     * Computes the Kendall's Tau rank correlation matrix for the columns of
+     * the input matrix, using {@code executor} to sort the columns and to
+     * compute the correlations concurrently.
+     * The result is identical to the one of {@link #computeCorrelationMatrix(RealMatrix)}.
+     *
+     * @param matrix matrix with columns representing variables to correlate
+     * @param executor executor used to run the computations
+     * @return correlation matrix
+     * @throws org.apache.commons.math4.exception.NullArgumentException
+     * if {@code executor} is {@code null}.
+     * @since 4.0
+     */
+    public RealMatrix computeCorrelationMatrix(final RealMatrix matrix,
+                                               final ExecutorService executor) {
+        MathUtils.checkNotNull(executor);
+        return compute(matrix, executor);
     }
 
     /**
@@ -159,52 +172,95 @@ public class KendallsCorrelation {
         }
 
         final int n = xArray.length;
-        final long numPairs = sum(n - 1);
+        return correlation(new SortedColumn(xArray), new SortedColumn(yArray),
+                           new double[n], new double[n]);
+    }
 
-        @SuppressWarnings("unchecked")
-        Pair<Double, Double>[] pairs = new Pair[n];
-        for (int i = 0; i < n; i++) {
-            pairs[i] = new Pair<>(xArray[i], yArray[i]);
-        }
+    /**
+     * Computes the correlation matrix.
+     *
+     * @param matrix matrix with columns representing variables to correlate
+     * @param executor executor used to run the computations, or {@code null}
+     * to run them in the calling thread
+     * @return correlation matrix
+     */
+    private static RealMatrix compute(final RealMatrix matrix,
+                                      final ExecutorService executor) {
+        final double[][] data = ColumnPairs.columns(matrix);
+        final int nVars = data.length;
+        final int n = matrix.getRowDimension();
 
-        Arrays.sort(pairs, new Comparator<Pair<Double, Double>>() {
-            /** {@inheritDoc} */
-            @Override
-            public int compare(Pair<Double, Double> pair1, Pair<Double, Double> pair2) {
-                int compareFirst = pair1.getFirst().compareTo(pair2.getFirst());
-                return compareFirst != 0 ? compareFirst : pair1.getSecond().compareTo(pair2.getSecond());
+        final SortedColumn[] columns = new SortedColumn[nVars];
+        if (executor == null) {
+            for (int i = 0; i < nVars; i++) {
+                columns[i] = new SortedColumn(data[i]);
             }
-        });
+        } else {
+            ConcurrencyUtils.forEach(executor, nVars, i -> columns[i] = new SortedColumn(data[i]));
+        }
+
+        return ColumnPairs.compute(nVars, (iStart, iEnd, jStart, jEnd, out) -> {
+                final double[] work = new double[n];
+                final double[] tmp = new double[n];
+                for (int i = iStart; i < iEnd; i++) {
+                    final int jMax = FastMath.min(jEnd, i);
+                    for (int j = jStart; j < jMax; j++) {
+                        final double corr = correlation(columns[i], columns[j], work, tmp);
+                        out[i][j] = corr;
+                        out[j][i] = corr;
+                    }
+                }
+            }, executor);
+    }
+
+    /**
+     * Computes the Kendall's Tau rank correlation coefficient between two
+     * sorted columns of the same length.
+     *
+     * @param x first column
+     * @param y second column
+     * @param work work array, with the length of the columns
+     * @param tmp work array, with the length of the columns
+     * @return Returns Kendall's Tau rank correlation coefficient for the two columns
+     */
+    private static double correlation(final SortedColumn x,
+                                      final SortedColumn y,
+                                      final double[] work,
+                                      final double[] tmp) {
+        final int n = x.values.length;
+        final long numPairs = sum(n - 1);
 
-        long tiedXPairs = 0;
+        // y values sorted by the corresponding x values, ties in x being
+        // sorted by y values
+        double[] ys = work;
+        for (int k = 0; k < n; k++) {
+            ys[k] = y.values[x.order[k]];
+        }
         long tiedXYPairs = 0;
-        long consecutiveXTies = 1;
-        long consecutiveXYTies = 1;
-        Pair<Double, Double> prev = pairs[0];
-        for (int i = 1; i < n; i++) {
-            final Pair<Double, Double> curr = pairs[i];
-            if (curr.getFirst().equals(prev.getFirst())) {
-                consecutiveXTies++;
-                if (curr.getSecond().equals(prev.getSecond())) {
-                    consecutiveXYTies++;
-                } else {
+        int groupStart = 0;
+        for (int k = 1; k <= n; k++) {
+            if (k == n ||
+                Double.compare(x.values[x.order[k]], x.values[x.order[groupStart]]) != 0) {
+                if (k - groupStart > 1) {
+                    Arrays.sort(ys, groupStart, k);
+                    long consecutiveXYTies = 1;
+                    for (int m = groupStart + 1; m < k; m++) {
+                        if (Double.compare(ys[m], ys[m - 1]) == 0) {
+                            consecutiveXYTies++;
+                        } else {
+                            tiedXYPairs += sum(consecutiveXYTies - 1);
+                            consecutiveXYTies = 1;
+                        }
+                    }
                     tiedXYPairs += sum(consecutiveXYTies - 1);
-                    consecutiveXYTies = 1;
                 }
-            } else {
-                tiedXPairs += sum(consecutiveXTies - 1);
-                consecutiveXTies = 1;
-                tiedXYPairs += sum(consecutiveXYTies - 1);
-                consecutiveXYTies = 1;
+                groupStart = k;
             }
-            prev = curr;
         }
-        tiedXPairs += sum(consecutiveXTies - 1);
-        tiedXYPairs += sum(consecutiveXYTies - 1);
 
+        // merge sort of the y values, counting the swaps
         long swaps = 0;
-        @SuppressWarnings("unchecked")
-        Pair<Double, Double>[] pairsDestination = new Pair[n];
+        double[] ysDestination = tmp;
         for (int segmentSize = 1; segmentSize < n; segmentSize <<= 1) {
             for (int offset = 0; offset < n; offset += 2 * segmentSize) {
                 int i = offset;
@@ -213,48 +269,25 @@ public class KendallsCorrelation {
                 final int jEnd = FastMath.min(j + segmentSize, n);
 
                 int copyLocation = offset;
-                while (i < iEnd || j < jEnd) {
-                    if (i < iEnd) {
-                        if (j < jEnd) {
-                            if (pairs[i].getSecond().compareTo(pairs[j].getSecond()) <= 0) {
-                                pairsDestination[copyLocation] = pairs[i];
-                                i++;
-                            } else {
-                                pairsDestination[copyLocation] = pairs[j];
-                                j++;
-                                swaps += iEnd - i;
-                            }
-                        } else {
-                            pairsDestination[copyLocation] = pairs[i];
-                            i++;
-                        }
+                while (i < iEnd && j < jEnd) {
+                    if (Double.compare(ys[i], ys[j]) <= 0) {
+                        ysDestination[copyLocation++] = ys[i++];
                     } else {
-                        pairsDestination[copyLocation] = pairs[j];
-                        j++;
+                        ysDestination[copyLocation++] = ys[j++];
+                        swaps += iEnd - i;
                     }
-                    copyLocation++;
                 }
+                System.arraycopy(ys, i, ysDestination, copyLocation, iEnd - i);
+                copyLocation += iEnd - i;
+                System.arraycopy(ys, j, ysDestination, copyLocation, jEnd - j);
             }
-            final Pair<Double, Double>[] pairsTemp = pairs;
-            pairs = pairsDestination;
-            pairsDestination = pairsTemp;
-        }
-
-        long tiedYPairs = 0;
-        long consecutiveYTies = 1;
-        prev = pairs[0];
-        for (int i = 1; i < n; i++) {
-            final Pair<Double, Double> curr = pairs[i];
-            if (curr.getSecond().equals(prev.getSecond())) {
-                consecutiveYTies++;
-            } else {
-                tiedYPairs += sum(consecutiveYTies - 1);
-                consecutiveYTies = 1;
-            }
-            prev = curr;
+            final double[] ysTemp = ys;
+            ys = ysDestination;
+            ysDestination = ysTemp;
         }
-        tiedYPairs += sum(consecutiveYTies - 1);
 
+        final long tiedXPairs = x.tiedPairs;
+        final long tiedYPairs = y.tiedPairs;
         final long concordantMinusDiscordant = numPairs - tiedXPairs - tiedYPairs + tiedXYPairs - 2 * swaps;
         final double nonTiedPairsMultiplied = (numPairs - tiedXPairs) * (double) (numPairs - tiedYPairs);
         return concordantMinusDiscordant / FastMath.sqrt(nonTiedPairsMultiplied);
@@ -270,4 +303,64 @@ public class KendallsCorrelation {
     private static long sum(long n) {
         return n * (n + 1) / 2l;
     }
+
+    /**
+     * Values of a variable, with the permutation that sorts them.
+     */
+    private static final class SortedColumn {
+        /** Values, in their original order. */
+        private final double[] values;
+        /** Indices of the values, sorted (stably) by increasing value. */
+        private final int[] order;
+        /** Number of pairs of tied values. */
+        private final long tiedPairs;
+
+        /**
+         * @param values values of the variable (not copied)
+         */
+        SortedColumn(final double[] values) {
+            final int n = values.length;
+            this.values = values;
+
+            // bottom-up merge sort of the indices
+            int[] idx = new int[n];
+            int[] idxDestination = new int[n];
+            for (int k = 0; k < n; k++) {
+                idx[k] = k;
+            }
+            for (int segmentSize = 1; segmentSize < n; segmentSize <<= 1) {
+                for (int offset = 0; offset < n; offset += 2 * segmentSize) {
+                    int i = offset;
+                    final int iEnd = FastMath.min(i + segmentSize, n);
+                    int j = iEnd;
+                    final int jEnd = FastMath.min(j + segmentSize, n);
+
+                    int copyLocation = offset;
+                    while (i < iEnd && j < jEnd) {
+                        idxDestination[copyLocation++] =
+                            Double.compare(values[idx[i]], values[idx[j]]) <= 0 ? idx[i++] : idx[j++];
+                    }
+                    System.arraycopy(idx, i, idxDestination, copyLocation, iEnd - i);
+                    copyLocation += iEnd - i;
+                    System.arraycopy(idx, j, idxDestination, copyLocation, jEnd - j);
+                }
+                final int[] idxTemp = idx;
+                idx = idxDestination;
+                idxDestination = idxTemp;
+            }
+            order = idx;
+
+            long tied = 0;
+            long consecutiveTies = 1;
+            for (int k = 1; k < n; k++) {
+                if (Double.compare(values[order[k]], values[order[k - 1]]) == 0) {
+                    consecutiveTies++;
+                } else {
+                    tied += sum(consecutiveTies - 1);
+                    consecutiveTies = 1;
+                }
+            }
+            tiedPairs = tied + sum(consecutiveTies - 1);
+        }
+    }
 }
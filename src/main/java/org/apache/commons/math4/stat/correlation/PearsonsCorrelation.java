@@ -16,6 +16,8 @@
  */
 package org.apache.commons.math4.stat.correlation;
 
+import java.util.concurrent.ExecutorService;
+
 import org.apache.commons.statistics.distribution.TDistribution;
 import org.apache.commons.math4.exception.DimensionMismatchException;
 import org.apache.commons.math4.exception.MathIllegalArgumentException;
@@ -24,7 +26,9 @@ import org.apache.commons.math4.exception.util.LocalizedFormats;
 import org.apache.commons.math4.linear.BlockRealMatrix;
 import org.apache.commons.math4.linear.RealMatrix;
 import org.apache.commons.math4.stat.regression.SimpleRegression;
+import org.apache.commons.math4.util.ConcurrencyUtils;
 import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.math4.util.MathUtils;
 
 /**
  * Computes Pearson's product-moment correlation coefficients for pairs of arrays
@@ -50,6 +54,9 @@ import org.apache.commons.math4.util.FastMath;
  */
 public class PearsonsCorrelation {
 
+    /** Number of rows processed at once when computing the correlations of a tile of columns. */
+    private static final int ROW_CHUNK_SIZE = 2048;
+
     /** correlation matrix */
     private final RealMatrix correlationMatrix;
 
@@ -238,6 +245,31 @@ public class PearsonsCorrelation {
         return outMatrix;
     }
 
+    /**
+     * Computes the correlation matrix for the columns of the input matrix,
+     * using {@code executor} to run the computations concurrently.
+     * <p>
+     * Each column is centered and scaled to unit norm once; the correlations
+     * are then the dot products of the scaled columns, computed by tiles of
+     * columns and chunks of rows in order to reuse the data while it is in
+     * the cache. The result is equal to the one of
+     * {@link #computeCorrelationMatrix(RealMatrix)} up to rounding errors.
+     * </p>
+     *
+     * @param matrix matrix with columns representing variables to correlate
+     * @param executor executor used to run the computations
+     * @return correlation matrix
+     * @throws MathIllegalArgumentException if the matrix does not contain sufficient data
+     * @throws NullArgumentException if {@code executor} is {@code null}.
+     * @since 4.0
+     */
+    public RealMatrix computeCorrelationMatrix(final RealMatrix matrix,
+                                               final ExecutorService executor) {
+        MathUtils.checkNotNull(executor);
+        checkSufficientData(matrix);
+        return correlationOfColumns(ColumnPairs.columns(matrix), executor);
+    }
+
     /**
      * Computes the correlation matrix for the columns of the
      * input rectangular array.  The columns of the array represent values
@@ -312,6 +344,68 @@ public class PearsonsCorrelation {
         return outMatrix;
     }
 
+    /**
+     * Computes the correlation matrix of the given variables.
+     *
+     * @param columns values of the variables, one array per variable; the
+     * arrays are overwritten
+     * @param executor executor used to run the computations
+     * @return correlation matrix
+     */
+    static RealMatrix correlationOfColumns(final double[][] columns,
+                                           final ExecutorService executor) {
+        final int n = columns[0].length;
+
+        // center and scale each column to unit norm (columns with
+        // zero variance are filled with NaN)
+        ConcurrencyUtils.forEach(executor, columns.length, i -> {
+                final double[] c = columns[i];
+                double sum = 0;
+                for (int k = 0; k < n; k++) {
+                    sum += c[k];
+                }
+                final double mean = sum / n;
+                double sumSq = 0;
+                for (int k = 0; k < n; k++) {
+                    final double dev = c[k] - mean;
+                    sumSq += dev * dev;
+                }
+                final double norm = FastMath.sqrt(sumSq);
+                for (int k = 0; k < n; k++) {
+                    c[k] = (c[k] - mean) / norm;
+                }
+            });
+
+        return ColumnPairs.compute(columns.length, (iStart, iEnd, jStart, jEnd, out) -> {
+                final double[][] dot = new double[iEnd - iStart][jEnd - jStart];
+                for (int kStart = 0; kStart < n; kStart += ROW_CHUNK_SIZE) {
+                    final int kEnd = FastMath.min(n, kStart + ROW_CHUNK_SIZE);
+                    for (int i = iStart; i < iEnd; i++) {
+                        final double[] ci = columns[i];
+                        final double[] dotI = dot[i - iStart];
+                        final int jMax = FastMath.min(jEnd, i);
+                        for (int j = jStart; j < jMax; j++) {
+                            final double[] cj = columns[j];
+                            double s = 0;
+                            for (int k = kStart; k < kEnd; k++) {
+                                s += ci[k] * cj[k];
+                            }
+                            dotI[j - jStart] += s;
+                        }
+                    }
+                }
+                for (int i = iStart; i < iEnd; i++) {
+                    final int jMax = FastMath.min(jEnd, i);
+                    for (int j = jStart; j < jMax; j++) {
+                        // guard against rounding slightly outside [-1, 1]
+                        final double corr = FastMath.max(-1, FastMath.min(1, dot[i - iStart][j - jStart]));
+                        out[i][j] = corr;
+                        out[j][i] = corr;
+                    }
+                }
+            }, executor);
+    }
+
     /**
      * Throws MathIllegalArgumentException if the matrix does not have at least
      * two columns and two rows.
@@ -17,6 +17,8 @@
 
 package org.apache.commons.math4.stat.correlation;
 
+import java.util.concurrent.ExecutorService;
+
 import org.apache.commons.math4.exception.DimensionMismatchException;
 import org.apache.commons.math4.exception.MathIllegalArgumentException;
 import org.apache.commons.math4.exception.util.LocalizedFormats;
@@ -25,6 +27,9 @@ import org.apache.commons.math4.linear.RealMatrix;
 import org.apache.commons.math4.stat.ranking.NaNStrategy;
 import org.apache.commons.math4.stat.ranking.NaturalRanking;
 import org.apache.commons.math4.stat.ranking.RankingAlgorithm;
+import org.apache.commons.math4.stat.ranking.TiesStrategy;
+import org.apache.commons.math4.util.ConcurrencyUtils;
+import org.apache.commons.math4.util.MathUtils;
 
 /**
  * Spearman's rank correlation. This implementation performs a rank
@@ -151,6 +156,52 @@ public class SpearmansCorrelation {
         return new PearsonsCorrelation().computeCorrelationMatrix(matrixCopy);
     }
 
+    /**
+     * Computes the Spearman's rank correlation matrix for the columns of the
+     * input matrix, using {@code executor} to run the computations concurrently.
+     * <p>
+     * Each column is ranked once, then the Pearson's correlations of the
+     * ranks are computed as by
+     * {@link PearsonsCorrelation#computeCorrelationMatrix(RealMatrix,ExecutorService)}.
+     * The columns are ranked concurrently unless the ranking algorithm is a
+     * {@link NaturalRanking} that resolves ties randomly, in which case they
+     * are ranked in turn so that the random ranks are reproducible; other
+     * ranking algorithms must be safe for concurrent use.
+     * </p>
+     *
+     * @param matrix matrix with columns representing variables to correlate
+     * @param executor executor used to run the computations
+     * @return correlation matrix
+     * @throws MathIllegalArgumentException if the matrix does not have at
+     * least two rows and two columns.
+     * @throws org.apache.commons.math4.exception.NullArgumentException
+     * if {@code executor} is {@code null}.
+     * @since 4.0
+     */
+    public RealMatrix computeCorrelationMatrix(final RealMatrix matrix,
+                                               final ExecutorService executor) {
+        MathUtils.checkNotNull(executor);
+        final int nRows = matrix.getRowDimension();
+        final int nCols = matrix.getColumnDimension();
+        if (nRows < 2 || nCols < 2) {
+            throw new MathIllegalArgumentException(LocalizedFormats.INSUFFICIENT_ROWS_AND_COLUMNS,
+                                                   nRows, nCols);
+        }
+
+        final double[][] columns = ColumnPairs.columns(matrix);
+        if (rankingAlgorithm instanceof NaturalRanking &&
+            TiesStrategy.RANDOM == ((NaturalRanking) rankingAlgorithm).getTiesStrategy()) {
+            for (int i = 0; i < nCols; i++) {
+                columns[i] = rankingAlgorithm.rank(columns[i]);
+            }
+        } else {
+            ConcurrencyUtils.forEach(executor, nCols,
+                                     i -> columns[i] = rankingAlgorithm.rank(columns[i]));
+        }
+
+        return PearsonsCorrelation.correlationOfColumns(columns, executor);
+    }
+
     /**
      * Computes the Spearman's rank correlation matrix for the columns of the
      * input rectangular array.  The columns of the array represent values
@@ -98,6 +98,9 @@ class StorelessBivariateCovariance {
      * @param cov StorelessBivariateCovariance instance to append.
      */
     public void append(StorelessBivariateCovariance cov) {
+        if (cov.n == 0) {
+            return;
+        }
         double oldN = n;
         n += cov.n;
         final double deltaX = cov.meanX - meanX;
@@ -16,6 +16,8 @@
  */
 package org.apache.commons.math4.stat.correlation;
 
+import java.util.stream.Collector;
+
 import org.apache.commons.math4.exception.DimensionMismatchException;
 import org.apache.commons.math4.exception.MathUnsupportedOperationException;
 import org.apache.commons.math4.exception.NumberIsTooSmallException;
@@ -185,6 +187,31 @@ public class StorelessCovariance extends Covariance {
         }
     }
 
+    /**
+     * Returns a {@link Collector} that computes the covariance matrix of a
+     * stream of rows.
+     * Parallel streams are handled without synchronization: each thread
+     * accumulates into its own instance, and the partial results are merged
+     * with {@link #append(StorelessCovariance)}.
+     *
+     * @param dim the dimension of the covariance matrix
+     * @param biasCorrected if <code>true</code> the covariance estimate is corrected
+     * for bias, i.e. n-1 in the denominator, otherwise there is no bias correction,
+     * i.e. n in the denominator.
+     * @return a collector computing the covariance of the rows.
+     * @since 4.0
+     */
+    public static Collector<double[], ?, StorelessCovariance> collector(final int dim,
+                                                                      final boolean biasCorrected) {
+        return Collector.of(() -> new StorelessCovariance(dim, biasCorrected),
+                            StorelessCovariance::increment,
+                            (left, right) -> {
+                                left.append(right);
+                                return left;
+                            },
+                            Collector.Characteristics.IDENTITY_FINISH);
+    }
+
     /**
      * {@inheritDoc}
      * @throws NumberIsTooSmallException if the number of observations
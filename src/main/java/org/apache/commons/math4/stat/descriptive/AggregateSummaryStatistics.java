@@ -45,7 +45,11 @@ import org.apache.commons.math4.exception.NullArgumentException;
  * {@link SummaryStatistics#addValue(double)} methods must synchronize on the aggregating
  * instance maintained by this class.  In multithreaded environments, if the functionality
  * provided by {@link #aggregate(Collection)} is adequate, that method should be used
- * to avoid unnecessary computation and synchronization delays.</p>
+ * to avoid unnecessary computation and synchronization delays.  Alternatively,
+ * contributing threads can accumulate values into their own unsynchronized
+ * {@code SummaryStatistics} and merge them with
+ * {@link SummaryStatistics#append(SummaryStatistics)} (see also
+ * {@link SummaryStatistics#of(java.util.stream.DoubleStream)}).</p>
  *
  * @since 2.0
  *
@@ -485,6 +485,35 @@ public class DescriptiveStatistics implements StatisticalSummary, Serializable {
         return apply(percentileImpl);
     }
 
+    /**
+     * Returns estimates for several percentiles of the stored values.
+     * <p>
+     * When the percentile implementation is a plain {@link Percentile}, all the
+     * estimates are computed in a single selection pass over the stored
+     * values; otherwise this is equivalent to calling
+     * {@link #getPercentile(double)} once for each element of {@code ps}.
+     * </p>
+     *
+     * @param ps the requested percentiles (each scaled from 0 - 100)
+     * @return estimates for the percentiles of the stored data, in the
+     * same order as {@code ps}
+     * @throws MathIllegalStateException if percentile implementation has been
+     *  overridden and the supplied implementation does not support setQuantile
+     * @throws MathIllegalArgumentException if some p is not a valid quantile
+     * @since 4.0
+     */
+    public double[] getPercentiles(double... ps) throws MathIllegalStateException, MathIllegalArgumentException {
+        if (percentileImpl.getClass() == Percentile.class) {
+            return ((Percentile) percentileImpl).evaluate(getValues(), ps);
+        }
+        MathUtils.checkNotNull(ps);
+        final double[] percentiles = new double[ps.length];
+        for (int i = 0; i < ps.length; i++) {
+            percentiles[i] = getPercentile(ps[i]);
+        }
+        return percentiles;
+    }
+
     /**
      * Generates a text report displaying univariate statistics from values
      * that have been added.  Each statistic is displayed on a separate
@@ -18,9 +18,12 @@ package org.apache.commons.math4.stat.descriptive;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.stream.Collector;
 
 import org.apache.commons.math4.exception.DimensionMismatchException;
 import org.apache.commons.math4.exception.MathIllegalStateException;
+import org.apache.commons.math4.exception.MathUnsupportedOperationException;
+import org.apache.commons.math4.exception.NullArgumentException;
 import org.apache.commons.math4.exception.util.LocalizedFormats;
 import org.apache.commons.math4.linear.RealMatrix;
 import org.apache.commons.math4.stat.descriptive.moment.GeometricMean;
@@ -64,7 +67,9 @@ import org.apache.commons.numbers.core.Precision;
  *
  * <p>Note: This class is not thread-safe. Use
  * {@link SynchronizedMultivariateSummaryStatistics} if concurrent access from multiple
- * threads is required.</p>
+ * threads is required, or accumulate into one instance per thread and merge them
+ * with {@link #append(MultivariateSummaryStatistics)} (as done by
+ * {@link #collector(int, boolean)}).</p>
  *
  * @since 1.2
  */
@@ -160,6 +165,100 @@ public class MultivariateSummaryStatistics
         n++;
     }
 
+    /**
+     * Appends {@code other} to this, effectively aggregating the computations
+     * in {@code other} with this.  After invoking this method, statistics
+     * returned should be close to what would have been obtained by performing
+     * all of the {@link #addValue(double[])} operations in {@code other}
+     * directly on this.
+     * <p>
+     * The statistics implementations of both instances must be the
+     * default ones (or instances of the same classes).
+     * </p>
+     *
+     * @param other MultivariateSummaryStatistics to append
+     * @throws NullArgumentException if other is null
+     * @throws DimensionMismatchException if the dimension of other does not
+     * match this
+     * @throws MathUnsupportedOperationException if a statistic implementation
+     * does not support aggregation.
+     * @since 4.0
+     */
+    public void append(MultivariateSummaryStatistics other)
+        throws NullArgumentException, DimensionMismatchException, MathUnsupportedOperationException {
+        MathUtils.checkNotNull(other);
+        checkDimension(other.k);
+        for (int i = 0; i < k; ++i) {
+            append(sumImpl[i], other.sumImpl[i]);
+            append(sumSqImpl[i], other.sumSqImpl[i]);
+            append(minImpl[i], other.minImpl[i]);
+            append(maxImpl[i], other.maxImpl[i]);
+            append(sumLogImpl[i], other.sumLogImpl[i]);
+            append(geoMeanImpl[i], other.geoMeanImpl[i]);
+            append(meanImpl[i], other.meanImpl[i]);
+        }
+        covarianceImpl.append(other.covarianceImpl);
+        n += other.n;
+    }
+
+    /**
+     * Returns a {@link java.util.stream.Collector Collector} that computes
+     * the summary statistics of a stream of n-tuples.
+     * Parallel streams are handled without synchronization: each thread
+     * accumulates into its own instance, and the partial results are merged
+     * with {@link #append(MultivariateSummaryStatistics)}.
+     *
+     * @param k dimension of the data
+     * @param isCovarianceBiasCorrected if true, the unbiased sample
+     * covariance is computed, otherwise the biased population covariance
+     * is computed
+     * @return a collector computing the statistics of the n-tuples.
+     * @since 4.0
+     */
+    public static Collector<double[], ?, MultivariateSummaryStatistics> collector(final int k,
+                                                                                final boolean isCovarianceBiasCorrected) {
+        return Collector.of(() -> new MultivariateSummaryStatistics(k, isCovarianceBiasCorrected),
+                            MultivariateSummaryStatistics::addValue,
+                            (left, right) -> {
+                                left.append(right);
+                                return left;
+                            },
+                            Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Aggregates the computations of a statistic into another one.
+     *
+     * @param stat statistic to update
+     * @param other statistic to append
+     * @throws MathUnsupportedOperationException if the statistics are not
+     * instances of the same class supporting aggregation.
+     */
+    private static void append(StorelessUnivariateStatistic stat,
+                               StorelessUnivariateStatistic other)
+        throws MathUnsupportedOperationException {
+        if (stat.getClass() != other.getClass()) {
+            throw new MathUnsupportedOperationException();
+        }
+        if (stat instanceof Sum) {
+            ((Sum) stat).append((Sum) other);
+        } else if (stat instanceof SumOfSquares) {
+            ((SumOfSquares) stat).append((SumOfSquares) other);
+        } else if (stat instanceof Min) {
+            ((Min) stat).append((Min) other);
+        } else if (stat instanceof Max) {
+            ((Max) stat).append((Max) other);
+        } else if (stat instanceof SumOfLogs) {
+            ((SumOfLogs) stat).append((SumOfLogs) other);
+        } else if (stat instanceof GeometricMean) {
+            ((GeometricMean) stat).append((GeometricMean) other);
+        } else if (stat instanceof Mean) {
+            ((Mean) stat).append((Mean) other);
+        } else {
+            throw new MathUnsupportedOperationException();
+        }
+    }
+
     /**
      * Returns the dimension of the data
      * @return The dimension of the data
@@ -0,0 +1,858 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.stat.descriptive;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.apache.commons.math4.exception.MathIllegalArgumentException;
+import org.apache.commons.math4.exception.MathIllegalStateException;
+import org.apache.commons.math4.exception.NullArgumentException;
+import org.apache.commons.math4.stat.descriptive.moment.GeometricMean;
+import org.apache.commons.math4.stat.descriptive.moment.Kurtosis;
+import org.apache.commons.math4.stat.descriptive.moment.Mean;
+import org.apache.commons.math4.stat.descriptive.moment.Skewness;
+import org.apache.commons.math4.stat.descriptive.moment.Variance;
+import org.apache.commons.math4.stat.descriptive.rank.Max;
+import org.apache.commons.math4.stat.descriptive.rank.Min;
+import org.apache.commons.math4.stat.descriptive.rank.Percentile;
+import org.apache.commons.math4.stat.descriptive.summary.Sum;
+import org.apache.commons.math4.stat.descriptive.summary.SumOfSquares;
+import org.apache.commons.math4.stat.ranking.NaNStrategy;
+import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.math4.util.MathUtils;
+
+/**
+ * A {@link DescriptiveStatistics} variant that maintains its statistics
+ * incrementally as values enter and leave the window.
+ * <p>
+ * {@link DescriptiveStatistics} recomputes each statistic from the stored
+ * values whenever it is requested, which costs a full scan of the window.
+ * This class updates, on each {@link #addValue(double) addition} or
+ * eviction,
+ * </p>
+ * <ul>
+ *  <li>compensated (Neumaier) sums of the powers 1 to 4 of the deviations of
+ *   the values from a reference point, and of their logarithms, from which
+ *   the sum, mean, variance, skewness, kurtosis and geometric mean are
+ *   obtained in constant time,</li>
+ *  <li>an order statistics tree holding the values, from which the minimum,
+ *   maximum and percentiles are obtained in logarithmic time.</li>
+ * </ul>
+ * <p>
+ * The reference point is reset to the current mean, and the sums recomputed
+ * from the stored values, each time as many values have been added or evicted
+ * as the window holds. They are also recomputed before a central moment is
+ * evaluated if the mean has moved away from the reference point by more than
+ * the standard deviation (for instance when the scale of the data changes),
+ * since the central moments would then be obtained by cancellation of large
+ * power sums. Moment-based statistics agree with those of
+ * {@link DescriptiveStatistics} up to rounding errors; order statistics
+ * are exactly the same.
+ * </p>
+ * <p>
+ * The incremental computations are only used for the default statistic
+ * implementations (and for a bias-corrected {@link Variance}, a
+ * {@link Percentile} of any estimation type, with the {@link NaNStrategy#REMOVED
+ * REMOVED} or {@link NaNStrategy#FIXED FIXED} NaN strategy when the window holds
+ * NaNs). When a custom implementation has been set, or when the window holds
+ * infinite or NaN values for the moments, the computation is delegated to
+ * {@link DescriptiveStatistics}.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @since 4.0
+ */
+public class RollingDescriptiveStatistics extends DescriptiveStatistics {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261017L;
+
+    /** Minimal number of updates between resynchronizations of the sums. */
+    private static final int MIN_UPDATES_BEFORE_RESYNC = 64;
+
+    /** Order statistics of the values. */
+    private OrderStatisticsTree tree = new OrderStatisticsTree();
+
+    /** Compensated sums of the powers 1 to 4 of the deviations of the finite values. */
+    private CompensatedSum[] powerSums = createSums(4);
+
+    /** Compensated sum of the logarithms of the positive finite values. */
+    private CompensatedSum logSum = new CompensatedSum();
+
+    /** Reference point from which deviations are computed. */
+    private double reference;
+
+    /** Number of NaN values. */
+    private int nanCount;
+
+    /** Number of infinite or NaN values. */
+    private int nonFiniteCount;
+
+    /** Number of finite values lower than or equal to zero. */
+    private int nonPositiveCount;
+
+    /** Number of values added or removed since the sums were last recomputed. */
+    private int updates;
+
+    /**
+     * Construct an empty instance with an infinite window.
+     */
+    public RollingDescriptiveStatistics() {
+        // nothing to do
+    }
+
+    /**
+     * Construct an empty instance with the specified window.
+     *
+     * @param window the window size.
+     * @throws MathIllegalArgumentException if window size is less than 1 but
+     * not equal to {@link #INFINITE_WINDOW}
+     */
+    public RollingDescriptiveStatistics(final int window) throws MathIllegalArgumentException {
+        setWindowSize(window);
+    }
+
+    /**
+     * Copy constructor. Construct a new instance that is a copy of
+     * {@code original}.
+     *
+     * @param original instance to copy
+     * @throws NullArgumentException if original is null
+     */
+    public RollingDescriptiveStatistics(final DescriptiveStatistics original)
+        throws NullArgumentException {
+        super(original);
+        final double[] values = getValues();
+        for (final double value : values) {
+            tree.insert(value);
+        }
+        resync(values);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addValue(final double v) {
+        final int window = getWindowSize();
+        final boolean evicting = window != INFINITE_WINDOW && getN() == window;
+        final double evicted = evicting ? getElement(0) : Double.NaN;
+        super.addValue(v);
+        if (evicting) {
+            remove(evicted);
+        }
+        add(v);
+        checkResync();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void removeMostRecentValue() throws MathIllegalStateException {
+        final double removed = getN() > 0 ? getElement((int) getN() - 1) : Double.NaN;
+        super.removeMostRecentValue();
+        remove(removed);
+        checkResync();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double replaceMostRecentValue(final double v) throws MathIllegalStateException {
+        final double replaced = super.replaceMostRecentValue(v);
+        remove(replaced);
+        add(v);
+        checkResync();
+        return replaced;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setWindowSize(final int windowSize) throws MathIllegalArgumentException {
+        final long n = getN();
+        super.setWindowSize(windowSize);
+        final long discarded = n - getN();
+        if (discarded > 0) {
+            // rebuild everything rather than tracking the discarded values
+            tree.clear();
+            final double[] values = getValues();
+            for (final double value : values) {
+                tree.insert(value);
+            }
+            resync(values);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        super.clear();
+        tree.clear();
+        resync(new double[0]);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getMean() {
+        if (getN() == 0 || getMeanImpl().getClass() != Mean.class || nonFiniteCount > 0) {
+            return super.getMean();
+        }
+        return reference + powerSums[0].getValue() / getN();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getGeometricMean() {
+        if (getN() == 0 || getGeometricMeanImpl().getClass() != GeometricMean.class ||
+            nonFiniteCount > 0 || nonPositiveCount > 0) {
+            return super.getGeometricMean();
+        }
+        return FastMath.exp(logSum.getValue() / getN());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getVariance() {
+        final UnivariateStatistic impl = getVarianceImpl();
+        if (getN() == 0 || impl.getClass() != Variance.class ||
+            !((Variance) impl).isBiasCorrected() || nonFiniteCount > 0) {
+            return super.getVariance();
+        }
+        final long n = getN();
+        if (n == 1) {
+            return 0.0;
+        }
+        recenter();
+        return centralMoment2() / (n - 1);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getPopulationVariance() {
+        if (getN() == 0 || nonFiniteCount > 0) {
+            return super.getPopulationVariance();
+        }
+        recenter();
+        return centralMoment2() / getN();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getSkewness() {
+        if (getN() < 3 || getSkewnessImpl().getClass() != Skewness.class || nonFiniteCount > 0) {
+            return super.getSkewness();
+        }
+        recenter();
+        // same formula as Skewness.evaluate
+        final double n0 = getN();
+        final double variance = centralMoment2() / (n0 - 1);
+        final double accum3 = centralMoment3() / (variance * FastMath.sqrt(variance));
+        return (n0 / ((n0 - 1) * (n0 - 2))) * accum3;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getKurtosis() {
+        if (getN() < 4 || getKurtosisImpl().getClass() != Kurtosis.class || nonFiniteCount > 0) {
+            return super.getKurtosis();
+        }
+        recenter();
+        // same formula as Kurtosis.evaluate
+        final double n0 = getN();
+        final double variance = centralMoment2() / (n0 - 1);
+        final double accum3 = centralMoment4() / (variance * variance);
+        final double coefficientOne =
+            (n0 * (n0 + 1)) / ((n0 - 1) * (n0 - 2) * (n0 - 3));
+        final double termTwo =
+            (3 * (n0 - 1) * (n0 - 1)) / ((n0 - 2) * (n0 - 3));
+        return (coefficientOne * accum3) - termTwo;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getMax() {
+        if (getN() == 0 || getMaxImpl().getClass() != Max.class) {
+            return super.getMax();
+        }
+        // NaN values are sorted last, and ignored by Max
+        final int finite = (int) getN() - nanCount;
+        return finite == 0 ? Double.NaN : tree.select(finite - 1);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getMin() {
+        if (getN() == 0 || getMinImpl().getClass() != Min.class) {
+            return super.getMin();
+        }
+        // NaN values are sorted last, and ignored by Min
+        return nanCount == getN() ? Double.NaN : tree.select(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getSum() {
+        if (getN() == 0 || getSumImpl().getClass() != Sum.class || nonFiniteCount > 0) {
+            return super.getSum();
+        }
+        return getN() * reference + powerSums[0].getValue();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getSumsq() {
+        if (getN() == 0 || getSumsqImpl().getClass() != SumOfSquares.class || nonFiniteCount > 0) {
+            return super.getSumsq();
+        }
+        // sum (d + r)^2 = sum d^2 + 2 r sum d + n r^2
+        return powerSums[1].getValue() +
+               reference * (2 * powerSums[0].getValue() + getN() * reference);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getPercentile(final double p)
+        throws MathIllegalStateException, MathIllegalArgumentException {
+        final int length = percentileLength();
+        if (length <= 0) {
+            return super.getPercentile(p);
+        }
+        final Percentile percentile = (Percentile) getPercentileImpl();
+        percentile.setQuantile(p);
+        return percentile.getEstimationType().evaluate(length, p, tree::select);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] getPercentiles(final double... ps)
+        throws MathIllegalStateException, MathIllegalArgumentException {
+        final int length = percentileLength();
+        if (length <= 0) {
+            return super.getPercentiles(ps);
+        }
+        MathUtils.checkNotNull(ps);
+        final Percentile.EstimationType type = ((Percentile) getPercentileImpl()).getEstimationType();
+        final double[] percentiles = new double[ps.length];
+        for (int i = 0; i < ps.length; i++) {
+            percentiles[i] = type.evaluate(length, ps[i], tree::select);
+        }
+        return percentiles;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] getSortedValues() {
+        return tree.toArray();
+    }
+
+    /**
+     * Returns a copy of this RollingDescriptiveStatistics instance with the
+     * same internal state.
+     *
+     * @return a copy of this
+     */
+    @Override
+    public RollingDescriptiveStatistics copy() {
+        return new RollingDescriptiveStatistics(this);
+    }
+
+    /**
+     * Gets the number of values from which percentiles are estimated using
+     * the order statistics tree.
+     *
+     * @return the number of values the percentile is computed on, or a
+     * non-positive number if the computation must be delegated to
+     * {@link DescriptiveStatistics}.
+     */
+    private int percentileLength() {
+        final UnivariateStatistic impl = getPercentileImpl();
+        final long n = getN();
+        if (impl.getClass() != Percentile.class || n <= 1) {
+            // a single value is returned as is, whatever the NaN strategy
+            return -1;
+        }
+        if (nanCount == 0) {
+            return (int) n;
+        }
+        switch (((Percentile) impl).getNaNStrategy()) {
+            case FIXED:
+                // NaN values are kept, and sorted last as in the tree
+                return (int) n;
+            case REMOVED:
+                // NaN values are dropped, they are the last ones in the tree
+                return (int) n - nanCount;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Updates the incremental state with a new value.
+     *
+     * @param v Value entering the window.
+     */
+    private void add(final double v) {
+        tree.insert(v);
+        if (getN() == 1) {
+            // first value: use it as the reference point
+            resync(new double[] { v });
+        } else {
+            update(v, 1);
+            ++updates;
+        }
+    }
+
+    /**
+     * Updates the incremental state with a value leaving the window.
+     *
+     * @param v Value leaving the window.
+     */
+    private void remove(final double v) {
+        tree.remove(v);
+        update(v, -1);
+        ++updates;
+    }
+
+    /**
+     * Recomputes the sums if enough updates have been performed since
+     * they were last recomputed. It must only be called once the stored
+     * values and the sums are consistent, i.e. after both the eviction and
+     * the addition of a value.
+     */
+    private void checkResync() {
+        if (updates > FastMath.max(getN(), MIN_UPDATES_BEFORE_RESYNC)) {
+            resync(getValues());
+        }
+    }
+
+    /**
+     * Adds or removes the contributions of a value to the sums.
+     *
+     * @param v Value.
+     * @param sign +1 to add the value, -1 to remove it.
+     */
+    private void update(final double v, final int sign) {
+        if (Double.isNaN(v)) {
+            nanCount += sign;
+        }
+        if (Double.isNaN(v) || Double.isInfinite(v)) {
+            nonFiniteCount += sign;
+            return;
+        }
+        if (v > 0) {
+            logSum.add(sign * FastMath.log(v));
+        } else {
+            nonPositiveCount += sign;
+        }
+        final double d = v - reference;
+        double power = sign;
+        for (final CompensatedSum sum : powerSums) {
+            power *= d;
+            sum.add(power);
+        }
+    }
+
+    /**
+     * Recomputes the sums from scratch, taking the mean of the finite values
+     * as the new reference point. The counters of special values are rebuilt
+     * as well.
+     *
+     * @param values Values in the window.
+     */
+    private void resync(final double[] values) {
+        double sum = 0;
+        int finite = 0;
+        for (final double v : values) {
+            if (!Double.isNaN(v) && !Double.isInfinite(v)) {
+                sum += v;
+                ++finite;
+            }
+        }
+        reference = finite == 0 ? 0 : sum / finite;
+        if (Double.isInfinite(reference)) {
+            // overflow of the plain sum, the reference point is only a shift
+            reference = 0;
+        }
+
+        powerSums = createSums(powerSums.length);
+        logSum = new CompensatedSum();
+        nanCount = 0;
+        nonFiniteCount = 0;
+        nonPositiveCount = 0;
+        updates = 0;
+        for (final double v : values) {
+            update(v, 1);
+        }
+    }
+
+    /**
+     * Recomputes the sums around the current mean if it is farther from the
+     * reference point than the standard deviation, and the sums have been
+     * updated since they were last recomputed. Otherwise, the central moments
+     * would suffer from cancellation between the power sums.
+     */
+    private void recenter() {
+        final double n = getN();
+        final double a = powerSums[0].getValue() / n;
+        final double m2 = powerSums[1].getValue() - n * a * a;
+        if (updates > 0 && a != 0 && n * a * a > m2) {
+            resync(getValues());
+        }
+    }
+
+    /**
+     * Gets the sum of squared deviations from the mean.
+     *
+     * @return the second central moment, times n.
+     */
+    private double centralMoment2() {
+        final double n = getN();
+        final double a = powerSums[0].getValue() / n;
+        final double m2 = powerSums[1].getValue() - n * a * a;
+        return m2 < 0 ? 0 : m2;
+    }
+
+    /**
+     * Gets the sum of cubed deviations from the mean.
+     *
+     * @return the third central moment, times n.
+     */
+    private double centralMoment3() {
+        final double n = getN();
+        final double a = powerSums[0].getValue() / n;
+        final double s2 = powerSums[1].getValue();
+        final double s3 = powerSums[2].getValue();
+        return s3 - 3 * a * s2 + 2 * n * a * a * a;
+    }
+
+    /**
+     * Gets the sum of the fourth powers of the deviations from the mean.
+     *
+     * @return the fourth central moment, times n.
+     */
+    private double centralMoment4() {
+        final double n = getN();
+        final double a = powerSums[0].getValue() / n;
+        final double s2 = powerSums[1].getValue();
+        final double s3 = powerSums[2].getValue();
+        final double s4 = powerSums[3].getValue();
+        final double a2 = a * a;
+        final double m4 = s4 - 4 * a * s3 + 6 * a2 * s2 - 3 * n * a2 * a2;
+        return m4 < 0 ? 0 : m4;
+    }
+
+    /**
+     * Creates compensated sums.
+     *
+     * @param count Number of sums.
+     * @return new sums, all set to zero.
+     */
+    private static CompensatedSum[] createSums(final int count) {
+        final CompensatedSum[] sums = new CompensatedSum[count];
+        for (int i = 0; i < count; i++) {
+            sums[i] = new CompensatedSum();
+        }
+        return sums;
+    }
+
+    /**
+     * Sum with Neumaier's compensation of the rounding errors.
+     */
+    private static class CompensatedSum implements Serializable {
+
+        /** Serializable version identifier. */
+        private static final long serialVersionUID = 20261017L;
+
+        /** Rounded sum. */
+        private double sum;
+
+        /** Accumulated rounding errors. */
+        private double compensation;
+
+        /**
+         * Adds a term.
+         *
+         * @param x Term.
+         */
+        void add(final double x) {
+            final double t = sum + x;
+            if (FastMath.abs(sum) >= FastMath.abs(x)) {
+                compensation += (sum - t) + x;
+            } else {
+                compensation += (x - t) + sum;
+            }
+            sum = t;
+        }
+
+        /**
+         * Gets the sum.
+         *
+         * @return the compensated sum.
+         */
+        double getValue() {
+            return sum + compensation;
+        }
+    }
+
+    /**
+     * Multiset of values supporting insertion, removal and selection of
+     * the K<sup>th</sup> smallest value in logarithmic expected time.
+     * <p>
+     * It is implemented as a treap whose nodes, stored in parallel arrays,
+     * record the size of their subtree. Values are ordered by
+     * {@link Double#compare(double, double)}, as in {@link Arrays#sort(double[])}
+     * (NaN values last).
+     * </p>
+     */
+    private static class OrderStatisticsTree implements Serializable {
+
+        /** Serializable version identifier. */
+        private static final long serialVersionUID = 20261017L;
+
+        /** Index of the null node. */
+        private static final int NIL = 0;
+
+        /** Initial capacity. */
+        private static final int INITIAL_CAPACITY = 16;
+
+        /** Values of the nodes. */
+        private double[] key = new double[INITIAL_CAPACITY + 1];
+
+        /** Left children (also links the free nodes). */
+        private int[] left = new int[INITIAL_CAPACITY + 1];
+
+        /** Right children. */
+        private int[] right = new int[INITIAL_CAPACITY + 1];
+
+        /** Sizes of the subtrees. */
+        private int[] size = new int[INITIAL_CAPACITY + 1];
+
+        /** Heap priorities. */
+        private int[] priority = new int[INITIAL_CAPACITY + 1];
+
+        /** Root of the tree. */
+        private int root = NIL;
+
+        /** Head of the list of free nodes. */
+        private int free = NIL;
+
+        /** Number of nodes ever allocated. */
+        private int allocated;
+
+        /** State of the generator of priorities. */
+        private int seed = 0x2545F491;
+
+        /**
+         * Inserts a value.
+         *
+         * @param value Value.
+         */
+        void insert(final double value) {
+            final int node = allocate();
+            key[node] = value;
+            left[node] = NIL;
+            right[node] = NIL;
+            size[node] = 1;
+            root = insert(root, node);
+        }
+
+        /**
+         * Removes one occurrence of a value, which must be present.
+         *
+         * @param value Value.
+         */
+        void remove(final double value) {
+            root = remove(root, value);
+        }
+
+        /**
+         * Gets the K<sup>th</sup> smallest value.
+         *
+         * @param k Index of the value (0-based), lower than the number of values.
+         * @return the value.
+         */
+        double select(final int k) {
+            int node = root;
+            int rank = k;
+            while (true) {
+                final int leftSize = size[left[node]];
+                if (rank < leftSize) {
+                    node = left[node];
+                } else if (rank == leftSize) {
+                    return key[node];
+                } else {
+                    rank -= leftSize + 1;
+                    node = right[node];
+                }
+            }
+        }
+
+        /**
+         * Gets the sorted values.
+         *
+         * @return a new array with the values in increasing order.
+         */
+        double[] toArray() {
+            final double[] values = new double[size[root]];
+            int[] stack = new int[64];
+            int top = 0;
+            int node = root;
+            int i = 0;
+            while (node != NIL || top > 0) {
+                while (node != NIL) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, 2 * top);
+                    }
+                    stack[top++] = node;
+                    node = left[node];
+                }
+                node = stack[--top];
+                values[i++] = key[node];
+                node = right[node];
+            }
+            return values;
+        }
+
+        /** Removes all the values. */
+        void clear() {
+            root = NIL;
+            free = NIL;
+            allocated = 0;
+        }
+
+        /**
+         * Inserts a node in a subtree.
+         *
+         * @param t Root of the subtree.
+         * @param node Node to insert.
+         * @return the new root of the subtree.
+         */
+        private int insert(final int t, final int node) {
+            if (t == NIL) {
+                return node;
+            }
+            ++size[t];
+            if (Double.compare(key[node], key[t]) < 0) {
+                left[t] = insert(left[t], node);
+                return priority[left[t]] > priority[t] ? rotateRight(t) : t;
+            } else {
+                right[t] = insert(right[t], node);
+                return priority[right[t]] > priority[t] ? rotateLeft(t) : t;
+            }
+        }
+
+        /**
+         * Removes one occurrence of a value from a subtree.
+         *
+         * @param t Root of the subtree (which contains the value).
+         * @param value Value.
+         * @return the new root of the subtree.
+         */
+        private int remove(int t, final double value) {
+            final int c = Double.compare(value, key[t]);
+            if (c == 0) {
+                if (left[t] == NIL || right[t] == NIL) {
+                    final int child = left[t] == NIL ? right[t] : left[t];
+                    release(t);
+                    return child;
+                }
+                // rotate the node down, towards the child with higher priority
+                if (priority[left[t]] > priority[right[t]]) {
+                    t = rotateRight(t);
+                    right[t] = remove(right[t], value);
+                } else {
+                    t = rotateLeft(t);
+                    left[t] = remove(left[t], value);
+                }
+            } else if (c < 0) {
+                left[t] = remove(left[t], value);
+            } else {
+                right[t] = remove(right[t], value);
+            }
+            --size[t];
+            return t;
+        }
+
+        /**
+         * Rotates a subtree to the right.
+         *
+         * @param t Root of the subtree.
+         * @return the new root (former left child).
+         */
+        private int rotateRight(final int t) {
+            final int l = left[t];
+            left[t] = right[l];
+            right[l] = t;
+            size[l] = size[t];
+            size[t] = size[left[t]] + size[right[t]] + 1;
+            return l;
+        }
+
+        /**
+         * Rotates a subtree to the left.
+         *
+         * @param t Root of the subtree.
+         * @return the new root (former right child).
+         */
+        private int rotateLeft(final int t) {
+            final int r = right[t];
+            right[t] = left[r];
+            left[r] = t;
+            size[r] = size[t];
+            size[t] = size[left[t]] + size[right[t]] + 1;
+            return r;
+        }
+
+        /**
+         * Gets a node for a new value.
+         *
+         * @return index of the node.
+         */
+        private int allocate() {
+            final int node;
+            if (free != NIL) {
+                node = free;
+                free = left[node];
+            } else {
+                node = ++allocated;
+                if (node == key.length) {
+                    final int capacity = 2 * key.length;
+                    key = Arrays.copyOf(key, capacity);
+                    left = Arrays.copyOf(left, capacity);
+                    right = Arrays.copyOf(right, capacity);
+                    size = Arrays.copyOf(size, capacity);
+                    priority = Arrays.copyOf(priority, capacity);
+                }
+            }
+            // xorshift generator
+            seed ^= seed << 13;
+            seed ^= seed >>> 17;
+            seed ^= seed << 5;
+            priority[node] = seed;
+            return node;
+        }
+
+        /**
+         * Returns a node to the free list.
+         *
+         * @param node Node.
+         */
+        private void release(final int node) {
+            left[node] = free;
+            free = node;
+        }
+    }
+}
@@ -17,8 +17,12 @@
 package org.apache.commons.math4.stat.descriptive;
 
 import java.io.Serializable;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+import java.util.stream.DoubleStream;
 
 import org.apache.commons.math4.exception.MathIllegalStateException;
+import org.apache.commons.math4.exception.MathUnsupportedOperationException;
 import org.apache.commons.math4.exception.NullArgumentException;
 import org.apache.commons.math4.exception.util.LocalizedFormats;
 import org.apache.commons.math4.stat.descriptive.moment.GeometricMean;
@@ -54,7 +58,11 @@ import org.apache.commons.numbers.core.Precision;
  * <p>
  * Note: This class is not thread-safe. Use
  * {@link SynchronizedSummaryStatistics} if concurrent access from multiple
- * threads is required.
+ * threads is required.  Alternatively, each thread can accumulate values into
+ * its own instance, the instances being merged afterwards with
+ * {@link #append(SummaryStatistics)}; {@link #of(DoubleStream)} and
+ * {@link #collector(ToDoubleFunction)} do exactly this for (possibly parallel)
+ * streams.
  * </p>
  */
 public class SummaryStatistics implements StatisticalSummary, Serializable {
@@ -167,6 +175,81 @@ public class SummaryStatistics implements StatisticalSummary, Serializable {
         n++;
     }
 
+    /**
+     * Appends {@code other} to this, effectively aggregating the computations
+     * in {@code other} with this.  After invoking this method, statistics
+     * returned should be close to what would have been obtained by performing
+     * all of the {@link #addValue(double)} operations in {@code other}
+     * directly on this.
+     * <p>
+     * The moments are combined using numerically stable pairwise update
+     * formulas (Chan et al.).  Both instances must use the default
+     * statistics implementations.
+     * </p>
+     *
+     * @param other SummaryStatistics to append
+     * @throws NullArgumentException if other is null
+     * @throws MathUnsupportedOperationException if either instance uses a
+     * custom statistic implementation.
+     * @since 4.0
+     */
+    public void append(SummaryStatistics other)
+        throws NullArgumentException, MathUnsupportedOperationException {
+        MathUtils.checkNotNull(other);
+        if (!hasDefaultImpls() || !other.hasDefaultImpls()) {
+            throw new MathUnsupportedOperationException();
+        }
+        sum.append(other.sum);
+        sumsq.append(other.sumsq);
+        min.append(other.min);
+        max.append(other.max);
+        sumLog.append(other.sumLog);
+        secondMoment.append(other.secondMoment);
+        n += other.n;
+    }
+
+    /**
+     * Computes the summary statistics of the values of a stream.
+     * Parallel streams are handled without synchronization: each thread
+     * accumulates into its own instance, and the partial results are merged
+     * with {@link #append(SummaryStatistics)}.
+     *
+     * @param values Values.
+     * @return the statistics of {@code values}.
+     * @throws NullArgumentException if values is null
+     * @since 4.0
+     */
+    public static SummaryStatistics of(DoubleStream values) throws NullArgumentException {
+        MathUtils.checkNotNull(values);
+        return values.collect(SummaryStatistics::new,
+                              SummaryStatistics::addValue,
+                              SummaryStatistics::append);
+    }
+
+    /**
+     * Returns a {@link Collector} that computes the summary statistics of
+     * the values obtained by applying {@code mapper} to the stream elements.
+     * As for {@link #of(DoubleStream)}, parallel streams are handled without
+     * synchronization.
+     *
+     * @param <T> Type of the stream elements.
+     * @param mapper Function extracting the value of an element.
+     * @return a collector computing the statistics of the mapped values.
+     * @throws NullArgumentException if mapper is null
+     * @since 4.0
+     */
+    public static <T> Collector<T, ?, SummaryStatistics> collector(final ToDoubleFunction<? super T> mapper)
+        throws NullArgumentException {
+        MathUtils.checkNotNull(mapper);
+        return Collector.of(SummaryStatistics::new,
+                            (stats, element) -> stats.addValue(mapper.applyAsDouble(element)),
+                            (left, right) -> {
+                                left.append(right);
+                                return left;
+                            },
+                            Collector.Characteristics.IDENTITY_FINISH);
+    }
+
     /**
      * Returns the number of available values
      * @return The number of available values
@@ -666,6 +749,21 @@ public class SummaryStatistics implements StatisticalSummary, Serializable {
         this.varianceImpl = varianceImpl;
     }
 
+    /**
+     * @return {@code true} if none of the statistics implementations
+     * has been overridden.
+     */
+    private boolean hasDefaultImpls() {
+        return sumImpl == sum &&
+            sumsqImpl == sumsq &&
+            minImpl == min &&
+            maxImpl == max &&
+            sumLogImpl == sumLog &&
+            geoMeanImpl == geoMean &&
+            meanImpl == mean &&
+            varianceImpl == variance;
+    }
+
     /**
      * Throws IllegalStateException if n > 0.
      * @throws MathIllegalStateException if data has been added
@@ -122,6 +122,14 @@ public class SynchronizedDescriptiveStatistics extends DescriptiveStatistics {
         return super.getQuadraticMean();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized double[] getPercentiles(double... ps) {
+        return super.getPercentiles(ps);
+    }
+
     /**
      * {@inheritDoc}
      */
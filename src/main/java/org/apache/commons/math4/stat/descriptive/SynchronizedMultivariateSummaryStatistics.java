@@ -18,6 +18,8 @@ package org.apache.commons.math4.stat.descriptive;
 
 import org.apache.commons.math4.exception.DimensionMismatchException;
 import org.apache.commons.math4.exception.MathIllegalStateException;
+import org.apache.commons.math4.exception.MathUnsupportedOperationException;
+import org.apache.commons.math4.exception.NullArgumentException;
 import org.apache.commons.math4.linear.RealMatrix;
 
 /**
@@ -56,6 +58,19 @@ public class SynchronizedMultivariateSummaryStatistics
       super.addValue(value);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only this instance is locked; {@code other} must not be modified
+     * concurrently.
+     * </p>
+     */
+    @Override
+    public synchronized void append(MultivariateSummaryStatistics other)
+        throws NullArgumentException, DimensionMismatchException, MathUnsupportedOperationException {
+        super.append(other);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -17,6 +17,7 @@
 package org.apache.commons.math4.stat.descriptive;
 
 import org.apache.commons.math4.exception.MathIllegalStateException;
+import org.apache.commons.math4.exception.MathUnsupportedOperationException;
 import org.apache.commons.math4.exception.NullArgumentException;
 import org.apache.commons.math4.util.MathUtils;
 
@@ -71,6 +72,19 @@ public class SynchronizedSummaryStatistics extends SummaryStatistics {
         super.addValue(value);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only this instance is locked; {@code other} must not be modified
+     * concurrently.
+     * </p>
+     */
+    @Override
+    public synchronized void append(SummaryStatistics other)
+        throws NullArgumentException, MathUnsupportedOperationException {
+        super.append(other);
+    }
+
     /**
      * {@inheritDoc}
      */
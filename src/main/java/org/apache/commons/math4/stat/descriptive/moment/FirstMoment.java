@@ -146,6 +146,37 @@ class FirstMoment extends AbstractStorelessUnivariateStatistic
         return result;
     }
 
+    /**
+     * Appends {@code other} to this, effectively aggregating the moments
+     * in {@code other} with this, using the pairwise update formulas
+     * referenced in the {@link org.apache.commons.math4.stat.descriptive.moment
+     * package documentation}.
+     * <p>
+     * Subclasses holding higher order moments override this method: they
+     * update their own moment from the current lower order ones, and then
+     * call the method of their superclass.
+     * </p>
+     *
+     * @param other moments to append, which must hold moments of (at least)
+     * the same order as this instance
+     * @throws ClassCastException if {@code other} holds moments of a lower
+     * order than this instance
+     * @since 4.0
+     */
+    public void append(FirstMoment other) {
+        if (other.n == 0) {
+            return;
+        }
+        if (n == 0) {
+            copy(other, this);
+            return;
+        }
+
+        final double n0 = n + other.n;
+        m1 += (other.m1 - m1) * other.n / n0;
+        n += other.n;
+    }
+
     /**
      * Copies source to dest.
      * <p>Neither source nor dest can be null.</p>
@@ -132,6 +132,35 @@ class FourthMoment extends ThirdMoment implements Serializable{
         return result;
     }
 
+    /**
+     * Appends {@code other} to this, effectively aggregating the moments
+     * in {@code other} with this, using the pairwise update formulas
+     * referenced in the {@link org.apache.commons.math4.stat.descriptive.moment
+     * package documentation}.
+     *
+     * @param other moments to append, which must hold a fourth moment
+     * @throws ClassCastException if {@code other} is not a {@code FourthMoment}
+     */
+    @Override
+    public void append(FirstMoment other) {
+        final FourthMoment o = (FourthMoment) other;
+        if (o.n > 0) {
+            if (n == 0) {
+                m4 = o.m4;
+            } else {
+                final double na = n;
+                final double nb = o.n;
+                final double delta = o.m1 - m1;
+                final double deltaN = delta / (na + nb);
+                final double deltaN2 = deltaN * deltaN;
+                m4 += o.m4 + delta * deltaN * deltaN2 * na * nb * (na * na - na * nb + nb * nb) +
+                    6.0 * deltaN2 * (na * na * o.m2 + nb * nb * m2) +
+                    4.0 * deltaN * (na * o.m3 - nb * m3);
+            }
+        }
+        super.append(other);
+    }
+
     /**
      * Copies source to dest.
      * <p>Neither source nor dest can be null.</p>
@@ -20,6 +20,7 @@ import java.io.Serializable;
 
 import org.apache.commons.math4.exception.MathIllegalArgumentException;
 import org.apache.commons.math4.exception.MathIllegalStateException;
+import org.apache.commons.math4.exception.MathUnsupportedOperationException;
 import org.apache.commons.math4.exception.NullArgumentException;
 import org.apache.commons.math4.exception.util.LocalizedFormats;
 import org.apache.commons.math4.stat.descriptive.AbstractStorelessUnivariateStatistic;
@@ -179,6 +180,29 @@ public class GeometricMean extends AbstractStorelessUnivariateStatistic implemen
         return sumOfLogs;
     }
 
+    /**
+     * Appends {@code other} to this, effectively aggregating the computations
+     * in {@code other} with this.  After invoking this method, the result
+     * should be close to the one that would have been obtained by performing
+     * all of the {@link #increment(double)} operations in {@code other}
+     * directly on this.
+     *
+     * @param other GeometricMean to append
+     * @throws NullArgumentException if other is null
+     * @throws MathUnsupportedOperationException if either instance uses a
+     * custom sum of logs implementation.
+     * @since 4.0
+     */
+    public void append(GeometricMean other)
+        throws NullArgumentException, MathUnsupportedOperationException {
+        MathUtils.checkNotNull(other);
+        if (!(sumOfLogs instanceof SumOfLogs) ||
+            !(other.sumOfLogs instanceof SumOfLogs)) {
+            throw new MathUnsupportedOperationException();
+        }
+        ((SumOfLogs) sumOfLogs).append((SumOfLogs) other.sumOfLogs);
+    }
+
     /**
      * Copies source to dest.
      * <p>Neither source nor dest can be null.</p>
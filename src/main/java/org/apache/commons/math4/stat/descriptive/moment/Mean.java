@@ -19,6 +19,7 @@ package org.apache.commons.math4.stat.descriptive.moment;
 import java.io.Serializable;
 
 import org.apache.commons.math4.exception.MathIllegalArgumentException;
+import org.apache.commons.math4.exception.MathUnsupportedOperationException;
 import org.apache.commons.math4.exception.NullArgumentException;
 import org.apache.commons.math4.stat.descriptive.AbstractStorelessUnivariateStatistic;
 import org.apache.commons.math4.stat.descriptive.WeightedEvaluation;
@@ -270,6 +271,28 @@ public class Mean extends AbstractStorelessUnivariateStatistic
         return result;
     }
 
+    /**
+     * Appends {@code other} to this, effectively aggregating the computations
+     * in {@code other} with this.  After invoking this method, the result
+     * should be close to the one that would have been obtained by performing
+     * all of the {@link #increment(double)} operations in {@code other}
+     * directly on this.
+     *
+     * @param other Mean to append
+     * @throws NullArgumentException if other is null
+     * @throws MathUnsupportedOperationException if this instance was
+     * constructed from an external moment (which it does not own).
+     * @since 4.0
+     */
+    public void append(Mean other)
+        throws NullArgumentException, MathUnsupportedOperationException {
+        MathUtils.checkNotNull(other);
+        if (!incMoment) {
+            throw new MathUnsupportedOperationException();
+        }
+        moment.append(other.moment);
+    }
+
     /**
      * Copies source to dest.
      * <p>Neither source nor dest can be null.</p>
@@ -113,6 +113,32 @@ public class SecondMoment extends FirstMoment implements Serializable {
         return result;
     }
 
+    /**
+     * Appends {@code other} to this, effectively aggregating the moments
+     * in {@code other} with this, using the pairwise update formulas
+     * referenced in the {@link org.apache.commons.math4.stat.descriptive.moment
+     * package documentation}.
+     *
+     * @param other moments to append, which must hold (at least) a second moment
+     * @throws ClassCastException if {@code other} is not a {@code SecondMoment}
+     * @since 4.0
+     */
+    @Override
+    public void append(FirstMoment other) {
+        final SecondMoment o = (SecondMoment) other;
+        if (o.n > 0) {
+            if (n == 0) {
+                m2 = o.m2;
+            } else {
+                final double na = n;
+                final double nb = o.n;
+                final double delta = o.m1 - m1;
+                m2 += o.m2 + delta * delta * na * nb / (na + nb);
+            }
+        }
+        super.append(other);
+    }
+
     /**
      * Copies source to dest.
      * <p>Neither source nor dest can be null.</p>
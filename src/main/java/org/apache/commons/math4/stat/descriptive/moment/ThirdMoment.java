@@ -128,6 +128,34 @@ class ThirdMoment extends SecondMoment implements Serializable {
         return result;
     }
 
+    /**
+     * Appends {@code other} to this, effectively aggregating the moments
+     * in {@code other} with this, using the pairwise update formulas
+     * referenced in the {@link org.apache.commons.math4.stat.descriptive.moment
+     * package documentation}.
+     *
+     * @param other moments to append, which must hold (at least) a third moment
+     * @throws ClassCastException if {@code other} is not a {@code ThirdMoment}
+     */
+    @Override
+    public void append(FirstMoment other) {
+        final ThirdMoment o = (ThirdMoment) other;
+        if (o.n > 0) {
+            if (n == 0) {
+                m3 = o.m3;
+                nDevSq = o.nDevSq;
+            } else {
+                final double na = n;
+                final double nb = o.n;
+                final double delta = o.m1 - m1;
+                final double deltaN = delta / (na + nb);
+                m3 += o.m3 + delta * deltaN * deltaN * na * nb * (na - nb) +
+                    3.0 * deltaN * (na * o.m2 - nb * m2);
+            }
+        }
+        super.append(other);
+    }
+
     /**
      * Copies source to dest.
      * <p>Neither source nor dest can be null.</p>
@@ -75,6 +75,31 @@ public class VectorialCovariance implements Serializable {
         n++;
     }
 
+    /**
+     * Appends {@code other} to this, effectively aggregating the computations
+     * in {@code other} with this.  After invoking this method, the result
+     * should be close to what would have been obtained by performing all of
+     * the {@link #increment(double[])} operations in {@code other} directly
+     * on this.
+     *
+     * @param other VectorialCovariance to append
+     * @throws DimensionMismatchException if the dimension of other does not
+     * match this
+     * @since 4.0
+     */
+    public void append(VectorialCovariance other) throws DimensionMismatchException {
+        if (other.sums.length != sums.length) {
+            throw new DimensionMismatchException(other.sums.length, sums.length);
+        }
+        for (int i = 0; i < sums.length; ++i) {
+            sums[i] += other.sums[i];
+        }
+        for (int i = 0; i < productsSums.length; ++i) {
+            productsSums[i] += other.productsSums[i];
+        }
+        n += other.n;
+    }
+
     /**
      * Get the covariance matrix.
      * @return covariance matrix
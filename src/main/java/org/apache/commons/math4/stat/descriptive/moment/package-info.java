@@ -16,5 +16,14 @@
  */
 /**
  * Summary statistics based on moments.
+ * <p>
+ * The moments accumulated by two instances of a statistic can be combined
+ * with its {@code append} method, using the pairwise update formulas given
+ * by Philippe P&eacute;bay in
+ * <a href="http://prod.sandia.gov/techlib/access-control.cgi/2008/086212.pdf">
+ * Formulas for Robust, One-Pass Parallel Computation of Covariances and
+ * Arbitrary-Order Statistical Moments</a>, 2008, Technical Report SAND2008-6212,
+ * Sandia National Laboratories.
+ * </p>
  */
 package org.apache.commons.math4.stat.descriptive.moment;
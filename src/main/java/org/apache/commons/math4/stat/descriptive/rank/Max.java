@@ -152,6 +152,24 @@ public class Max extends AbstractStorelessUnivariateStatistic implements Seriali
         return result;
     }
 
+    /**
+     * Appends {@code other} to this, effectively aggregating the computations
+     * in {@code other} with this.  After invoking this method, the result
+     * is the same as the one that would have been obtained by performing all of the
+     * {@link #increment(double)} operations in {@code other} directly on this.
+     *
+     * @param other Max to append
+     * @throws NullArgumentException if other is null
+     * @since 4.0
+     */
+    public void append(Max other) throws NullArgumentException {
+        MathUtils.checkNotNull(other);
+        if (other.value > value || Double.isNaN(value)) {
+            value = other.value;
+        }
+        n += other.n;
+    }
+
     /**
      * Copies source to dest.
      * <p>Neither source nor dest can be null.</p>
@@ -19,6 +19,7 @@ package org.apache.commons.math4.stat.descriptive.rank;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.function.IntToDoubleFunction;
 
 import org.apache.commons.math4.exception.MathIllegalArgumentException;
 import org.apache.commons.math4.exception.NullArgumentException;
@@ -350,6 +351,100 @@ public class Percentile extends AbstractUnivariateStatistic implements Serializa
                     estimationType.evaluate(work, pivotsHeap, p, kthSelector);
     }
 
+    /**
+     * Returns estimates of several percentiles of the values in the
+     * {@code values} array.
+     * <p>
+     * This is equivalent to calling {@link #evaluate(double[], double)} once
+     * for each element of {@code ps}, but all the required order statistics
+     * are selected in a single pass over a single working copy of the data.
+     * </p>
+     * <p>
+     * The percentiles are given as an array rather than as variable arguments,
+     * so that a call with integer literals cannot be mistaken for
+     * {@link #evaluate(double[], int, int)}.
+     * </p>
+     *
+     * @param values input array of values
+     * @param ps the percentiles to compute (each scaled from 0 - 100)
+     * @return the percentile values, in the same order as {@code ps}
+     * @throws MathIllegalArgumentException if {@code values} or {@code ps}
+     * is null, or if some {@code p} is not a valid quantile value
+     * @since 4.0
+     */
+    public double[] evaluate(final double[] values, final double[] ps)
+        throws MathIllegalArgumentException {
+
+        MathArrays.verifyValues(values, 0, 0);
+        return evaluate(values, 0, values.length, ps);
+    }
+
+    /**
+     * Returns estimates of several percentiles of the values in the
+     * {@code values} array, starting with the element in (0-based)
+     * position {@code begin} in the array and including {@code length}
+     * values.
+     * <p>
+     * This is equivalent to calling {@link #evaluate(double[], int, int, double)}
+     * once for each element of {@code ps}, but all the required order
+     * statistics are selected in a single pass over a single working copy
+     * of the data. The {@link EstimationType estimation type} and
+     * {@link NaNStrategy NaN strategy} are honoured as in the single
+     * percentile case.
+     * </p>
+     *
+     * @param values array of input values
+     * @param begin  the first (0-based) element to include in the computation
+     * @param length  the number of array elements to include
+     * @param ps the percentiles to compute (each scaled from 0 - 100)
+     * @return the percentile values, in the same order as {@code ps}
+     * @throws MathIllegalArgumentException if the parameters are not valid or
+     * the input array is null
+     * @since 4.0
+     */
+    public double[] evaluate(final double[] values, final int begin,
+                             final int length, final double[] ps)
+        throws MathIllegalArgumentException {
+
+        MathArrays.verifyValues(values, begin, length);
+        MathUtils.checkNotNull(ps);
+        for (final double p : ps) {
+            if (p > 100 || p <= 0) {
+                throw new OutOfRangeException(LocalizedFormats.OUT_OF_BOUNDS_QUANTILE_VALUE, p, 0, 100);
+            }
+        }
+
+        final double[] results = new double[ps.length];
+        if (length == 0) {
+            Arrays.fill(results, Double.NaN);
+            return results;
+        }
+        if (length == 1) {
+            Arrays.fill(results, values[begin]); // always return single value for n = 1
+            return results;
+        }
+
+        final double[] work = getWorkArray(values, begin, length);
+        if (work.length == 0) {
+            Arrays.fill(results, Double.NaN);
+            return results;
+        }
+
+        // find out which order statistics the estimations need
+        final RankCollector collector = new RankCollector();
+        for (final double p : ps) {
+            estimationType.evaluate(work, null, p, collector);
+        }
+
+        // select them all at once, then estimate from the selected values
+        kthSelector.select(work, getPivots(values), collector.getRanks());
+        final SelectedValues selected = new SelectedValues();
+        for (int i = 0; i < ps.length; i++) {
+            results[i] = estimationType.evaluate(work, null, ps[i], selected);
+        }
+        return results;
+    }
+
     /**
      * Returns the value of the quantile field (determines what percentile is
      * computed when evaluate() is called with no quantile argument).
@@ -630,6 +725,82 @@ public class Percentile extends AbstractUnivariateStatistic implements Serializa
         return new Percentile(quantile, estimationType, nanStrategy, newKthSelector);
     }
 
+    /**
+     * Selector that only records the indices requested by an
+     * {@link EstimationType}, without selecting anything.
+     */
+    private static class RankCollector extends KthSelector {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20261017L;
+
+        /** Requested indices. */
+        private int[] ranks = new int[4];
+
+        /** Number of requested indices. */
+        private int count;
+
+        /** {@inheritDoc} */
+        @Override
+        public double select(final double[] work, final int[] pivotsHeap, final int k) {
+            if (count == ranks.length) {
+                ranks = Arrays.copyOf(ranks, 2 * count);
+            }
+            ranks[count++] = k;
+            return Double.NaN;
+        }
+
+        /**
+         * Get the requested indices.
+         * @return requested indices (possibly with duplicates)
+         */
+        int[] getRanks() {
+            return Arrays.copyOf(ranks, count);
+        }
+    }
+
+    /**
+     * Selector reading the values from a work array in which all the
+     * requested indices have already been selected.
+     */
+    private static class SelectedValues extends KthSelector {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20261017L;
+
+        /** {@inheritDoc} */
+        @Override
+        public double select(final double[] work, final int[] pivotsHeap, final int k) {
+            return work[k];
+        }
+    }
+
+    /**
+     * Selector reading the values from a function giving direct access
+     * to the order statistics.
+     */
+    private static class OrderStatistics extends KthSelector {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20261017L;
+
+        /** Order statistics. */
+        private final IntToDoubleFunction orderStatistic;
+
+        /**
+         * @param orderStatistic function returning the K<sup>th</sup> smallest value
+         */
+        OrderStatistics(final IntToDoubleFunction orderStatistic) {
+            this.orderStatistic = orderStatistic;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double select(final double[] work, final int[] pivotsHeap, final int k) {
+            return orderStatistic.applyAsDouble(k);
+        }
+    }
+
     /**
      * An enum for various estimation strategies of a percentile referred in
      * <a href="http://en.wikipedia.org/wiki/Quantile">wikipedia on quantile</a>
@@ -1016,6 +1187,32 @@ public class Percentile extends AbstractUnivariateStatistic implements Serializa
             return this.evaluate(work, null, p, selector);
         }
 
+        /**
+         * Evaluate method to compute the percentile of a data set whose order
+         * statistics are directly available, for example because the data
+         * set is maintained in a sorted structure. No work array is needed
+         * and the data set is not modified.
+         *
+         * @param length number of values in the data set
+         * @param p the p<sup>th</sup> quantile to be computed
+         * @param orderStatistic function returning the K<sup>th</sup> smallest
+         * value of the data set, for a 0-based index K
+         * @return estimated percentile
+         * @throws OutOfRangeException if p is out of range
+         * @throws NullArgumentException if orderStatistic is null
+         * @since 4.0
+         */
+        public double evaluate(final int length, final double p,
+                               final IntToDoubleFunction orderStatistic) {
+            MathUtils.checkNotNull(orderStatistic);
+            if (p > 100 || p <= 0) {
+                throw new OutOfRangeException(LocalizedFormats.OUT_OF_BOUNDS_QUANTILE_VALUE,
+                                              p, 0, 100);
+            }
+            return estimate(null, null, index(p / 100d, length), length,
+                            new OrderStatistics(orderStatistic));
+        }
+
         /**
          * Gets the name of the enum
          *
@@ -141,6 +141,22 @@ public class SumOfSquares extends AbstractStorelessUnivariateStatistic implement
         return result;
     }
 
+    /**
+     * Appends {@code other} to this, effectively aggregating the computations
+     * in {@code other} with this.  After invoking this method, the result
+     * is close to the one that would have been obtained by performing all of the
+     * {@link #increment(double)} operations in {@code other} directly on this.
+     *
+     * @param other SumOfSquares to append
+     * @throws NullArgumentException if other is null
+     * @since 4.0
+     */
+    public void append(SumOfSquares other) throws NullArgumentException {
+        MathUtils.checkNotNull(other);
+        value += other.value;
+        n += other.n;
+    }
+
     /**
      * Copies source to dest.
      * <p>Neither source nor dest can be null.</p>
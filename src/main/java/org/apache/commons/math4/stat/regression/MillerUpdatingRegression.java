@@ -16,10 +16,16 @@
  */
 package org.apache.commons.math4.stat.regression;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.math4.exception.util.LocalizedFormats;
+import org.apache.commons.math4.util.ConcurrencyUtils;
 import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.math4.util.MathUtils;
 import org.apache.commons.numbers.core.Precision;
 
 /**
@@ -41,6 +47,9 @@ import org.apache.commons.numbers.core.Precision;
  */
 public class MillerUpdatingRegression implements UpdatingMultipleLinearRegression {
 
+    /** Number of observations processed by each task of the concurrent block update. */
+    private static final int ROWS_PER_TASK = 8192;
+
     /** number of variables in regression */
     private final int nvars;
     /** diagonals of cross products matrix */
@@ -215,6 +224,175 @@ public class MillerUpdatingRegression implements UpdatingMultipleLinearRegressio
         }
     }
 
+    /**
+     * Adds a block of observations stored as primitive arrays. This is
+     * equivalent to calling {@link #addObservation(double[], double)} once per
+     * row, but avoids allocating a new array for each observation.
+     * Unlike {@link #addObservations(double[][], double[])}, the block may hold
+     * fewer observations than are needed to estimate the model, so that data
+     * can be streamed in blocks of any size.
+     *
+     * @param x regressors, stored row by row: the {@code k} values of
+     * observation {@code i} are {@code x[i * k]} to {@code x[i * k + k - 1]},
+     * {@code k} being the number of regressors (excluding the intercept).
+     * @param y observations on the regressand.
+     * @throws ModelSpecificationException if {@code x.length} is not
+     * {@code y.length} times the number of regressors.
+     * @since 4.0
+     */
+    public void addObservations(final double[] x, final double[] y)
+        throws ModelSpecificationException {
+        checkBlock(x, y);
+        addRows(x, y, 0, y.length);
+    }
+
+    /**
+     * Adds a block of observations stored as primitive arrays, building
+     * partial factorizations of contiguous ranges of rows concurrently and
+     * then {@link #merge(MillerUpdatingRegression) merging} them into this
+     * instance, in row order.
+     * The result does not depend on the number of threads used by the
+     * executor; it may differ from {@link #addObservations(double[], double[])}
+     * by rounding errors only.
+     *
+     * @param x regressors, stored row by row (see
+     * {@link #addObservations(double[], double[])}).
+     * @param y observations on the regressand.
+     * @param executor Executor used to process the blocks of rows.
+     * @throws ModelSpecificationException if {@code x.length} is not
+     * {@code y.length} times the number of regressors.
+     * @throws org.apache.commons.math4.exception.NullArgumentException
+     * if {@code executor} is {@code null}.
+     * @since 4.0
+     */
+    public void addObservations(final double[] x,
+                                final double[] y,
+                                final ExecutorService executor)
+        throws ModelSpecificationException {
+        MathUtils.checkNotNull(executor);
+        checkBlock(x, y);
+
+        final int n = y.length;
+        final int tasks = FastMath.max(1, (n + ROWS_PER_TASK - 1) / ROWS_PER_TASK);
+        final int[] bounds = ConcurrencyUtils.split(n, tasks);
+        final List<Callable<MillerUpdatingRegression>> partials = new ArrayList<>(bounds.length - 1);
+        for (int k = 0; k < bounds.length - 1; k++) {
+            final int start = bounds[k];
+            final int end = bounds[k + 1];
+            partials.add(() -> {
+                    final MillerUpdatingRegression partial =
+                        new MillerUpdatingRegression(hasIntercept ? nvars - 1 : nvars,
+                                                     hasIntercept, epsilon);
+                    partial.addRows(x, y, start, end);
+                    return partial;
+                });
+        }
+        for (final MillerUpdatingRegression partial : ConcurrencyUtils.invokeAll(executor, partials)) {
+            merge(partial);
+        }
+    }
+
+    /**
+     * Folds the observations accumulated by another regression into this one.
+     * After the call, this instance holds the same model (up to rounding
+     * errors) as if all the observations added to {@code other} had been
+     * added to it. Regressions fitted on separate shards of a data set can
+     * thus be combined; {@code other} is not modified.
+     *
+     * @param other Regression to merge into this instance.
+     * @throws ModelSpecificationException if {@code other} does not have the
+     * same number of regressors or does not agree on the intercept.
+     * @since 4.0
+     */
+    public void merge(final MillerUpdatingRegression other)
+        throws ModelSpecificationException {
+        if (other.nvars != nvars) {
+            throw new ModelSpecificationException(LocalizedFormats.DIMENSIONS_MISMATCH_SIMPLE,
+                                                  other.nvars, nvars);
+        }
+        if (other.hasIntercept != hasIntercept) {
+            throw new ModelSpecificationException(LocalizedFormats.SIMPLE_MESSAGE,
+                                                  "cannot merge regressions with and without intercept");
+        }
+
+        // Copies guard against merging an instance into itself.
+        final double[] od = other.d.clone();
+        final double[] or = other.r.clone();
+        final double[] orhs = other.rhs.clone();
+        final int[] ovorder = other.vorder.clone();
+        final double osserr = other.sserr;
+        final double osumy = other.sumy;
+        final double osumsqy = other.sumsqy;
+        final long onobs = other.nobs;
+
+        // Position, in this instance, of each variable.
+        final int[] position = new int[nvars];
+        for (int i = 0; i < nvars; i++) {
+            position[vorder[i]] = i;
+        }
+
+        // Each row of the other factorization is an observation whose weight
+        // is the corresponding diagonal element.
+        final double[] row = new double[nvars];
+        int nextr = 0;
+        for (int i = 0; i < nvars; i++) {
+            if (od[i] != 0.0) {
+                Arrays.fill(row, 0.0);
+                row[position[ovorder[i]]] = 1.0;
+                for (int k = i + 1; k < nvars; k++) {
+                    row[position[ovorder[k]]] = or[nextr + k - i - 1];
+                }
+                rotate(row, od[i], orhs[i]);
+            }
+            nextr += nvars - i - 1;
+        }
+
+        sserr = smartAdd(sserr, osserr);
+        sumy = smartAdd(sumy, osumy);
+        sumsqy = smartAdd(sumsqy, osumsqy);
+        nobs += onobs;
+        rss_set = false;
+    }
+
+    /**
+     * Checks the dimensions of a block of observations.
+     *
+     * @param x regressors, stored row by row.
+     * @param y observations on the regressand.
+     * @throws ModelSpecificationException if the dimensions do not match.
+     */
+    private void checkBlock(final double[] x, final double[] y)
+        throws ModelSpecificationException {
+        final int k = hasIntercept ? nvars - 1 : nvars;
+        if ((x == null) || (y == null) || ((long) x.length != (long) y.length * k)) {
+            throw new ModelSpecificationException(
+                  LocalizedFormats.DIMENSIONS_MISMATCH_SIMPLE,
+                  (x == null) ? 0 : x.length,
+                  (y == null) ? 0 : (long) y.length * k);
+        }
+    }
+
+    /**
+     * Adds a range of rows of a block of observations.
+     *
+     * @param x regressors, stored row by row.
+     * @param y observations on the regressand.
+     * @param start first row (inclusive).
+     * @param end last row (exclusive).
+     */
+    private void addRows(final double[] x, final double[] y,
+                         final int start, final int end) {
+        final int k = hasIntercept ? nvars - 1 : nvars;
+        final int offset = hasIntercept ? 1 : 0;
+        final double[] row = new double[nvars];
+        for (int i = start; i < end; i++) {
+            row[0] = 1.0;
+            System.arraycopy(x, i * k, row, offset, k);
+            include(row, 1.0, y[i]);
+            ++nobs;
+        }
+    }
+
     /**
      * The include method is where the QR decomposition occurs. This statement forms all
      * intermediate data which will be used for all derivative measures.
@@ -230,6 +408,21 @@ public class MillerUpdatingRegression implements UpdatingMultipleLinearRegressio
      * @param yi observation on the regressand
      */
     private void include(final double[] x, final double wi, final double yi) {
+        this.rss_set = false;
+        sumy = smartAdd(yi, sumy);
+        sumsqy = smartAdd(sumsqy, yi * yi);
+        rotate(x, wi, yi);
+    }
+
+    /**
+     * Performs the Gentleman rotations which fold a weighted row into the
+     * factorization, without updating the sums of the regressand.
+     *
+     * @param x observations on the regressors (overwritten)
+     * @param wi weight of the this observation
+     * @param yi observation on the regressand
+     */
+    private void rotate(final double[] x, final double wi, final double yi) {
         int nextr = 0;
         double w = wi;
         double y = yi;
@@ -240,8 +433,6 @@ public class MillerUpdatingRegression implements UpdatingMultipleLinearRegressio
         double xk;
         double _w;
         this.rss_set = false;
-        sumy = smartAdd(yi, sumy);
-        sumsqy = smartAdd(sumsqy, yi * yi);
         for (int i = 0; i < x.length; i++) {
             if (w == 0.0) {
                 return;
@@ -17,6 +17,7 @@
 package org.apache.commons.math4.transform;
 
 import java.io.Serializable;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.numbers.complex.Complex;
 import org.apache.commons.numbers.core.ArithmeticUtils;
@@ -25,6 +26,7 @@ import org.apache.commons.math4.analysis.UnivariateFunction;
 import org.apache.commons.math4.exception.MathIllegalArgumentException;
 import org.apache.commons.math4.exception.util.LocalizedFormats;
 import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.math4.util.MathUtils;
 
 /**
  * Implements the Fast Cosine Transform for transformation of one-dimensional
@@ -180,4 +182,102 @@ public class FastCosineTransformer implements RealTransformer, Serializable {
 
         return transformed;
     }
+
+    /**
+     * Computes, in place, the transforms of a batch of equal-length frames
+     * stored contiguously in a flat array: frame {@code j} occupies elements
+     * {@code j * length} to {@code (j + 1) * length - 1}.
+     *
+     * @param data the frames
+     * @param length the length of each frame
+     * @param type the type of transform (forward, inverse) to be performed
+     * @throws org.apache.commons.math4.exception.NotStrictlyPositiveException
+     *   if {@code length} is not strictly positive
+     * @throws org.apache.commons.math4.exception.DimensionMismatchException
+     *   if the array length is not a multiple of {@code length}
+     * @throws MathIllegalArgumentException if {@code length} is not
+     *   a power of two plus one
+     * @since 4.0
+     */
+    public void transformBatch(final double[] data, final int length,
+                               final TransformType type) {
+        LineTransforms.transformBatch(data, null, length,
+                                      LineTransforms.real(this, type), null);
+    }
+
+    /**
+     * Computes, in place, the transforms of a batch of equal-length frames,
+     * using {@code executor} to transform independent frames concurrently.
+     * The result is identical to the one computed by
+     * {@link #transformBatch(double[], int, TransformType)}.
+     *
+     * @param data the frames
+     * @param length the length of each frame
+     * @param type the type of transform (forward, inverse) to be performed
+     * @param executor executor used to run the transforms
+     * @throws org.apache.commons.math4.exception.NotStrictlyPositiveException
+     *   if {@code length} is not strictly positive
+     * @throws org.apache.commons.math4.exception.DimensionMismatchException
+     *   if the array length is not a multiple of {@code length}
+     * @throws MathIllegalArgumentException if {@code length} is not
+     *   a power of two plus one
+     * @since 4.0
+     */
+    public void transformBatch(final double[] data, final int length,
+                               final TransformType type,
+                               final ExecutorService executor) {
+        MathUtils.checkNotNull(executor);
+        LineTransforms.transformBatch(data, null, length,
+                                      LineTransforms.real(this, type), executor);
+    }
+
+    /**
+     * Computes, in place, the multi-dimensional (separable) transform of
+     * data stored in a flat array in row-major order (the last dimension is
+     * contiguous). The data are transformed along the last dimension first
+     * (rows, then columns, ...).
+     *
+     * @param data the data
+     * @param dimensions the sizes of the dimensions, e.g. {@code {rows, columns}}
+     * @param type the type of transform (forward, inverse) to be performed
+     * @throws org.apache.commons.math4.exception.NotStrictlyPositiveException
+     *   if a dimension is not strictly positive
+     * @throws org.apache.commons.math4.exception.DimensionMismatchException
+     *   if the array length is not the product of the dimensions
+     * @throws MathIllegalArgumentException if a dimension is not
+     *   a power of two plus one
+     * @since 4.0
+     */
+    public void transformMultiDimensional(final double[] data, final int[] dimensions,
+                                          final TransformType type) {
+        LineTransforms.transformAll(data, null, dimensions,
+                                    LineTransforms.real(this, type), null);
+    }
+
+    /**
+     * Computes, in place, the multi-dimensional (separable) transform of
+     * data stored in a flat array, using {@code executor} to transform
+     * independent lines concurrently.
+     * The result is identical to the one computed by
+     * {@link #transformMultiDimensional(double[], int[], TransformType)}.
+     *
+     * @param data the data
+     * @param dimensions the sizes of the dimensions, e.g. {@code {rows, columns}}
+     * @param type the type of transform (forward, inverse) to be performed
+     * @param executor executor used to run the transforms
+     * @throws org.apache.commons.math4.exception.NotStrictlyPositiveException
+     *   if a dimension is not strictly positive
+     * @throws org.apache.commons.math4.exception.DimensionMismatchException
+     *   if the array length is not the product of the dimensions
+     * @throws MathIllegalArgumentException if a dimension is not
+     *   a power of two plus one
+     * @since 4.0
+     */
+    public void transformMultiDimensional(final double[] data, final int[] dimensions,
+                                          final TransformType type,
+                                          final ExecutorService executor) {
+        MathUtils.checkNotNull(executor);
+        LineTransforms.transformAll(data, null, dimensions,
+                                    LineTransforms.real(this, type), executor);
+    }
 }
@@ -18,6 +18,8 @@ package org.apache.commons.math4.transform;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+
 import org.apache.commons.numbers.complex.Complex;
 import org.apache.commons.numbers.core.ArithmeticUtils;
 import org.apache.commons.math4.analysis.FunctionUtils;
@@ -25,8 +27,10 @@ import org.apache.commons.math4.analysis.UnivariateFunction;
 import org.apache.commons.math4.exception.DimensionMismatchException;
 import org.apache.commons.math4.exception.MathIllegalArgumentException;
 import org.apache.commons.math4.exception.MathIllegalStateException;
+import org.apache.commons.math4.exception.NullArgumentException;
 import org.apache.commons.math4.exception.util.LocalizedFormats;
 import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.math4.util.MathUtils;
 
 /**
  * Implements the Fast Fourier Transform for transformation of one-dimensional
@@ -44,6 +48,11 @@ import org.apache.commons.math4.util.FastMath;
  * reference, see S. Winograd,
  * <i>On computing the discrete Fourier transform</i>, Mathematics of
  * Computation, 32 (1978), 175 - 199.
+ * <p>
+ * When many transforms of the same size are needed, a
+ * {@link FourierTransformPlan plan} created by {@link #createPlan(int)}
+ * avoids recomputing the twiddle factors and allocating the result on each
+ * call, and also supports sizes that are not a power of 2.
  *
  * @see DftNormalization
  * @since 1.2
@@ -413,4 +422,129 @@ public class FastFourierTransformer implements Serializable {
 
         return TransformUtils.createComplexArray(dataRI);
     }
+
+    /**
+     * Creates a reusable plan for transforms of the given size, with the
+     * normalization convention of this transformer.
+     *
+     * @param n the number of data points (not necessarily a power of two)
+     * @return a new plan
+     * @throws org.apache.commons.math4.exception.NotStrictlyPositiveException
+     *   if {@code n} is not strictly positive
+     * @since 4.0
+     */
+    public FourierTransformPlan createPlan(final int n) {
+        return new FourierTransformPlan(n, normalization);
+    }
+
+    /**
+     * Computes, in place, the transforms of a batch of equal-length complex
+     * frames stored contiguously in flat arrays: frame {@code j} occupies
+     * elements {@code j * length} to {@code (j + 1) * length - 1}.
+     * The frame length need not be a power of two.
+     *
+     * @param dataR the real parts of the frames
+     * @param dataI the imaginary parts of the frames
+     * @param length the length of each frame
+     * @param type the type of transform (forward, inverse) to be performed
+     * @throws org.apache.commons.math4.exception.NotStrictlyPositiveException
+     *   if {@code length} is not strictly positive
+     * @throws DimensionMismatchException if the array lengths differ or are
+     *   not a multiple of {@code length}
+     * @throws NullArgumentException if {@code dataR} or {@code dataI} is {@code null}
+     * @since 4.0
+     */
+    public void transformBatch(final double[] dataR, final double[] dataI,
+                               final int length, final TransformType type) {
+        MathUtils.checkNotNull(dataR);
+        MathUtils.checkNotNull(dataI);
+        LineTransforms.transformBatch(dataR, dataI, length,
+                                      LineTransforms.fourier(normalization, type), null);
+    }
+
+    /**
+     * Computes, in place, the transforms of a batch of equal-length complex
+     * frames, using {@code executor} to transform independent frames
+     * concurrently.
+     * The result is identical to the one computed by
+     * {@link #transformBatch(double[], double[], int, TransformType)}.
+     *
+     * @param dataR the real parts of the frames
+     * @param dataI the imaginary parts of the frames
+     * @param length the length of each frame
+     * @param type the type of transform (forward, inverse) to be performed
+     * @param executor executor used to run the transforms
+     * @throws org.apache.commons.math4.exception.NotStrictlyPositiveException
+     *   if {@code length} is not strictly positive
+     * @throws DimensionMismatchException if the array lengths differ or are
+     *   not a multiple of {@code length}
+     * @throws NullArgumentException if {@code dataR}, {@code dataI} or
+     *   {@code executor} is {@code null}
+     * @since 4.0
+     */
+    public void transformBatch(final double[] dataR, final double[] dataI,
+                               final int length, final TransformType type,
+                               final ExecutorService executor) {
+        MathUtils.checkNotNull(dataR);
+        MathUtils.checkNotNull(dataI);
+        MathUtils.checkNotNull(executor);
+        LineTransforms.transformBatch(dataR, dataI, length,
+                                      LineTransforms.fourier(normalization, type), executor);
+    }
+
+    /**
+     * Computes, in place, the multi-dimensional transform of complex data
+     * stored in flat arrays in row-major order (the last dimension is
+     * contiguous). The data are transformed along the last dimension
+     * first (rows, then columns, ...). The sizes of the dimensions need
+     * not be powers of two.
+     *
+     * @param dataR the real parts of the data
+     * @param dataI the imaginary parts of the data
+     * @param dimensions the sizes of the dimensions, e.g. {@code {rows, columns}}
+     * @param type the type of transform (forward, inverse) to be performed
+     * @throws org.apache.commons.math4.exception.NotStrictlyPositiveException
+     *   if a dimension is not strictly positive
+     * @throws DimensionMismatchException if the array lengths differ or are
+     *   not the product of the dimensions
+     * @throws NullArgumentException if {@code dataR}, {@code dataI} or
+     *   {@code dimensions} is {@code null}
+     * @since 4.0
+     */
+    public void transformMultiDimensional(final double[] dataR, final double[] dataI,
+                                          final int[] dimensions, final TransformType type) {
+        MathUtils.checkNotNull(dataR);
+        MathUtils.checkNotNull(dataI);
+        LineTransforms.transformAll(dataR, dataI, dimensions,
+                                    LineTransforms.fourier(normalization, type), null);
+    }
+
+    /**
+     * Computes, in place, the multi-dimensional transform of complex data,
+     * using {@code executor} to transform independent lines concurrently.
+     * The result is identical to the one computed by
+     * {@link #transformMultiDimensional(double[], double[], int[], TransformType)}.
+     *
+     * @param dataR the real parts of the data
+     * @param dataI the imaginary parts of the data
+     * @param dimensions the sizes of the dimensions, e.g. {@code {rows, columns}}
+     * @param type the type of transform (forward, inverse) to be performed
+     * @param executor executor used to run the transforms
+     * @throws org.apache.commons.math4.exception.NotStrictlyPositiveException
+     *   if a dimension is not strictly positive
+     * @throws DimensionMismatchException if the array lengths differ or are
+     *   not the product of the dimensions
+     * @throws NullArgumentException if {@code dataR}, {@code dataI},
+     *   {@code dimensions} or {@code executor} is {@code null}
+     * @since 4.0
+     */
+    public void transformMultiDimensional(final double[] dataR, final double[] dataI,
+                                          final int[] dimensions, final TransformType type,
+                                          final ExecutorService executor) {
+        MathUtils.checkNotNull(dataR);
+        MathUtils.checkNotNull(dataI);
+        MathUtils.checkNotNull(executor);
+        LineTransforms.transformAll(dataR, dataI, dimensions,
+                                    LineTransforms.fourier(normalization, type), executor);
+    }
 }
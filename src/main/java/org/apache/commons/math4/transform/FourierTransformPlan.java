@@ -0,0 +1,661 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.transform;
+
+import java.util.Arrays;
+
+import org.apache.commons.math4.exception.DimensionMismatchException;
+import org.apache.commons.math4.exception.MathIllegalStateException;
+import org.apache.commons.math4.exception.NotStrictlyPositiveException;
+import org.apache.commons.math4.exception.NumberIsTooLargeException;
+import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.math4.util.MathUtils;
+
+/**
+ * Discrete Fourier transform of a fixed size, with all the tables needed
+ * by the computation prepared once and reused by every call.
+ * <p>
+ * A plan is built for a given number of points {@code n} and a given
+ * {@link DftNormalization normalization}. It caches
+ * </p>
+ * <ul>
+ *  <li>the bit-reversal permutation and the twiddle factors of the radix-2
+ *   transform, computed directly rather than by recurrence,</li>
+ *  <li>for sizes that are not a power of two, the chirp and the transformed
+ *   convolution kernel of Bluestein's algorithm, which reduces the transform
+ *   to a power of two convolution,</li>
+ *  <li>the scratch arrays needed by the transforms.</li>
+ * </ul>
+ * <p>
+ * The transforms read from and write to caller-supplied arrays of real and
+ * imaginary parts, so that repeated transforms of the same size do not
+ * allocate anything. Real data can be transformed through
+ * {@link #transformReal(double[], double[], double[])}, which only computes
+ * the {@code n / 2 + 1} non-redundant frequencies and, for even sizes, only
+ * costs a transform of size {@code n / 2}.
+ * </p>
+ * <p>
+ * Instances are <em>not</em> thread-safe, as they own their scratch arrays;
+ * {@link #copy()} creates a plan sharing the (read-only) tables but with its
+ * own scratch arrays, for use by another thread.
+ * </p>
+ *
+ * @see FastFourierTransformer#createPlan(int)
+ * @since 4.0
+ */
+public class FourierTransformPlan {
+
+    /** Largest size supported by Bluestein's algorithm. */
+    private static final int MAX_BLUESTEIN_SIZE = 1 << 29;
+
+    /** Number of points. */
+    private final int n;
+
+    /** Normalization convention. */
+    private final DftNormalization normalization;
+
+    /** Bit-reversal permutation (null if {@code n} is not a power of two). */
+    private final int[] bitReversal;
+
+    /** Cosines of the radix-2 twiddle factors: {@code cos(2 pi k / n)}. */
+    private final double[] cos;
+
+    /** Sines of the radix-2 twiddle factors: {@code sin(2 pi k / n)}. */
+    private final double[] sin;
+
+    /** Power of two plan for Bluestein's convolution (null if {@code n} is a power of two). */
+    private final FourierTransformPlan convolution;
+
+    /** Real part of the chirp {@code exp(-i pi k^2 / n)}. */
+    private final double[] chirpR;
+
+    /** Imaginary part of the chirp {@code exp(-i pi k^2 / n)}. */
+    private final double[] chirpI;
+
+    /** Real part of the transformed (and scaled) convolution kernel. */
+    private final double[] kernelR;
+
+    /** Imaginary part of the transformed (and scaled) convolution kernel. */
+    private final double[] kernelI;
+
+    /** Real part of the scratch array for Bluestein's algorithm. */
+    private final double[] scratchR;
+
+    /** Imaginary part of the scratch array for Bluestein's algorithm. */
+    private final double[] scratchI;
+
+    /** Half size plan for real transforms (lazily created, null for odd sizes). */
+    private FourierTransformPlan half;
+
+    /** Real part of the scratch array for real transforms. */
+    private double[] realScratchR;
+
+    /** Imaginary part of the scratch array for real transforms. */
+    private double[] realScratchI;
+
+    /** Cosines of the real transforms twiddle factors: {@code cos(2 pi k / n)}. */
+    private double[] realCos;
+
+    /** Sines of the real transforms twiddle factors: {@code sin(2 pi k / n)}. */
+    private double[] realSin;
+
+    /**
+     * Creates a plan.
+     *
+     * @param n Number of points.
+     * @param normalization Normalization convention.
+     * @throws NotStrictlyPositiveException if {@code n <= 0}.
+     * @throws NumberIsTooLargeException if {@code n} is not a power of two
+     * and is larger than 2<sup>29</sup>.
+     * @throws org.apache.commons.math4.exception.NullArgumentException
+     * if {@code normalization} is {@code null}.
+     */
+    public FourierTransformPlan(final int n,
+                                final DftNormalization normalization) {
+        if (n <= 0) {
+            throw new NotStrictlyPositiveException(n);
+        }
+        MathUtils.checkNotNull(normalization);
+        this.n = n;
+        this.normalization = normalization;
+
+        if ((n & (n - 1)) == 0) {
+            bitReversal = createBitReversal(n);
+            cos = new double[n / 2];
+            sin = new double[n / 2];
+            for (int k = 0; k < n / 2; k++) {
+                final double angle = 2 * FastMath.PI * k / n;
+                cos[k] = FastMath.cos(angle);
+                sin[k] = FastMath.sin(angle);
+            }
+            convolution = null;
+            chirpR = null;
+            chirpI = null;
+            kernelR = null;
+            kernelI = null;
+            scratchR = null;
+            scratchI = null;
+        } else {
+            if (n > MAX_BLUESTEIN_SIZE) {
+                throw new NumberIsTooLargeException(n, MAX_BLUESTEIN_SIZE, true);
+            }
+            bitReversal = null;
+            cos = null;
+            sin = null;
+
+            final int m = Integer.highestOneBit(2 * n - 1) << 1;
+            convolution = new FourierTransformPlan(m, normalization);
+
+            // chirp w[k] = exp(-i pi k^2 / n), with k^2 reduced modulo 2n
+            // to keep the angle (hence the rounding error) small
+            chirpR = new double[n];
+            chirpI = new double[n];
+            final long twoN = 2L * n;
+            for (int k = 0; k < n; k++) {
+                final double angle = FastMath.PI * (((long) k * k) % twoN) / n;
+                chirpR[k] = FastMath.cos(angle);
+                chirpI[k] = -FastMath.sin(angle);
+            }
+
+            // kernel b[k] = conj(w[|k|]), wrapped around, transformed once;
+            // the 1 / m factor of the inverse convolution transform is folded in
+            kernelR = new double[m];
+            kernelI = new double[m];
+            kernelR[0] = chirpR[0];
+            kernelI[0] = -chirpI[0];
+            for (int k = 1; k < n; k++) {
+                kernelR[k]     = chirpR[k];
+                kernelI[k]     = -chirpI[k];
+                kernelR[m - k] = chirpR[k];
+                kernelI[m - k] = -chirpI[k];
+            }
+            convolution.transformUnscaled(kernelR, kernelI, false);
+            final double scale = 1.0 / m;
+            for (int k = 0; k < m; k++) {
+                kernelR[k] *= scale;
+                kernelI[k] *= scale;
+            }
+
+            scratchR = new double[m];
+            scratchI = new double[m];
+        }
+    }
+
+    /**
+     * Creates a plan sharing the tables of another one.
+     *
+     * @param original Plan to copy.
+     */
+    private FourierTransformPlan(final FourierTransformPlan original) {
+        n = original.n;
+        normalization = original.normalization;
+        bitReversal = original.bitReversal;
+        cos = original.cos;
+        sin = original.sin;
+        convolution = original.convolution == null ? null : original.convolution.copy();
+        chirpR = original.chirpR;
+        chirpI = original.chirpI;
+        kernelR = original.kernelR;
+        kernelI = original.kernelI;
+        scratchR = original.scratchR == null ? null : new double[original.scratchR.length];
+        scratchI = original.scratchI == null ? null : new double[original.scratchI.length];
+    }
+
+    /**
+     * Creates a plan with the same size and normalization as this one.
+     * The precomputed tables are shared, the scratch arrays are not, so
+     * that the copy can be used concurrently with this instance.
+     *
+     * @return a new plan.
+     */
+    public FourierTransformPlan copy() {
+        return new FourierTransformPlan(this);
+    }
+
+    /**
+     * Gets the number of points of the transforms.
+     *
+     * @return the size of the plan.
+     */
+    public int getSize() {
+        return n;
+    }
+
+    /**
+     * Gets the normalization convention of the transforms.
+     *
+     * @return the normalization.
+     */
+    public DftNormalization getNormalization() {
+        return normalization;
+    }
+
+    /**
+     * Computes the transform of complex data, in place.
+     *
+     * @param dataR Real parts of the data (overwritten with the real parts
+     * of the transform).
+     * @param dataI Imaginary parts of the data (overwritten with the
+     * imaginary parts of the transform).
+     * @param type Type of transform (forward, inverse) to be performed.
+     * @throws DimensionMismatchException if the lengths of the arrays are
+     * not {@link #getSize()}.
+     */
+    public void transform(final double[] dataR,
+                          final double[] dataI,
+                          final TransformType type) {
+        checkLength(dataR, n);
+        checkLength(dataI, n);
+
+        final boolean inverse = type == TransformType.INVERSE;
+        transformUnscaled(dataR, dataI, inverse);
+        normalize(dataR, dataI, n, inverse);
+    }
+
+    /**
+     * Computes the transform of complex data.
+     * The input and output arrays may be the same.
+     *
+     * @param inR Real parts of the data.
+     * @param inI Imaginary parts of the data.
+     * @param outR Real parts of the transform (output).
+     * @param outI Imaginary parts of the transform (output).
+     * @param type Type of transform (forward, inverse) to be performed.
+     * @throws DimensionMismatchException if the lengths of the arrays are
+     * not {@link #getSize()}.
+     */
+    public void transform(final double[] inR,
+                          final double[] inI,
+                          final double[] outR,
+                          final double[] outI,
+                          final TransformType type) {
+        checkLength(inR, n);
+        checkLength(inI, n);
+        checkLength(outR, n);
+        checkLength(outI, n);
+
+        if (outR != inR) {
+            System.arraycopy(inR, 0, outR, 0, n);
+        }
+        if (outI != inI) {
+            System.arraycopy(inI, 0, outI, 0, n);
+        }
+        transform(outR, outI, type);
+    }
+
+    /**
+     * Computes the forward transform of real data.
+     * <p>
+     * As the transform of real data is Hermitian-symmetric, only the
+     * frequencies {@code 0} to {@code n / 2} (included) are computed; the
+     * remaining ones are the complex conjugates of frequencies
+     * {@code n - k}.
+     * </p>
+     *
+     * @param data Real data.
+     * @param outR Real parts of the transform (output), at least
+     * {@code n / 2 + 1} elements.
+     * @param outI Imaginary parts of the transform (output), at least
+     * {@code n / 2 + 1} elements.
+     * @throws DimensionMismatchException if the length of {@code data} is
+     * not {@link #getSize()} or the output arrays are too short.
+     */
+    public void transformReal(final double[] data,
+                              final double[] outR,
+                              final double[] outI) {
+        checkLength(data, n);
+        final int h = n / 2;
+        checkMinLength(outR, h + 1);
+        checkMinLength(outI, h + 1);
+
+        if ((n & 1) == 1 || n == 2) {
+            // no packing possible: full complex transform
+            prepareRealScratch(n);
+            System.arraycopy(data, 0, realScratchR, 0, n);
+            Arrays.fill(realScratchI, 0.0);
+            transformUnscaled(realScratchR, realScratchI, false);
+            System.arraycopy(realScratchR, 0, outR, 0, h + 1);
+            System.arraycopy(realScratchI, 0, outI, 0, h + 1);
+        } else {
+            // pack even and odd samples as a complex sequence of size n / 2
+            prepareRealScratch(h);
+            final double[] zR = realScratchR;
+            final double[] zI = realScratchI;
+            for (int j = 0; j < h; j++) {
+                zR[j] = data[2 * j];
+                zI[j] = data[2 * j + 1];
+            }
+            half.transformUnscaled(zR, zI, false);
+
+            // X[k] = E[k] + exp(-2 pi i k / n) O[k], where
+            // E[k] = (Z[k] + conj(Z[h - k])) / 2 and O[k] = -i (Z[k] - conj(Z[h - k])) / 2
+            outR[0] = zR[0] + zI[0];
+            outI[0] = 0;
+            outR[h] = zR[0] - zI[0];
+            outI[h] = 0;
+            for (int k = 1; k < h; k++) {
+                final double aR = zR[k];
+                final double aI = zI[k];
+                final double bR = zR[h - k];
+                final double bI = -zI[h - k];
+                final double eR = 0.5 * (aR + bR);
+                final double eI = 0.5 * (aI + bI);
+                final double oR = 0.5 * (aI - bI);
+                final double oI = -0.5 * (aR - bR);
+                final double wR = realCos[k];
+                final double wI = -realSin[k];
+                outR[k] = eR + wR * oR - wI * oI;
+                outI[k] = eI + wR * oI + wI * oR;
+            }
+        }
+        normalize(outR, outI, h + 1, false);
+    }
+
+    /**
+     * Computes the inverse transform of the spectrum of real data.
+     * <p>
+     * Only the frequencies {@code 0} to {@code n / 2} (included), as computed
+     * by {@link #transformReal(double[], double[], double[])}, are used: the
+     * spectrum is assumed to be Hermitian-symmetric, so that its inverse
+     * transform is real.
+     * </p>
+     *
+     * @param inR Real parts of the spectrum, at least {@code n / 2 + 1} elements.
+     * @param inI Imaginary parts of the spectrum, at least {@code n / 2 + 1} elements.
+     * @param data Real data (output).
+     * @throws DimensionMismatchException if the length of {@code data} is
+     * not {@link #getSize()} or the input arrays are too short.
+     */
+    public void inverseTransformReal(final double[] inR,
+                                     final double[] inI,
+                                     final double[] data) {
+        checkLength(data, n);
+        final int h = n / 2;
+        checkMinLength(inR, h + 1);
+        checkMinLength(inI, h + 1);
+
+        if ((n & 1) == 1 || n == 2) {
+            // no packing possible: rebuild the full spectrum
+            prepareRealScratch(n);
+            realScratchR[0] = inR[0];
+            realScratchI[0] = 0;
+            for (int k = 1; k <= h; k++) {
+                realScratchR[k]     = inR[k];
+                realScratchI[k]     = inI[k];
+                realScratchR[n - k] = inR[k];
+                realScratchI[n - k] = -inI[k];
+            }
+            if ((n & 1) == 0) {
+                realScratchI[h] = 0;
+            }
+            transformUnscaled(realScratchR, realScratchI, true);
+            System.arraycopy(realScratchR, 0, data, 0, n);
+        } else {
+            // Z[k] = E[k] + i O[k], where
+            // E[k] = X[k] + conj(X[h - k]) and O[k] = exp(2 pi i k / n) (X[k] - conj(X[h - k]))
+            prepareRealScratch(h);
+            final double[] zR = realScratchR;
+            final double[] zI = realScratchI;
+            for (int k = 0; k < h; k++) {
+                final double aR = inR[k];
+                final double aI = k == 0 ? 0 : inI[k];
+                final double bR = inR[h - k];
+                final double bI = k == 0 ? 0 : -inI[h - k];
+                final double eR = aR + bR;
+                final double eI = aI + bI;
+                final double dR = aR - bR;
+                final double dI = aI - bI;
+                final double wR = realCos[k];
+                final double wI = realSin[k];
+                final double oR = wR * dR - wI * dI;
+                final double oI = wR * dI + wI * dR;
+                zR[k] = eR - oI;
+                zI[k] = eI + oR;
+            }
+            half.transformUnscaled(zR, zI, true);
+            for (int j = 0; j < h; j++) {
+                data[2 * j]     = zR[j];
+                data[2 * j + 1] = zI[j];
+            }
+        }
+
+        final double scale = scale(true);
+        if (scale != 1) {
+            for (int j = 0; j < n; j++) {
+                data[j] *= scale;
+            }
+        }
+    }
+
+    /**
+     * Computes the unnormalized transform of complex data, in place.
+     *
+     * @param dataR Real parts of the data.
+     * @param dataI Imaginary parts of the data.
+     * @param inverse Whether to compute the inverse transform.
+     */
+    private void transformUnscaled(final double[] dataR,
+                                   final double[] dataI,
+                                   final boolean inverse) {
+        if (bitReversal != null) {
+            radix2(dataR, dataI, inverse);
+        } else {
+            bluestein(dataR, dataI, inverse);
+        }
+    }
+
+    /**
+     * Radix-2 decimation in time transform, in place.
+     *
+     * @param dataR Real parts of the data.
+     * @param dataI Imaginary parts of the data.
+     * @param inverse Whether to compute the inverse transform.
+     */
+    private void radix2(final double[] dataR,
+                        final double[] dataI,
+                        final boolean inverse) {
+        for (int i = 0; i < n; i++) {
+            final int j = bitReversal[i];
+            if (i < j) {
+                final double tR = dataR[i];
+                dataR[i] = dataR[j];
+                dataR[j] = tR;
+                final double tI = dataI[i];
+                dataI[i] = dataI[j];
+                dataI[j] = tI;
+            }
+        }
+
+        final double sign = inverse ? 1 : -1;
+        for (int size = 2; size <= n; size <<= 1) {
+            final int halfSize = size >> 1;
+            final int step = n / size;
+            for (int r = 0; r < halfSize; r++) {
+                final double wR = cos[r * step];
+                final double wI = sign * sin[r * step];
+                for (int even = r; even < n; even += size) {
+                    final int odd = even + halfSize;
+                    final double oR = dataR[odd];
+                    final double oI = dataI[odd];
+                    final double tR = wR * oR - wI * oI;
+                    final double tI = wR * oI + wI * oR;
+                    final double eR = dataR[even];
+                    final double eI = dataI[even];
+                    dataR[even] = eR + tR;
+                    dataI[even] = eI + tI;
+                    dataR[odd]  = eR - tR;
+                    dataI[odd]  = eI - tI;
+                }
+            }
+        }
+    }
+
+    /**
+     * Bluestein's chirp-z transform, in place.
+     *
+     * @param dataR Real parts of the data.
+     * @param dataI Imaginary parts of the data.
+     * @param inverse Whether to compute the inverse transform.
+     */
+    private void bluestein(final double[] dataR,
+                           final double[] dataI,
+                           final boolean inverse) {
+        // the inverse transform is the conjugate of the forward
+        // transform of the conjugate
+        final double sign = inverse ? -1 : 1;
+
+        // a[k] = x[k] w[k], zero-padded
+        for (int k = 0; k < n; k++) {
+            final double xR = dataR[k];
+            final double xI = sign * dataI[k];
+            scratchR[k] = xR * chirpR[k] - xI * chirpI[k];
+            scratchI[k] = xR * chirpI[k] + xI * chirpR[k];
+        }
+        Arrays.fill(scratchR, n, scratchR.length, 0.0);
+        Arrays.fill(scratchI, n, scratchI.length, 0.0);
+
+        // circular convolution with the kernel
+        convolution.transformUnscaled(scratchR, scratchI, false);
+        for (int k = 0; k < scratchR.length; k++) {
+            final double aR = scratchR[k];
+            final double aI = scratchI[k];
+            scratchR[k] = aR * kernelR[k] - aI * kernelI[k];
+            scratchI[k] = aR * kernelI[k] + aI * kernelR[k];
+        }
+        convolution.transformUnscaled(scratchR, scratchI, true);
+
+        // X[k] = w[k] (a * b)[k]
+        for (int k = 0; k < n; k++) {
+            final double cR = scratchR[k];
+            final double cI = scratchI[k];
+            dataR[k] = cR * chirpR[k] - cI * chirpI[k];
+            dataI[k] = sign * (cR * chirpI[k] + cI * chirpR[k]);
+        }
+    }
+
+    /**
+     * Makes sure the tables and scratch arrays of the real transforms are
+     * available. They are created on first use only.
+     *
+     * @param length Required length of the scratch arrays: {@code n} when
+     * the full complex transform is used, {@code n / 2} when the samples
+     * are packed.
+     */
+    private void prepareRealScratch(final int length) {
+        if (realScratchR == null) {
+            realScratchR = new double[length];
+            realScratchI = new double[length];
+            if (length != n) {
+                half = new FourierTransformPlan(length, normalization);
+                if (cos != null) {
+                    realCos = cos;
+                    realSin = sin;
+                } else {
+                    realCos = new double[length];
+                    realSin = new double[length];
+                    for (int k = 0; k < length; k++) {
+                        final double angle = 2 * FastMath.PI * k / n;
+                        realCos[k] = FastMath.cos(angle);
+                        realSin[k] = FastMath.sin(angle);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the normalization to transformed data.
+     *
+     * @param dataR Real parts of the data.
+     * @param dataI Imaginary parts of the data.
+     * @param length Number of elements to normalize.
+     * @param inverse Whether the data is the result of an inverse transform.
+     */
+    private void normalize(final double[] dataR,
+                           final double[] dataI,
+                           final int length,
+                           final boolean inverse) {
+        final double scale = scale(inverse);
+        if (scale != 1) {
+            for (int i = 0; i < length; i++) {
+                dataR[i] *= scale;
+                dataI[i] *= scale;
+            }
+        }
+    }
+
+    /**
+     * Gets the scaling factor of the transforms.
+     *
+     * @param inverse Whether the transform is an inverse one.
+     * @return the factor to apply to the unnormalized transform.
+     */
+    private double scale(final boolean inverse) {
+        switch (normalization) {
+            case STANDARD:
+                return inverse ? 1.0 / n : 1;
+            case UNITARY:
+                return 1.0 / FastMath.sqrt(n);
+            default:
+                // safeguard against normalizations added without updating this switch
+                throw new MathIllegalStateException();
+        }
+    }
+
+    /**
+     * Creates the bit-reversal permutation of a power of two size.
+     *
+     * @param n Size (a power of two).
+     * @return the permutation.
+     */
+    private static int[] createBitReversal(final int n) {
+        final int[] permutation = new int[n];
+        final int bits = Integer.numberOfTrailingZeros(n);
+        for (int i = 1; i < n; i++) {
+            permutation[i] = Integer.reverse(i) >>> (32 - bits);
+        }
+        return permutation;
+    }
+
+    /**
+     * Checks the length of an array.
+     *
+     * @param array Array to check.
+     * @param expected Expected length.
+     * @throws DimensionMismatchException if the lengths differ.
+     */
+    private static void checkLength(final double[] array,
+                                    final int expected) {
+        if (array.length != expected) {
+            throw new DimensionMismatchException(array.length, expected);
+        }
+    }
+
+    /**
+     * Checks the minimal length of an array.
+     *
+     * @param array Array to check.
+     * @param expected Minimal length.
+     * @throws DimensionMismatchException if the array is too short.
+     */
+    private static void checkMinLength(final double[] array,
+                                       final int expected) {
+        if (array.length < expected) {
+            throw new DimensionMismatchException(array.length, expected);
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.transform;
+
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.math4.exception.DimensionMismatchException;
+import org.apache.commons.math4.exception.NotStrictlyPositiveException;
+import org.apache.commons.math4.exception.NullArgumentException;
+import org.apache.commons.math4.util.ConcurrencyUtils;
+import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.math4.util.MathUtils;
+
+/**
+ * Applies one-dimensional transforms along the lines of data sets stored
+ * in flat arrays, in row-major order (the last dimension is contiguous).
+ * <p>
+ * A batch of equal-length frames is a two-dimensional data set that is
+ * only transformed along its last dimension; a multi-dimensional
+ * transform is obtained by transforming along each dimension in turn,
+ * starting from the last one (rows, then columns, ...).
+ * </p>
+ *
+ * @since 4.0
+ */
+final class LineTransforms {
+
+    /** Approximate number of data points transformed by each concurrent task. */
+    private static final int POINTS_PER_TASK = 1 << 14;
+
+    /**
+     * Transform of a single line.
+     * Instances may hold scratch arrays: each one is used by a single thread.
+     */
+    interface Line {
+        /**
+         * Transforms a line in place.
+         *
+         * @param lineR Real parts of the line.
+         * @param lineI Imaginary parts of the line ({@code null} for real transforms).
+         */
+        void transform(double[] lineR, double[] lineI);
+
+        /**
+         * Creates a transform equivalent to this one, for use by another thread.
+         * Stateless implementations may return {@code this}.
+         *
+         * @return a transform that can be used concurrently with this one.
+         */
+        Line copy();
+    }
+
+    /**
+     * Factory of line transforms.
+     */
+    interface LineFactory {
+        /**
+         * Creates a transform of lines of the given length.
+         * It is called once per dimension, in the calling thread.
+         *
+         * @param length Length of the lines.
+         * @return a new line transform.
+         */
+        Line create(int length);
+    }
+
+    /** Private constructor (class contains only static methods). */
+    private LineTransforms() {}
+
+    /**
+     * Creates a factory of complex line transforms based on
+     * {@link FourierTransformPlan plans}.
+     *
+     * @param normalization Normalization of the transforms.
+     * @param type Type of transform (forward, inverse) to be performed.
+     * @return a new factory.
+     */
+    static LineFactory fourier(final DftNormalization normalization,
+                               final TransformType type) {
+        return length -> new PlanLine(new FourierTransformPlan(length, normalization), type);
+    }
+
+    /**
+     * Creates a factory of real line transforms.
+     *
+     * @param transformer Transformer applied to each line.
+     * @param type Type of transform (forward, inverse) to be performed.
+     * @return a new factory.
+     */
+    static LineFactory real(final RealTransformer transformer,
+                            final TransformType type) {
+        final Line line = new Line() {
+            /** {@inheritDoc} */
+            @Override
+            public void transform(final double[] lineR, final double[] lineI) {
+                final double[] transformed = transformer.transform(lineR, type);
+                System.arraycopy(transformed, 0, lineR, 0, lineR.length);
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public Line copy() {
+                return this;
+            }
+        };
+        return length -> line;
+    }
+
+    /**
+     * Transforms each frame of a batch, in place.
+     *
+     * @param dataR Real parts of the frames, stored contiguously.
+     * @param dataI Imaginary parts of the frames ({@code null} for real transforms).
+     * @param length Length of each frame.
+     * @param factory Factory of line transforms.
+     * @param executor Executor used to transform frames concurrently
+     * ({@code null} to transform them in the calling thread).
+     * @throws NotStrictlyPositiveException if {@code length <= 0}.
+     * @throws DimensionMismatchException if the length of the data is not
+     * a multiple of {@code length}, or if the real and imaginary parts
+     * have different lengths.
+     */
+    static void transformBatch(final double[] dataR,
+                               final double[] dataI,
+                               final int length,
+                               final LineFactory factory,
+                               final ExecutorService executor) {
+        MathUtils.checkNotNull(dataR);
+        if (length <= 0) {
+            throw new NotStrictlyPositiveException(length);
+        }
+        checkImaginary(dataR, dataI);
+        if (dataR.length % length != 0) {
+            throw new DimensionMismatchException(dataR.length, (dataR.length / length + 1) * length);
+        }
+        transformAxis(dataR, dataI, dataR.length / length, length, 1, factory, executor);
+    }
+
+    /**
+     * Transforms a multi-dimensional data set along all its dimensions, in place.
+     *
+     * @param dataR Real parts of the data, in row-major order.
+     * @param dataI Imaginary parts of the data ({@code null} for real transforms).
+     * @param dimensions Sizes of the dimensions.
+     * @param factory Factory of line transforms.
+     * @param executor Executor used to transform lines concurrently
+     * ({@code null} to transform them in the calling thread).
+     * @throws NotStrictlyPositiveException if a dimension is not strictly positive.
+     * @throws DimensionMismatchException if the length of the data is not the
+     * product of the dimensions, or if the real and imaginary parts have
+     * different lengths.
+     * @throws NullArgumentException if {@code dataR} or {@code dimensions} is {@code null}.
+     */
+    static void transformAll(final double[] dataR,
+                             final double[] dataI,
+                             final int[] dimensions,
+                             final LineFactory factory,
+                             final ExecutorService executor) {
+        MathUtils.checkNotNull(dataR);
+        MathUtils.checkNotNull(dimensions);
+        checkImaginary(dataR, dataI);
+        long size = 1;
+        for (final int dimension : dimensions) {
+            if (dimension <= 0) {
+                throw new NotStrictlyPositiveException(dimension);
+            }
+            size *= dimension;
+            if (size > dataR.length) {
+                break;
+            }
+        }
+        if (size != dataR.length) {
+            throw new DimensionMismatchException(dataR.length, (int) FastMath.min(size, Integer.MAX_VALUE));
+        }
+
+        int stride = 1;
+        for (int d = dimensions.length - 1; d >= 0; d--) {
+            final int length = dimensions[d];
+            transformAxis(dataR, dataI, dataR.length / (length * stride), length, stride,
+                          factory, executor);
+            stride *= length;
+        }
+    }
+
+    /**
+     * Transforms all the lines along one dimension, in place.
+     *
+     * @param dataR Real parts of the data.
+     * @param dataI Imaginary parts of the data ({@code null} for real transforms).
+     * @param outer Product of the sizes of the dimensions before the transformed one.
+     * @param length Size of the transformed dimension.
+     * @param stride Product of the sizes of the dimensions after the transformed one.
+     * @param factory Factory of line transforms.
+     * @param executor Executor ({@code null} for the calling thread).
+     */
+    private static void transformAxis(final double[] dataR,
+                                      final double[] dataI,
+                                      final int outer,
+                                      final int length,
+                                      final int stride,
+                                      final LineFactory factory,
+                                      final ExecutorService executor) {
+        final int lines = outer * stride;
+        final Line line = factory.create(length);
+        if (executor == null) {
+            transformLines(dataR, dataI, length, stride, line, 0, lines);
+        } else {
+            final int linesPerTask = FastMath.max(1, POINTS_PER_TASK / length);
+            final int tasks = FastMath.max(1, (lines + linesPerTask - 1) / linesPerTask);
+            ConcurrencyUtils.forEachRange(executor, lines, tasks,
+                                          (start, end) -> transformLines(dataR, dataI, length, stride,
+                                                                         line.copy(), start, end));
+        }
+    }
+
+    /**
+     * Transforms a range of lines along one dimension, in place.
+     *
+     * @param dataR Real parts of the data.
+     * @param dataI Imaginary parts of the data ({@code null} for real transforms).
+     * @param length Size of the transformed dimension.
+     * @param stride Distance between consecutive elements of a line.
+     * @param line Line transform.
+     * @param start Index of the first line (inclusive).
+     * @param end Index of the last line (exclusive).
+     */
+    private static void transformLines(final double[] dataR,
+                                       final double[] dataI,
+                                       final int length,
+                                       final int stride,
+                                       final Line line,
+                                       final int start,
+                                       final int end) {
+        final double[] lineR = new double[length];
+        final double[] lineI = dataI == null ? null : new double[length];
+        for (int l = start; l < end; l++) {
+            // line l starts at element (l / stride) * length * stride + l % stride
+            final int first = (l / stride) * length * stride + l % stride;
+            gather(dataR, lineR, first, stride);
+            if (lineI != null) {
+                gather(dataI, lineI, first, stride);
+            }
+            line.transform(lineR, lineI);
+            scatter(lineR, dataR, first, stride);
+            if (lineI != null) {
+                scatter(lineI, dataI, first, stride);
+            }
+        }
+    }
+
+    /**
+     * Copies a line out of the data.
+     *
+     * @param data Data.
+     * @param line Line (output).
+     * @param first Index of the first element of the line in the data.
+     * @param stride Distance between consecutive elements of the line.
+     */
+    private static void gather(final double[] data, final double[] line,
+                               final int first, final int stride) {
+        if (stride == 1) {
+            System.arraycopy(data, first, line, 0, line.length);
+        } else {
+            for (int k = 0, i = first; k < line.length; k++, i += stride) {
+                line[k] = data[i];
+            }
+        }
+    }
+
+    /**
+     * Copies a line back into the data.
+     *
+     * @param line Line.
+     * @param data Data (output).
+     * @param first Index of the first element of the line in the data.
+     * @param stride Distance between consecutive elements of the line.
+     */
+    private static void scatter(final double[] line, final double[] data,
+                                final int first, final int stride) {
+        if (stride == 1) {
+            System.arraycopy(line, 0, data, first, line.length);
+        } else {
+            for (int k = 0, i = first; k < line.length; k++, i += stride) {
+                data[i] = line[k];
+            }
+        }
+    }
+
+    /**
+     * Checks the imaginary parts have the same length as the real parts.
+     *
+     * @param dataR Real parts.
+     * @param dataI Imaginary parts (may be {@code null}).
+     * @throws DimensionMismatchException if the lengths differ.
+     */
+    private static void checkImaginary(final double[] dataR, final double[] dataI) {
+        if (dataI != null && dataI.length != dataR.length) {
+            throw new DimensionMismatchException(dataI.length, dataR.length);
+        }
+    }
+
+    /**
+     * Complex line transform using a Fourier transform plan.
+     */
+    private static class PlanLine implements Line {
+        /** Plan (owned by a single thread). */
+        private final FourierTransformPlan plan;
+        /** Type of transform. */
+        private final TransformType type;
+
+        /**
+         * @param plan Plan (owned by the new instance).
+         * @param type Type of transform.
+         */
+        PlanLine(final FourierTransformPlan plan,
+                 final TransformType type) {
+            this.plan = plan;
+            this.type = type;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void transform(final double[] lineR, final double[] lineI) {
+            plan.transform(lineR, lineI, type);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Line copy() {
+            return new PlanLine(plan.copy(), type);
+        }
+    }
+}
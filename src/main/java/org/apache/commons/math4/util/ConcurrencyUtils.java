@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+import org.apache.commons.math4.exception.MathIllegalStateException;
+import org.apache.commons.math4.exception.NotPositiveException;
+import org.apache.commons.math4.exception.NotStrictlyPositiveException;
+import org.apache.commons.math4.exception.util.LocalizedFormats;
+
+/**
+ * Utilities for running independent tasks on a caller-supplied
+ * {@link ExecutorService}.
+ * <p>
+ * The methods of this class always wait for all submitted tasks to
+ * complete before returning. Unchecked exceptions and errors raised
+ * by a task are rethrown as is in the calling thread; checked exceptions
+ * are wrapped in a {@link MathIllegalStateException}.
+ * </p>
+ *
+ * @since 4.0
+ */
+public final class ConcurrencyUtils {
+
+    /** Private constructor (class contains only static methods). */
+    private ConcurrencyUtils() {}
+
+    /**
+     * Executes the given tasks and returns their results.
+     *
+     * @param <T> Type of the results.
+     * @param executor Executor used to run the tasks.
+     * @param tasks Tasks to run.
+     * @return the results of the tasks, in the same order as {@code tasks}.
+     * @throws org.apache.commons.math4.exception.NullArgumentException
+     * if {@code executor} or {@code tasks} is {@code null}.
+     * @throws MathIllegalStateException if the calling thread is interrupted
+     * or if a task throws a checked exception.
+     */
+    public static <T> List<T> invokeAll(final ExecutorService executor,
+                                        final Collection<? extends Callable<T>> tasks) {
+        MathUtils.checkNotNull(executor);
+        MathUtils.checkNotNull(tasks);
+
+        try {
+            final List<Future<T>> futures = executor.invokeAll(tasks);
+            final List<T> results = new ArrayList<>(futures.size());
+            for (final Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MathIllegalStateException(e, LocalizedFormats.ILLEGAL_STATE);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MathIllegalStateException(cause, LocalizedFormats.USER_EXCEPTION);
+        }
+    }
+
+    /**
+     * Calls {@code body} once for each index in {@code [0, n)}, each call
+     * being submitted as a separate task.
+     * Calls for different indices must not depend on each other.
+     *
+     * @param executor Executor used to run the tasks.
+     * @param n Number of indices.
+     * @param body Action to perform for each index.
+     * @throws NotPositiveException if {@code n < 0}.
+     * @throws org.apache.commons.math4.exception.NullArgumentException
+     * if {@code executor} or {@code body} is {@code null}.
+     * @throws MathIllegalStateException if the calling thread is interrupted
+     * or if a task throws a checked exception.
+     */
+    public static void forEach(final ExecutorService executor,
+                               final int n,
+                               final IntConsumer body) {
+        if (n < 0) {
+            throw new NotPositiveException(n);
+        }
+        MathUtils.checkNotNull(body);
+
+        final List<Callable<Void>> tasks = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            final int index = i;
+            tasks.add(() -> {
+                    body.accept(index);
+                    return null;
+                });
+        }
+        invokeAll(executor, tasks);
+    }
+
+    /**
+     * Splits {@code [0, n)} into at most {@code chunks} contiguous ranges of
+     * nearly equal size and calls {@code body} once per range, each call being
+     * submitted as a separate task.
+     * Calls for different ranges must not depend on each other.
+     *
+     * @param executor Executor used to run the tasks.
+     * @param n Number of indices.
+     * @param chunks Maximum number of ranges.
+     * @param body Action to perform on each range; its arguments are the
+     * start (inclusive) and end (exclusive) of the range.
+     * @throws NotPositiveException if {@code n < 0}.
+     * @throws NotStrictlyPositiveException if {@code chunks <= 0}.
+     * @throws org.apache.commons.math4.exception.NullArgumentException
+     * if {@code executor} or {@code body} is {@code null}.
+     * @throws MathIllegalStateException if the calling thread is interrupted
+     * or if a task throws a checked exception.
+     */
+    public static void forEachRange(final ExecutorService executor,
+                                    final int n,
+                                    final int chunks,
+                                    final RangeConsumer body) {
+        if (n < 0) {
+            throw new NotPositiveException(n);
+        }
+        if (chunks <= 0) {
+            throw new NotStrictlyPositiveException(chunks);
+        }
+        MathUtils.checkNotNull(body);
+
+        final int[] bounds = split(n, chunks);
+        forEach(executor, bounds.length - 1,
+                k -> body.accept(bounds[k], bounds[k + 1]));
+    }
+
+    /**
+     * Splits {@code [0, n)} into at most {@code chunks} contiguous ranges
+     * of nearly equal size.
+     *
+     * @param n Number of indices.
+     * @param chunks Maximum number of ranges.
+     * @return the boundaries of the ranges: range {@code k} spans
+     * {@code [b[k], b[k + 1])}.
+     */
+    public static int[] split(final int n,
+                              final int chunks) {
+        final int count = FastMath.max(1, FastMath.min(n, chunks));
+        final int[] bounds = new int[count + 1];
+        for (int k = 0; k <= count; k++) {
+            bounds[k] = (int) (((long) n * k) / count);
+        }
+        return bounds;
+    }
+
+    /**
+     * Action performed on a range of indices.
+     */
+    @FunctionalInterface
+    public interface RangeConsumer {
+        /**
+         * @param start First index of the range (inclusive).
+         * @param end Last index of the range (exclusive).
+         */
+        void accept(int start, int end);
+    }
+}
@@ -1163,6 +1163,21 @@ public class FastMath {
      * @return log(x)
      */
     private static double log(final double x, final double[] hiPrec) {
+        return log(x, hiPrec, Double.NaN);
+    }
+
+    /**
+     * Internal kernel of the natural logarithm and power functions.
+     * <p>If {@code y} is not NaN, the logarithm of x is computed with
+     * extra precision and x<sup>y</sup> is returned, which is the general
+     * case of {@link #pow(double, double)}; this avoids a temporary array
+     * for the high precision logarithm.</p>
+     * @param x original argument of the natural logarithm function
+     * @param hiPrec extra bits of precision on output (To Be Confirmed)
+     * @param y exponent, or NaN if log(x) is required
+     * @return log(x), or x<sup>y</sup> if {@code y} is not NaN
+     */
+    private static double log(final double x, final double[] hiPrec, final double y) {
         if (x==0) { // Handle special case of +0/-0
             return Double.NEGATIVE_INFINITY;
         }
@@ -1209,7 +1224,8 @@ public class FastMath {
         }
 
 
-        if ((exp == -1 || exp == 0) && x < 1.01 && x > 0.99 && hiPrec == null) {
+        final boolean power = !Double.isNaN(y);
+        if ((exp == -1 || exp == 0) && x < 1.01 && x > 0.99 && hiPrec == null && !power) {
             /* The normal method doesn't work well in the range [0.99, 1.01], so call do a straight
            polynomial expansion in higer precision. */
 
@@ -1273,7 +1289,7 @@ public class FastMath {
         double lnza = 0.0;
         double lnzb = 0.0;
 
-        if (hiPrec != null) {
+        if (hiPrec != null || power) {
             /* split epsilon -> x */
             double tmp = epsilon * HEX_40000000;
             double aa = epsilon + tmp - tmp;
@@ -1381,9 +1397,56 @@ public class FastMath {
             hiPrec[1] = b;
         }
 
+        if (power) {
+            return powHiPrec(a, b, y);
+        }
+
         return a + b;
     }
 
+    /**
+     * Computes exp(y * ln(x)) from a high precision logarithm.
+     *
+     * @param lnxa high part of ln(x)
+     * @param lnxb low part of ln(x)
+     * @param y exponent
+     * @return x<sup>y</sup>
+     */
+    private static double powHiPrec(final double lnxa, final double lnxb, final double y) {
+
+        // Split y into ya and yb such that y = ya+yb
+        final double tmp = y * HEX_40000000;
+        final double ya = (y + tmp) - tmp;
+        final double yb = y - ya;
+
+        double lna = lnxa;
+        double lnb = lnxb;
+
+        /* resplit lns */
+        final double tmp1 = lna * HEX_40000000;
+        final double tmp2 = (lna + tmp1) - tmp1;
+        lnb += lna - tmp2;
+        lna = tmp2;
+
+        // y*ln(x) = (aa+ab)
+        final double aa = lna * ya;
+        final double ab = lna * yb + lnb * ya + lnb * yb;
+
+        lna = aa+ab;
+        lnb = -(lna - aa - ab);
+
+        double z = 1.0 / 120.0;
+        z = z * lnb + (1.0 / 24.0);
+        z = z * lnb + (1.0 / 6.0);
+        z = z * lnb + 0.5;
+        z = z * lnb + 1.0;
+        z *= lnb;
+
+        final double result = exp(lna, z, null);
+        //result = result + result * z;
+        return result;
+    }
+
     /**
      * Computes log(1 + x).
      *
@@ -1560,45 +1623,8 @@ public class FastMath {
                 } else {
 
                     // this is the general case, for regular fractional numbers x and y
-
-                    // Split y into ya and yb such that y = ya+yb
-                    final double tmp = y * HEX_40000000;
-                    final double ya = (y + tmp) - tmp;
-                    final double yb = y - ya;
-
-                    /* Compute ln(x) */
-                    final double lns[] = new double[2];
-                    final double lores = log(x, lns);
-                    if (Double.isInfinite(lores)) { // don't allow this to be converted to NaN
-                        return lores;
-                    }
-
-                    double lna = lns[0];
-                    double lnb = lns[1];
-
-                    /* resplit lns */
-                    final double tmp1 = lna * HEX_40000000;
-                    final double tmp2 = (lna + tmp1) - tmp1;
-                    lnb += lna - tmp2;
-                    lna = tmp2;
-
-                    // y*ln(x) = (aa+ab)
-                    final double aa = lna * ya;
-                    final double ab = lna * yb + lnb * ya + lnb * yb;
-
-                    lna = aa+ab;
-                    lnb = -(lna - aa - ab);
-
-                    double z = 1.0 / 120.0;
-                    z = z * lnb + (1.0 / 24.0);
-                    z = z * lnb + (1.0 / 6.0);
-                    z = z * lnb + 0.5;
-                    z = z * lnb + 1.0;
-                    z *= lnb;
-
-                    final double result = exp(lna, z, null);
-                    //result = result + result * z;
-                    return result;
+                    // (x is finite and strictly positive, so its logarithm is finite)
+                    return log(x, null, y);
 
                 }
             }
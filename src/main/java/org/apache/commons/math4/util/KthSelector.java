@@ -114,6 +114,118 @@ public class KthSelector implements Serializable {
         return work[k];
     }
 
+    /**
+     * Select several order statistics in a single pass over the array.
+     * <p>
+     * The work array is partitioned recursively, each partition being split
+     * only if it contains some of the requested indices, so the cost of
+     * selecting {@code m} order statistics is much lower than that of
+     * {@code m} independent calls to {@link #select(double[], int[], int)}.
+     * On return, {@code work[k[i]]} holds the K<sup>th</sup> value for each
+     * requested index, exactly as if {@link #select(double[], int[], int)}
+     * had been called for it. The pivots heap is used and updated the same
+     * way as in {@link #select(double[], int[], int)}, so both methods can
+     * be mixed on the same work array.
+     * </p>
+     *
+     * @param work work array to use to find out the K<sup>th</sup> values
+     * @param pivotsHeap cached pivots heap that can be used for efficient estimation
+     * @param k the indices whose values in the array are of interest (in any order)
+     * @return K<sup>th</sup> values, in the same order as {@code k}
+     * @throws NullArgumentException if {@code k} is {@code null}
+     * @since 4.0
+     */
+    public double[] select(final double[] work, final int[] pivotsHeap, final int[] k)
+        throws NullArgumentException {
+        MathUtils.checkNotNull(k);
+        final int[] sorted = k.clone();
+        Arrays.sort(sorted);
+        select(work, pivotsHeap, sorted, 0, sorted.length, 0, work.length, 0);
+
+        final double[] values = new double[k.length];
+        for (int i = 0; i < k.length; i++) {
+            values[i] = work[k[i]];
+        }
+        return values;
+    }
+
+    /**
+     * Select the order statistics for a sorted range of indices within
+     * an array slice.
+     *
+     * @param work work array
+     * @param pivotsHeap cached pivots heap (may be null)
+     * @param k sorted indices
+     * @param kBegin index of the first index of interest in {@code k}
+     * @param kEnd index after the last index of interest in {@code k}
+     * @param begin index of the first element of the slice of work array
+     * @param end index after the last element of the slice of work array
+     * @param node node of the pivots heap corresponding to the slice
+     */
+    private void select(final double[] work, final int[] pivotsHeap, final int[] k,
+                        int kBegin, int kEnd, int begin, int end, int node) {
+        final boolean usePivotsHeap = pivotsHeap != null;
+        while (kBegin < kEnd) {
+            if (end - begin <= MIN_SELECT_SIZE) {
+                Arrays.sort(work, begin, end);
+                return;
+            }
+
+            final int pivot;
+            if (usePivotsHeap && node < pivotsHeap.length &&
+                    pivotsHeap[node] >= 0) {
+                // the pivot has already been found in a previous call
+                // and the array has already been partitioned around it
+                pivot = pivotsHeap[node];
+            } else {
+                // select a pivot and partition work array around it
+                pivot = partition(work, begin, end, pivotingStrategy.pivotIndex(work, begin, end));
+                if (usePivotsHeap && node < pivotsHeap.length) {
+                    pivotsHeap[node] = pivot;
+                }
+            }
+
+            // split the indices between the left and right partitions,
+            // indices equal to the pivot are already settled
+            int kLeftEnd = kBegin;
+            while (kLeftEnd < kEnd && k[kLeftEnd] < pivot) {
+                ++kLeftEnd;
+            }
+            int kRightBegin = kLeftEnd;
+            while (kRightBegin < kEnd && k[kRightBegin] == pivot) {
+                ++kRightBegin;
+            }
+            final int leftNode  = FastMath.min(2 * node + 1, usePivotsHeap ? pivotsHeap.length : end);
+            final int rightNode = FastMath.min(2 * node + 2, usePivotsHeap ? pivotsHeap.length : end);
+
+            if (kBegin < kLeftEnd && kRightBegin < kEnd) {
+                // both partitions are needed: recurse into the smaller one
+                // and iterate on the larger one, to bound the recursion depth
+                if (pivot - begin < end - pivot - 1) {
+                    select(work, pivotsHeap, k, kBegin, kLeftEnd, begin, pivot, leftNode);
+                    kBegin = kRightBegin;
+                    begin  = pivot + 1;
+                    node   = rightNode;
+                } else {
+                    select(work, pivotsHeap, k, kRightBegin, kEnd, pivot + 1, end, rightNode);
+                    kEnd = kLeftEnd;
+                    end  = pivot;
+                    node = leftNode;
+                }
+            } else if (kBegin < kLeftEnd) {
+                // only the left partition is needed
+                kEnd = kLeftEnd;
+                end  = pivot;
+                node = leftNode;
+            } else {
+                // only the right partition is needed (possibly empty)
+                kBegin = kRightBegin;
+                begin  = pivot + 1;
+                node   = rightNode;
+            }
+        }
+    }
+
     /**
      * Partition an array slice around a pivot.Partitioning exchanges array
      * elements such that all elements smaller than pivot are before it and
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.analysis.interpolation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test case for {@link KDTree}.
+ */
+public class KDTreeTest {
+    @Test
+    public void testNearestMatchesExhaustiveSearch() {
+        final UniformRandomProvider rng = RandomSource.create(RandomSource.MT, 13579L);
+        for (int dim = 1; dim <= 4; dim++) {
+            final double[][] points = new double[2000][dim];
+            for (double[] p : points) {
+                for (int d = 0; d < dim; d++) {
+                    // Few distinct values along the first coordinate.
+                    p[d] = d == 0 ? rng.nextInt(5) : rng.nextDouble();
+                }
+            }
+            final KDTree tree = new KDTree(points);
+            for (int q = 0; q < 50; q++) {
+                final double[] query = new double[dim];
+                for (int d = 0; d < dim; d++) {
+                    query[d] = 2 * rng.nextDouble() - 0.5;
+                }
+                for (int k : new int[] { 1, 7, 30 }) {
+                    final int[] found = tree.nearest(query, k);
+                    Assert.assertEquals(k, found.length);
+                    final int[] expected = exhaustiveSearch(points, query, k);
+                    // Distances must agree (ties may be broken differently).
+                    final double[] dFound = sortedDistances(points, query, found);
+                    final double[] dExpected = sortedDistances(points, query, expected);
+                    Assert.assertArrayEquals(dExpected, dFound, 0);
+                    for (int i = 1; i < found.length; i++) {
+                        Assert.assertTrue(found[i - 1] < found[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMoreNeighboursThanPoints() {
+        final double[][] points = { { 0 }, { 3 }, { 1 } };
+        Assert.assertArrayEquals(new int[] { 0, 1, 2 }, new KDTree(points).nearest(new double[] { 2 }, 10));
+        Assert.assertArrayEquals(new int[] { 1 }, new KDTree(points).nearest(new double[] { 2.6 }, 1));
+    }
+
+    @Test
+    public void testDuplicatePoints() {
+        final double[][] points = new double[100][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new double[] { 1, 2 };
+        }
+        points[42] = new double[] { 5, 5 };
+        final int[] found = new KDTree(points).nearest(new double[] { 5, 4 }, 2);
+        Assert.assertEquals(2, found.length);
+        Assert.assertTrue(found[0] == 42 || found[1] == 42);
+    }
+
+    private static int[] exhaustiveSearch(double[][] points, double[] query, int k) {
+        return IntStream.range(0, points.length).boxed()
+            .sorted(Comparator.comparingDouble(i -> distance2(points[i], query)))
+            .limit(k).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static double[] sortedDistances(double[][] points, double[] query, int[] indices) {
+        final double[] d = new double[indices.length];
+        for (int i = 0; i < d.length; i++) {
+            d[i] = distance2(points[indices[i]], query);
+        }
+        Arrays.sort(d);
+        return d;
+    }
+
+    private static double distance2(double[] p, double[] q) {
+        double sum = 0;
+        for (int d = 0; d < p.length; d++) {
+            final double delta = p[d] - q[d];
+            sum += delta * delta;
+        }
+        return sum;
+    }
+}
@@ -16,8 +16,17 @@
  */
 package org.apache.commons.math4.analysis.interpolation;
 
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
 import org.apache.commons.math4.analysis.MultivariateFunction;
+import org.apache.commons.math4.exception.DimensionMismatchException;
+import org.apache.commons.math4.exception.NotPositiveException;
 import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -134,6 +143,85 @@ public final class MicrosphereProjectionInterpolatorTest {
         Assert.assertTrue(result2D + " should be NaN", Double.isNaN(result2D));
     }
 
+    @Test
+    public void testNearestSamplesAndBatch() {
+        final UniformRandomProvider rng = RandomSource.create(RandomSource.MT, 97531L);
+        final int n = 3000;
+        final double[][] x = new double[n][2];
+        final double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i][0] = 2 * rng.nextDouble() - 1;
+            x[i][1] = 2 * rng.nextDouble() - 1;
+            y[i] = 2 * x[i][0] - 3 * x[i][1] + 5;
+        }
+        final double[][] points = new double[300][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new double[] { 1.8 * rng.nextDouble() - 0.9, 1.8 * rng.nextDouble() - 0.9 };
+        }
+        points[0] = x[17].clone(); // On a sample.
+
+        final int k = 50;
+        final InterpolatingMicrosphere sphere = new InterpolatingMicrosphere2D(32, 0.5, 1e-4, Double.NaN);
+        final MicrosphereProjectionInterpolator.InterpolatingFunction f
+            = new MicrosphereProjectionInterpolator(sphere, 2, false, 1e-12, k).interpolate(x, y);
+
+        // Reference: exhaustive search of the nearest samples.
+        final InterpolatingMicrosphere reference = sphere.copy();
+        final double[] expected = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            final double[] p = points[i];
+            final int[] nearest = IntStream.range(0, n).boxed()
+                .sorted(Comparator.comparingDouble(j -> FastMath.hypot(x[j][0] - p[0], x[j][1] - p[1])))
+                .limit(k).mapToInt(Integer::intValue).sorted().toArray();
+            expected[i] = reference.value(p, x, y, nearest, 2, 1e-12);
+            Assert.assertEquals(expected[i], f.value(p), 0);
+            Assert.assertEquals(2 * p[0] - 3 * p[1] + 5, expected[i], 0.1);
+        }
+        Assert.assertEquals(y[17], expected[0], 0);
+
+        Assert.assertArrayEquals(expected, f.value(points), 0);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Assert.assertArrayEquals(expected, f.value(points, executor), 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testAllSamplesByDefault() {
+        final double[][] x = { { 0, 0 }, { 1, 0 }, { 0, 1 }, { 1, 1 } };
+        final double[] y = { 1, 2, 3, 4 };
+        final InterpolatingMicrosphere sphere = new InterpolatingMicrosphere2D(16, 0.5, 1e-3, Double.NaN);
+        final double[] point = { 0.3, 0.6 };
+        final double all = new MicrosphereProjectionInterpolator(sphere, 1.1, true, 1e-12).interpolate(x, y).value(point);
+        Assert.assertEquals(sphere.copy().value(point, x, y, 1.1, 1e-12), all, 0);
+        final double nearest = new MicrosphereProjectionInterpolator(sphere, 1.1, true, 1e-12, 4).interpolate(x, y).value(point);
+        Assert.assertEquals(all, nearest, 0);
+    }
+
+    @Test
+    public void testWrongPointDimension() {
+        final double[][] x = { { 0, 0 }, { 1, 0 }, { 0, 1 }, { 1, 1 } };
+        final double[] y = { 1, 2, 3, 4 };
+        final InterpolatingMicrosphere sphere = new InterpolatingMicrosphere2D(16, 0.5, 1e-3, Double.NaN);
+        for (int k = 0; k <= 2; k += 2) {
+            final MultivariateFunction f = new MicrosphereProjectionInterpolator(sphere, 1.1, true, 1e-12, k).interpolate(x, y);
+            try {
+                f.value(new double[] { 0.5 });
+                Assert.fail("an exception should have been thrown");
+            } catch (DimensionMismatchException e) {
+                // expected, whether or not the nearest samples are searched
+            }
+        }
+    }
+
+    @Test(expected=NotPositiveException.class)
+    public void testNegativeNearestSamples() {
+        new MicrosphereProjectionInterpolator(new InterpolatingMicrosphere2D(16, 0.5, 1e-3, Double.NaN),
+                                              1.1, true, 1e-12, -1);
+    }
+
     /**
      * @param min Minimum of the coordinate range.
      * @param range Extent of the coordinate interval.
@@ -16,13 +16,18 @@
  */
 package org.apache.commons.math4.distribution;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.stream.DoubleStream;
 
 import org.apache.commons.statistics.distribution.ContinuousDistribution;
 import org.apache.commons.statistics.distribution.ConstantContinuousDistribution;
@@ -33,8 +38,11 @@ import org.apache.commons.math4.analysis.UnivariateFunction;
 import org.apache.commons.math4.analysis.integration.BaseAbstractUnivariateIntegrator;
 import org.apache.commons.math4.analysis.integration.IterativeLegendreGaussIntegrator;
 import org.apache.commons.math4.exception.MathIllegalStateException;
+import org.apache.commons.math4.exception.NotFiniteNumberException;
 import org.apache.commons.math4.exception.NullArgumentException;
 import org.apache.commons.math4.exception.NotStrictlyPositiveException;
+import org.apache.commons.math4.exception.ZeroException;
+import org.apache.commons.rng.UniformRandomProvider;
 import org.apache.commons.rng.simple.RandomSource;
 import org.apache.commons.math4.stat.descriptive.SummaryStatistics;
 import org.apache.commons.math4.util.FastMath;
@@ -241,6 +249,164 @@ public final class EmpiricalDistributionTest extends RealDistributionAbstractTes
         new EmpiricalDistribution().load((File) null);
     }
 
+    @Test
+    public void testStreamLoad() {
+        empiricalDistribution.load(dataArray);
+        empiricalDistribution2.load(DoubleStream.of(dataArray));
+        verifySameBins(empiricalDistribution, empiricalDistribution2);
+        Assert.assertTrue(empiricalDistribution2.isLoaded());
+    }
+
+    @Test
+    public void testLoadBinary() throws Exception {
+        final File binary = File.createTempFile("empirical", ".bin");
+        binary.deleteOnExit();
+        writeBinary(binary, dataArray);
+
+        empiricalDistribution.load(dataArray);
+        empiricalDistribution2.loadBinary(binary);
+        verifySameBins(empiricalDistribution, empiricalDistribution2);
+
+        final EmpiricalDistribution dist = new EmpiricalDistribution(100);
+        dist.loadBinary(binary.toURI().toURL());
+        verifySameBins(empiricalDistribution, dist);
+    }
+
+    @Test
+    public void testStreamLoadRebinning() {
+        // More values than are buffered before setting up the provisional grid,
+        // with later values extending the range on both sides.
+        final UniformRandomProvider rng = RandomSource.create(RandomSource.WELL_19937_C, 1000);
+        final int size = 300000;
+        final double[] data = new double[size];
+        for (int i = 0; i < size; i++) {
+            final double u = rng.nextDouble();
+            if (i < 100000) {
+                data[i] = u;
+            } else if (i < 200000) {
+                data[i] = 1 + 9 * u;
+            } else {
+                data[i] = -5 + 15 * u * u;
+            }
+        }
+        final EmpiricalDistribution dist = new EmpiricalDistribution(50);
+        dist.load(DoubleStream.of(data));
+
+        final SummaryStatistics stats = new SummaryStatistics();
+        for (double x : data) {
+            stats.addValue(x);
+        }
+        Assert.assertEquals(stats.getN(), dist.getSampleStats().getN());
+        Assert.assertEquals(stats.getMean(), dist.getSampleStats().getMean(), 1e-13);
+        Assert.assertEquals(stats.getVariance(), dist.getSampleStats().getVariance(), 1e-12);
+        Assert.assertEquals(stats.getMin(), dist.getSupportLowerBound(), 0);
+        Assert.assertEquals(stats.getMax(), dist.getSupportUpperBound(), 0);
+
+        // Bins are disjoint: compare against statistics computed from the
+        // values lying within the range of each bin.
+        final double[] bounds = dist.getUpperBounds();
+        Assert.assertEquals(stats.getMax(), bounds[bounds.length - 1], 0);
+        long total = 0;
+        for (int i = 0; i < dist.getBinCount(); i++) {
+            final SummaryStatistics bin = dist.getBinStats().get(i);
+            total += bin.getN();
+            if (bin.getN() == 0) {
+                continue;
+            }
+            final double lower = i == 0 ? stats.getMin() : bounds[i - 1];
+            Assert.assertTrue(bin.getMin() >= lower - 1e-12);
+            Assert.assertTrue(bin.getMax() <= bounds[i] + 1e-12);
+            final SummaryStatistics expected = new SummaryStatistics();
+            for (double x : data) {
+                if (x >= bin.getMin() && x <= bin.getMax()) {
+                    expected.addValue(x);
+                }
+            }
+            Assert.assertEquals(expected.getN(), bin.getN());
+            Assert.assertEquals(expected.getMean(), bin.getMean(), 1e-12);
+            Assert.assertEquals(expected.getVariance(), bin.getVariance(), 1e-12);
+            Assert.assertEquals(expected.getSum(), bin.getSum(), 1e-8);
+        }
+        Assert.assertEquals(size, total);
+
+        Assert.assertEquals(0, dist.cumulativeProbability(stats.getMin() - 1), 0);
+        Assert.assertEquals(1, dist.cumulativeProbability(stats.getMax()), 0);
+        for (double p = 0.05; p < 1; p += 0.05) {
+            Assert.assertEquals(p, dist.cumulativeProbability(dist.inverseCumulativeProbability(p)), 1e-9);
+        }
+    }
+
+    @Test
+    public void testStreamLoadConstant() {
+        final double[] data = new double[100000];
+        Arrays.fill(data, 3.5);
+        final EmpiricalDistribution dist = new EmpiricalDistribution(10);
+        dist.load(DoubleStream.of(data));
+        Assert.assertEquals(data.length, dist.getBinStats().get(0).getN());
+        Assert.assertEquals(3.5, dist.getSupportLowerBound(), 0);
+        Assert.assertEquals(3.5, dist.getSupportUpperBound(), 0);
+        Assert.assertEquals(3.5, dist.inverseCumulativeProbability(0.3), 0);
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testLoadNullStream() {
+        new EmpiricalDistribution().load((DoubleStream) null);
+    }
+
+    @Test(expected=ZeroException.class)
+    public void testLoadEmptyStream() {
+        new EmpiricalDistribution().load(DoubleStream.empty());
+    }
+
+    @Test(expected=NotFiniteNumberException.class)
+    public void testLoadStreamNaN() {
+        new EmpiricalDistribution().load(DoubleStream.of(1, Double.NaN, 2));
+    }
+
+    @Test(expected=EOFException.class)
+    public void testLoadBinaryTruncated() throws Exception {
+        final File binary = File.createTempFile("empirical", ".bin");
+        binary.deleteOnExit();
+        try (FileOutputStream out = new FileOutputStream(binary)) {
+            out.write(new byte[12]);
+        }
+        new EmpiricalDistribution().loadBinary(binary);
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testLoadBinaryNullFile() throws Exception {
+        new EmpiricalDistribution().loadBinary((File) null);
+    }
+
+    private static void writeBinary(File binary, double[] data) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(binary)))) {
+            for (double x : data) {
+                out.writeDouble(x);
+            }
+        }
+    }
+
+    private static void verifySameBins(EmpiricalDistribution expected, EmpiricalDistribution actual) {
+        Assert.assertEquals(expected.getSampleStats().getN(), actual.getSampleStats().getN());
+        Assert.assertEquals(expected.getSampleStats().getMean(), actual.getSampleStats().getMean(), 0);
+        Assert.assertEquals(expected.getSampleStats().getVariance(), actual.getSampleStats().getVariance(), 0);
+        Assert.assertArrayEquals(expected.getUpperBounds(), actual.getUpperBounds(), 0);
+        Assert.assertArrayEquals(expected.getGeneratorUpperBounds(), actual.getGeneratorUpperBounds(), 0);
+        for (int i = 0; i < expected.getBinCount(); i++) {
+            final SummaryStatistics e = expected.getBinStats().get(i);
+            final SummaryStatistics a = actual.getBinStats().get(i);
+            Assert.assertEquals(e.getN(), a.getN());
+            Assert.assertEquals(e.getMean(), a.getMean(), 0);
+            Assert.assertEquals(e.getVariance(), a.getVariance(), 0);
+            Assert.assertEquals(e.getMin(), a.getMin(), 0);
+            Assert.assertEquals(e.getMax(), a.getMax(), 0);
+        }
+        for (double x = 2; x < 8; x += 0.25) {
+            Assert.assertEquals(expected.cumulativeProbability(x), actual.cumulativeProbability(x), 0);
+            Assert.assertEquals(expected.density(x), actual.density(x), 0);
+        }
+    }
+
     /**
      * MATH-298
      */
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.fitting.leastsquares;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.commons.math4.exception.ConvergenceException;
+import org.apache.commons.math4.exception.TooManyEvaluationsException;
+import org.apache.commons.math4.fitting.leastsquares.GaussNewtonOptimizer.Decomposition;
+import org.apache.commons.math4.fitting.leastsquares.LeastSquaresOptimizer.Optimum;
+import org.apache.commons.math4.linear.ArrayRealVector;
+import org.apache.commons.math4.linear.CSRRealMatrix;
+import org.apache.commons.math4.linear.DiagonalMatrix;
+import org.apache.commons.math4.linear.RealMatrix;
+import org.apache.commons.math4.linear.RealVector;
+import org.apache.commons.math4.linear.SparseRealMatrixBuilder;
+import org.apache.commons.math4.optim.SimpleVectorValueChecker;
+import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.math4.util.Pair;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * <p>Some of the unit tests are re-implementations of the MINPACK <a
+ * href="http://www.netlib.org/minpack/ex/file17">file17</a> and <a
+ * href="http://www.netlib.org/minpack/ex/file22">file22</a> test files.
+ * The redistribution policy for MINPACK is available <a
+ * href="http://www.netlib.org/minpack/disclaimer">here</a>/
+ *
+ */
+public class GaussNewtonOptimizerWithConjugateGradientTest
+    extends AbstractLeastSquaresOptimizerAbstractTest {
+
+    @Override
+    public int getMaxIterations() {
+        return 1000;
+    }
+
+    @Override
+    public LeastSquaresOptimizer getOptimizer() {
+        return new GaussNewtonOptimizer(Decomposition.CONJUGATE_GRADIENT);
+    }
+
+    @Test
+    public void testMaxEvaluations() throws Exception {
+        try{
+        CircleVectorial circle = new CircleVectorial();
+        circle.addPoint( 30.0,  68.0);
+        circle.addPoint( 50.0,  -6.0);
+        circle.addPoint(110.0, -20.0);
+        circle.addPoint( 35.0,  15.0);
+        circle.addPoint( 45.0,  97.0);
+
+        LeastSquaresProblem lsp = builder(circle)
+                .checkerPair(new SimpleVectorValueChecker(1e-30, 1e-30))
+                .maxIterations(Integer.MAX_VALUE)
+                .start(new double[]{98.680, 47.345})
+                .build();
+
+        optimizer.optimize(lsp);
+
+            fail(optimizer);
+        }catch (TooManyEvaluationsException e){
+            //expected
+        }
+    }
+
+    @Override
+    @Test
+    public void testCircleFittingBadInit() {
+        /*
+         * As with the SVD decomposition, the minimum norm steps computed
+         * by this optimizer lead to the wrong solution.
+         */
+        try {
+            super.testCircleFittingBadInit();
+            fail(optimizer);
+        } catch (AssertionError e) {
+            //expected
+        }
+    }
+
+    @Override
+    @Test
+    public void testHahn1()
+        throws IOException {
+        /*
+         * TODO This test leads to a singular problem with the Gauss-Newton
+         * optimizer. This should be inquired.
+         */
+        try{
+            super.testHahn1();
+            fail(optimizer);
+        } catch (ConvergenceException e){
+            //expected
+        } catch (TooManyEvaluationsException e){
+            //expected
+        }
+    }
+
+    @Test
+    public void testSparseProblem() {
+        // Chain of n unknowns observed through their squares and through
+        // differences of neighbours: each row of the Jacobian has at most
+        // two non-zero entries.
+        final int n = 20000;
+        final UniformRandomProvider rng = RandomSource.create(RandomSource.MT, 2468L);
+        final double[] truth = new double[n];
+        for (int j = 0; j < n; j++) {
+            truth[j] = 1 + rng.nextDouble();
+        }
+        final MultivariateJacobianFunction model = point -> {
+            final double[] p = point.toArray();
+            final double[] values = new double[2 * n - 1];
+            final SparseRealMatrixBuilder jacobian = new SparseRealMatrixBuilder(2 * n - 1, n);
+            for (int j = 0; j < n; j++) {
+                values[j] = p[j] * p[j];
+                jacobian.addEntry(j, j, 2 * p[j]);
+            }
+            for (int j = 0; j < n - 1; j++) {
+                values[n + j] = p[j + 1] - p[j];
+                jacobian.addEntry(n + j, j, -1);
+                jacobian.addEntry(n + j, j + 1, 1);
+            }
+            return new Pair<RealVector, RealMatrix>(new ArrayRealVector(values, false),
+                                                    jacobian.buildCSR());
+        };
+        final double[] target = model.value(new ArrayRealVector(truth)).getFirst().toArray();
+        final double[] weights = new double[2 * n - 1];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = i < n ? 4 : 1;
+        }
+        final double[] start = new double[n];
+        Arrays.fill(start, 1.5);
+
+        final LeastSquaresProblem problem = new LeastSquaresBuilder()
+            .checkerPair(new SimpleVectorValueChecker(1e-12, 1e-12))
+            .maxEvaluations(100)
+            .maxIterations(100)
+            .model(model)
+            .target(target)
+            .weight(new DiagonalMatrix(weights))
+            .start(start)
+            .build();
+
+        // The weighted Jacobian remains sparse.
+        Assert.assertTrue(problem.evaluate(new ArrayRealVector(start)).getJacobian() instanceof CSRRealMatrix);
+
+        final Optimum optimum = optimizer.optimize(problem);
+        Assert.assertTrue(optimum.getIterations() < 20);
+        final double[] found = optimum.getPoint().toArray();
+        double maxError = 0;
+        for (int j = 0; j < n; j++) {
+            maxError = FastMath.max(maxError, FastMath.abs(found[j] - truth[j]));
+        }
+        Assert.assertEquals(0, maxError, 1e-8);
+    }
+}
@@ -17,7 +17,12 @@
 
 package org.apache.commons.math4.fitting.leastsquares;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.apache.commons.geometry.euclidean.twod.Vector2D;
+import org.apache.commons.math4.analysis.MultivariateMatrixFunction;
+import org.apache.commons.math4.analysis.MultivariateVectorFunction;
 import org.apache.commons.math4.exception.DimensionMismatchException;
 import org.apache.commons.math4.exception.TooManyEvaluationsException;
 import org.apache.commons.math4.fitting.leastsquares.LeastSquaresOptimizer.Optimum;
@@ -347,4 +352,62 @@ public class LevenbergMarquardtOptimizerTest
         Assert.assertThat(optimum.getEvaluations(), is(2));
     }
 
+    @Test
+    public void testParallelModelAndDecomposition() {
+        // y = a exp(-b t) + c sin(d t) with many observations.
+        final int n = 20000;
+        final double[] truth = { 2.5, 0.3, 0.75, 1.7 };
+        final double[] t = new double[n];
+        final double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            t[i] = 10.0 * i / n;
+            y[i] = truth[0] * FastMath.exp(-truth[1] * t[i]) + truth[2] * FastMath.sin(truth[3] * t[i]) +
+                1e-3 * FastMath.sin(12345.0 * i);
+        }
+        final ObservationBlockFunction block = (p, start, end, values, jacobian) -> {
+            for (int i = start; i < end; i++) {
+                final double e = FastMath.exp(-p[1] * t[i]);
+                final double s = FastMath.sin(p[3] * t[i]);
+                if (values != null) {
+                    values[i] = p[0] * e + p[2] * s;
+                }
+                if (jacobian != null) {
+                    jacobian[i][0] = e;
+                    jacobian[i][1] = -p[0] * t[i] * e;
+                    jacobian[i][2] = s;
+                    jacobian[i][3] = p[2] * t[i] * FastMath.cos(p[3] * t[i]);
+                }
+            }
+        };
+        final MultivariateVectorFunction value = p -> {
+            final double[] v = new double[n];
+            block.value(p, 0, n, v, null);
+            return v;
+        };
+        final MultivariateMatrixFunction jac = p -> {
+            final double[][] j = new double[n][p.length];
+            block.value(p, 0, n, null, j);
+            return j;
+        };
+        final double[] init = { 1, 0.1, 1, 1.5 };
+
+        final Optimum expected = new LevenbergMarquardtOptimizer().optimize(
+                base().model(value, jac).target(y).start(init).build());
+        Assert.assertArrayEquals(truth, expected.getPoint().toArray(), 1e-3);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final LevenbergMarquardtOptimizer parallel = new LevenbergMarquardtOptimizer().withExecutor(executor);
+            for (boolean lazy : new boolean[] { false, true }) {
+                final Optimum actual = parallel.optimize(
+                    base().model(LeastSquaresFactory.model(block, n, executor))
+                          .lazyEvaluation(lazy).target(y).start(init).build());
+                Assert.assertArrayEquals(expected.getPoint().toArray(), actual.getPoint().toArray(), 0);
+                Assert.assertEquals(expected.getEvaluations(), actual.getEvaluations());
+                Assert.assertEquals(expected.getIterations(), actual.getIterations());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
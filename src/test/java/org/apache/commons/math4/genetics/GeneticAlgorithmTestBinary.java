@@ -17,8 +17,11 @@
 package org.apache.commons.math4.genetics;
 
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.math4.genetics.AbstractListChromosome;
 import org.apache.commons.math4.genetics.BinaryChromosome;
@@ -31,6 +34,7 @@ import org.apache.commons.math4.genetics.OnePointCrossover;
 import org.apache.commons.math4.genetics.Population;
 import org.apache.commons.math4.genetics.StoppingCondition;
 import org.apache.commons.math4.genetics.TournamentSelection;
+import org.apache.commons.rng.simple.RandomSource;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -85,8 +89,45 @@ public class GeneticAlgorithmTestBinary {
 
     }
 
+    @Test
+    public void testConcurrentIsReproducible() {
+        final List<List<Integer>> reference = evolveConcurrently(1);
+        Assert.assertEquals(POPULATION_SIZE, reference.size());
+        Assert.assertEquals(reference, evolveConcurrently(4));
+    }
 
-
+    /**
+     * Runs the GA with a fixed seed, using an executor with the given number of threads.
+     *
+     * @return the representations of the final population.
+     */
+    private static List<List<Integer>> evolveConcurrently(int nThreads) {
+        GeneticAlgorithm.setRandomGenerator(RandomSource.create(RandomSource.WELL_19937_C, 1234567L));
+        final GeneticAlgorithm ga = new GeneticAlgorithm(new OnePointCrossover<Integer>(),
+                                                         CROSSOVER_RATE,
+                                                         new BinaryMutation(),
+                                                         MUTATION_RATE,
+                                                         new TournamentSelection(TOURNAMENT_ARITY));
+        final Population initial = randomPopulation();
+        final Chromosome bestInitial = initial.getFittestChromosome();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+        try {
+            final Population finalPopulation = ga.evolve(initial,
+                                                         new FixedGenerationCount(NUM_GENERATIONS),
+                                                         executor);
+            Assert.assertEquals(NUM_GENERATIONS, ga.getGenerationsEvolved());
+            Assert.assertTrue(finalPopulation.getFittestChromosome().compareTo(bestInitial) > 0);
+
+            final List<List<Integer>> representations = new ArrayList<>();
+            for (Chromosome c : finalPopulation) {
+                representations.add(((FindOnes) c).getRepresentation());
+            }
+            return representations;
+        } finally {
+            executor.shutdown();
+        }
+    }
 
     /**
      * Initializes a random population.
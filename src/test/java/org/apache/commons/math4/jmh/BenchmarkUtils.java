@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.jmh;
+
+import org.apache.commons.rng.UniformRandomProvider;
+
+/**
+ * Data generation utilities shared by the benchmarks.
+ */
+final class BenchmarkUtils {
+    /** Class contains only static methods. */
+    private BenchmarkUtils() {}
+
+    /**
+     * @param rng Generator.
+     * @param n Number of values.
+     * @return values uniformly distributed in [-1, 1).
+     */
+    static double[] randomArray(UniformRandomProvider rng,
+                                int n) {
+        final double[] a = new double[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = 2 * rng.nextDouble() - 1;
+        }
+        return a;
+    }
+
+    /**
+     * @param rng Generator.
+     * @param rows Number of rows.
+     * @param columns Number of columns.
+     * @return a matrix whose entries are uniformly distributed in [-1, 1).
+     */
+    static double[][] randomMatrix(UniformRandomProvider rng,
+                                   int rows,
+                                   int columns) {
+        final double[][] m = new double[rows][];
+        for (int i = 0; i < rows; i++) {
+            m[i] = randomArray(rng, columns);
+        }
+        return m;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math4.linear.EigenDecomposition;
+import org.apache.commons.math4.linear.LUDecomposition;
+import org.apache.commons.math4.linear.MatrixUtils;
+import org.apache.commons.math4.linear.QRDecomposition;
+import org.apache.commons.math4.linear.RealMatrix;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the LU, QR and eigen decompositions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = { "-server", "-Xms512M", "-Xmx512M" })
+@State(Scope.Benchmark)
+public class DecompositionBenchmark {
+    /** Matrix dimension. */
+    @Param({ "10", "50", "200" })
+    private int size;
+    /** General square matrix. */
+    private RealMatrix general;
+    /** Symmetric matrix. */
+    private RealMatrix symmetric;
+
+    /**
+     * Creates the matrices.
+     */
+    @Setup
+    public void setUp() {
+        final UniformRandomProvider rng = RandomSource.create(RandomSource.WELL_19937_C, 7654321L);
+        general = MatrixUtils.createRealMatrix(BenchmarkUtils.randomMatrix(rng, size, size));
+        symmetric = general.add(general.transpose());
+    }
+
+    /**
+     * @return the LU decomposition.
+     */
+    @Benchmark
+    public RealMatrix lu() {
+        return new LUDecomposition(general).getU();
+    }
+
+    /**
+     * @return the QR decomposition.
+     */
+    @Benchmark
+    public RealMatrix qr() {
+        return new QRDecomposition(general).getR();
+    }
+
+    /**
+     * @return the eigen decomposition of a symmetric matrix.
+     */
+    @Benchmark
+    public RealMatrix eigenSymmetric() {
+        return new EigenDecomposition(symmetric).getD();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math4.ode.FirstOrderDifferentialEquations;
+import org.apache.commons.math4.ode.nonstiff.DormandPrince853Integrator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link DormandPrince853Integrator}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = { "-server", "-Xms512M", "-Xmx512M" })
+@State(Scope.Benchmark)
+public class DormandPrince853IntegratorBenchmark {
+    /** Integration end time, in units of the period of the orbit. */
+    @Param({ "1", "20" })
+    private int periods;
+
+    /**
+     * Integrates a Keplerian orbit with eccentricity 0.5.
+     *
+     * @return the final state.
+     */
+    @Benchmark
+    public double[] kepler() {
+        final DormandPrince853Integrator integrator =
+            new DormandPrince853Integrator(1.0e-8, 10.0, 1.0e-10, 1.0e-10);
+        final double[] y = { 0.5, 0.0, 0.0, Math.sqrt(3) };
+        integrator.integrate(new Kepler(), 0, y, periods * 2 * Math.PI, y);
+        return y;
+    }
+
+    /**
+     * Two-body problem with unit gravitational parameter.
+     */
+    private static class Kepler implements FirstOrderDifferentialEquations {
+        /** {@inheritDoc} */
+        @Override
+        public int getDimension() {
+            return 4;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void computeDerivatives(double t, double[] y, double[] yDot) {
+            final double r2 = y[0] * y[0] + y[1] * y[1];
+            final double mr3 = -1 / (r2 * Math.sqrt(r2));
+            yDot[0] = y[2];
+            yDot[1] = y[3];
+            yDot[2] = mr3 * y[0];
+            yDot[3] = mr3 * y[1];
+        }
+    }
+}
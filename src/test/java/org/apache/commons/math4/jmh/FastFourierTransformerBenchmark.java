@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math4.transform.DftNormalization;
+import org.apache.commons.math4.transform.FastFourierTransformer;
+import org.apache.commons.math4.transform.TransformType;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link FastFourierTransformer}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = { "-server", "-Xms512M", "-Xmx512M" })
+@State(Scope.Benchmark)
+public class FastFourierTransformerBenchmark {
+    /** Number of points (must be a power of two). */
+    @Param({ "64", "1024", "4096", "65536" })
+    private int size;
+    /** Real and imaginary parts of the signal. */
+    private double[][] signal;
+
+    /**
+     * Creates the signal.
+     */
+    @Setup
+    public void setUp() {
+        final UniformRandomProvider rng = RandomSource.create(RandomSource.WELL_19937_C, 9876543L);
+        signal = BenchmarkUtils.randomMatrix(rng, 2, size);
+    }
+
+    /**
+     * Transforms a copy of the signal, so that each invocation processes
+     * the same data.
+     *
+     * @return the transformed data.
+     */
+    @Benchmark
+    public double[][] transformInPlace() {
+        final double[][] dataRI = new double[][] { signal[0].clone(), signal[1].clone() };
+        FastFourierTransformer.transformInPlace(dataRI,
+                                                DftNormalization.STANDARD,
+                                                TransformType.FORWARD);
+        return dataRI;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks comparing {@link FastMath} with {@link Math}.
+ * Each benchmark applies the function to the same array of arguments.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = { "-server", "-Xms512M", "-Xmx512M" })
+@State(Scope.Benchmark)
+public class FastMathBenchmark {
+    /** Number of arguments. */
+    private static final int SIZE = 1000;
+    /** Arguments in [-10, 10). */
+    private double[] x;
+    /** Arguments in (0, 20). */
+    private double[] positive;
+
+    /**
+     * Creates the arguments.
+     */
+    @Setup
+    public void setUp() {
+        final UniformRandomProvider rng = RandomSource.create(RandomSource.WELL_19937_C, 1122334455L);
+        x = new double[SIZE];
+        positive = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            x[i] = 20 * rng.nextDouble() - 10;
+            positive[i] = 20 * (1 - rng.nextDouble());
+        }
+    }
+
+    /** @param bh Sink. */
+    @Benchmark
+    public void fastMathSin(Blackhole bh) {
+        for (final double v : x) {
+            bh.consume(FastMath.sin(v));
+        }
+    }
+
+    /** @param bh Sink. */
+    @Benchmark
+    public void mathSin(Blackhole bh) {
+        for (final double v : x) {
+            bh.consume(Math.sin(v));
+        }
+    }
+
+    /** @param bh Sink. */
+    @Benchmark
+    public void fastMathExp(Blackhole bh) {
+        for (final double v : x) {
+            bh.consume(FastMath.exp(v));
+        }
+    }
+
+    /** @param bh Sink. */
+    @Benchmark
+    public void mathExp(Blackhole bh) {
+        for (final double v : x) {
+            bh.consume(Math.exp(v));
+        }
+    }
+
+    /** @param bh Sink. */
+    @Benchmark
+    public void fastMathLog(Blackhole bh) {
+        for (final double v : positive) {
+            bh.consume(FastMath.log(v));
+        }
+    }
+
+    /** @param bh Sink. */
+    @Benchmark
+    public void mathLog(Blackhole bh) {
+        for (final double v : positive) {
+            bh.consume(Math.log(v));
+        }
+    }
+
+    /** @param bh Sink. */
+    @Benchmark
+    public void fastMathPow(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(FastMath.pow(positive[i], x[i]));
+        }
+    }
+
+    /** @param bh Sink. */
+    @Benchmark
+    public void mathPow(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(Math.pow(positive[i], x[i]));
+        }
+    }
+
+    /** @param bh Sink. */
+    @Benchmark
+    public void fastMathAtan2(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(FastMath.atan2(x[i], positive[i]));
+        }
+    }
+
+    /** @param bh Sink. */
+    @Benchmark
+    public void mathAtan2(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(Math.atan2(x[i], positive[i]));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math4.ml.clustering.CentroidCluster;
+import org.apache.commons.math4.ml.clustering.DoublePoint;
+import org.apache.commons.math4.ml.clustering.KMeansPlusPlusClusterer;
+import org.apache.commons.math4.ml.distance.EuclideanDistance;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link KMeansPlusPlusClusterer}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = { "-server", "-Xms512M", "-Xmx512M" })
+@State(Scope.Benchmark)
+public class KMeansPlusPlusClustererBenchmark {
+    /** Number of points. */
+    @Param({ "1000", "20000" })
+    private int size;
+    /** Dimension of the points. */
+    @Param({ "2", "16" })
+    private int dimension;
+    /** Number of clusters. */
+    @Param({ "8" })
+    private int k;
+    /** Points to cluster. */
+    private List<DoublePoint> points;
+
+    /**
+     * Creates the points.
+     */
+    @Setup
+    public void setUp() {
+        final UniformRandomProvider rng = RandomSource.create(RandomSource.WELL_19937_C, 1357911L);
+        points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            points.add(new DoublePoint(BenchmarkUtils.randomArray(rng, dimension)));
+        }
+    }
+
+    /**
+     * Runs the clusterer with a fixed seed, so that each invocation
+     * performs the same work.
+     *
+     * @return the clusters.
+     */
+    @Benchmark
+    public List<CentroidCluster<DoublePoint>> cluster() {
+        final KMeansPlusPlusClusterer<DoublePoint> clusterer =
+            new KMeansPlusPlusClusterer<>(k, 100, new EuclideanDistance(),
+                                          RandomSource.create(RandomSource.MT_64, 42L));
+        return clusterer.cluster(points);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math4.linear.Array2DRowRealMatrix;
+import org.apache.commons.math4.linear.BlockRealMatrix;
+import org.apache.commons.math4.linear.RealMatrix;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the multiplication of dense matrices.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = { "-server", "-Xms512M", "-Xmx512M" })
+@State(Scope.Benchmark)
+public class MatrixBenchmark {
+    /** Matrix dimension. */
+    @Param({ "10", "100", "500" })
+    private int size;
+    /** Left operand, in block layout. */
+    private BlockRealMatrix blockA;
+    /** Right operand, in block layout. */
+    private BlockRealMatrix blockB;
+    /** Left operand, in row layout. */
+    private Array2DRowRealMatrix arrayA;
+    /** Right operand, in row layout. */
+    private Array2DRowRealMatrix arrayB;
+
+    /**
+     * Creates the operands.
+     */
+    @Setup
+    public void setUp() {
+        final UniformRandomProvider rng = RandomSource.create(RandomSource.WELL_19937_C, 1234567L);
+        final double[][] a = BenchmarkUtils.randomMatrix(rng, size, size);
+        final double[][] b = BenchmarkUtils.randomMatrix(rng, size, size);
+        blockA = new BlockRealMatrix(a);
+        blockB = new BlockRealMatrix(b);
+        arrayA = new Array2DRowRealMatrix(a);
+        arrayB = new Array2DRowRealMatrix(b);
+    }
+
+    /**
+     * @return the product of the block matrices.
+     */
+    @Benchmark
+    public RealMatrix multiplyBlock() {
+        return blockA.multiply(blockB);
+    }
+
+    /**
+     * @return the product of the row-layout matrices.
+     */
+    @Benchmark
+    public RealMatrix multiplyArray2DRow() {
+        return arrayA.multiply(arrayB);
+    }
+}
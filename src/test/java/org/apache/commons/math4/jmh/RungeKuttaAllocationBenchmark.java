@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.jmh;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math4.ode.AbstractIntegrator;
+import org.apache.commons.math4.ode.FirstOrderDifferentialEquations;
+import org.apache.commons.math4.ode.nonstiff.ClassicalRungeKuttaIntegrator;
+import org.apache.commons.math4.ode.nonstiff.DormandPrince853Integrator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Memory allocation benchmarks for the Runge-Kutta integrators.
+ * <p>
+ * The {@link #main(String[]) main} method runs the benchmarks with the
+ * GC profiler and fails if the memory allocated by an integration grows
+ * with its number of steps.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = { "-server", "-Xms512M", "-Xmx512M" })
+@State(Scope.Benchmark)
+public class RungeKuttaAllocationBenchmark {
+    /** Fixed step size of the classical Runge-Kutta integrator. */
+    private static final double STEP = 0.01;
+    /** Allowed growth of the allocated memory, in bytes per step. */
+    private static final double BYTES_PER_STEP = 1;
+
+    /** Integration method. */
+    @Param({ "DormandPrince853", "ClassicalRungeKutta" })
+    private String method;
+    /** Integration end time, in units of the period of the oscillator. */
+    @Param({ "1", "100" })
+    private int periods;
+
+    /** Integrator, reused across invocations. */
+    private AbstractIntegrator integrator;
+    /** State. */
+    private double[] y;
+
+    /** Creates the integrator. */
+    @Setup
+    public void setUp() {
+        integrator = "ClassicalRungeKutta".equals(method) ?
+            new ClassicalRungeKuttaIntegrator(STEP) :
+            new DormandPrince853Integrator(1.0e-8, 1.0, 1.0e-10, 1.0e-10);
+        y = new double[2];
+    }
+
+    /**
+     * Integrates a harmonic oscillator.
+     *
+     * @return the final state.
+     */
+    @Benchmark
+    public double[] oscillator() {
+        y[0] = 1;
+        y[1] = 0;
+        integrator.integrate(new Oscillator(), 0, y, periods * 2 * Math.PI, y);
+        return y;
+    }
+
+    /**
+     * Runs the benchmarks with the GC profiler and checks that the memory
+     * allocated per integration does not depend on the number of steps.
+     *
+     * @param args Unused.
+     * @throws RunnerException if the benchmarks cannot be run.
+     */
+    public static void main(String[] args) throws RunnerException {
+        final Collection<RunResult> results =
+            new Runner(new OptionsBuilder()
+                       .include(RungeKuttaAllocationBenchmark.class.getSimpleName())
+                       .addProfiler(GCProfiler.class)
+                       .build()).run();
+
+        for (final RunResult shortRun : results) {
+            final String m = shortRun.getParams().getParam("method");
+            if (!"1".equals(shortRun.getParams().getParam("periods"))) {
+                continue;
+            }
+            for (final RunResult longRun : results) {
+                if (m.equals(longRun.getParams().getParam("method")) &&
+                    !"1".equals(longRun.getParams().getParam("periods"))) {
+                    final int extraPeriods =
+                        Integer.parseInt(longRun.getParams().getParam("periods")) - 1;
+                    // lower bound of the number of additional steps for both methods
+                    final double extraSteps = extraPeriods * 2 * Math.PI;
+                    final double growth = allocation(longRun) - allocation(shortRun);
+                    if (growth > BYTES_PER_STEP * extraSteps) {
+                        throw new IllegalStateException(m + " allocates " + growth +
+                                                        " bytes for " + extraSteps +
+                                                        " additional steps");
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param result Benchmark result.
+     * @return the memory allocated per invocation, in bytes.
+     */
+    private static double allocation(RunResult result) {
+        for (final String key : result.getSecondaryResults().keySet()) {
+            if (key.endsWith("gc.alloc.rate.norm")) {
+                return result.getSecondaryResults().get(key).getScore();
+            }
+        }
+        throw new IllegalStateException("no allocation rate in results");
+    }
+
+    /**
+     * Harmonic oscillator with unit pulsation.
+     */
+    private static class Oscillator implements FirstOrderDifferentialEquations {
+        /** {@inheritDoc} */
+        @Override
+        public int getDimension() {
+            return 2;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void computeDerivatives(double t, double[] y, double[] yDot) {
+            yDot[0] = y[1];
+            yDot[1] = -y[0];
+        }
+    }
+}
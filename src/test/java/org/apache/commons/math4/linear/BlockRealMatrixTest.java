@@ -18,6 +18,8 @@ package org.apache.commons.math4.linear;
 
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Test;
 import org.junit.Assert;
@@ -373,6 +375,44 @@ public final class BlockRealMatrixTest {
         }
     }
 
+    @Test
+    public void testParallelOperations() {
+        int p = (7 * BlockRealMatrix.BLOCK_SIZE) / 2;
+        int q = (5 * BlockRealMatrix.BLOCK_SIZE) / 2;
+        int r =  3 * BlockRealMatrix.BLOCK_SIZE + 1;
+        Random random = new Random(2345426574231l);
+        BlockRealMatrix m1 = createRandomMatrix(random, p, q);
+        BlockRealMatrix m2 = createRandomMatrix(random, q, r);
+        BlockRealMatrix m3 = createRandomMatrix(random, p, q);
+        double[] v = new double[q];
+        for (int i = 0; i < q; ++i) {
+            v[i] = 200 * random.nextDouble() - 100;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // results must be bit-identical to the serial ones
+            Assert.assertEquals(m1.multiply(m2), m1.multiply(m2, executor));
+            Assert.assertEquals(m1.add(m3), m1.add(m3, executor));
+            Assert.assertEquals(m1.subtract(m3), m1.subtract(m3, executor));
+            Assert.assertEquals(m1.transpose(), m1.transpose(executor));
+            Assert.assertArrayEquals(m1.operate(v), m1.operate(v, executor), 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected=MathIllegalArgumentException.class)
+    public void testParallelMultiplyFail() {
+        BlockRealMatrix m = new BlockRealMatrix(testData);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            m.multiply(new BlockRealMatrix(bigSingular), executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     /** test issue MATH-209 */
     @Test
     public void testMath209() {
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.linear;
+
+import java.util.Random;
+
+import org.apache.commons.math4.exception.MathUnsupportedOperationException;
+import org.apache.commons.math4.exception.NonMonotonicSequenceException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link CSCRealMatrix}.
+ */
+public class CSCRealMatrixTest {
+    private final double[][] data = {
+        { 1, 0, 0, 2 },
+        { 0, 0, 0, 0 },
+        { 0, 3, 4, 0 },
+    };
+
+    @Test
+    public void testBuilder() {
+        final CSCRealMatrix m = new SparseRealMatrixBuilder(3, 4)
+            .addEntry(2, 2, 4)
+            .addEntry(0, 3, 2)
+            .addEntry(2, 1, 3)
+            .addEntry(0, 0, 1)
+            .buildCSC();
+
+        Assert.assertEquals(4, m.getNonZeroCount());
+        Assert.assertArrayEquals(new int[] { 0, 1, 2, 3, 4 }, m.getColumnPointers());
+        Assert.assertArrayEquals(new int[] { 0, 2, 2, 0 }, m.getRowIndices());
+        Assert.assertArrayEquals(new double[] { 1, 3, 4, 2 }, m.getValues(), 0);
+        Assert.assertEquals(new Array2DRowRealMatrix(data), m);
+    }
+
+    @Test
+    public void testTransposeIsIndependent() {
+        final CSCRealMatrix m = new CSCRealMatrix(new Array2DRowRealMatrix(data));
+        final CSRRealMatrix t = m.transpose();
+        Assert.assertEquals(new Array2DRowRealMatrix(data).transpose(), t);
+        t.setEntry(3, 0, 5);
+        t.multiplyEntry(2, 2, 3);
+        Assert.assertEquals(new Array2DRowRealMatrix(data), m);
+        m.setEntry(2, 1, 6);
+        Assert.assertEquals(3, t.getEntry(1, 2), 0);
+    }
+
+    @Test
+    public void testSparseMultiply() {
+        final Random random = new Random(0x51ad0e3c7b29L);
+        final RealMatrix a = createRandomSparseMatrix(random, 17, 29);
+        final RealMatrix b = createRandomSparseMatrix(random, 29, 13);
+        final RealMatrix expected = a.multiply(b);
+        final CSCRealMatrix csc = new CSCRealMatrix(a);
+
+        final OpenMapRealMatrix openMap = new OpenMapRealMatrix(b.getRowDimension(), b.getColumnDimension());
+        for (int i = 0; i < b.getRowDimension(); i++) {
+            openMap.setRow(i, b.getRow(i));
+        }
+        for (final RealMatrix operand : new RealMatrix[] { new CSCRealMatrix(b), new CSRRealMatrix(b), openMap }) {
+            final RealMatrix product = csc.multiply(operand);
+            Assert.assertTrue(product instanceof CSCRealMatrix);
+            Assert.assertEquals(0, expected.subtract(product).getNorm(), 1e-14);
+        }
+    }
+
+    @Test(expected=MathUnsupportedOperationException.class)
+    public void testSetUnstoredEntry() {
+        new CSCRealMatrix(new Array2DRowRealMatrix(data)).addToEntry(1, 0, 1);
+    }
+
+    @Test(expected=NonMonotonicSequenceException.class)
+    public void testDuplicateRows() {
+        new CSCRealMatrix(4, 1, new int[] { 0, 2 }, new int[] { 1, 1 }, new double[] { 1, 1 }, true);
+    }
+
+    @Test
+    public void testOperations() {
+        final Random random = new Random(0x2fc7a5b1d4e3L);
+        final RealMatrix dense = new Array2DRowRealMatrix(29, 41);
+        for (int i = 0; i < 29; i++) {
+            for (int j = 0; j < 41; j++) {
+                if (random.nextDouble() < 0.1) {
+                    dense.setEntry(i, j, 2 * random.nextDouble() - 1);
+                }
+            }
+        }
+        final CSCRealMatrix csc = new CSCRealMatrix(dense);
+        final double[] v = new double[41];
+        final double[] w = new double[29];
+        for (int i = 0; i < v.length; i++) {
+            v[i] = random.nextDouble();
+        }
+        for (int i = 0; i < w.length; i++) {
+            w[i] = random.nextDouble();
+        }
+        final RealMatrix b = new Array2DRowRealMatrix(41, 3);
+        for (int i = 0; i < 41; i++) {
+            for (int j = 0; j < 3; j++) {
+                b.setEntry(i, j, random.nextDouble());
+            }
+        }
+
+        Assert.assertEquals(dense, csc);
+        Assert.assertArrayEquals(dense.operate(v), csc.operate(v), 1e-14);
+        Assert.assertArrayEquals(dense.preMultiply(w), csc.preMultiply(w), 1e-14);
+        Assert.assertArrayEquals(dense.preMultiply(w),
+                                 csc.operateTranspose(new ArrayRealVector(w)).toArray(), 1e-14);
+        Assert.assertEquals(0, dense.multiply(b).subtract(csc.multiply(b)).getNorm(), 1e-14);
+        Assert.assertEquals(dense.copy(), csc.copy());
+    }
+
+    private RealMatrix createRandomSparseMatrix(Random r, int rows, int columns) {
+        final RealMatrix m = new Array2DRowRealMatrix(rows, columns);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                if (r.nextDouble() < 0.2) {
+                    m.setEntry(i, j, 2 * r.nextDouble() - 1);
+                }
+            }
+        }
+        return m;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.linear;
+
+import java.util.Random;
+
+import org.apache.commons.math4.exception.DimensionMismatchException;
+import org.apache.commons.math4.exception.MathUnsupportedOperationException;
+import org.apache.commons.math4.exception.NonMonotonicSequenceException;
+import org.apache.commons.math4.exception.OutOfRangeException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link CSRRealMatrix} and {@link SparseRealMatrixBuilder}.
+ */
+public class CSRRealMatrixTest {
+    private final double[][] data = {
+        { 1, 0, 0, 2 },
+        { 0, 0, 0, 0 },
+        { 0, 3, 4, 0 },
+    };
+
+    @Test
+    public void testBuilder() {
+        final CSRRealMatrix m = new SparseRealMatrixBuilder(3, 4)
+            .addEntry(2, 2, 4)
+            .addEntry(0, 3, 1.5)
+            .addEntry(2, 1, 3)
+            .addEntry(0, 0, 1)
+            .addEntry(0, 3, 0.5) // summed with previous entry
+            .addEntry(1, 1, 7)
+            .addEntry(1, 1, -7) // cancelled out
+            .buildCSR();
+
+        Assert.assertEquals(4, m.getNonZeroCount());
+        Assert.assertArrayEquals(new int[] { 0, 2, 2, 4 }, m.getRowPointers());
+        Assert.assertArrayEquals(new int[] { 0, 3, 1, 2 }, m.getColumnIndices());
+        Assert.assertArrayEquals(new double[] { 1, 2, 3, 4 }, m.getValues(), 0);
+        Assert.assertEquals(new Array2DRowRealMatrix(data), m);
+    }
+
+    @Test(expected=OutOfRangeException.class)
+    public void testBuilderInvalidIndex() {
+        new SparseRealMatrixBuilder(3, 4).addEntry(3, 0, 1);
+    }
+
+    @Test
+    public void testConversion() {
+        final RealMatrix dense = new Array2DRowRealMatrix(data);
+        final OpenMapRealMatrix map = new OpenMapRealMatrix(3, 4);
+        map.setEntry(0, 0, 1);
+        map.setEntry(0, 3, 2);
+        map.setEntry(2, 1, 3);
+        map.setEntry(2, 2, 4);
+
+        Assert.assertEquals(dense, new CSRRealMatrix(dense));
+        Assert.assertEquals(dense, new CSRRealMatrix(map));
+        Assert.assertEquals(4, new CSRRealMatrix(map).getNonZeroCount());
+        Assert.assertEquals(dense, new CSRRealMatrix(new CSCRealMatrix(dense)));
+    }
+
+    @Test
+    public void testEntries() {
+        final CSRRealMatrix m = new CSRRealMatrix(new Array2DRowRealMatrix(data));
+        m.setEntry(2, 1, 5);
+        m.addToEntry(0, 3, 1);
+        m.multiplyEntry(2, 2, 2);
+        m.setEntry(1, 1, 0);
+        m.multiplyEntry(1, 2, 3);
+        Assert.assertEquals(5, m.getEntry(2, 1), 0);
+        Assert.assertEquals(3, m.getEntry(0, 3), 0);
+        Assert.assertEquals(8, m.getEntry(2, 2), 0);
+        Assert.assertEquals(0, m.getEntry(1, 1), 0);
+        Assert.assertEquals(0, m.getEntry(1, 2), 0);
+    }
+
+    @Test(expected=MathUnsupportedOperationException.class)
+    public void testSetUnstoredEntry() {
+        new CSRRealMatrix(new Array2DRowRealMatrix(data)).setEntry(1, 1, 1);
+    }
+
+    @Test(expected=OutOfRangeException.class)
+    public void testGetEntryOutOfRange() {
+        new CSRRealMatrix(new Array2DRowRealMatrix(data)).getEntry(0, 4);
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testInvalidPointers() {
+        new CSRRealMatrix(3, 4, new int[] { 0, 1, 2 }, new int[] { 0, 0 }, new double[] { 1, 1 }, true);
+    }
+
+    @Test(expected=NonMonotonicSequenceException.class)
+    public void testUnsortedColumns() {
+        new CSRRealMatrix(2, 4, new int[] { 0, 2, 2 }, new int[] { 3, 1 }, new double[] { 1, 1 }, true);
+    }
+
+    @Test(expected=OutOfRangeException.class)
+    public void testInvalidColumn() {
+        new CSRRealMatrix(2, 4, new int[] { 0, 1, 1 }, new int[] { 4 }, new double[] { 1 }, true);
+    }
+
+    @Test
+    public void testOperations() {
+        final Random random = new Random(0x6b83c0f18feL);
+        final RealMatrix dense = createRandomSparseMatrix(random, 37, 23);
+        final CSRRealMatrix csr = new CSRRealMatrix(dense);
+        final double[] v = new double[23];
+        final double[] w = new double[37];
+        for (int i = 0; i < v.length; i++) {
+            v[i] = random.nextDouble();
+        }
+        for (int i = 0; i < w.length; i++) {
+            w[i] = random.nextDouble();
+        }
+        final RealMatrix b = new Array2DRowRealMatrix(23, 5);
+        for (int i = 0; i < 23; i++) {
+            for (int j = 0; j < 5; j++) {
+                b.setEntry(i, j, random.nextDouble());
+            }
+        }
+
+        Assert.assertArrayEquals(dense.operate(v), csr.operate(v), 1e-14);
+        Assert.assertArrayEquals(dense.preMultiply(w), csr.preMultiply(w), 1e-14);
+        Assert.assertArrayEquals(dense.preMultiply(w),
+                                 csr.operateTranspose(new ArrayRealVector(w)).toArray(), 1e-14);
+        Assert.assertArrayEquals(dense.operate(v),
+                                 csr.operate(new OpenMapRealVector(v)).toArray(), 1e-14);
+        Assert.assertTrue(csr.isTransposable());
+        Assert.assertEquals(dense.transpose(), csr.transpose());
+        Assert.assertEquals(dense.scalarMultiply(3), csr.scalarMultiply(3));
+        Assert.assertEquals(0, dense.multiply(b).subtract(csr.multiply(b)).getNorm(), 1e-14);
+        Assert.assertEquals(0, dense.multiply(new BlockRealMatrix(b.getData()))
+                            .subtract(csr.multiply(new BlockRealMatrix(b.getData()))).getNorm(), 1e-14);
+    }
+
+    @Test
+    public void testTransposeIsIndependent() {
+        final CSRRealMatrix m = new CSRRealMatrix(new Array2DRowRealMatrix(data));
+        final CSCRealMatrix t = m.transpose();
+        Assert.assertEquals(new Array2DRowRealMatrix(data).transpose(), t);
+        t.setEntry(3, 0, 5);
+        t.multiplyEntry(2, 2, 3);
+        Assert.assertEquals(new Array2DRowRealMatrix(data), m);
+        m.setEntry(2, 1, 6);
+        Assert.assertEquals(3, t.getEntry(1, 2), 0);
+    }
+
+    @Test
+    public void testSparseMultiply() {
+        final Random random = new Random(0x3c1e57a90d4bL);
+        final RealMatrix a = createRandomSparseMatrix(random, 23, 31);
+        final RealMatrix b = createRandomSparseMatrix(random, 31, 19);
+        final RealMatrix expected = a.multiply(b);
+        final CSRRealMatrix csr = new CSRRealMatrix(a);
+
+        final OpenMapRealMatrix openMap = new OpenMapRealMatrix(b.getRowDimension(), b.getColumnDimension());
+        for (int i = 0; i < b.getRowDimension(); i++) {
+            openMap.setRow(i, b.getRow(i));
+        }
+        for (final RealMatrix operand : new RealMatrix[] { new CSRRealMatrix(b), new CSCRealMatrix(b), openMap }) {
+            final RealMatrix product = csr.multiply(operand);
+            Assert.assertTrue(product instanceof CSRRealMatrix);
+            Assert.assertEquals(0, expected.subtract(product).getNorm(), 1e-14);
+        }
+    }
+
+    @Test
+    public void testConjugateGradient() {
+        // 1D Laplacian
+        final int n = 50;
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(n, n);
+        for (int i = 0; i < n; i++) {
+            builder.addEntry(i, i, 2);
+            if (i > 0) {
+                builder.addEntry(i, i - 1, -1);
+                builder.addEntry(i - 1, i, -1);
+            }
+        }
+        final CSRRealMatrix a = builder.buildCSR();
+        final RealVector xExpected = new ArrayRealVector(n, 1);
+        final RealVector b = a.operate(xExpected);
+        final RealVector x = new ConjugateGradient(1000, 1e-12, false).solve(a, b);
+        Assert.assertEquals(0, x.getDistance(xExpected), 1e-9);
+    }
+
+    private RealMatrix createRandomSparseMatrix(Random r, int rows, int columns) {
+        final RealMatrix m = new Array2DRowRealMatrix(rows, columns);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                if (r.nextDouble() < 0.2) {
+                    m.setEntry(i, j, 2 * r.nextDouble() - 1);
+                }
+            }
+        }
+        return m;
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.commons.math4.exception.NullArgumentException;
 import org.apache.commons.math4.exception.NumberIsTooLargeException;
 import org.apache.commons.math4.exception.OutOfRangeException;
 import org.apache.commons.math4.linear.Array2DRowRealMatrix;
+import org.apache.commons.math4.linear.CSRRealMatrix;
 import org.apache.commons.math4.linear.DiagonalMatrix;
 import org.apache.commons.math4.linear.MatrixUtils;
 import org.apache.commons.math4.linear.RealMatrix;
@@ -238,6 +239,29 @@ public class DiagonalMatrixTest {
         }
     }
 
+    @Test
+    public void testMultiplySparse() {
+        final double[] data1 = { -1.2, 3.4, 5 };
+        final DiagonalMatrix diag1 = new DiagonalMatrix(data1);
+
+        final double[][] data2 = { { -1.2, 0 },
+                                   {  0,   0 },
+                                   {  9.1, 2.3 } };
+        final CSRRealMatrix sparse2 = new CSRRealMatrix(new Array2DRowRealMatrix(data2));
+
+        final RealMatrix diagResult = diag1.multiply(sparse2);
+        Assert.assertTrue(diagResult instanceof CSRRealMatrix);
+        Assert.assertEquals(3, ((CSRRealMatrix) diagResult).getNonZeroCount());
+        for (int i = 0; i < data2.length; i++) {
+            for (int j = 0; j < data2[i].length; j++) {
+                Assert.assertEquals(data1[i] * data2[i][j],
+                                    diagResult.getEntry(i, j), 0d);
+            }
+        }
+        // The operand is not modified.
+        Assert.assertEquals(-1.2, sparse2.getEntry(0, 0), 0d);
+    }
+
     @Test
     public void testOperate() {
         final double[] data = { -1.2, 3.4, 5 };
@@ -16,14 +16,24 @@
  */
 package org.apache.commons.math4.ml.clustering;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.math4.exception.MathIllegalArgumentException;
 import org.apache.commons.math4.exception.NullArgumentException;
 import org.apache.commons.math4.ml.clustering.Cluster;
 import org.apache.commons.math4.ml.clustering.DBSCANClusterer;
 import org.apache.commons.math4.ml.clustering.DoublePoint;
+import org.apache.commons.math4.ml.distance.CanberraDistance;
+import org.apache.commons.math4.ml.distance.ChebyshevDistance;
+import org.apache.commons.math4.ml.distance.DistanceMeasure;
+import org.apache.commons.math4.ml.distance.EuclideanDistance;
+import org.apache.commons.math4.ml.distance.ManhattanDistance;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -190,4 +200,98 @@ public class DBSCANClustererTest {
         clusterer.cluster(null);
     }
 
+    @Test
+    public void testGridMatchesExhaustiveSearch() {
+        final List<DoublePoint> points = createNoisyClusters(2, 1500);
+        // anonymous subclasses disable the grid index
+        checkSameClusters(new DBSCANClusterer<DoublePoint>(0.6, 4, new EuclideanDistance() {}).cluster(points),
+                          new DBSCANClusterer<DoublePoint>(0.6, 4, new EuclideanDistance()).cluster(points));
+        checkSameClusters(new DBSCANClusterer<DoublePoint>(0.8, 4, new ManhattanDistance() {}).cluster(points),
+                          new DBSCANClusterer<DoublePoint>(0.8, 4, new ManhattanDistance()).cluster(points));
+        checkSameClusters(new DBSCANClusterer<DoublePoint>(0.5, 4, new ChebyshevDistance() {}).cluster(points),
+                          new DBSCANClusterer<DoublePoint>(0.5, 4, new ChebyshevDistance()).cluster(points));
+    }
+
+    @Test
+    public void testGridHighDimension() {
+        final List<DoublePoint> points = createNoisyClusters(6, 800);
+        checkSameClusters(new DBSCANClusterer<DoublePoint>(1.5, 5, new EuclideanDistance() {}).cluster(points),
+                          new DBSCANClusterer<DoublePoint>(1.5, 5).cluster(points));
+    }
+
+    @Test
+    public void testGridZeroEps() {
+        final List<DoublePoint> points = createNoisyClusters(2, 300);
+        checkSameClusters(new DBSCANClusterer<DoublePoint>(0, 1, new EuclideanDistance() {}).cluster(points),
+                          new DBSCANClusterer<DoublePoint>(0, 1).cluster(points));
+    }
+
+    @Test
+    public void testParallelCluster() {
+        final List<DoublePoint> points = createNoisyClusters(3, 2000);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            checkSameClusters(new DBSCANClusterer<DoublePoint>(0.9, 5).cluster(points),
+                              new DBSCANClusterer<DoublePoint>(0.9, 5).cluster(points, executor));
+            final DistanceMeasure canberra = new CanberraDistance();
+            checkSameClusters(new DBSCANClusterer<DoublePoint>(0.3, 5, canberra).cluster(points),
+                              new DBSCANClusterer<DoublePoint>(0.3, 5, canberra).cluster(points, executor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = NullArgumentException.class)
+    public void testParallelNullExecutor() {
+        new DBSCANClusterer<DoublePoint>(2.0, 5).cluster(createNoisyClusters(2, 10), null);
+    }
+
+    /**
+     * Creates a few dense blobs, some uniform noise and some duplicated points.
+     *
+     * @param dim Dimension of the points.
+     * @param n Number of points.
+     * @return the points.
+     */
+    private static List<DoublePoint> createNoisyClusters(int dim, int n) {
+        final UniformRandomProvider rnd = RandomSource.create(RandomSource.MT_64, 1234567L);
+        final List<DoublePoint> points = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            final double[] p = new double[dim];
+            final double center = 10 * (i % 4);
+            final boolean noise = i % 5 == 0;
+            for (int k = 0; k < dim; k++) {
+                p[k] = noise ?
+                    50 * rnd.nextDouble() - 5 :
+                    center + (k == 0 ? 3 : 1) * (rnd.nextDouble() + rnd.nextDouble() - 1);
+            }
+            points.add(new DoublePoint(p));
+            if (i % 97 == 0) {
+                // equal but distinct instance, and same instance
+                points.add(new DoublePoint(p));
+                points.add(points.get(points.size() - 1));
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Checks that the clusters contain the same point instances, in the same order.
+     *
+     * @param expected Expected clusters.
+     * @param actual Actual clusters.
+     */
+    private static void checkSameClusters(List<Cluster<DoublePoint>> expected,
+                                          List<Cluster<DoublePoint>> actual) {
+        Assert.assertTrue(expected.size() > 1);
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final List<DoublePoint> e = expected.get(i).getPoints();
+            final List<DoublePoint> a = actual.get(i).getPoints();
+            Assert.assertEquals(e.size(), a.size());
+            for (int j = 0; j < e.size(); j++) {
+                Assert.assertSame(e.get(j), a.get(j));
+            }
+        }
+    }
 }
@@ -21,13 +21,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.math4.exception.NumberIsTooSmallException;
 import org.apache.commons.math4.ml.clustering.CentroidCluster;
 import org.apache.commons.math4.ml.clustering.Cluster;
 import org.apache.commons.math4.ml.clustering.DoublePoint;
 import org.apache.commons.math4.ml.clustering.KMeansPlusPlusClusterer;
+import org.apache.commons.math4.ml.distance.DistanceMeasure;
 import org.apache.commons.math4.ml.distance.EuclideanDistance;
+import org.apache.commons.math4.ml.distance.ManhattanDistance;
 import org.apache.commons.rng.simple.RandomSource;
 import org.apache.commons.rng.UniformRandomProvider;
 import org.junit.Assert;
@@ -189,4 +193,100 @@ public class KMeansPlusPlusClustererTest {
 
     }
 
+    @Test
+    public void testBoundsMatchExhaustiveAssignment() {
+        final List<DoublePoint> points = createBlobs(8, 3000, false);
+        // anonymous subclasses disable the bounds
+        checkSameClusters(cluster(points, 12, new EuclideanDistance() {}, null),
+                          cluster(points, 12, new EuclideanDistance(), null));
+        checkSameClusters(cluster(points, 12, new ManhattanDistance() {}, null),
+                          cluster(points, 12, new ManhattanDistance(), null));
+    }
+
+    @Test
+    public void testBoundsWithTies() {
+        // integer coordinates produce many exactly equal distances
+        final List<DoublePoint> points = createBlobs(2, 2000, true);
+        checkSameClusters(cluster(points, 7, new EuclideanDistance() {}, null),
+                          cluster(points, 7, new EuclideanDistance(), null));
+    }
+
+    @Test
+    public void testParallelCluster() {
+        final List<DoublePoint> points = createBlobs(4, 10000, false);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            checkSameClusters(cluster(points, 9, new EuclideanDistance(), null),
+                              cluster(points, 9, new EuclideanDistance(), executor));
+            checkSameClusters(cluster(points, 9, new EuclideanDistance() {}, null),
+                              cluster(points, 9, new EuclideanDistance() {}, executor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<CentroidCluster<DoublePoint>> cluster(List<DoublePoint> points,
+                                                              int k,
+                                                              DistanceMeasure measure,
+                                                              ExecutorService executor) {
+        final KMeansPlusPlusClusterer<DoublePoint> clusterer =
+            new KMeansPlusPlusClusterer<>(k, 100, measure,
+                                          RandomSource.create(RandomSource.MT_64, 43L));
+        return executor == null ?
+            clusterer.cluster(points) :
+            clusterer.cluster(points, executor);
+    }
+
+    /**
+     * Creates points around a few random centers.
+     *
+     * @param dim Dimension of the points.
+     * @param n Number of points.
+     * @param round Whether to round the coordinates to integers.
+     * @return the points.
+     */
+    private static List<DoublePoint> createBlobs(int dim, int n, boolean round) {
+        final UniformRandomProvider rnd = RandomSource.create(RandomSource.MT_64, 789L);
+        final double[][] centers = new double[6][dim];
+        for (double[] c : centers) {
+            for (int k = 0; k < dim; k++) {
+                c[k] = 100 * rnd.nextDouble();
+            }
+        }
+        final List<DoublePoint> points = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            final double[] c = centers[i % centers.length];
+            final double[] p = new double[dim];
+            for (int k = 0; k < dim; k++) {
+                p[k] = c[k] + 20 * (rnd.nextDouble() - 0.5);
+                if (round) {
+                    p[k] = Math.rint(p[k]);
+                }
+            }
+            points.add(new DoublePoint(p));
+        }
+        return points;
+    }
+
+    /**
+     * Checks that the clusters have the same centers and contain the same
+     * point instances, in the same order.
+     *
+     * @param expected Expected clusters.
+     * @param actual Actual clusters.
+     */
+    private static void checkSameClusters(List<CentroidCluster<DoublePoint>> expected,
+                                          List<CentroidCluster<DoublePoint>> actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertArrayEquals(expected.get(i).getCenter().getPoint(),
+                                     actual.get(i).getCenter().getPoint(), 0);
+            final List<DoublePoint> e = expected.get(i).getPoints();
+            final List<DoublePoint> a = actual.get(i).getPoints();
+            Assert.assertEquals(e.size(), a.size());
+            for (int j = 0; j < e.size(); j++) {
+                Assert.assertSame(e.get(j), a.get(j));
+            }
+        }
+    }
 }
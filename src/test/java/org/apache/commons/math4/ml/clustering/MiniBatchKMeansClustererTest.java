@@ -28,6 +28,8 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class MiniBatchKMeansClustererTest {
     /**
@@ -88,6 +90,48 @@ public class MiniBatchKMeansClustererTest {
         }
     }
 
+    @Test
+    public void testParallelCluster() {
+        final List<DoublePoint> data = generateCircles(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final List<CentroidCluster<DoublePoint>> serial = createClusterer(7).cluster(data);
+            final List<CentroidCluster<DoublePoint>> parallel = createClusterer(7).cluster(data, executor);
+            Assert.assertEquals(serial.size(), parallel.size());
+            for (int i = 0; i < serial.size(); i++) {
+                Assert.assertArrayEquals(serial.get(i).getCenter().getPoint(),
+                                         parallel.get(i).getCenter().getPoint(), 0);
+                Assert.assertEquals(serial.get(i).getPoints(), parallel.get(i).getPoints());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testWithRandomGenerator() {
+        final List<DoublePoint> data = generateCircles(2);
+        final KMeansPlusPlusClusterer<DoublePoint> copy =
+            createClusterer(3).withRandomGenerator(RandomSource.create(RandomSource.MT_64, 7));
+        Assert.assertTrue(copy instanceof MiniBatchKMeansClusterer);
+
+        // same settings as a clusterer built with the new generator
+        final List<CentroidCluster<DoublePoint>> expected = createClusterer(7).cluster(data);
+        final List<CentroidCluster<DoublePoint>> actual = copy.cluster(data);
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertArrayEquals(expected.get(i).getCenter().getPoint(),
+                                     actual.get(i).getCenter().getPoint(), 0);
+            Assert.assertEquals(expected.get(i).getPoints(), actual.get(i).getPoints());
+        }
+    }
+
+    private MiniBatchKMeansClusterer<DoublePoint> createClusterer(int seed) {
+        return new MiniBatchKMeansClusterer<>(4, -1, 100, 3, 300, 10, DEFAULT_MEASURE,
+                                              RandomSource.create(RandomSource.MT_64, seed),
+                                              KMeansPlusPlusClusterer.EmptyClusterStrategy.LARGEST_VARIANCE);
+    }
+
     /**
      * Generate points around 4 circles.
      * @param randomSeed Random seed
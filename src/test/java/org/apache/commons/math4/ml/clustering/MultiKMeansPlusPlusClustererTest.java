@@ -18,14 +18,25 @@
 package org.apache.commons.math4.ml.clustering;
 
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.math4.ml.clustering.CentroidCluster;
 import org.apache.commons.math4.ml.clustering.Clusterable;
 import org.apache.commons.math4.ml.clustering.DoublePoint;
 import org.apache.commons.math4.ml.clustering.KMeansPlusPlusClusterer;
 import org.apache.commons.math4.ml.clustering.MultiKMeansPlusPlusClusterer;
+import org.apache.commons.math4.ml.distance.EuclideanDistance;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -100,4 +111,169 @@ public class MultiKMeansPlusPlusClustererTest {
 
     }
 
+    @Test
+    public void testParallelTrials() {
+        final List<DoublePoint> points = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            final double x = 10 * (i % 3) + 0.01 * (i % 17);
+            final double y = 5 * (i % 3) - 0.02 * (i % 13);
+            points.add(new DoublePoint(new double[] { x, y }));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final List<CentroidCluster<DoublePoint>> first = createClusterer(12345L).cluster(points, executor);
+            final List<CentroidCluster<DoublePoint>> second = createClusterer(12345L).cluster(points, executor);
+
+            // reproducible, whatever the scheduling of the trials
+            Assert.assertEquals(3, first.size());
+            Assert.assertEquals(first.size(), second.size());
+            for (int i = 0; i < first.size(); i++) {
+                Assert.assertArrayEquals(first.get(i).getCenter().getPoint(),
+                                         second.get(i).getCenter().getPoint(), 0);
+                Assert.assertEquals(200, first.get(i).getPoints().size());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelTrialsMiniBatch() {
+        final List<DoublePoint> points = createPoints();
+        final AtomicInteger tasks = new AtomicInteger();
+        final ExecutorService executor
+            = new ThreadPoolExecutor(3, 3, 0, TimeUnit.MILLISECONDS,
+                                     new LinkedBlockingQueue<Runnable>()) {
+                    @Override
+                    public void execute(Runnable command) {
+                        tasks.incrementAndGet();
+                        super.execute(command);
+                    }
+                };
+        try {
+            final List<CentroidCluster<DoublePoint>> first = createMiniBatchClusterer(12345L).cluster(points, executor);
+            // the trials were run by the executor
+            Assert.assertEquals(8, tasks.get());
+            final List<CentroidCluster<DoublePoint>> second = createMiniBatchClusterer(12345L).cluster(points, executor);
+
+            Assert.assertEquals(3, first.size());
+            Assert.assertEquals(first.size(), second.size());
+            for (int i = 0; i < first.size(); i++) {
+                Assert.assertArrayEquals(first.get(i).getCenter().getPoint(),
+                                         second.get(i).getCenter().getPoint(), 0);
+                Assert.assertEquals(200, first.get(i).getPoints().size());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelTrialsKeepSubclass() {
+        final List<DoublePoint> points = createPoints();
+        final AtomicInteger count = new AtomicInteger();
+        final MultiKMeansPlusPlusClusterer<DoublePoint> clusterer =
+            new MultiKMeansPlusPlusClusterer<>(new CopyableClusterer(RandomSource.create(RandomSource.MT_64, 12345L),
+                                                                     count),
+                                               8);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final List<CentroidCluster<DoublePoint>> clusters = clusterer.cluster(points, executor);
+            Assert.assertEquals(3, clusters.size());
+            // all the trials ran the overridden method
+            Assert.assertEquals(8, count.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelTrialsWithoutCopy() {
+        final List<DoublePoint> points = createPoints();
+        final AtomicInteger count = new AtomicInteger();
+        final MultiKMeansPlusPlusClusterer<DoublePoint> sequential =
+            new MultiKMeansPlusPlusClusterer<>(new CountingClusterer(RandomSource.create(RandomSource.MT_64, 12345L),
+                                                                     count),
+                                               8);
+        final MultiKMeansPlusPlusClusterer<DoublePoint> parallel =
+            new MultiKMeansPlusPlusClusterer<>(new CountingClusterer(RandomSource.create(RandomSource.MT_64, 12345L),
+                                                                     count),
+                                               8);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final List<CentroidCluster<DoublePoint>> expected = sequential.cluster(points);
+            Assert.assertEquals(8, count.get());
+            final List<CentroidCluster<DoublePoint>> actual = parallel.cluster(points, executor);
+            // the subclass cannot be copied, the trials ran sequentially with it
+            Assert.assertEquals(16, count.get());
+            Assert.assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assert.assertArrayEquals(expected.get(i).getCenter().getPoint(),
+                                         actual.get(i).getCenter().getPoint(), 0);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<DoublePoint> createPoints() {
+        final List<DoublePoint> points = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            final double x = 10 * (i % 3) + 0.01 * (i % 17);
+            final double y = 5 * (i % 3) - 0.02 * (i % 13);
+            points.add(new DoublePoint(new double[] { x, y }));
+        }
+        return points;
+    }
+
+    /** Clusterer counting its runs, which cannot be copied. */
+    private static class CountingClusterer extends KMeansPlusPlusClusterer<DoublePoint> {
+
+        private final AtomicInteger count;
+
+        CountingClusterer(final UniformRandomProvider random, final AtomicInteger count) {
+            super(3, 20, new EuclideanDistance(), random);
+            this.count = count;
+        }
+
+        @Override
+        public List<CentroidCluster<DoublePoint>> cluster(final Collection<DoublePoint> points) {
+            count.incrementAndGet();
+            return super.cluster(points);
+        }
+    }
+
+    /** Clusterer counting its runs, which can be copied. */
+    private static class CopyableClusterer extends CountingClusterer {
+
+        private final AtomicInteger count;
+
+        CopyableClusterer(final UniformRandomProvider random, final AtomicInteger count) {
+            super(random, count);
+            this.count = count;
+        }
+
+        @Override
+        public KMeansPlusPlusClusterer<DoublePoint> withRandomGenerator(final UniformRandomProvider generator) {
+            return new CopyableClusterer(generator, count);
+        }
+    }
+
+    private static MultiKMeansPlusPlusClusterer<DoublePoint> createClusterer(long seed) {
+        return new MultiKMeansPlusPlusClusterer<>(
+            new KMeansPlusPlusClusterer<DoublePoint>(3, 20, new EuclideanDistance(),
+                                                     RandomSource.create(RandomSource.MT_64, seed)),
+            8);
+    }
+
+    private static MultiKMeansPlusPlusClusterer<DoublePoint> createMiniBatchClusterer(long seed) {
+        return new MultiKMeansPlusPlusClusterer<>(
+            new MiniBatchKMeansClusterer<DoublePoint>(3, 20, 100, 3, 300, 10, new EuclideanDistance(),
+                                                      RandomSource.create(RandomSource.MT_64, seed),
+                                                      KMeansPlusPlusClusterer.EmptyClusterStrategy.LARGEST_VARIANCE),
+            8);
+    }
 }
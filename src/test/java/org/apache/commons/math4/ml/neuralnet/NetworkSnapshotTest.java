@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.ml.neuralnet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math4.exception.DimensionMismatchException;
+import org.apache.commons.math4.ml.distance.DistanceMeasure;
+import org.apache.commons.math4.ml.distance.EuclideanDistance;
+import org.apache.commons.math4.ml.neuralnet.twod.NeuronSquareMesh2D;
+import org.apache.commons.math4.util.Pair;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link NetworkSnapshot}.
+ */
+public class NetworkSnapshotTest {
+    private static final int DIM = 16;
+    private final DistanceMeasure distance = new EuclideanDistance();
+
+    @Test
+    public void testSnapshot() {
+        final Network net = createNetwork();
+        final NetworkSnapshot snapshot = new NetworkSnapshot(net);
+
+        Assert.assertSame(net, snapshot.getNetwork());
+        Assert.assertEquals(64, snapshot.getNumberOfNeurons());
+        for (int i = 0; i < snapshot.getNumberOfNeurons(); i++) {
+            final Neuron n = snapshot.getNeuron(i);
+            Assert.assertEquals(i, n.getIdentifier());
+            Assert.assertArrayEquals(n.getFeatures(), snapshot.getFeatures(i), 0);
+        }
+
+        // Later changes of the network are not visible.
+        final Neuron n = snapshot.getNeuron(3);
+        final double[] old = n.getFeatures();
+        Assert.assertTrue(n.compareAndSetFeatures(old, new double[DIM]));
+        Assert.assertArrayEquals(old, snapshot.getFeatures(3), 0);
+    }
+
+    @Test
+    public void testFindBest() {
+        final Network net = createNetwork();
+        final NetworkSnapshot snapshot = new NetworkSnapshot(net);
+        final List<Neuron> sorted = new ArrayList<>(net.getNeurons(new Network.NeuronIdentifierComparator()));
+
+        for (double[] sample : createSamples(500)) {
+            final Neuron expected = MapUtils.findBest(sample, sorted, distance);
+            Assert.assertSame(expected, snapshot.getNeuron(snapshot.findBestIndex(sample)));
+
+            final Pair<Neuron, Neuron> expectedPair = MapUtils.findBestAndSecondBest(sample, sorted, distance);
+            final int[] pair = snapshot.findBestAndSecondBestIndices(sample);
+            Assert.assertSame(expectedPair.getFirst(), snapshot.getNeuron(pair[0]));
+            Assert.assertSame(expectedPair.getSecond(), snapshot.getNeuron(pair[1]));
+
+            final double d = distance.compute(expected.getFeatures(), sample);
+            Assert.assertEquals(d * d, snapshot.squaredDistance(pair[0], sample), 1e-12 * d * d);
+        }
+    }
+
+    @Test
+    public void testFindBestIndices() {
+        final NetworkSnapshot snapshot = new NetworkSnapshot(createNetwork());
+        final double[][] samples = createSamples(2000).toArray(new double[0][]);
+
+        final int[] serial = snapshot.findBestIndices(samples);
+        for (int k = 0; k < samples.length; k++) {
+            Assert.assertEquals(snapshot.findBestIndex(samples[k]), serial[k]);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Assert.assertArrayEquals(serial, snapshot.findBestIndices(samples, executor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testErrors() {
+        final Network net = createNetwork();
+        final NetworkSnapshot snapshot = new NetworkSnapshot(net);
+        final List<double[]> samples = createSamples(300);
+
+        Assert.assertEquals(MapUtils.computeQuantizationError(samples, net, distance),
+                            MapUtils.computeQuantizationError(samples, snapshot),
+                            1e-12);
+        Assert.assertEquals(MapUtils.computeTopographicError(samples, net, distance),
+                            MapUtils.computeTopographicError(samples, snapshot),
+                            0);
+    }
+
+    @Test
+    public void testSmallNetwork() {
+        final Network net = new Network(0, 1);
+        final NetworkSnapshot empty = new NetworkSnapshot(net);
+        Assert.assertEquals(-1, empty.findBestIndex(new double[] { 1 }));
+
+        net.createNeuron(new double[] { 2 });
+        final int[] pair = new NetworkSnapshot(net).findBestAndSecondBestIndices(new double[] { 1 });
+        Assert.assertArrayEquals(new int[] { 0, -1 }, pair);
+    }
+
+    @Test(expected = DimensionMismatchException.class)
+    public void testDimensionMismatch() {
+        new NetworkSnapshot(createNetwork()).findBestIndex(new double[DIM + 1]);
+    }
+
+    /**
+     * @return a 8x8 map with random features.
+     */
+    private static Network createNetwork() {
+        final UniformRandomProvider rng = RandomSource.create(RandomSource.MT_64, 1357L);
+        final FeatureInitializer[] init = new FeatureInitializer[DIM];
+        for (int i = 0; i < DIM; i++) {
+            init[i] = FeatureInitializerFactory.uniform(rng, -1, 1);
+        }
+        return new NeuronSquareMesh2D(8, false, 8, false,
+                                      SquareNeighbourhood.MOORE,
+                                      init).getNetwork();
+    }
+
+    /**
+     * @param n Number of samples.
+     * @return random samples.
+     */
+    private static List<double[]> createSamples(int n) {
+        final UniformRandomProvider rng = RandomSource.create(RandomSource.MT_64, 2468L);
+        final List<double[]> samples = new ArrayList<>(n);
+        for (int k = 0; k < n; k++) {
+            final double[] s = new double[DIM];
+            for (int i = 0; i < DIM; i++) {
+                s[i] = 2 * rng.nextDouble() - 1;
+            }
+            samples.add(s);
+        }
+        return samples;
+    }
+}
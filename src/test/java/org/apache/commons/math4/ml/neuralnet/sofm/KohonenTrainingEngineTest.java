@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.ml.neuralnet.sofm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math4.exception.NotPositiveException;
+import org.apache.commons.math4.exception.NotStrictlyPositiveException;
+import org.apache.commons.math4.ml.distance.DistanceMeasure;
+import org.apache.commons.math4.ml.distance.EuclideanDistance;
+import org.apache.commons.math4.ml.neuralnet.FeatureInitializer;
+import org.apache.commons.math4.ml.neuralnet.FeatureInitializerFactory;
+import org.apache.commons.math4.ml.neuralnet.MapUtils;
+import org.apache.commons.math4.ml.neuralnet.Network;
+import org.apache.commons.math4.ml.neuralnet.Neuron;
+import org.apache.commons.math4.ml.neuralnet.SquareNeighbourhood;
+import org.apache.commons.math4.ml.neuralnet.twod.NeuronSquareMesh2D;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link KohonenTrainingEngine}.
+ */
+public class KohonenTrainingEngineTest {
+    private final DistanceMeasure distance = new EuclideanDistance();
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testOnlineTraining() {
+        final Network net = createNetwork();
+        final List<double[]> samples = createSamples(4000);
+        final double before = MapUtils.computeQuantizationError(samples, net, distance);
+
+        final KohonenTrainingEngine engine = createEngine(net, 4);
+        engine.train(samples.iterator());
+
+        Assert.assertEquals(samples.size(), engine.getNumberOfSamples());
+        Assert.assertTrue(engine.getNumberOfUpdateAttempts() >= samples.size());
+        Assert.assertTrue(engine.getNumberOfFailedUpdateAttempts() <= engine.getNumberOfUpdateAttempts());
+        Assert.assertTrue(MapUtils.computeQuantizationError(samples, net, distance) < 0.5 * before);
+    }
+
+    @Test
+    public void testOnlineTrainingSingleTask() {
+        final Network net = createNetwork();
+        final List<double[]> samples = createSamples(500);
+
+        final KohonenTrainingEngine engine = createEngine(net, 1);
+        engine.train(samples.iterator());
+
+        // Without concurrency, no update can fail.
+        Assert.assertEquals(samples.size(), engine.getNumberOfSamples());
+        Assert.assertEquals(0, engine.getNumberOfFailedUpdateAttempts());
+        long successful = 0;
+        for (Neuron n : net) {
+            successful += n.getNumberOfSuccessfulUpdates();
+        }
+        Assert.assertEquals(successful, engine.getNumberOfUpdateAttempts());
+    }
+
+    @Test
+    public void testBatchTraining() {
+        final Network net = createNetwork();
+        final List<double[]> samples = createSamples(2000);
+        final double before = MapUtils.computeQuantizationError(samples, net, distance);
+
+        final KohonenTrainingEngine engine = createEngine(net, 3);
+        engine.trainBatch(samples, 20);
+
+        Assert.assertEquals(20, engine.getNumberOfEpochs());
+        Assert.assertEquals(0, engine.getNumberOfUpdateAttempts());
+        Assert.assertTrue(MapUtils.computeQuantizationError(samples, net, distance) < 0.5 * before);
+    }
+
+    @Test
+    public void testBatchTrainingIsReproducible() {
+        final List<double[]> samples = createSamples(1000);
+
+        final Network net1 = createNetwork();
+        createEngine(net1, 5).trainBatch(samples, 5);
+
+        final Network net2 = createNetwork();
+        final ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            new KohonenTrainingEngine(net2, distance, createLearning(), createNeighbourhood(), single, 5)
+                .trainBatch(samples, 5);
+        } finally {
+            single.shutdown();
+        }
+
+        for (Neuron n1 : net1) {
+            Assert.assertArrayEquals(n1.getFeatures(),
+                                     net2.getNeuron(n1.getIdentifier()).getFeatures(),
+                                     0);
+        }
+    }
+
+    @Test(expected = NotStrictlyPositiveException.class)
+    public void testInvalidNumberOfTasks() {
+        createEngine(createNetwork(), 0);
+    }
+
+    @Test(expected = NotPositiveException.class)
+    public void testInvalidNumberOfEpochs() {
+        createEngine(createNetwork(), 2).trainBatch(createSamples(10), -1);
+    }
+
+    private KohonenTrainingEngine createEngine(Network net,
+                                              int numTasks) {
+        return new KohonenTrainingEngine(net, distance, createLearning(), createNeighbourhood(),
+                                         executor, numTasks);
+    }
+
+    private static LearningFactorFunction createLearning() {
+        return LearningFactorFunctionFactory.exponentialDecay(0.9, 0.1, 1000);
+    }
+
+    private static NeighbourhoodSizeFunction createNeighbourhood() {
+        return NeighbourhoodSizeFunctionFactory.exponentialDecay(3, 1, 1000);
+    }
+
+    /**
+     * @return a 6x6 map whose features are initialized in [0.4, 0.6]^2.
+     */
+    private static Network createNetwork() {
+        final UniformRandomProvider rng = RandomSource.create(RandomSource.MT_64, 123L);
+        final FeatureInitializer init = FeatureInitializerFactory.uniform(rng, 0.4, 0.6);
+        return new NeuronSquareMesh2D(6, false, 6, false,
+                                      SquareNeighbourhood.VON_NEUMANN,
+                                      new FeatureInitializer[] { init, init }).getNetwork();
+    }
+
+    /**
+     * @param n Number of samples.
+     * @return samples uniformly distributed in the unit square.
+     */
+    private static List<double[]> createSamples(int n) {
+        final UniformRandomProvider rng = RandomSource.create(RandomSource.MT_64, 456L);
+        final List<double[]> samples = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            samples.add(new double[] { rng.nextDouble(), rng.nextDouble() });
+        }
+        return samples;
+    }
+}
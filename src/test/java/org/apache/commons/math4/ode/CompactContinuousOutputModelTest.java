@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.math4.ode;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+import org.apache.commons.math4.exception.MathIllegalArgumentException;
+import org.apache.commons.math4.exception.NumberIsTooSmallException;
+import org.apache.commons.math4.ode.nonstiff.ClassicalRungeKuttaIntegrator;
+import org.apache.commons.math4.ode.nonstiff.DormandPrince54Integrator;
+import org.apache.commons.math4.ode.nonstiff.DormandPrince853Integrator;
+import org.apache.commons.math4.ode.sampling.DummyStepInterpolator;
+import org.apache.commons.math4.ode.sampling.StepInterpolator;
+import org.apache.commons.math4.util.FastMath;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CompactContinuousOutputModelTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSameAsContinuousOutputModel() {
+        checkSameAsContinuousOutputModel(new DormandPrince853Integrator(0, 1.0, 1.0e-10, 1.0e-10),
+                                         new CompactContinuousOutputModel(), 2.0e-13);
+        checkSameAsContinuousOutputModel(new DormandPrince54Integrator(0, 1.0, 1.0e-8, 1.0e-8),
+                                         new CompactContinuousOutputModel(), 2.0e-13);
+        checkSameAsContinuousOutputModel(new ClassicalRungeKuttaIntegrator(0.01),
+                                         new CompactContinuousOutputModel(4), 2.0e-13);
+    }
+
+    @Test
+    public void testSpillFile() throws IOException {
+        final File file = folder.newFile("steps.bin");
+        final CompactContinuousOutputModel cm = new CompactContinuousOutputModel(7, file, 100);
+        checkSameAsContinuousOutputModel(new DormandPrince853Integrator(0, 1.0, 1.0e-10, 1.0e-10),
+                                         cm, 2.0e-13);
+        Assert.assertTrue(cm.getStepsCount() > 20);
+        Assert.assertTrue(file.length() > 0);
+        // full arrays hold 3 steps of 4 components with 8 coefficients each
+        Assert.assertEquals(0, file.length() % (3 * 4 * 8 * Double.BYTES));
+    }
+
+    @Test
+    public void testBatchEvaluation() {
+        final TestProblem3 pb = new TestProblem3(0.9);
+        final CompactContinuousOutputModel cm = new CompactContinuousOutputModel();
+        integrate(new DormandPrince853Integrator(0, 1.0, 1.0e-10, 1.0e-10), pb, cm);
+
+        final double[] times = new double[300];
+        for (int i = 0; i < times.length; i++) {
+            // neither sorted nor restricted to the integration interval
+            final double r = ((i * 7919) % times.length) / (times.length - 1.0);
+            times[i] = pb.getInitialTime() + (1.1 * r - 0.05) * (pb.getFinalTime() - pb.getInitialTime());
+        }
+
+        final double[][] states      = cm.getInterpolatedStates(times);
+        final double[][] derivatives = cm.getInterpolatedDerivatives(times);
+        Assert.assertEquals(pb.getFinalTime(), cm.getInterpolatedTime(), 0);
+        for (int i = 0; i < times.length; i++) {
+            cm.setInterpolatedTime(times[i]);
+            Assert.assertArrayEquals(cm.getInterpolatedState(), states[i], 0);
+            Assert.assertArrayEquals(cm.getInterpolatedDerivatives(), derivatives[i], 0);
+        }
+    }
+
+    @Test
+    public void testModelsMerging() {
+
+        // theoretical solution: y[0] = cos(t), y[1] = sin(t)
+        final FirstOrderDifferentialEquations problem = new FirstOrderDifferentialEquations() {
+            @Override
+            public void computeDerivatives(double t, double[] y, double[] dot) {
+                dot[0] = -y[1];
+                dot[1] =  y[0];
+            }
+            @Override
+            public int getDimension() {
+                return 2;
+            }
+        };
+
+        // integrate backward from pi to 0
+        final CompactContinuousOutputModel cm1 = new CompactContinuousOutputModel();
+        final FirstOrderIntegrator integ1 = new DormandPrince853Integrator(0, 1.0, 1.0e-8, 1.0e-8);
+        integ1.addStepHandler(cm1);
+        integ1.integrate(problem, FastMath.PI, new double[] { -1.0, 0.0 }, 0, new double[2]);
+
+        // integrate backward from 2 pi to pi
+        final CompactContinuousOutputModel cm2 = new CompactContinuousOutputModel();
+        final FirstOrderIntegrator integ2 = new DormandPrince853Integrator(0, 0.1, 1.0e-12, 1.0e-12);
+        integ2.addStepHandler(cm2);
+        integ2.integrate(problem, 2.0 * FastMath.PI, new double[] { 1.0, 0.0 }, FastMath.PI, new double[2]);
+
+        // merge the two half circles
+        final CompactContinuousOutputModel cm = new CompactContinuousOutputModel();
+        cm.append(cm2);
+        cm.append(new CompactContinuousOutputModel());
+        cm.append(cm1);
+
+        Assert.assertEquals(cm1.getStepsCount() + cm2.getStepsCount(), cm.getStepsCount());
+        Assert.assertEquals(2.0 * FastMath.PI, cm.getInitialTime(), 1.0e-12);
+        Assert.assertEquals(0, cm.getFinalTime(), 1.0e-12);
+        Assert.assertEquals(cm.getFinalTime(), cm.getInterpolatedTime(), 1.0e-12);
+        for (double t = 0; t < 2.0 * FastMath.PI; t += 0.1) {
+            cm.setInterpolatedTime(t);
+            final double[] y    = cm.getInterpolatedState();
+            final double[] yDot = cm.getInterpolatedDerivatives();
+            Assert.assertEquals(FastMath.cos(t),  y[0],    1.0e-7);
+            Assert.assertEquals(FastMath.sin(t),  y[1],    1.0e-7);
+            Assert.assertEquals(-FastMath.sin(t), yDot[0], 1.0e-6);
+            Assert.assertEquals(FastMath.cos(t),  yDot[1], 1.0e-6);
+        }
+
+    }
+
+    @Test
+    public void testErrorConditions() {
+
+        final CompactContinuousOutputModel cm = new CompactContinuousOutputModel();
+        cm.handleStep(buildInterpolator(0, new double[] { 0.0, 1.0, -2.0 }, 1), true);
+
+        // dimension mismatch
+        Assert.assertTrue(checkAppendError(cm, 1.0, new double[] { 0.0, 1.0 }, 2.0, 7));
+
+        // degree mismatch
+        Assert.assertTrue(checkAppendError(cm, 1.0, new double[] { 0.0, 1.0, -2.0 }, 2.0, 3));
+
+        // hole between time ranges
+        Assert.assertTrue(checkAppendError(cm, 10.0, new double[] { 0.0, 1.0, -2.0 }, 20.0, 7));
+
+        // propagation direction mismatch
+        Assert.assertTrue(checkAppendError(cm, 1.0, new double[] { 0.0, 1.0, -2.0 }, 0.0, 7));
+
+        // no errors
+        Assert.assertFalse(checkAppendError(cm, 1.0, new double[] { 0.0, 1.0, -2.0 }, 2.0, 7));
+
+    }
+
+    @Test
+    public void testAppendToEmptyModelWithOtherDegree() {
+        for (final int degree : new int[] { 3, 12 }) {
+            final CompactContinuousOutputModel cm = new CompactContinuousOutputModel(degree);
+            Assert.assertTrue(checkAppendError(cm, 0.0, new double[] { 0.0, 1.0, -2.0 }, 1.0, 8));
+            Assert.assertEquals(0, cm.getStepsCount());
+        }
+
+        // same degree
+        final CompactContinuousOutputModel cm = new CompactContinuousOutputModel(8);
+        Assert.assertFalse(checkAppendError(cm, 0.0, new double[] { 0.0, 1.0, -2.0 }, 1.0, 8));
+        Assert.assertEquals(1, cm.getStepsCount());
+        cm.setInterpolatedTime(0.5);
+        Assert.assertArrayEquals(new double[] { 0.0, 1.0, -2.0 }, cm.getInterpolatedState(), 1.0e-15);
+    }
+
+    @Test(expected=NumberIsTooSmallException.class)
+    public void testInvalidDegree() {
+        new CompactContinuousOutputModel(0);
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        final TestProblem3 pb = new TestProblem3(0.9);
+        final CompactContinuousOutputModel cm =
+            new CompactContinuousOutputModel(7, folder.newFile("steps.bin"), 50);
+        integrate(new DormandPrince54Integrator(0, 1.0, 1.0e-8, 1.0e-8), pb, cm);
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(cm);
+        }
+        final CompactContinuousOutputModel read;
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            read = (CompactContinuousOutputModel) ois.readObject();
+        }
+
+        Assert.assertEquals(cm.getStepsCount(), read.getStepsCount());
+        for (double t = pb.getInitialTime(); t < pb.getFinalTime(); t += 0.1) {
+            cm.setInterpolatedTime(t);
+            read.setInterpolatedTime(t);
+            Assert.assertArrayEquals(cm.getInterpolatedState(), read.getInterpolatedState(), 0);
+            Assert.assertArrayEquals(cm.getInterpolatedDerivatives(), read.getInterpolatedDerivatives(), 0);
+        }
+    }
+
+    private void checkSameAsContinuousOutputModel(final FirstOrderIntegrator integ,
+                                                  final CompactContinuousOutputModel compact,
+                                                  final double tolerance) {
+        final TestProblem3 pb = new TestProblem3(0.9);
+        final ContinuousOutputModel reference = new ContinuousOutputModel();
+        integ.addStepHandler(reference);
+        integrate(integ, pb, compact);
+
+        // random times avoid step boundaries, where the derivatives of
+        // the left and right steps may legitimately differ
+        final Random random = new Random(347588535632l);
+        for (int i = 0; i < 1000; ++i) {
+            final double r = random.nextDouble();
+            final double time = r * pb.getInitialTime() + (1.0 - r) * pb.getFinalTime();
+            reference.setInterpolatedTime(time);
+            compact.setInterpolatedTime(time);
+            final double[] y     = reference.getInterpolatedState();
+            final double[] yDot  = reference.getInterpolatedDerivatives();
+            final double[] yC    = compact.getInterpolatedState();
+            final double[] yDotC = compact.getInterpolatedDerivatives();
+            for (int j = 0; j < y.length; j++) {
+                Assert.assertEquals(y[j],    yC[j],    tolerance * FastMath.max(1, FastMath.abs(y[j])));
+                Assert.assertEquals(yDot[j], yDotC[j], 1.0e4 * tolerance * FastMath.max(1, FastMath.abs(yDot[j])));
+            }
+        }
+    }
+
+    private void integrate(final FirstOrderIntegrator integ,
+                           final TestProblem3 pb,
+                           final CompactContinuousOutputModel cm) {
+        integ.addStepHandler(cm);
+        integ.integrate(pb,
+                        pb.getInitialTime(), pb.getInitialState(),
+                        pb.getFinalTime(), new double[pb.getDimension()]);
+    }
+
+    private boolean checkAppendError(final CompactContinuousOutputModel cm,
+                                     final double t0, final double[] y0, final double t1,
+                                     final int degree) {
+        try {
+            final CompactContinuousOutputModel otherCm = new CompactContinuousOutputModel(degree);
+            otherCm.handleStep(buildInterpolator(t0, y0, t1), true);
+            cm.append(otherCm);
+        } catch (MathIllegalArgumentException iae) {
+            return true; // there was an allowable error
+        }
+        return false; // no allowable error
+    }
+
+    private StepInterpolator buildInterpolator(final double t0, final double[] y0, final double t1) {
+        final DummyStepInterpolator interpolator = new DummyStepInterpolator(y0, new double[y0.length], t1 >= t0);
+        interpolator.storeTime(t0);
+        interpolator.shift();
+        interpolator.storeTime(t1);
+        return interpolator;
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.ode;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math4.exception.DimensionMismatchException;
+import org.apache.commons.math4.ode.events.EventHandler;
+import org.apache.commons.math4.ode.nonstiff.ClassicalRungeKuttaIntegrator;
+import org.apache.commons.math4.ode.nonstiff.DormandPrince853Integrator;
+import org.apache.commons.math4.util.FastMath;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EnsembleIntegratorTest {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testSameAsSingleIntegrations() {
+        final TestProblem3 pb = new TestProblem3(0.9);
+        final double[][] y0 = initialStates(pb, 150);
+
+        final EnsembleIntegrator ensemble =
+            new EnsembleIntegrator(() -> new DormandPrince853Integrator(0, 1.0, 1.0e-10, 1.0e-10));
+        final EnsembleIntegrator.Result result =
+            ensemble.integrate(pb, pb.getInitialTime(), y0, pb.getFinalTime());
+
+        Assert.assertEquals(y0.length, result.getSize());
+        long total = 0;
+        for (int i = 0; i < y0.length; i++) {
+            final DormandPrince853Integrator integ = new DormandPrince853Integrator(0, 1.0, 1.0e-10, 1.0e-10);
+            final double[] y = new double[pb.getDimension()];
+            final double tEnd = integ.integrate(pb, pb.getInitialTime(), y0[i], pb.getFinalTime(), y);
+            Assert.assertArrayEquals(y, result.getFinalState(i), 0);
+            Assert.assertEquals(tEnd, result.getFinalTime(i), 0);
+            Assert.assertEquals(integ.getEvaluations(), result.getEvaluations(i));
+            Assert.assertTrue(result.getAcceptedSteps(i) > 0);
+            Assert.assertTrue(result.getMinStepSize(i) <= result.getMaxStepSize(i));
+            Assert.assertTrue(result.getMaxStepSize(i) <= 1.0);
+            total += integ.getEvaluations();
+        }
+        Assert.assertEquals(total, result.getTotalEvaluations());
+    }
+
+    @Test
+    public void testParallelSameAsSerial() {
+        final TestProblem3 pb = new TestProblem3(0.9);
+        final double[][] y0 = initialStates(pb, 500);
+
+        final EnsembleIntegrator ensemble =
+            new EnsembleIntegrator(() -> new DormandPrince853Integrator(0, 1.0, 1.0e-8, 1.0e-8));
+        final EnsembleIntegrator.Result serial =
+            ensemble.integrate(pb, pb.getInitialTime(), y0, pb.getFinalTime());
+        final EnsembleIntegrator.Result parallel =
+            ensemble.integrate(pb, pb.getInitialTime(), y0, pb.getFinalTime(), executor);
+
+        for (int i = 0; i < y0.length; i++) {
+            Assert.assertArrayEquals(serial.getFinalState(i), parallel.getFinalState(i), 0);
+            Assert.assertEquals(serial.getEvaluations(i), parallel.getEvaluations(i));
+            Assert.assertEquals(serial.getAcceptedSteps(i), parallel.getAcceptedSteps(i));
+            Assert.assertEquals(serial.getMinStepSize(i), parallel.getMinStepSize(i), 0);
+            Assert.assertEquals(serial.getMaxStepSize(i), parallel.getMaxStepSize(i), 0);
+        }
+    }
+
+    @Test
+    public void testEventsStopTrajectories() {
+        // y' = 1, stopped when y reaches 1, from y(0) = y0[i]
+        final FirstOrderDifferentialEquations equations = new FirstOrderDifferentialEquations() {
+            @Override
+            public int getDimension() {
+                return 1;
+            }
+            @Override
+            public void computeDerivatives(double t, double[] y, double[] yDot) {
+                yDot[0] = 1;
+            }
+        };
+        final double[][] y0 = new double[200][];
+        for (int i = 0; i < y0.length; i++) {
+            y0[i] = new double[] { -i * 0.01 };
+        }
+
+        final EnsembleIntegrator ensemble = new EnsembleIntegrator(() -> {
+                final ClassicalRungeKuttaIntegrator integ = new ClassicalRungeKuttaIntegrator(0.1);
+                integ.addEventHandler(new EventHandler() {
+                        @Override
+                        public void init(double t0, double[] y0, double t) {}
+                        @Override
+                        public double g(double t, double[] y) {
+                            return y[0] - 1;
+                        }
+                        @Override
+                        public Action eventOccurred(double t, double[] y, boolean increasing) {
+                            return Action.STOP;
+                        }
+                        @Override
+                        public void resetState(double t, double[] y) {}
+                    }, 1.0, 1.0e-12, 100);
+                return integ;
+            });
+        final EnsembleIntegrator.Result result = ensemble.integrate(equations, 0, y0, 10, executor);
+        for (int i = 0; i < y0.length; i++) {
+            Assert.assertEquals(1 + i * 0.01, result.getFinalTime(i), 1.0e-10);
+            Assert.assertEquals(1, result.getFinalState(i)[0], 1.0e-10);
+        }
+    }
+
+    @Test
+    public void testEmptyEnsemble() {
+        final TestProblem3 pb = new TestProblem3(0.9);
+        final EnsembleIntegrator ensemble =
+            new EnsembleIntegrator(() -> new DormandPrince853Integrator(0, 1.0, 1.0e-8, 1.0e-8));
+        Assert.assertEquals(0, ensemble.integrate(pb, 0, new double[0][], 1, executor).getSize());
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testDimensionMismatch() {
+        final TestProblem3 pb = new TestProblem3(0.9);
+        final double[][] y0 = initialStates(pb, 10);
+        y0[7] = new double[pb.getDimension() + 1];
+        new EnsembleIntegrator(() -> new DormandPrince853Integrator(0, 1.0, 1.0e-8, 1.0e-8)).
+            integrate(pb, pb.getInitialTime(), y0, pb.getFinalTime(), executor);
+    }
+
+    private double[][] initialStates(final TestProblem3 pb, final int size) {
+        final double[] reference = pb.getInitialState();
+        final double[][] y0 = new double[size][];
+        for (int i = 0; i < size; i++) {
+            y0[i] = reference.clone();
+            for (int j = 0; j < y0[i].length; j++) {
+                y0[i][j] += 1.0e-3 * FastMath.sin(7 * i + j);
+            }
+        }
+        return y0;
+    }
+
+}
@@ -18,6 +18,12 @@
 package org.apache.commons.math4.ode.events;
 
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
 import org.apache.commons.math4.analysis.solvers.BrentSolver;
 import org.apache.commons.math4.exception.DimensionMismatchException;
 import org.apache.commons.math4.exception.MaxCountExceededException;
@@ -32,6 +38,7 @@ import org.apache.commons.math4.ode.nonstiff.DormandPrince853Integrator;
 import org.apache.commons.math4.ode.nonstiff.LutherIntegrator;
 import org.apache.commons.math4.ode.sampling.AbstractStepInterpolator;
 import org.apache.commons.math4.ode.sampling.DummyStepInterpolator;
+import org.apache.commons.math4.util.FastMath;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -260,6 +267,66 @@ public class EventStateTest {
 
     }
 
+    @Test
+    public void testEventStatesAreNotReused()
+        throws DimensionMismatchException, NumberIsTooSmallException,
+               MaxCountExceededException, NoBracketingException {
+
+        FirstOrderDifferentialEquations equation = new FirstOrderDifferentialEquations() {
+
+            @Override
+            public int getDimension() {
+                return 1;
+            }
+
+            @Override
+            public void computeDerivatives(double t, double[] y, double[] yDot) {
+                yDot[0] = 1.0;
+            }
+        };
+
+        final Set<double[]> gArrays = Collections.newSetFromMap(new IdentityHashMap<double[], Boolean>());
+        final List<double[]> eventArrays = new ArrayList<>();
+        LutherIntegrator integrator = new LutherIntegrator(0.5);
+        integrator.addEventHandler(new EventHandler() {
+            @Override
+            public void init(double t0, double[] y0, double t) {
+            }
+
+            @Override
+            public double g(double t, double[] y) {
+                Assert.assertEquals(t, y[0], 1.0e-12);
+                gArrays.add(y);
+                return FastMath.sin(FastMath.PI * t / 3);
+            }
+
+            @Override
+            public Action eventOccurred(double t, double[] y, boolean increasing) {
+                eventArrays.add(y);
+                return Action.CONTINUE;
+            }
+
+            @Override
+            public void resetState(double t, double[] y) {
+            }
+        }, 1.0, 1.0e-10, 1000);
+        double[] y = new double[1];
+        integrator.integrate(equation, 0.0, y, 10.0, y);
+
+        // the arrays given to the switching function are reused from step to step
+        Assert.assertTrue(gArrays.size() < 10);
+
+        // the arrays given at events can be kept by the handler
+        Assert.assertEquals(3, eventArrays.size());
+        for (int i = 0; i < eventArrays.size(); ++i) {
+            for (int j = 0; j < i; ++j) {
+                Assert.assertNotSame(eventArrays.get(j), eventArrays.get(i));
+            }
+            Assert.assertEquals(3.0 * (i + 1), eventArrays.get(i)[0], 1.0e-9);
+        }
+
+    }
+
     private class CloseEventsGenerator implements EventHandler {
 
         final double r1;
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.ode.nonstiff;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.apache.commons.math4.ode.AbstractIntegrator;
+import org.apache.commons.math4.ode.FirstOrderDifferentialEquations;
+import org.apache.commons.math4.ode.TestProblem3;
+import org.apache.commons.math4.ode.events.EventHandler;
+import org.apache.commons.math4.ode.sampling.StepHandler;
+import org.apache.commons.math4.ode.sampling.StepInterpolator;
+import org.apache.commons.math4.util.FastMath;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class RungeKuttaWorkspaceTest {
+
+    @Test
+    public void testReusedWorkspaceGivesSameResults() {
+        final TestProblem3 pb = new TestProblem3(0.9);
+        final AbstractIntegrator reused = new DormandPrince853Integrator(0, 1.0, 1.0e-10, 1.0e-10);
+        final AbstractIntegrator fixedReused = new ClassicalRungeKuttaIntegrator(0.01);
+        for (int i = 0; i < 5; i++) {
+            final double[] y0 = pb.getInitialState();
+            y0[0] += 1.0e-3 * i;
+            checkSameAsFreshIntegrator(reused, new DormandPrince853Integrator(0, 1.0, 1.0e-10, 1.0e-10), pb, y0);
+            checkSameAsFreshIntegrator(fixedReused, new ClassicalRungeKuttaIntegrator(0.01), pb, y0);
+        }
+    }
+
+    @Test
+    public void testDimensionChange() {
+        final AbstractIntegrator integ = new DormandPrince54Integrator(0, 1.0, 1.0e-10, 1.0e-10);
+        final double[] y2 = new double[2];
+        integ.integrate(new Oscillator(1), 0, new double[] { 1, 0 }, 1, y2);
+        final double[] y4 = new double[4];
+        integ.integrate(new Oscillator(2), 0, new double[] { 1, 0, 0, 1 }, 1, y4);
+        Assert.assertEquals(FastMath.cos(1), y2[0], 1.0e-8);
+        Assert.assertEquals(FastMath.cos(1), y4[0], 1.0e-8);
+        Assert.assertEquals(FastMath.cos(1), y4[3], 1.0e-8);
+    }
+
+    @Test
+    public void testNoAllocationPerStep() {
+        checkNoAllocationPerStep(new DormandPrince853Integrator(1.0e-8, 0.1, 1.0e-10, 1.0e-10));
+        checkNoAllocationPerStep(new DormandPrince54Integrator(1.0e-8, 0.1, 1.0e-10, 1.0e-10));
+        checkNoAllocationPerStep(new ClassicalRungeKuttaIntegrator(0.01));
+    }
+
+    /**
+     * Checks that a long integration allocates no more memory than a short
+     * one, i.e. that the memory allocated by an integration does not depend
+     * on its number of steps.
+     */
+    private void checkNoAllocationPerStep(final AbstractIntegrator integ) {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(allocations.isThreadAllocatedMemorySupported() &&
+                          allocations.isThreadAllocatedMemoryEnabled());
+
+        // a step handler using the interpolator and an event that never occurs
+        integ.addStepHandler(new StepHandler() {
+                @Override
+                public void init(double t0, double[] y0, double t) {}
+                @Override
+                public void handleStep(StepInterpolator interpolator, boolean isLast) {
+                    interpolator.setInterpolatedTime(interpolator.getPreviousTime());
+                    interpolator.getInterpolatedDerivatives();
+                }
+            });
+        integ.addEventHandler(new EventHandler() {
+                @Override
+                public void init(double t0, double[] y0, double t) {}
+                @Override
+                public double g(double t, double[] y) {
+                    return y[0] + 2;
+                }
+                @Override
+                public Action eventOccurred(double t, double[] y, boolean increasing) {
+                    return Action.CONTINUE;
+                }
+                @Override
+                public void resetState(double t, double[] y) {}
+            }, 0.05, 1.0e-10, 100);
+
+        final FirstOrderDifferentialEquations equations = new Oscillator(3);
+        final double[] y0 = { 1, 0, 1, 0, 1, 0 };
+        final double[] y  = new double[y0.length];
+        final long id = Thread.currentThread().getId();
+
+        // the compiler may need some time to remove temporary objects
+        // (e.g. iterators), so we retry after longer warm-ups
+        long extra = Long.MAX_VALUE;
+        for (int attempt = 0; attempt < 20 && extra > 0; attempt++) {
+            for (int i = 0; i < 50; i++) {
+                integ.integrate(equations, 0, y0, 10, y);
+            }
+            final long start = allocations.getThreadAllocatedBytes(id);
+            integ.integrate(equations, 0, y0, 1, y);
+            final long middle = allocations.getThreadAllocatedBytes(id);
+            integ.integrate(equations, 0, y0, 100, y);
+            final long end = allocations.getThreadAllocatedBytes(id);
+            extra = (end - middle) - (middle - start);
+        }
+        Assert.assertTrue(integ.getName() + ": " + extra + " extra bytes", extra <= 0);
+    }
+
+    private void checkSameAsFreshIntegrator(final AbstractIntegrator reused,
+                                            final AbstractIntegrator fresh,
+                                            final TestProblem3 pb,
+                                            final double[] y0) {
+        final double[] yReused = new double[y0.length];
+        final double[] yFresh  = new double[y0.length];
+        reused.integrate(pb, pb.getInitialTime(), y0, pb.getFinalTime(), yReused);
+        fresh.integrate(pb, pb.getInitialTime(), y0, pb.getFinalTime(), yFresh);
+        Assert.assertArrayEquals(yFresh, yReused, 0);
+        Assert.assertEquals(fresh.getEvaluations(), reused.getEvaluations());
+    }
+
+    /** Independent harmonic oscillators with unit pulsation. */
+    private static class Oscillator implements FirstOrderDifferentialEquations {
+        /** Number of oscillators. */
+        private final int n;
+
+        Oscillator(final int n) {
+            this.n = n;
+        }
+
+        @Override
+        public int getDimension() {
+            return 2 * n;
+        }
+
+        @Override
+        public void computeDerivatives(double t, double[] y, double[] yDot) {
+            for (int i = 0; i < n; i++) {
+                yDot[2 * i]     =  y[2 * i + 1];
+                yDot[2 * i + 1] = -y[2 * i];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.ode.stiff;
+
+import org.apache.commons.math4.ode.MainStateJacobianProvider;
+
+/**
+ * Robertson chemical kinetics problem, a classical stiff test case.
+ * <p>
+ * The reference solution at t = 40 is taken from E. Hairer and G. Wanner,
+ * Solving Ordinary Differential Equations II, Springer, 1996.
+ * </p>
+ */
+class Robertson implements MainStateJacobianProvider {
+
+    /** Final time of the reference solution. */
+    static final double FINAL_TIME = 40;
+
+    /** Reference solution at {@link #FINAL_TIME}. */
+    static final double[] REFERENCE = { 0.7158270687, 9.185534764e-6, 0.2841637457 };
+
+    @Override
+    public int getDimension() {
+        return 3;
+    }
+
+    @Override
+    public void computeDerivatives(double t, double[] y, double[] yDot) {
+        yDot[0] = -0.04 * y[0] + 1.0e4 * y[1] * y[2];
+        yDot[2] = 3.0e7 * y[1] * y[1];
+        yDot[1] = -yDot[0] - yDot[2];
+    }
+
+    @Override
+    public void computeMainStateJacobian(double t, double[] y, double[] yDot, double[][] dFdY) {
+        dFdY[0][0] = -0.04;
+        dFdY[0][1] = 1.0e4 * y[2];
+        dFdY[0][2] = 1.0e4 * y[1];
+        dFdY[2][0] = 0;
+        dFdY[2][1] = 6.0e7 * y[1];
+        dFdY[2][2] = 0;
+        dFdY[1][0] = -dFdY[0][0] - dFdY[2][0];
+        dFdY[1][1] = -dFdY[0][1] - dFdY[2][1];
+        dFdY[1][2] = -dFdY[0][2] - dFdY[2][2];
+    }
+
+    /**
+     * @return the initial state.
+     */
+    double[] getInitialState() {
+        return new double[] { 1, 0, 0 };
+    }
+
+    /**
+     * @param tol Relative tolerance.
+     * @return absolute tolerances suited to the magnitude of the components.
+     */
+    static double[] absoluteTolerances(final double tol) {
+        return new double[] { 1.0e-4 * tol, 1.0e-8 * tol, 1.0e-4 * tol };
+    }
+
+    /**
+     * @param tol Relative tolerance.
+     * @return relative tolerances.
+     */
+    static double[] relativeTolerances(final double tol) {
+        return new double[] { tol, tol, tol };
+    }
+
+}
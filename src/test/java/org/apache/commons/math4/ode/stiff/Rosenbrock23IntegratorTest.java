@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.ode.stiff;
+
+import java.util.Random;
+
+import org.apache.commons.math4.TestUtils;
+import org.apache.commons.math4.exception.DimensionMismatchException;
+import org.apache.commons.math4.exception.MaxCountExceededException;
+import org.apache.commons.math4.ode.ContinuousOutputModel;
+import org.apache.commons.math4.ode.FirstOrderDifferentialEquations;
+import org.apache.commons.math4.ode.TestProblem1;
+import org.apache.commons.math4.ode.TestProblemHandler;
+import org.apache.commons.math4.ode.events.EventHandler;
+import org.apache.commons.math4.ode.nonstiff.DormandPrince54Integrator;
+import org.apache.commons.math4.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Rosenbrock23IntegratorTest {
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testDimensionCheck() {
+        final TestProblem1 pb = new TestProblem1();
+        new Rosenbrock23Integrator(0.0, 1.0, 1.0e-10, 1.0e-10).integrate(pb,
+                                                                         0.0, new double[pb.getDimension() + 10],
+                                                                         1.0, new double[pb.getDimension() + 10]);
+    }
+
+    @Test
+    public void testNonStiffProblem() {
+        final TestProblem1 pb = new TestProblem1();
+        final Rosenbrock23Integrator integ = new Rosenbrock23Integrator(0.0, 1.0, 1.0e-8, 1.0e-8);
+        final TestProblemHandler handler = new TestProblemHandler(pb, integ);
+        integ.addStepHandler(handler);
+        final double stop = integ.integrate(pb,
+                                            pb.getInitialTime(), pb.getInitialState(),
+                                            pb.getFinalTime(), new double[pb.getDimension()]);
+        Assert.assertTrue(handler.getMaximalValueError() < 1.0e-6);
+        Assert.assertEquals(0, handler.getMaximalTimeError(), 1.0e-12);
+        Assert.assertEquals(pb.getFinalTime(), stop, 1.0e-12);
+    }
+
+    @Test
+    public void testRobertson() {
+        final Robertson pb = new Robertson();
+        final double tol = 1.0e-6;
+        final Rosenbrock23Integrator integ = new Rosenbrock23Integrator(1.0e-14, 1.0e5,
+                                                                        Robertson.absoluteTolerances(tol),
+                                                                        Robertson.relativeTolerances(tol));
+        final double[] y = new double[3];
+        integ.integrate(pb, 0, pb.getInitialState(), Robertson.FINAL_TIME, y);
+        for (int i = 0; i < y.length; ++i) {
+            Assert.assertEquals(Robertson.REFERENCE[i], y[i], 1.0e-5 * Robertson.REFERENCE[i]);
+        }
+        Assert.assertTrue(integ.getJacobianEvaluations() > 0);
+        Assert.assertTrue(integ.getDecompositions() >= integ.getJacobianEvaluations());
+    }
+
+    @Test
+    public void testFewerEvaluationsThanExplicitIntegrator() {
+        final VanDerPol pb = new VanDerPol(1000);
+        final Rosenbrock23Integrator integ = new Rosenbrock23Integrator(1.0e-12, 1.0e5, 1.0e-6, 1.0e-6);
+        final double[] y = new double[2];
+        integ.integrate(pb, 0, new double[] { 2, 0 }, 1000, y);
+
+        // an explicit integrator is limited by stability and needs far more evaluations
+        final DormandPrince54Integrator explicit = new DormandPrince54Integrator(1.0e-12, 1.0e5, 1.0e-6, 1.0e-6);
+        explicit.setMaxEvaluations(10 * integ.getEvaluations());
+        try {
+            explicit.integrate(pb, 0, new double[] { 2, 0 }, 1000, new double[2]);
+            Assert.fail("an exception should have been thrown");
+        } catch (MaxCountExceededException mcee) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testFiniteDifferencesJacobian() {
+        final Robertson pb = new Robertson();
+        final FirstOrderDifferentialEquations withoutJacobian = new FirstOrderDifferentialEquations() {
+            @Override
+            public int getDimension() {
+                return pb.getDimension();
+            }
+            @Override
+            public void computeDerivatives(double t, double[] y, double[] yDot) {
+                pb.computeDerivatives(t, y, yDot);
+            }
+        };
+        final double tol = 1.0e-6;
+        final Rosenbrock23Integrator exact = new Rosenbrock23Integrator(1.0e-14, 1.0e5,
+                                                                        Robertson.absoluteTolerances(tol),
+                                                                        Robertson.relativeTolerances(tol));
+        final double[] yExact = new double[3];
+        exact.integrate(pb, 0, pb.getInitialState(), Robertson.FINAL_TIME, yExact);
+        final Rosenbrock23Integrator approximate = new Rosenbrock23Integrator(1.0e-14, 1.0e5,
+                                                                              Robertson.absoluteTolerances(tol),
+                                                                              Robertson.relativeTolerances(tol));
+        final double[] yApproximate = new double[3];
+        approximate.integrate(withoutJacobian, 0, pb.getInitialState(), Robertson.FINAL_TIME, yApproximate);
+        for (int i = 0; i < yExact.length; ++i) {
+            Assert.assertEquals(yExact[i], yApproximate[i], 1.0e-4 * Robertson.REFERENCE[i]);
+        }
+        Assert.assertTrue(approximate.getEvaluations() > exact.getEvaluations());
+    }
+
+    @Test
+    public void testBackward() {
+        final Rosenbrock23Integrator integ = new Rosenbrock23Integrator(1.0e-12, 1.0, 1.0e-8, 1.0e-8);
+        final double[] y = new double[1];
+        // the problem must be stiff and stable in the backward direction
+        final double stop = integ.integrate(new StiffLinear(-1000), 2.0, new double[] { FastMath.cos(2.0) }, 0.0, y);
+        Assert.assertEquals(0.0, stop, 1.0e-15);
+        Assert.assertEquals(1.0, y[0], 1.0e-6);
+    }
+
+    @Test
+    public void testStopEvent() {
+        final Rosenbrock23Integrator integ = new Rosenbrock23Integrator(1.0e-12, 1.0, 1.0e-8, 1.0e-8);
+        integ.addEventHandler(new EventHandler() {
+            @Override
+            public void init(double t0, double[] y0, double t) {}
+            @Override
+            public double g(double t, double[] y) {
+                return y[0] - 0.5;
+            }
+            @Override
+            public Action eventOccurred(double t, double[] y, boolean increasing) {
+                return Action.STOP;
+            }
+            @Override
+            public void resetState(double t, double[] y) {}
+        }, 0.1, 1.0e-10, 100);
+        final double[] y = new double[1];
+        final double stop = integ.integrate(new StiffLinear(1000), 0, new double[] { 1 }, 10, y);
+        Assert.assertEquals(FastMath.PI / 3, stop, 1.0e-6);
+        Assert.assertEquals(0.5, y[0], 1.0e-10);
+    }
+
+    @Test
+    public void testResetState() {
+        final Rosenbrock23Integrator integ = new Rosenbrock23Integrator(1.0e-12, 1.0, 1.0e-8, 1.0e-8);
+        integ.addEventHandler(new EventHandler() {
+            @Override
+            public void init(double t0, double[] y0, double t) {}
+            @Override
+            public double g(double t, double[] y) {
+                return t - 2.0;
+            }
+            @Override
+            public Action eventOccurred(double t, double[] y, boolean increasing) {
+                return Action.RESET_STATE;
+            }
+            @Override
+            public void resetState(double t, double[] y) {
+                y[0] += 0.5;
+            }
+        }, 0.1, 1.0e-10, 100);
+        final ContinuousOutputModel cm = new ContinuousOutputModel();
+        integ.addStepHandler(cm);
+        final double[] y = new double[1];
+        integ.integrate(new StiffLinear(1000), 0, new double[] { 1 }, 4, y);
+
+        // the perturbation decays as exp(-1000 (t - 2))
+        cm.setInterpolatedTime(2.0 + 1.0e-3);
+        Assert.assertEquals(FastMath.cos(2.0 + 1.0e-3) + 0.5 * FastMath.exp(-1.0), cm.getInterpolatedState()[0], 1.0e-3);
+        Assert.assertEquals(FastMath.cos(4.0), y[0], 1.0e-6);
+    }
+
+    @Test
+    public void testContinuousOutput() {
+        final Rosenbrock23Integrator integ = new Rosenbrock23Integrator(1.0e-12, 1.0, 1.0e-8, 1.0e-8);
+        final ContinuousOutputModel cm = new ContinuousOutputModel();
+        integ.addStepHandler(cm);
+        integ.integrate(new StiffLinear(1000), 0, new double[] { 1 }, 5, new double[1]);
+
+        final ContinuousOutputModel recovered = (ContinuousOutputModel) TestUtils.serializeAndRecover(cm);
+        final Random random = new Random(0x6c2f8a31d5e7b4d9L);
+        for (int i = 0; i < 100; ++i) {
+            final double t = 0.1 + 4.9 * random.nextDouble();
+            for (final ContinuousOutputModel model : new ContinuousOutputModel[] { cm, recovered }) {
+                model.setInterpolatedTime(t);
+                Assert.assertEquals(FastMath.cos(t),  model.getInterpolatedState()[0],       1.0e-6);
+                Assert.assertEquals(-FastMath.sin(t), model.getInterpolatedDerivatives()[0], 1.0e-4);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.ode.stiff;
+
+import org.apache.commons.math4.exception.DimensionMismatchException;
+import org.apache.commons.math4.ode.FirstOrderDifferentialEquations;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StiffIntegratorTest {
+
+    @Test
+    public void testSparseJacobian() {
+        final int n = 40;
+        final Diffusion pb = new Diffusion(n);
+
+        final StiffIntegrator dense = new BDFIntegrator(1.0e-12, 1.0, 1.0e-8, 1.0e-8);
+        final double[] yDense = new double[n];
+        dense.integrate(pb, 0, pb.getInitialState(), 1.0, yDense);
+
+        final StiffIntegrator sparse = new BDFIntegrator(1.0e-12, 1.0, 1.0e-8, 1.0e-8);
+        sparse.setJacobianSparsity(pb.getSparsity());
+        final double[] ySparse = new double[n];
+        sparse.integrate(pb, 0, pb.getInitialState(), 1.0, ySparse);
+
+        // structurally orthogonal columns give exactly the same Jacobian
+        Assert.assertArrayEquals(yDense, ySparse, 0.0);
+        Assert.assertEquals(dense.getJacobianEvaluations(), sparse.getJacobianEvaluations());
+        Assert.assertEquals(dense.getEvaluations() - sparse.getEvaluations(),
+                            (n - 3) * dense.getJacobianEvaluations());
+
+        // back to a dense Jacobian
+        sparse.setJacobianSparsity(null);
+        sparse.integrate(pb, 0, pb.getInitialState(), 1.0, ySparse);
+        Assert.assertEquals(dense.getEvaluations(), sparse.getEvaluations());
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testNonSquareSparsity() {
+        new BDFIntegrator(1.0e-12, 1.0, 1.0e-8, 1.0e-8).setJacobianSparsity(new boolean[3][2]);
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testSparsityDimensionMismatch() {
+        final Diffusion pb = new Diffusion(5);
+        final StiffIntegrator integ = new Rosenbrock23Integrator(1.0e-12, 1.0, 1.0e-8, 1.0e-8);
+        integ.setJacobianSparsity(new boolean[4][4]);
+        integ.integrate(pb, 0, pb.getInitialState(), 1.0, new double[5]);
+    }
+
+    /** Discretized reaction-diffusion equation, with a tridiagonal Jacobian. */
+    private static class Diffusion implements FirstOrderDifferentialEquations {
+
+        /** Number of grid points. */
+        private final int n;
+
+        /** Diffusion coefficient, scaled by the grid spacing. */
+        private final double k;
+
+        /**
+         * @param n Number of grid points.
+         */
+        Diffusion(final int n) {
+            this.n = n;
+            this.k = 0.1 * (n + 1) * (n + 1);
+        }
+
+        @Override
+        public int getDimension() {
+            return n;
+        }
+
+        @Override
+        public void computeDerivatives(double t, double[] y, double[] yDot) {
+            for (int i = 0; i < n; ++i) {
+                final double left  = (i == 0)     ? 1.0 : y[i - 1];
+                final double right = (i == n - 1) ? 0.0 : y[i + 1];
+                yDot[i] = k * (left - 2 * y[i] + right) - y[i] * y[i];
+            }
+        }
+
+        double[] getInitialState() {
+            return new double[n];
+        }
+
+        boolean[][] getSparsity() {
+            final boolean[][] pattern = new boolean[n][n];
+            for (int i = 0; i < n; ++i) {
+                for (int j = Math.max(0, i - 1); j <= Math.min(n - 1, i + 1); ++j) {
+                    pattern[i][j] = true;
+                }
+            }
+            return pattern;
+        }
+
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.ode.stiff;
+
+import org.apache.commons.math4.ode.FirstOrderDifferentialEquations;
+import org.apache.commons.math4.util.FastMath;
+
+/**
+ * Scalar linear problem y' = -&lambda; (y - cos(t)) - sin(t), whose
+ * solution for y(0) = 1 is y = cos(t) regardless of the stiffness &lambda;.
+ * The problem is stable for forward integration if &lambda; is positive and
+ * for backward integration if it is negative.
+ */
+class StiffLinear implements FirstOrderDifferentialEquations {
+
+    /** Stiffness. */
+    private final double lambda;
+
+    /**
+     * @param lambda Stiffness.
+     */
+    StiffLinear(final double lambda) {
+        this.lambda = lambda;
+    }
+
+    @Override
+    public int getDimension() {
+        return 1;
+    }
+
+    @Override
+    public void computeDerivatives(double t, double[] y, double[] yDot) {
+        yDot[0] = -lambda * (y[0] - FastMath.cos(t)) - FastMath.sin(t);
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.ode.stiff;
+
+import org.apache.commons.math4.ode.MainStateJacobianProvider;
+
+/**
+ * Van der Pol oscillator, stiff for large values of the damping parameter.
+ */
+class VanDerPol implements MainStateJacobianProvider {
+
+    /** Damping parameter. */
+    private final double mu;
+
+    /**
+     * @param mu Damping parameter.
+     */
+    VanDerPol(final double mu) {
+        this.mu = mu;
+    }
+
+    @Override
+    public int getDimension() {
+        return 2;
+    }
+
+    @Override
+    public void computeDerivatives(double t, double[] y, double[] yDot) {
+        yDot[0] = y[1];
+        yDot[1] = mu * (1 - y[0] * y[0]) * y[1] - y[0];
+    }
+
+    @Override
+    public void computeMainStateJacobian(double t, double[] y, double[] yDot, double[][] dFdY) {
+        dFdY[0][0] = 0;
+        dFdY[0][1] = 1;
+        dFdY[1][0] = -2 * mu * y[0] * y[1] - 1;
+        dFdY[1][1] = mu * (1 - y[0] * y[0]);
+    }
+
+}
@@ -16,10 +16,15 @@
  */
 package org.apache.commons.math4.optim.nonlinear.scalar;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.apache.commons.geometry.euclidean.twod.Vector2D;
 import org.apache.commons.math4.analysis.MultivariateFunction;
+import org.apache.commons.math4.exception.MathIllegalStateException;
 import org.apache.commons.math4.optim.InitialGuess;
 import org.apache.commons.math4.optim.MaxEval;
+import org.apache.commons.math4.optim.OptimizationData;
 import org.apache.commons.math4.optim.PointValuePair;
 import org.apache.commons.math4.optim.SimpleValueChecker;
 import org.apache.commons.math4.optim.nonlinear.scalar.GoalType;
@@ -116,6 +121,90 @@ public class MultiStartMultivariateOptimizerTest {
         Assert.assertTrue("optimum=" + optimum.getValue(), optimum.getValue() < 5e-5);
     }
 
+    @Test
+    public void testConcurrentSameAsSequential() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final MultiStartMultivariateOptimizer sequential = createRosenbrockOptimizer(10);
+            final PointValuePair expected = sequential.optimize(rosenbrockData());
+            final MultiStartMultivariateOptimizer concurrent = createRosenbrockOptimizer(10);
+            final PointValuePair optimum = concurrent.optimize(executor, rosenbrockData());
+
+            Assert.assertEquals(expected.getValue(), optimum.getValue(), 0);
+            Assert.assertEquals(sequential.getEvaluations(), concurrent.getEvaluations());
+            final PointValuePair[] expectedOptima = sequential.getOptima();
+            final PointValuePair[] optima = concurrent.getOptima();
+            Assert.assertEquals(10, optima.length);
+            for (int i = 0; i < optima.length; i++) {
+                Assert.assertEquals(expectedOptima[i].getValue(), optima[i].getValue(), 0);
+                Assert.assertArrayEquals(expectedOptima[i].getPointRef(), optima[i].getPointRef(), 0);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testConcurrentGoal() {
+        // With a single thread, the starts are run in order.
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final MultiStartMultivariateOptimizer optimizer = createRosenbrockOptimizer(10);
+            final PointValuePair optimum = optimizer.optimize(executor,
+                                                              p -> p.getValue() < 1e-3,
+                                                              rosenbrockData());
+            Assert.assertEquals(1, optimizer.getOptima().length);
+            Assert.assertTrue(optimum.getValue() < 1e-3);
+            Assert.assertTrue(optimizer.getEvaluations() > 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected=MathIllegalStateException.class)
+    public void testConcurrentWithoutFactory() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final UniformRandomProvider g = RandomSource.create(RandomSource.MT_64, 16069223056L);
+            final MultiStartMultivariateOptimizer optimizer
+                = new MultiStartMultivariateOptimizer(new SimplexOptimizer(new SimpleValueChecker(-1, 1e-3)),
+                                                      2,
+                                                      new UncorrelatedRandomVectorGenerator(2, new GaussianRandomGenerator(g)));
+            optimizer.optimize(executor, rosenbrockData());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static MultiStartMultivariateOptimizer createRosenbrockOptimizer(int nbStarts) {
+        final UniformRandomProvider g = RandomSource.create(RandomSource.MT_64, 16069223056L);
+        final RandomVectorGenerator generator
+            = new UncorrelatedRandomVectorGenerator(2, new GaussianRandomGenerator(g));
+        return new MultiStartMultivariateOptimizer(() -> new SimplexOptimizer(new SimpleValueChecker(-1, 1e-6)),
+                                                   nbStarts, generator);
+    }
+
+    private static OptimizationData[] rosenbrockData() {
+        final NelderMeadSimplex simplex = new NelderMeadSimplex(new double[][] {
+                { -1.2,  1.0 },
+                { 0.9, 1.2 } ,
+                {  3.5, -2.3 }
+            });
+        // Stateless, hence usable from several threads.
+        final MultivariateFunction rosenbrock = x -> {
+            final double a = x[1] - x[0] * x[0];
+            final double b = 1 - x[0];
+            return 100 * a * a + b * b;
+        };
+        return new OptimizationData[] {
+            new MaxEval(100000),
+            new ObjectiveFunction(rosenbrock),
+            GoalType.MINIMIZE,
+            simplex,
+            new InitialGuess(new double[] { -1.2, 1.0 })
+        };
+    }
+
     private static class Rosenbrock implements MultivariateFunction {
         private int count;
 
@@ -18,6 +18,12 @@ package org.apache.commons.math4.optim.nonlinear.scalar.noderiv;
 
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.math4.Retry;
 import org.apache.commons.math4.RetryRunner;
@@ -29,6 +35,7 @@ import org.apache.commons.math4.exception.NumberIsTooSmallException;
 import org.apache.commons.math4.exception.OutOfRangeException;
 import org.apache.commons.math4.optim.InitialGuess;
 import org.apache.commons.math4.optim.MaxEval;
+import org.apache.commons.math4.optim.OptimizationData;
 import org.apache.commons.math4.optim.PointValuePair;
 import org.apache.commons.math4.optim.SimpleBounds;
 import org.apache.commons.math4.optim.nonlinear.scalar.GoalType;
@@ -481,6 +488,77 @@ public class CMAESOptimizerTest {
         Assert.assertEquals(resNoBound, resNearHi, 1e-3);
     }
 
+    @Test
+    public void testParallelEvaluation() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int maxEval : new int[] { 100000, 157 }) {
+                final CMAESOptimizer sequential = createSeeded();
+                final PointValuePair expected = sequential.optimize(rosenData(maxEval));
+                final CMAESOptimizer parallel = createSeeded();
+                final PointValuePair result = parallel.optimize(rosenData(maxEval,
+                                                                          new CMAESOptimizer.ParallelEvaluation(executor)));
+
+                Assert.assertEquals(expected.getValue(), result.getValue(), 0);
+                Assert.assertArrayEquals(expected.getPointRef(), result.getPointRef(), 0);
+                Assert.assertEquals(sequential.getEvaluations(), parallel.getEvaluations());
+                Assert.assertEquals(sequential.getIterations(), parallel.getIterations());
+                Assert.assertTrue(parallel.getEvaluations() <= maxEval);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelEvaluationNotKept() {
+        final AtomicInteger tasks = new AtomicInteger();
+        final ExecutorService executor
+            = new ThreadPoolExecutor(4, 4, 0, TimeUnit.MILLISECONDS,
+                                     new LinkedBlockingQueue<Runnable>()) {
+                    @Override
+                    public void execute(Runnable command) {
+                        tasks.incrementAndGet();
+                        super.execute(command);
+                    }
+                };
+        try {
+            final CMAESOptimizer optimizer = createSeeded();
+            optimizer.optimize(rosenData(1000, new CMAESOptimizer.ParallelEvaluation(executor)));
+            final int parallelTasks = tasks.get();
+            Assert.assertTrue(parallelTasks > 0);
+
+            // Without the option, the next call evaluates the offspring in turn.
+            optimizer.optimize(rosenData(1000));
+            Assert.assertEquals(parallelTasks, tasks.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static CMAESOptimizer createSeeded() {
+        return new CMAESOptimizer(30000, 0, true, 0, 0,
+                                  RandomSource.create(RandomSource.MT_64, 6547321L),
+                                  false, null);
+    }
+
+    private static OptimizationData[] rosenData(int maxEval,
+                                                OptimizationData ... extra) {
+        final double[][] bounds = boundaries(DIM, -1, 2);
+        final OptimizationData[] data = new OptimizationData[] {
+            new MaxEval(maxEval),
+            new ObjectiveFunction(new Rosen()),
+            GoalType.MINIMIZE,
+            new SimpleBounds(bounds[0], bounds[1]),
+            new InitialGuess(point(DIM, 0.1)),
+            new CMAESOptimizer.Sigma(point(DIM, 0.1)),
+            new CMAESOptimizer.PopulationSize(2 * LAMBDA)
+        };
+        final OptimizationData[] all = Arrays.copyOf(data, data.length + extra.length);
+        System.arraycopy(extra, 0, all, data.length, extra.length);
+        return all;
+    }
+
     /**
      * @param func Function to optimize.
      * @param startPoint Starting point.
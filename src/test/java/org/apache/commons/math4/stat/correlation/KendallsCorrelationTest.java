@@ -17,10 +17,13 @@
 package org.apache.commons.math4.stat.correlation;
 
 import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.math4.TestUtils;
 import org.apache.commons.math4.linear.BlockRealMatrix;
 import org.apache.commons.math4.linear.RealMatrix;
+import org.apache.commons.math4.util.FastMath;
 import org.apache.commons.rng.UniformRandomProvider;
 import org.apache.commons.rng.simple.RandomSource;
 import org.apache.commons.math4.stat.correlation.KendallsCorrelation;
@@ -278,4 +281,53 @@ public class KendallsCorrelationTest extends PearsonsCorrelationTest {
         double coefficient = correlation.correlation(xArray, yArray);
         Assert.assertTrue(1.0 >= coefficient && -1.0 <= coefficient);
     }
+
+    @Override
+    @Test
+    public void testParallelCorrelationMatrix() {
+        final RealMatrix data = randomMatrix(300, 70, 20);
+        final RealMatrix serial = correlation.computeCorrelationMatrix(data);
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final RealMatrix parallel = correlation.computeCorrelationMatrix(data, executor);
+            assertEntriesEqual(serial, parallel, 0);
+        } finally {
+            executor.shutdown();
+        }
+        for (int i = 0; i < 70; i += 7) {
+            for (int j = 0; j < 70; j += 3) {
+                Assert.assertEquals(i == j ? 1 : bruteForceTauB(data.getColumn(i), data.getColumn(j)),
+                                    serial.getEntry(i, j), 1e-15);
+            }
+        }
+    }
+
+    @Test
+    public void testTiesAndSpecialValues() {
+        final double[] x = { 1, 2, 2, Double.NaN, -0.0, 0.0, 3, 3, 3, Double.NaN };
+        final double[] y = { 5, 5, 4, 1, 2, 2, Double.NaN, 7, 7, 0 };
+        Assert.assertEquals(bruteForceTauB(x, y), correlation.correlation(x, y), 1e-15);
+        Assert.assertEquals(bruteForceTauB(y, x), correlation.correlation(y, x), 1e-15);
+    }
+
+    /**
+     * Quadratic computation of tau-b, with the ordering of {@link Double#compare(double, double)}.
+     */
+    private static double bruteForceTauB(double[] x, double[] y) {
+        final int n = x.length;
+        long concordantMinusDiscordant = 0;
+        long tiedX = 0;
+        long tiedY = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                final int cx = Double.compare(x[i], x[j]);
+                final int cy = Double.compare(y[i], y[j]);
+                concordantMinusDiscordant += Integer.signum(cx) * Integer.signum(cy);
+                tiedX += cx == 0 ? 1 : 0;
+                tiedY += cy == 0 ? 1 : 0;
+            }
+        }
+        final long numPairs = n * (n - 1L) / 2;
+        return concordantMinusDiscordant / FastMath.sqrt((numPairs - tiedX) * (double) (numPairs - tiedY));
+    }
 }
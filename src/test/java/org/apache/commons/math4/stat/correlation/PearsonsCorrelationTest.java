@@ -16,6 +16,9 @@
  */
 package org.apache.commons.math4.stat.correlation;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.apache.commons.math4.TestUtils;
 import org.apache.commons.statistics.distribution.TDistribution;
 import org.apache.commons.math4.exception.MathIllegalArgumentException;
@@ -24,6 +27,8 @@ import org.apache.commons.math4.linear.RealMatrix;
 import org.apache.commons.math4.stat.correlation.Covariance;
 import org.apache.commons.math4.stat.correlation.PearsonsCorrelation;
 import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -317,4 +322,49 @@ public class PearsonsCorrelationTest {
             }
         }
     }
+
+    /**
+     * The parallel computation must agree with the serial one, over several tiles of columns.
+     */
+    @Test
+    public void testParallelCorrelationMatrix() {
+        final RealMatrix data = randomMatrix(5000, 70, 20);
+        final PearsonsCorrelation corr = new PearsonsCorrelation();
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final RealMatrix parallel = corr.computeCorrelationMatrix(data, executor);
+            // the serial computation, based on updating formulas, is the less accurate one
+            assertEntriesEqual(corr.computeCorrelationMatrix(data), parallel, 1e-11);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    protected static void assertEntriesEqual(RealMatrix expected, RealMatrix actual, double tolerance) {
+        Assert.assertEquals(expected.getRowDimension(), actual.getRowDimension());
+        Assert.assertEquals(expected.getColumnDimension(), actual.getColumnDimension());
+        for (int i = 0; i < expected.getRowDimension(); i++) {
+            for (int j = 0; j < expected.getColumnDimension(); j++) {
+                Assert.assertEquals("(" + i + ", " + j + ")",
+                                    expected.getEntry(i, j), actual.getEntry(i, j), tolerance);
+            }
+        }
+    }
+
+    /**
+     * @param rows number of rows
+     * @param cols number of columns
+     * @param levels number of distinct values (small values produce ties)
+     * @return a matrix of random integer values
+     */
+    protected static RealMatrix randomMatrix(int rows, int cols, int levels) {
+        final UniformRandomProvider rng = RandomSource.create(RandomSource.WELL_1024_A, 1234L);
+        final RealMatrix m = new BlockRealMatrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                m.setEntry(i, j, rng.nextInt(levels));
+            }
+        }
+        return m;
+    }
 }
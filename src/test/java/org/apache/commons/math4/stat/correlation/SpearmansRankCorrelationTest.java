@@ -16,6 +16,9 @@
  */
 package org.apache.commons.math4.stat.correlation;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.apache.commons.math4.TestUtils;
 import org.apache.commons.math4.exception.MathIllegalArgumentException;
 import org.apache.commons.math4.linear.BlockRealMatrix;
@@ -161,4 +164,17 @@ public class SpearmansRankCorrelationTest extends PearsonsCorrelationTest {
     @Test
     public void testCovarianceConsistency() {}
 
+    @Override
+    @Test
+    public void testParallelCorrelationMatrix() {
+        final RealMatrix data = randomMatrix(2000, 70, 50);
+        final SpearmansCorrelation corr = new SpearmansCorrelation();
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final RealMatrix parallel = corr.computeCorrelationMatrix(data, executor);
+            assertEntriesEqual(corr.computeCorrelationMatrix(data), parallel, 1e-12);
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
@@ -16,6 +16,8 @@
  */
 package org.apache.commons.math4.stat.correlation;
 
+import java.util.stream.IntStream;
+
 import org.apache.commons.math4.TestUtils;
 import org.apache.commons.math4.linear.Array2DRowRealMatrix;
 import org.apache.commons.math4.linear.RealMatrix;
@@ -261,6 +263,30 @@ public class StorelessCovarianceTest {
         return new Array2DRowRealMatrix(matrixData);
     }
 
+    @Test
+    public void testCollector() {
+        final UniformRandomProvider rand = RandomSource.create(RandomSource.ISAAC, 10L);
+        final double[][] data = new double[5000][];
+        final StorelessCovariance expected = new StorelessCovariance(3, false);
+        for (int i = 0; i < data.length; i++) {
+            final double u = rand.nextDouble();
+            data[i] = new double[] { u, u + rand.nextDouble(), 1e6 + rand.nextDouble() };
+            expected.increment(data[i]);
+        }
+        final StorelessCovariance actual =
+            IntStream.range(0, data.length).parallel().mapToObj(i -> data[i])
+            .collect(StorelessCovariance.collector(3, false));
+        TestUtils.assertEquals("covariance", expected.getCovarianceMatrix(), actual.getCovarianceMatrix(), 1e-10);
+    }
 
+    @Test
+    public void testAppendEmpty() {
+        final StorelessBivariateCovariance cov = new StorelessBivariateCovariance();
+        cov.append(new StorelessBivariateCovariance());
+        cov.increment(1, 2);
+        cov.increment(2, 5);
+        cov.append(new StorelessBivariateCovariance());
+        Assert.assertEquals(2, cov.getN(), 0);
+        Assert.assertEquals(1.5, cov.getResult(), 1e-15);
+    }
 }
-
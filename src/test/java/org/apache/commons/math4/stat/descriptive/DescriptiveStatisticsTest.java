@@ -30,6 +30,7 @@ import org.apache.commons.math4.stat.descriptive.rank.Min;
 import org.apache.commons.math4.stat.descriptive.rank.Percentile;
 import org.apache.commons.math4.stat.descriptive.summary.Sum;
 import org.apache.commons.math4.stat.descriptive.summary.SumOfSquares;
+import org.apache.commons.math4.util.FastMath;
 import org.apache.commons.math4.util.ResizableDoubleArray;
 import org.apache.commons.numbers.core.Precision;
 import org.apache.commons.rng.UniformRandomProvider;
@@ -211,6 +212,25 @@ public class DescriptiveStatisticsTest {
         }
     }
 
+    @Test
+    public void testGetPercentiles() {
+        DescriptiveStatistics stats = createDescriptiveStatistics();
+        for (int i = 0; i < 100; i++) {
+            stats.addValue(FastMath.sin(i));
+        }
+        final double[] ps = { 5, 25, 50, 75, 95, 100 };
+        double[] values = stats.getPercentiles(ps);
+        for (int i = 0; i < ps.length; i++) {
+            Assert.assertEquals(stats.getPercentile(ps[i]), values[i], 0d);
+        }
+
+        // Custom implementations are called once per quantile
+        stats.setPercentileImpl(new subPercentile());
+        values = stats.getPercentiles(10, 20);
+        Assert.assertEquals(10.0, values[0], 1E-10);
+        Assert.assertEquals(20.0, values[1], 1E-10);
+    }
+
     @Test
     public void test20090720() {
         DescriptiveStatistics descriptiveStatistics = new DescriptiveStatistics(100);
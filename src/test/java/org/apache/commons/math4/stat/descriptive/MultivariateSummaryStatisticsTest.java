@@ -18,6 +18,7 @@ package org.apache.commons.math4.stat.descriptive;
 
 
 import java.util.Locale;
+import java.util.stream.IntStream;
 
 import org.apache.commons.math4.TestUtils;
 import org.apache.commons.math4.exception.DimensionMismatchException;
@@ -26,6 +27,8 @@ import org.apache.commons.math4.stat.descriptive.MultivariateSummaryStatistics;
 import org.apache.commons.math4.stat.descriptive.StorelessUnivariateStatistic;
 import org.apache.commons.math4.stat.descriptive.moment.Mean;
 import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
 import org.junit.Test;
 import org.junit.Assert;
 
@@ -320,4 +323,65 @@ public class MultivariateSummaryStatisticsTest {
         Assert.assertEquals(emptyHash, t.hashCode());
         Assert.assertEquals(emptyHash, u.hashCode());
     }
+
+    @Test
+    public void testAppend() {
+        final double[][] data = createData(500);
+        final MultivariateSummaryStatistics expected = new MultivariateSummaryStatistics(3, true);
+        for (double[] x : data) {
+            expected.addValue(x);
+        }
+
+        final MultivariateSummaryStatistics u = createMultivariateSummaryStatistics(3, true);
+        final int[] bounds = { 0, 0, 1, 200, 500 };
+        for (int k = 0; k < bounds.length - 1; k++) {
+            final MultivariateSummaryStatistics part = createMultivariateSummaryStatistics(3, true);
+            for (int i = bounds[k]; i < bounds[k + 1]; i++) {
+                part.addValue(data[i]);
+            }
+            u.append(part);
+        }
+        assertSameStatistics(expected, u);
+    }
+
+    @Test
+    public void testCollector() {
+        final double[][] data = createData(5000);
+        final MultivariateSummaryStatistics expected = new MultivariateSummaryStatistics(3, false);
+        for (double[] x : data) {
+            expected.addValue(x);
+        }
+        assertSameStatistics(expected,
+                             IntStream.range(0, data.length).parallel().mapToObj(i -> data[i])
+                             .collect(MultivariateSummaryStatistics.collector(3, false)));
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testAppendDimensionMismatch() {
+        createMultivariateSummaryStatistics(2, true).append(new MultivariateSummaryStatistics(3, true));
+    }
+
+    private static double[][] createData(int size) {
+        final UniformRandomProvider rng = RandomSource.create(RandomSource.WELL_19937_C, 3456L);
+        final double[][] data = new double[size][];
+        for (int i = 0; i < size; i++) {
+            final double u = rng.nextDouble();
+            data[i] = new double[] { 1 + u, 2 + u * rng.nextDouble(), 3 + rng.nextDouble() };
+        }
+        return data;
+    }
+
+    private static void assertSameStatistics(MultivariateSummaryStatistics expected,
+                                             MultivariateSummaryStatistics actual) {
+        final double tol = 1e-12;
+        Assert.assertEquals(expected.getN(), actual.getN());
+        Assert.assertArrayEquals(expected.getMin(), actual.getMin(), 0);
+        Assert.assertArrayEquals(expected.getMax(), actual.getMax(), 0);
+        Assert.assertArrayEquals(expected.getMean(), actual.getMean(), tol);
+        Assert.assertArrayEquals(expected.getSum(), actual.getSum(), tol * expected.getN());
+        Assert.assertArrayEquals(expected.getSumSq(), actual.getSumSq(), tol * expected.getN());
+        Assert.assertArrayEquals(expected.getGeometricMean(), actual.getGeometricMean(), tol);
+        Assert.assertArrayEquals(expected.getStandardDeviation(), actual.getStandardDeviation(), tol);
+        TestUtils.assertEquals("covariance", expected.getCovariance(), actual.getCovariance(), tol);
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.stat.descriptive;
+
+import java.util.Random;
+
+import org.apache.commons.math4.stat.descriptive.rank.Percentile;
+import org.apache.commons.math4.stat.ranking.NaNStrategy;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for the {@link RollingDescriptiveStatistics} class.
+ */
+public final class RollingDescriptiveStatisticsTest extends DescriptiveStatisticsTest {
+
+    @Override
+    protected DescriptiveStatistics createDescriptiveStatistics() {
+        return new RollingDescriptiveStatistics();
+    }
+
+    @Test
+    public void testSlidingWindowMatchesRecomputation() {
+        final Random random = new Random(20261017L);
+        final int window = 257;
+        final RollingDescriptiveStatistics rolling = new RollingDescriptiveStatistics(window);
+        final DescriptiveStatistics reference = new DescriptiveStatistics(window);
+        for (int i = 0; i < 5000; i++) {
+            // drifting offset, to exercise the resynchronization of the sums
+            final double v = 1e4 + i + 10 * random.nextGaussian();
+            rolling.addValue(v);
+            reference.addValue(v);
+            if (i % 97 == 0) {
+                final double removed = rolling.replaceMostRecentValue(-v);
+                Assert.assertEquals(removed, reference.replaceMostRecentValue(-v), 0);
+            }
+            if (i % 131 == 0) {
+                rolling.removeMostRecentValue();
+                reference.removeMostRecentValue();
+            }
+            if (i % 50 == 0) {
+                assertSameStatistics(reference, rolling);
+            }
+        }
+
+        rolling.setWindowSize(31);
+        reference.setWindowSize(31);
+        assertSameStatistics(reference, rolling);
+        assertSameStatistics(reference, rolling.copy());
+    }
+
+    @Test
+    public void testPercentilesAllEstimationTypes() {
+        final Random random = new Random(20261017L);
+        final RollingDescriptiveStatistics rolling = new RollingDescriptiveStatistics(100);
+        final DescriptiveStatistics reference = new DescriptiveStatistics(100);
+        for (int i = 0; i < 300; i++) {
+            // many ties, and some NaN values
+            final double v = i % 23 == 0 ? Double.NaN : random.nextInt(20);
+            rolling.addValue(v);
+            reference.addValue(v);
+        }
+        final double[] ps = { 0.5, 10, 25, 50, 75, 90, 99.5, 100 };
+        for (final Percentile.EstimationType type : Percentile.EstimationType.values()) {
+            for (final NaNStrategy strategy : NaNStrategy.values()) {
+                final Percentile percentile = new Percentile().withEstimationType(type).withNaNStrategy(strategy);
+                rolling.setPercentileImpl(percentile);
+                reference.setPercentileImpl(percentile.copy());
+                if (strategy == NaNStrategy.FAILED) {
+                    continue;
+                }
+                final double[] expected = reference.getPercentiles(ps);
+                final double[] actual = rolling.getPercentiles(ps);
+                for (int i = 0; i < ps.length; i++) {
+                    final String msg = type + " " + strategy + " p=" + ps[i];
+                    Assert.assertEquals(msg, reference.getPercentile(ps[i]), rolling.getPercentile(ps[i]), 0);
+                    Assert.assertEquals(msg, expected[i], actual[i], 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSpecialValues() {
+        final RollingDescriptiveStatistics rolling = new RollingDescriptiveStatistics(4);
+        final DescriptiveStatistics reference = new DescriptiveStatistics(4);
+        final double[] values = {
+            1, 2, Double.NaN, 3, Double.POSITIVE_INFINITY, 0, 4, -5, 6, 7, 8, Double.NaN, Double.NaN,
+            Double.NaN, Double.NaN, 9, 10, 11, 12
+        };
+        for (final double v : values) {
+            rolling.addValue(v);
+            reference.addValue(v);
+            assertSameStatistics(reference, rolling);
+        }
+        rolling.clear();
+        reference.clear();
+        assertSameStatistics(reference, rolling);
+    }
+
+    @Test
+    public void testScaleChangeAndConstantWindow() {
+        final Random random = new Random(20261018L);
+        final RollingDescriptiveStatistics rolling = new RollingDescriptiveStatistics(100);
+        final DescriptiveStatistics reference = new DescriptiveStatistics(100);
+        for (int i = 0; i < 150; i++) {
+            final double v = 1e6 + 1e3 * random.nextGaussian();
+            rolling.addValue(v);
+            reference.addValue(v);
+        }
+
+        // Constant window, far from the previous values.
+        for (int i = 0; i < 100; i++) {
+            rolling.addValue(5.0);
+            reference.addValue(5.0);
+        }
+        Assert.assertEquals(0.0, reference.getVariance(), 0);
+        Assert.assertEquals(0.0, rolling.getVariance(), 0);
+        Assert.assertEquals(0.0, rolling.getPopulationVariance(), 0);
+        Assert.assertTrue(Double.isNaN(reference.getSkewness()));
+        Assert.assertTrue(Double.isNaN(rolling.getSkewness()));
+        Assert.assertTrue(Double.isNaN(reference.getKurtosis()));
+        Assert.assertTrue(Double.isNaN(rolling.getKurtosis()));
+        assertSameStatistics(reference, rolling);
+
+        // Small spread, after the scale change.
+        for (int i = 0; i < 30; i++) {
+            final double v = i % 2 == 0 ? 7.0 : 7.0 + 1e-6;
+            rolling.addValue(v);
+            reference.addValue(v);
+            assertSameStatistics(reference, rolling);
+        }
+        assertClose(reference.getVariance(), rolling.getVariance(), 1e-12);
+        assertClose(reference.getSkewness(), rolling.getSkewness(), 1e-12);
+        assertClose(reference.getKurtosis(), rolling.getKurtosis(), 1e-12);
+    }
+
+    /**
+     * Checks the statistics computed incrementally agree with those computed
+     * from the stored values.
+     *
+     * @param expected Statistics computed from the stored values.
+     * @param actual Statistics computed incrementally.
+     */
+    private static void assertSameStatistics(final DescriptiveStatistics expected,
+                                             final DescriptiveStatistics actual) {
+        Assert.assertEquals(expected.getN(), actual.getN());
+        Assert.assertArrayEquals(expected.getValues(), actual.getValues(), 0);
+        Assert.assertArrayEquals(expected.getSortedValues(), actual.getSortedValues(), 0);
+        Assert.assertEquals(expected.getMin(), actual.getMin(), 0);
+        Assert.assertEquals(expected.getMax(), actual.getMax(), 0);
+        Assert.assertEquals(expected.getPercentile(50), actual.getPercentile(50), 0);
+        assertClose(expected.getMean(), actual.getMean(), 1e-14);
+        assertClose(expected.getSum(), actual.getSum(), 1e-14);
+        assertClose(expected.getSumsq(), actual.getSumsq(), 1e-14);
+        assertClose(expected.getGeometricMean(), actual.getGeometricMean(), 1e-13);
+        assertClose(expected.getVariance(), actual.getVariance(), 1e-10);
+        assertClose(expected.getPopulationVariance(), actual.getPopulationVariance(), 1e-10);
+        assertClose(expected.getStandardDeviation(), actual.getStandardDeviation(), 1e-10);
+        assertClose(expected.getSkewness(), actual.getSkewness(), 1e-8);
+        assertClose(expected.getKurtosis(), actual.getKurtosis(), 1e-8);
+    }
+
+    /**
+     * Checks two values agree within a relative tolerance.
+     *
+     * @param expected Expected value.
+     * @param actual Actual value.
+     * @param relativeTolerance Relative tolerance.
+     */
+    private static void assertClose(final double expected, final double actual,
+                                    final double relativeTolerance) {
+        Assert.assertEquals(expected, actual, relativeTolerance * Math.max(1, Math.abs(expected)));
+    }
+}
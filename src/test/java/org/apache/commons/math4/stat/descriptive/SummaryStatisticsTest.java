@@ -16,9 +16,12 @@
  */
 package org.apache.commons.math4.stat.descriptive;
 
+import java.util.Arrays;
+import java.util.stream.DoubleStream;
 
 import org.apache.commons.math4.TestUtils;
 import org.apache.commons.math4.exception.MathIllegalStateException;
+import org.apache.commons.math4.exception.MathUnsupportedOperationException;
 import org.apache.commons.math4.stat.descriptive.StatisticalSummary;
 import org.apache.commons.math4.stat.descriptive.SummaryStatistics;
 import org.apache.commons.math4.stat.descriptive.moment.GeometricMean;
@@ -26,6 +29,8 @@ import org.apache.commons.math4.stat.descriptive.moment.Mean;
 import org.apache.commons.math4.stat.descriptive.moment.Variance;
 import org.apache.commons.math4.stat.descriptive.summary.Sum;
 import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
 import org.junit.Assert;
 import org.junit.Test;
 /**
@@ -371,4 +376,88 @@ public class SummaryStatisticsTest {
             Assert.assertTrue(toString.indexOf(labels[i] + ": " + String.valueOf(values[i])) > 0);
         }
     }
+
+    @Test
+    public void testAppend() {
+        final double[] data = createData(1000);
+        final SummaryStatistics expected = new SummaryStatistics();
+        for (double x : data) {
+            expected.addValue(x);
+        }
+
+        final SummaryStatistics u = createSummaryStatistics();
+        final int[] bounds = { 0, 1, 1, 150, 151, 700, 1000 };
+        for (int k = 0; k < bounds.length - 1; k++) {
+            final SummaryStatistics part = createSummaryStatistics();
+            for (int i = bounds[k]; i < bounds[k + 1]; i++) {
+                part.addValue(data[i]);
+            }
+            u.append(part);
+        }
+        assertSameStatistics(expected, u);
+        final double variance = new Variance().evaluate(data);
+        Assert.assertEquals(variance, u.getVariance(), 1e-9 * variance);
+
+        // Appending to an empty instance.
+        final SummaryStatistics v = createSummaryStatistics();
+        v.append(expected);
+        assertSameStatistics(expected, v);
+    }
+
+    @Test
+    public void testOf() {
+        final double[] data = createData(20000);
+        final SummaryStatistics expected = new SummaryStatistics();
+        for (double x : data) {
+            expected.addValue(x);
+        }
+        assertSameStatistics(expected, SummaryStatistics.of(DoubleStream.of(data)));
+        assertSameStatistics(expected, SummaryStatistics.of(DoubleStream.of(data).parallel()));
+        Assert.assertEquals(0, SummaryStatistics.of(DoubleStream.empty()).getN());
+    }
+
+    @Test
+    public void testCollector() {
+        final double[] data = createData(20000);
+        final SummaryStatistics expected = new SummaryStatistics();
+        for (double x : data) {
+            expected.addValue(2 * x);
+        }
+        final Double[] boxed = DoubleStream.of(data).boxed().toArray(Double[]::new);
+        assertSameStatistics(expected,
+                             Arrays.stream(boxed).parallel().collect(SummaryStatistics.collector(x -> 2 * x)));
+    }
+
+    @Test(expected=MathUnsupportedOperationException.class)
+    public void testAppendCustomImpl() {
+        final SummaryStatistics u = createSummaryStatistics();
+        u.setMeanImpl(new Mean());
+        u.append(new SummaryStatistics());
+    }
+
+    /**
+     * Positive values with a large offset (which would cause a naive
+     * aggregation of the variance to lose accuracy).
+     */
+    private static double[] createData(int size) {
+        final UniformRandomProvider rng = RandomSource.create(RandomSource.WELL_19937_C, 2345L);
+        final double[] data = new double[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = 1e7 + rng.nextDouble();
+        }
+        return data;
+    }
+
+    private static void assertSameStatistics(SummaryStatistics expected, SummaryStatistics actual) {
+        Assert.assertEquals(expected.getN(), actual.getN());
+        Assert.assertEquals(expected.getMin(), actual.getMin(), 0);
+        Assert.assertEquals(expected.getMax(), actual.getMax(), 0);
+        Assert.assertEquals(expected.getMean(), actual.getMean(), 1e-15 * expected.getMean());
+        // Updating formulas differ: sequential and pairwise updates of the
+        // variance are both slightly inaccurate for data with a large offset.
+        Assert.assertEquals(expected.getVariance(), actual.getVariance(), 1e-8 * expected.getVariance());
+        Assert.assertEquals(expected.getSum(), actual.getSum(), 1e-13 * expected.getSum());
+        Assert.assertEquals(expected.getSumsq(), actual.getSumsq(), 1e-13 * expected.getSumsq());
+        Assert.assertEquals(expected.getGeometricMean(), actual.getGeometricMean(), 1e-13 * expected.getGeometricMean());
+    }
 }
@@ -19,6 +19,8 @@ package org.apache.commons.math4.stat.descriptive.moment;
 import org.apache.commons.math4.stat.descriptive.StorelessUnivariateStatisticAbstractTest;
 import org.apache.commons.math4.stat.descriptive.UnivariateStatistic;
 import org.apache.commons.math4.stat.descriptive.moment.FourthMoment;
+import org.junit.Assert;
+import org.junit.Test;
 
 /**
  * Test cases for the {@link FourthMoment} class.
@@ -44,4 +46,35 @@ public class FourthMomentTest extends StorelessUnivariateStatisticAbstractTest{
        return this.fourthMoment;
     }
 
+    @Test
+    public void testAppendThroughFirstMoment() {
+        final FourthMoment expected = new FourthMoment();
+        final FourthMoment all = new FourthMoment();
+        final FirstMoment ref = all;
+        for (int i = 0; i < 3; i++) {
+            final FourthMoment part = new FourthMoment();
+            for (int j = i * testArray.length / 3; j < (i + 1) * testArray.length / 3; j++) {
+                part.increment(testArray[j]);
+                expected.increment(testArray[j]);
+            }
+            // all the moments are merged, whatever the static type
+            ref.append(part);
+            ref.append(new FourthMoment());
+        }
+        Assert.assertEquals(expected.getN(), all.getN());
+        Assert.assertEquals(expected.m1, all.m1, 1e-12);
+        Assert.assertEquals(expected.m2, all.m2, 1e-10);
+        Assert.assertEquals(expected.m3, all.m3, 1e-9);
+        Assert.assertEquals(expected.getResult(), all.getResult(), getTolerance());
+    }
+
+    @Test(expected=ClassCastException.class)
+    public void testAppendLowerOrder() {
+        final FourthMoment m = new FourthMoment();
+        m.increment(1);
+        final SecondMoment other = new SecondMoment();
+        other.increment(2);
+        m.append(other);
+    }
+
 }
@@ -16,6 +16,7 @@
  */
 package org.apache.commons.math4.stat.descriptive.moment;
 
+import org.apache.commons.math4.exception.MathUnsupportedOperationException;
 import org.apache.commons.math4.stat.descriptive.StorelessUnivariateStatisticAbstractTest;
 import org.apache.commons.math4.stat.descriptive.UnivariateStatistic;
 import org.apache.commons.math4.stat.descriptive.moment.Kurtosis;
@@ -62,4 +63,23 @@ public class KurtosisTest extends StorelessUnivariateStatisticAbstractTest{
         Assert.assertFalse(Double.isNaN(kurt.getResult()));
     }
 
+    @Test
+    public void testAppend() {
+        final Kurtosis all = new Kurtosis();
+        for (int i = 0; i < 4; i++) {
+            final Kurtosis part = new Kurtosis();
+            for (int j = i * testArray.length / 4; j < (i + 1) * testArray.length / 4; j++) {
+                part.increment(testArray[j]);
+            }
+            all.append(part);
+            all.append(new Kurtosis());
+        }
+        Assert.assertEquals(testArray.length, all.getN());
+        Assert.assertEquals(expectedValue(), all.getResult(), getTolerance());
+    }
+
+    @Test(expected=MathUnsupportedOperationException.class)
+    public void testAppendExternalMoment() {
+        new Kurtosis(new FourthMoment()).append(new Kurtosis());
+    }
 }
@@ -16,6 +16,7 @@
  */
 package org.apache.commons.math4.stat.descriptive.moment;
 
+import org.apache.commons.math4.exception.MathUnsupportedOperationException;
 import org.apache.commons.math4.stat.descriptive.StorelessUnivariateStatisticAbstractTest;
 import org.apache.commons.math4.stat.descriptive.UnivariateStatistic;
 import org.apache.commons.math4.stat.descriptive.moment.Skewness;
@@ -61,4 +62,23 @@ public class SkewnessTest extends StorelessUnivariateStatisticAbstractTest{
         Assert.assertFalse(Double.isNaN(skew.getResult()));
     }
 
+    @Test
+    public void testAppend() {
+        final Skewness all = new Skewness();
+        for (int i = 0; i < 4; i++) {
+            final Skewness part = new Skewness();
+            for (int j = i * testArray.length / 4; j < (i + 1) * testArray.length / 4; j++) {
+                part.increment(testArray[j]);
+            }
+            all.append(part);
+            all.append(new Skewness());
+        }
+        Assert.assertEquals(testArray.length, all.getN());
+        Assert.assertEquals(expectedValue(), all.getResult(), getTolerance());
+    }
+
+    @Test(expected=MathUnsupportedOperationException.class)
+    public void testAppendExternalMoment() {
+        new Skewness(new ThirdMoment()).append(new Skewness());
+    }
 }
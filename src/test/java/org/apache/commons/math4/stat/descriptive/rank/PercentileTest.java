@@ -31,6 +31,7 @@ import org.apache.commons.math4.stat.descriptive.UnivariateStatisticAbstractTest
 import org.apache.commons.math4.stat.descriptive.rank.Percentile.EstimationType;
 import org.apache.commons.math4.stat.ranking.NaNStrategy;
 import org.apache.commons.math4.util.CentralPivotingStrategy;
+import org.apache.commons.math4.util.FastMath;
 import org.apache.commons.math4.util.KthSelector;
 import org.apache.commons.math4.util.MedianOf3PivotingStrategy;
 import org.apache.commons.math4.util.PivotingStrategyInterface;
@@ -865,4 +866,64 @@ public class PercentileTest extends UnivariateStatisticAbstractTest{
         }
     }
 
+
+    @Test
+    public void testMultipleQuantilesAllTechniques() {
+        final double[] data = new double[200];
+        final java.util.Random rnd = new java.util.Random(1234L);
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i % 17 == 0 ? Double.NaN : FastMath.rint(100 * rnd.nextGaussian()) / 10;
+        }
+        final double[] ps = { 100, 0.1, 25, 50, 50, 75, 99.9, 1e-6, 33.3 };
+        for (final Percentile.EstimationType e : Percentile.EstimationType.values()) {
+            for (final NaNStrategy s : new NaNStrategy[] {
+                NaNStrategy.FIXED, NaNStrategy.MAXIMAL, NaNStrategy.MINIMAL, NaNStrategy.REMOVED
+            }) {
+                for (final PivotingStrategyInterface pivoting : new PivotingStrategyInterface[] {
+                    new MedianOf3PivotingStrategy(), new CentralPivotingStrategy()
+                }) {
+                    final Percentile percentile = new Percentile().
+                            withEstimationType(e).
+                            withNaNStrategy(s).
+                            withKthSelector(new KthSelector(pivoting));
+                    final double[] all = percentile.evaluate(data, ps);
+                    final double[] range = percentile.evaluate(data, 13, 150, ps);
+                    Assert.assertEquals(ps.length, all.length);
+                    for (int i = 0; i < ps.length; i++) {
+                        final String msg = e + " " + s + " p=" + ps[i];
+                        Assert.assertEquals(msg, percentile.evaluate(data, ps[i]), all[i], 0d);
+                        Assert.assertEquals(msg, percentile.evaluate(data, 13, 150, ps[i]), range[i], 0d);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMultipleQuantilesSpecialCases() {
+        final Percentile percentile = new Percentile();
+        Assert.assertEquals(0, percentile.evaluate(testArray, new double[0]).length);
+        Assert.assertArrayEquals(new double[] { Double.NaN, Double.NaN },
+                                 percentile.evaluate(new double[0], new double[] { 10, 90 }), 0d);
+        Assert.assertArrayEquals(new double[] { 3, 3 },
+                                 percentile.evaluate(new double[] { 3 }, new double[] { 10, 90 }), 0d);
+        Assert.assertArrayEquals(new double[] { Double.NaN },
+                                 percentile.evaluate(new double[] { Double.NaN, Double.NaN }, new double[] { 50 }), 0d);
+    }
+
+    @Test(expected=OutOfRangeException.class)
+    public void testMultipleQuantilesInvalid() {
+        new Percentile().evaluate(testArray, new double[] { 50, 0 });
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testMultipleQuantilesNull() {
+        new Percentile().evaluate(testArray, (double[]) null);
+    }
+
+    @Test(expected=NotANumberException.class)
+    public void testMultipleQuantilesFailedNaN() {
+        new Percentile().withNaNStrategy(NaNStrategy.FAILED).
+            evaluate(new double[] { 1, Double.NaN, 3 }, new double[] { 25, 75 });
+    }
 }
@@ -16,6 +16,10 @@
  */
 package org.apache.commons.math4.stat.regression;
 
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.apache.commons.math4.TestUtils;
 import org.apache.commons.math4.exception.MathIllegalArgumentException;
 import org.apache.commons.math4.linear.RealMatrix;
@@ -24,6 +28,8 @@ import org.apache.commons.math4.stat.regression.MillerUpdatingRegression;
 import org.apache.commons.math4.stat.regression.OLSMultipleLinearRegression;
 import org.apache.commons.math4.stat.regression.RegressionResults;
 import org.apache.commons.math4.util.FastMath;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -1109,5 +1115,139 @@ public class MillerUpdatingRegressionTest {
         }
     }
 
+    @Test
+    public void testMergeShards() {
+        final int n = airdata[0].length;
+        final MillerUpdatingRegression whole = new MillerUpdatingRegression(3, true);
+        final MillerUpdatingRegression[] shards = new MillerUpdatingRegression[3];
+        for (int s = 0; s < shards.length; s++) {
+            shards[s] = new MillerUpdatingRegression(3, true);
+        }
+        for (int i = 0; i < n; i++) {
+            final double[] x = new double[] {
+                FastMath.log(airdata[3][i]), FastMath.log(airdata[4][i]), airdata[5][i]
+            };
+            final double y = FastMath.log(airdata[2][i]);
+            whole.addObservation(x, y);
+            shards[i % shards.length].addObservation(x, y);
+        }
+
+        // Reorder the regressors of one shard before merging.
+        shards[1].regress(new int[] {0, 3, 2});
+        Assert.assertEquals(3, shards[1].getOrderOfRegressors()[1]);
+
+        final MillerUpdatingRegression merged = shards[0];
+        merged.merge(shards[1]);
+        merged.merge(shards[2]);
+        Assert.assertEquals(n, merged.getN());
+
+        final RegressionResults expected = whole.regress();
+        final RegressionResults actual = merged.regress();
+        TestUtils.assertEquals(expected.getParameterEstimates(), actual.getParameterEstimates(), 1e-10);
+        TestUtils.assertEquals(expected.getStdErrorOfEstimates(), actual.getStdErrorOfEstimates(), 1e-10);
+        Assert.assertEquals(expected.getErrorSumSquares(), actual.getErrorSumSquares(), 1e-12);
+        Assert.assertEquals(expected.getRSquared(), actual.getRSquared(), 1e-12);
+    }
+
+    @Test
+    public void testMergeIntoItself() {
+        final MillerUpdatingRegression instance = new MillerUpdatingRegression(3, true);
+        final MillerUpdatingRegression twice = new MillerUpdatingRegression(3, true);
+        for (int i = 0; i < airdata[0].length; i++) {
+            final double[] x = new double[] {
+                FastMath.log(airdata[3][i]), FastMath.log(airdata[4][i]), airdata[5][i]
+            };
+            final double y = FastMath.log(airdata[2][i]);
+            instance.addObservation(x, y);
+            twice.addObservation(x, y);
+            twice.addObservation(x, y);
+        }
+        instance.merge(instance);
+        Assert.assertEquals(twice.getN(), instance.getN());
+        TestUtils.assertEquals(twice.regress().getParameterEstimates(),
+                               instance.regress().getParameterEstimates(), 1e-10);
+    }
+
+    @Test(expected=ModelSpecificationException.class)
+    public void testMergeDimensionMismatch() {
+        new MillerUpdatingRegression(3, true).merge(new MillerUpdatingRegression(2, true));
+    }
+
+    @Test(expected=ModelSpecificationException.class)
+    public void testMergeInterceptMismatch() {
+        new MillerUpdatingRegression(3, false).merge(new MillerUpdatingRegression(2, true));
+    }
 
+    @Test
+    public void testAddObservationsBlock() {
+        final int n = airdata[0].length;
+        final double[] block = new double[3 * n];
+        final double[] y = new double[n];
+        final MillerUpdatingRegression rowByRow = new MillerUpdatingRegression(3, true);
+        for (int i = 0; i < n; i++) {
+            block[3 * i] = FastMath.log(airdata[3][i]);
+            block[3 * i + 1] = FastMath.log(airdata[4][i]);
+            block[3 * i + 2] = airdata[5][i];
+            y[i] = FastMath.log(airdata[2][i]);
+            rowByRow.addObservation(new double[] { block[3 * i], block[3 * i + 1], block[3 * i + 2] }, y[i]);
+        }
+
+        final MillerUpdatingRegression instance = new MillerUpdatingRegression(3, true);
+        // Blocks may be smaller than the number of parameters.
+        instance.addObservations(Arrays.copyOfRange(block, 0, 3), Arrays.copyOfRange(y, 0, 1));
+        instance.addObservations(Arrays.copyOfRange(block, 3, 3 * n), Arrays.copyOfRange(y, 1, n));
+        Assert.assertEquals(n, instance.getN());
+        Assert.assertArrayEquals(rowByRow.regress().getParameterEstimates(),
+                                 instance.regress().getParameterEstimates(), 0);
+    }
+
+    @Test(expected=ModelSpecificationException.class)
+    public void testAddObservationsBlockMismatch() {
+        new MillerUpdatingRegression(3, false).addObservations(new double[7], new double[2]);
+    }
+
+    @Test
+    public void testAddObservationsConcurrently() {
+        final int n = 50000;
+        final int k = 4;
+        final double[] beta = { 1.5, -2.0, 0.25, 3.0, -0.75 };
+        final UniformRandomProvider rng = RandomSource.create(RandomSource.MT, 12345L);
+        final double[] x = new double[n * k];
+        final double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            double value = beta[0];
+            for (int j = 0; j < k; j++) {
+                x[i * k + j] = 10 * rng.nextDouble() - 5;
+                value += beta[j + 1] * x[i * k + j];
+            }
+            y[i] = value + 0.1 * (rng.nextDouble() - 0.5);
+        }
+
+        final MillerUpdatingRegression sequential = new MillerUpdatingRegression(k, true);
+        sequential.addObservations(x, y);
+        final RegressionResults expected = sequential.regress();
+
+        double[] previous = null;
+        for (int threads : new int[] { 1, 4 }) {
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                final MillerUpdatingRegression instance = new MillerUpdatingRegression(k, true);
+                instance.addObservations(x, y, executor);
+                Assert.assertEquals(n, instance.getN());
+                final RegressionResults actual = instance.regress();
+                TestUtils.assertEquals(expected.getParameterEstimates(), actual.getParameterEstimates(), 1e-10);
+                TestUtils.assertEquals(expected.getStdErrorOfEstimates(), actual.getStdErrorOfEstimates(), 1e-10);
+                Assert.assertEquals(expected.getErrorSumSquares(), actual.getErrorSumSquares(),
+                                    1e-10 * expected.getErrorSumSquares());
+                // Result does not depend on the number of threads.
+                if (previous != null) {
+                    Assert.assertArrayEquals(previous, actual.getParameterEstimates(), 0);
+                }
+                previous = actual.getParameterEstimates();
+            } finally {
+                executor.shutdown();
+            }
+        }
+        TestUtils.assertEquals(beta, previous, 1e-2);
+    }
 }
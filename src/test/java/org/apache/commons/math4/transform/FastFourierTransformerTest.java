@@ -17,13 +17,17 @@
 package org.apache.commons.math4.transform;
 
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.numbers.complex.Complex;
 import org.apache.commons.math4.analysis.UnivariateFunction;
 import org.apache.commons.math4.analysis.function.Sin;
 import org.apache.commons.math4.analysis.function.Sinc;
+import org.apache.commons.math4.exception.DimensionMismatchException;
 import org.apache.commons.math4.exception.MathIllegalArgumentException;
 import org.apache.commons.math4.exception.NotStrictlyPositiveException;
+import org.apache.commons.math4.exception.NullArgumentException;
 import org.apache.commons.math4.exception.NumberIsTooLargeException;
 import org.apache.commons.math4.transform.DftNormalization;
 import org.apache.commons.math4.transform.FastFourierTransformer;
@@ -483,4 +487,137 @@ public final class FastFourierTransformerTest {
             Assert.assertEquals(0.0, result[i].getImaginary(), tolerance);
         }
     }
+
+    /*
+     * Batched and multi-dimensional transforms.
+     */
+
+    @Test
+    public void testTransformBatch() {
+        final int length = 12;
+        final int frames = 10;
+        final double[] re = createRealData(length * frames);
+        final double[] im = createRealData(length * frames + 1);
+        final double[] imTrimmed = java.util.Arrays.copyOf(im, length * frames);
+        for (final DftNormalization norm : DftNormalization.values()) {
+            final FastFourierTransformer fft = new FastFourierTransformer(norm);
+            final FourierTransformPlan plan = fft.createPlan(length);
+            for (final TransformType type : TransformType.values()) {
+                final double[] batchR = re.clone();
+                final double[] batchI = imTrimmed.clone();
+                fft.transformBatch(batchR, batchI, length, type);
+                for (int f = 0; f < frames; f++) {
+                    final double[] frameR = java.util.Arrays.copyOfRange(re, f * length, (f + 1) * length);
+                    final double[] frameI = java.util.Arrays.copyOfRange(imTrimmed, f * length, (f + 1) * length);
+                    plan.transform(frameR, frameI, type);
+                    for (int k = 0; k < length; k++) {
+                        Assert.assertEquals(frameR[k], batchR[f * length + k], 0);
+                        Assert.assertEquals(frameI[k], batchI[f * length + k], 0);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTransformMultiDimensional() {
+        final int rows = 6;
+        final int cols = 8;
+        final double[] re = createRealData(rows * cols);
+        final double[] im = createRealData(rows * cols + 1);
+        final double[] imTrimmed = java.util.Arrays.copyOf(im, rows * cols);
+        final FastFourierTransformer fft = new FastFourierTransformer(DftNormalization.STANDARD);
+        final double[] outR = re.clone();
+        final double[] outI = imTrimmed.clone();
+        fft.transformMultiDimensional(outR, outI, new int[] { rows, cols }, TransformType.FORWARD);
+
+        for (int u = 0; u < rows; u++) {
+            for (int v = 0; v < cols; v++) {
+                double sR = 0;
+                double sI = 0;
+                for (int r = 0; r < rows; r++) {
+                    for (int c = 0; c < cols; c++) {
+                        final double angle = -2 * FastMath.PI * ((double) u * r / rows + (double) v * c / cols);
+                        final double cos = FastMath.cos(angle);
+                        final double sin = FastMath.sin(angle);
+                        sR += re[r * cols + c] * cos - imTrimmed[r * cols + c] * sin;
+                        sI += re[r * cols + c] * sin + imTrimmed[r * cols + c] * cos;
+                    }
+                }
+                Assert.assertEquals(sR, outR[u * cols + v], 1e-12);
+                Assert.assertEquals(sI, outI[u * cols + v], 1e-12);
+            }
+        }
+
+        // round trip in three dimensions
+        final int[] dimensions = { 3, rows, 2 };
+        final double[] re3 = createRealData(3 * rows * 2);
+        final double[] im3 = new double[re3.length];
+        final double[] r3 = re3.clone();
+        final double[] i3 = im3.clone();
+        fft.transformMultiDimensional(r3, i3, dimensions, TransformType.FORWARD);
+        fft.transformMultiDimensional(r3, i3, dimensions, TransformType.INVERSE);
+        Assert.assertArrayEquals(re3, r3, 1e-14);
+        Assert.assertArrayEquals(im3, i3, 1e-14);
+    }
+
+    @Test
+    public void testTransformConcurrent() {
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final FastFourierTransformer fft = new FastFourierTransformer(DftNormalization.UNITARY);
+            final double[] re = createRealData(4096 * 12);
+            final double[] im = createRealData(4096 * 12 + 1);
+            final double[] imTrimmed = java.util.Arrays.copyOf(im, re.length);
+
+            final double[] serialR = re.clone();
+            final double[] serialI = imTrimmed.clone();
+            fft.transformBatch(serialR, serialI, 4096, TransformType.FORWARD);
+            final double[] parallelR = re.clone();
+            final double[] parallelI = imTrimmed.clone();
+            fft.transformBatch(parallelR, parallelI, 4096, TransformType.FORWARD, executor);
+            Assert.assertArrayEquals(serialR, parallelR, 0);
+            Assert.assertArrayEquals(serialI, parallelI, 0);
+
+            final int[] dimensions = { 48, 1024 };
+            fft.transformMultiDimensional(serialR, serialI, dimensions, TransformType.INVERSE);
+            fft.transformMultiDimensional(parallelR, parallelI, dimensions, TransformType.INVERSE, executor);
+            Assert.assertArrayEquals(serialR, parallelR, 0);
+            Assert.assertArrayEquals(serialI, parallelI, 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testTransformBatchWrongLength() {
+        new FastFourierTransformer(DftNormalization.STANDARD).transformBatch(new double[10], new double[10], 4,
+                                                                             TransformType.FORWARD);
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testTransformMultiDimensionalWrongDimensions() {
+        new FastFourierTransformer(DftNormalization.STANDARD).transformMultiDimensional(new double[12], new double[12],
+                                                                                        new int[] { 3, 5 },
+                                                                                        TransformType.FORWARD);
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testTransformBatchNullImaginary() {
+        new FastFourierTransformer(DftNormalization.STANDARD).transformBatch(new double[8], null, 4,
+                                                                             TransformType.FORWARD);
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testTransformMultiDimensionalNullImaginary() {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            new FastFourierTransformer(DftNormalization.STANDARD).transformMultiDimensional(new double[12], null,
+                                                                                            new int[] { 3, 4 },
+                                                                                            TransformType.FORWARD,
+                                                                                            executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
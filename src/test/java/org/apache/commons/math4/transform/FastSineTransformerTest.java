@@ -18,6 +18,9 @@ package org.apache.commons.math4.transform;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.math4.analysis.UnivariateFunction;
 import org.apache.commons.math4.analysis.function.Sin;
@@ -302,4 +305,65 @@ public final class FastSineTransformerTest extends RealTransformerAbstractTest {
             // expected
         }
     }
+
+    /*
+     * Batched and multi-dimensional transforms.
+     */
+
+    @Test
+    public void testTransformBatchAndMultiDimensional() {
+        final FastSineTransformer transformer = new FastSineTransformer(normalization);
+        final int length = 8;
+        final int frames = 7;
+        final Random random = new Random(20261017L);
+        final double[] data = new double[frames * length];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i % length == 0 ? 0 : 2 * random.nextDouble() - 1;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            for (final TransformType type : TransformType.values()) {
+                final double[] batch = data.clone();
+                transformer.transformBatch(batch, length, type);
+                for (int f = 0; f < frames; f++) {
+                    final double[] expected = transformer.transform(Arrays.copyOfRange(data, f * length, (f + 1) * length), type);
+                    Assert.assertArrayEquals(expected, Arrays.copyOfRange(batch, f * length, (f + 1) * length), 0);
+                }
+                final double[] parallel = data.clone();
+                transformer.transformBatch(parallel, length, type, executor);
+                Assert.assertArrayEquals(batch, parallel, 0);
+            }
+
+            // separable transform: rows, then columns
+            final int rows = 4;
+            final double[] grid = new double[rows * length];
+            for (int i = 0; i < grid.length; i++) {
+                grid[i] = i < length || i % length == 0 ? 0 : 2 * random.nextDouble() - 1;
+            }
+            final double[] expected = grid.clone();
+            for (int r = 0; r < rows; r++) {
+                final double[] row = transformer.transform(Arrays.copyOfRange(expected, r * length, (r + 1) * length),
+                                                           TransformType.FORWARD);
+                System.arraycopy(row, 0, expected, r * length, length);
+            }
+            for (int c = 0; c < length; c++) {
+                final double[] column = new double[rows];
+                for (int r = 0; r < rows; r++) {
+                    column[r] = expected[r * length + c];
+                }
+                final double[] transformed = transformer.transform(column, TransformType.FORWARD);
+                for (int r = 0; r < rows; r++) {
+                    expected[r * length + c] = transformed[r];
+                }
+            }
+            final double[] actual = grid.clone();
+            transformer.transformMultiDimensional(actual, new int[] { rows, length }, TransformType.FORWARD);
+            Assert.assertArrayEquals(expected, actual, 0);
+            final double[] parallel = grid.clone();
+            transformer.transformMultiDimensional(parallel, new int[] { rows, length }, TransformType.FORWARD, executor);
+            Assert.assertArrayEquals(expected, parallel, 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.transform;
+
+import java.util.Random;
+
+import org.apache.commons.numbers.complex.Complex;
+import org.apache.commons.math4.exception.DimensionMismatchException;
+import org.apache.commons.math4.exception.NotStrictlyPositiveException;
+import org.apache.commons.math4.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link FourierTransformPlan}.
+ */
+public class FourierTransformPlanTest {
+    /** Seed of the random number generators. */
+    private static final long SEED = 20261017L;
+
+    @Test
+    public void testComplexAgainstNaiveDft() {
+        final Random random = new Random(SEED);
+        for (final DftNormalization normalization : DftNormalization.values()) {
+            for (int n = 1; n <= 70; n++) {
+                checkComplex(random, n, normalization);
+            }
+            checkComplex(random, 127, normalization);
+            checkComplex(random, 1000, normalization);
+        }
+    }
+
+    @Test
+    public void testMatchesFastFourierTransformer() {
+        final Random random = new Random(SEED);
+        for (final DftNormalization normalization : DftNormalization.values()) {
+            final FastFourierTransformer fft = new FastFourierTransformer(normalization);
+            for (final TransformType type : TransformType.values()) {
+                for (int n = 1; n <= 4096; n *= 2) {
+                    final double[] re = createData(random, n);
+                    final double[] im = createData(random, n);
+                    final Complex[] expected = fft.transform(TransformUtils.createComplexArray(new double[][] { re, im }), type);
+                    final FourierTransformPlan plan = fft.createPlan(n);
+                    final double[] outR = new double[n];
+                    final double[] outI = new double[n];
+                    plan.transform(re, im, outR, outI, type);
+                    for (int k = 0; k < n; k++) {
+                        Assert.assertEquals(expected[k].getReal(), outR[k], 1e-10 * n);
+                        Assert.assertEquals(expected[k].getImaginary(), outI[k], 1e-10 * n);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final Random random = new Random(SEED);
+        for (final int n : new int[] { 1, 2, 3, 12, 17, 256, 1000, 4096 }) {
+            final FourierTransformPlan plan = new FourierTransformPlan(n, DftNormalization.STANDARD);
+            final double[] re = createData(random, n);
+            final double[] im = createData(random, n);
+            final double[] r = re.clone();
+            final double[] i = im.clone();
+            plan.transform(r, i, TransformType.FORWARD);
+            plan.transform(r, i, TransformType.INVERSE);
+            Assert.assertArrayEquals(re, r, 1e-12);
+            Assert.assertArrayEquals(im, i, 1e-12);
+        }
+    }
+
+    @Test
+    public void testReal() {
+        final Random random = new Random(SEED);
+        for (final DftNormalization normalization : DftNormalization.values()) {
+            for (final int n : new int[] { 1, 2, 3, 4, 5, 6, 10, 15, 16, 30, 64, 100, 4096 }) {
+                final FourierTransformPlan plan = new FourierTransformPlan(n, normalization);
+                final double[] data = createData(random, n);
+                final double[] re = data.clone();
+                final double[] im = new double[n];
+                plan.transform(re, im, TransformType.FORWARD);
+
+                final double[] outR = new double[n / 2 + 1];
+                final double[] outI = new double[n / 2 + 1];
+                for (int repeat = 0; repeat < 2; repeat++) {
+                    plan.transformReal(data, outR, outI);
+                    for (int k = 0; k <= n / 2; k++) {
+                        Assert.assertEquals("n=" + n + " k=" + k, re[k], outR[k], 1e-12 * n);
+                        Assert.assertEquals("n=" + n + " k=" + k, im[k], outI[k], 1e-12 * n);
+                    }
+                }
+
+                final double[] back = new double[n];
+                plan.inverseTransformReal(outR, outI, back);
+                final double[] inverseR = re.clone();
+                final double[] inverseI = im.clone();
+                plan.transform(inverseR, inverseI, TransformType.INVERSE);
+                Assert.assertArrayEquals("n=" + n, inverseR, back, 1e-12 * n);
+                if (normalization == DftNormalization.STANDARD) {
+                    Assert.assertArrayEquals("n=" + n, data, back, 1e-12 * n);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCopy() {
+        final Random random = new Random(SEED);
+        final int n = 24;
+        final FourierTransformPlan plan = new FourierTransformPlan(n, DftNormalization.UNITARY);
+        final FourierTransformPlan copy = plan.copy();
+        Assert.assertEquals(n, copy.getSize());
+        Assert.assertEquals(DftNormalization.UNITARY, copy.getNormalization());
+
+        final double[] re = createData(random, n);
+        final double[] im = createData(random, n);
+        final double[] r1 = re.clone();
+        final double[] i1 = im.clone();
+        final double[] r2 = re.clone();
+        final double[] i2 = im.clone();
+        plan.transform(r1, i1, TransformType.FORWARD);
+        copy.transform(r2, i2, TransformType.FORWARD);
+        Assert.assertArrayEquals(r1, r2, 0);
+        Assert.assertArrayEquals(i1, i2, 0);
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testZeroSize() {
+        new FourierTransformPlan(0, DftNormalization.STANDARD);
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testWrongLength() {
+        new FourierTransformPlan(8, DftNormalization.STANDARD).transform(new double[8], new double[7], TransformType.FORWARD);
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testRealOutputTooShort() {
+        new FourierTransformPlan(8, DftNormalization.STANDARD).transformReal(new double[8], new double[4], new double[5]);
+    }
+
+    /**
+     * Compares a transform computed by a plan with a naive DFT.
+     *
+     * @param random generator for the data
+     * @param n size of the transform
+     * @param normalization normalization of the transform
+     */
+    private static void checkComplex(final Random random,
+                                     final int n,
+                                     final DftNormalization normalization) {
+        final FourierTransformPlan plan = new FourierTransformPlan(n, normalization);
+        for (final TransformType type : TransformType.values()) {
+            final double[] re = createData(random, n);
+            final double[] im = createData(random, n);
+            final double[][] expected = naiveDft(re, im, normalization, type);
+            plan.transform(re, im, type);
+            Assert.assertArrayEquals("n=" + n, expected[0], re, 1e-12 * n);
+            Assert.assertArrayEquals("n=" + n, expected[1], im, 1e-12 * n);
+        }
+    }
+
+    /**
+     * Computes a DFT from its definition.
+     *
+     * @param re real parts of the data
+     * @param im imaginary parts of the data
+     * @param normalization normalization of the transform
+     * @param type type of the transform
+     * @return real and imaginary parts of the transform
+     */
+    private static double[][] naiveDft(final double[] re, final double[] im,
+                                       final DftNormalization normalization,
+                                       final TransformType type) {
+        final int n = re.length;
+        final double sign = type == TransformType.FORWARD ? -1 : 1;
+        final double scale = normalization == DftNormalization.UNITARY ?
+                             1 / FastMath.sqrt(n) :
+                             type == TransformType.INVERSE ? 1.0 / n : 1;
+        final double[][] result = new double[2][n];
+        for (int k = 0; k < n; k++) {
+            double sR = 0;
+            double sI = 0;
+            for (int j = 0; j < n; j++) {
+                final double angle = sign * 2 * FastMath.PI * (((long) j * k) % n) / n;
+                final double c = FastMath.cos(angle);
+                final double s = FastMath.sin(angle);
+                sR += re[j] * c - im[j] * s;
+                sI += re[j] * s + im[j] * c;
+            }
+            result[0][k] = scale * sR;
+            result[1][k] = scale * sI;
+        }
+        return result;
+    }
+
+    /**
+     * Creates random data.
+     *
+     * @param random generator
+     * @param n number of points
+     * @return the data
+     */
+    private static double[] createData(final Random random, final int n) {
+        final double[] data = new double[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = 2 * random.nextDouble() - 1;
+        }
+        return data;
+    }
+}
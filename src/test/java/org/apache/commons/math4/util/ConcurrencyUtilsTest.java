@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math4.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.apache.commons.math4.exception.MathIllegalStateException;
+import org.apache.commons.math4.exception.NotPositiveException;
+import org.apache.commons.math4.exception.NotStrictlyPositiveException;
+import org.apache.commons.math4.exception.NullArgumentException;
+import org.apache.commons.math4.exception.OutOfRangeException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link ConcurrencyUtils}.
+ */
+public class ConcurrencyUtilsTest {
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testInvokeAllOrder() {
+        final List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final int value = i;
+            tasks.add(() -> value * value);
+        }
+        final List<Integer> results = ConcurrencyUtils.invokeAll(executor, tasks);
+        Assert.assertEquals(20, results.size());
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(i * i, results.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void testForEach() {
+        final AtomicIntegerArray count = new AtomicIntegerArray(17);
+        ConcurrencyUtils.forEach(executor, count.length(), i -> count.incrementAndGet(i));
+        for (int i = 0; i < count.length(); i++) {
+            Assert.assertEquals(1, count.get(i));
+        }
+    }
+
+    @Test
+    public void testForEachRange() {
+        final AtomicIntegerArray count = new AtomicIntegerArray(101);
+        ConcurrencyUtils.forEachRange(executor, count.length(), 7, (start, end) -> {
+                for (int i = start; i < end; i++) {
+                    count.incrementAndGet(i);
+                }
+            });
+        for (int i = 0; i < count.length(); i++) {
+            Assert.assertEquals(1, count.get(i));
+        }
+    }
+
+    @Test
+    public void testSplit() {
+        final int[] bounds = ConcurrencyUtils.split(10, 4);
+        Assert.assertArrayEquals(new int[] { 0, 2, 5, 7, 10 }, bounds);
+        Assert.assertArrayEquals(new int[] { 0, 1, 2, 3 }, ConcurrencyUtils.split(3, 8));
+        Assert.assertArrayEquals(new int[] { 0, 0 }, ConcurrencyUtils.split(0, 8));
+    }
+
+    @Test(expected=OutOfRangeException.class)
+    public void testUncheckedExceptionIsRethrown() {
+        ConcurrencyUtils.forEach(executor, 5, i -> {
+                if (i == 3) {
+                    throw new OutOfRangeException(i, 0, 2);
+                }
+            });
+    }
+
+    @Test(expected=MathIllegalStateException.class)
+    public void testCheckedExceptionIsWrapped() {
+        final List<Callable<Void>> tasks = new ArrayList<>();
+        tasks.add(() -> {
+                throw new IOException();
+            });
+        ConcurrencyUtils.invokeAll(executor, tasks);
+    }
+
+    @Test(expected=NotPositiveException.class)
+    public void testNegativeCount() {
+        ConcurrencyUtils.forEach(executor, -1, i -> {});
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testZeroChunks() {
+        ConcurrencyUtils.forEachRange(executor, 10, 0, (start, end) -> {});
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testNullExecutor() {
+        ConcurrencyUtils.forEach(null, 2, i -> {});
+    }
+}
@@ -53,4 +53,45 @@ public class KthSelectorTest {
             }
         }
     }
+
+    @Test
+    public void testRandomMultiple() {
+        final double[] possibleValues = {Double.NaN, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, -3, -2, -1, -0., 0., 1, 2, 3};
+        final Random rnd = new Random(0);
+        for (int i = 0; i < 2000; ++i) {
+            final int dataSize = 1 + rnd.nextInt(200);
+            final double[] data = new double[dataSize];
+            for (int j = 0; j < dataSize; ++j) {
+                data[j] = rnd.nextBoolean() ?
+                          possibleValues[rnd.nextInt(possibleValues.length)] :
+                          rnd.nextGaussian();
+            }
+            final double[] dataSorted = Arrays.copyOf(data, data.length);
+            Arrays.sort(dataSorted);
+
+            final int[] k = new int[rnd.nextInt(6)];
+            for (int j = 0; j < k.length; ++j) {
+                k[j] = rnd.nextInt(dataSize);
+            }
+
+            final int[] pivotsHeap = rnd.nextBoolean() ? null : new int[31];
+            if (pivotsHeap != null) {
+                Arrays.fill(pivotsHeap, -1);
+            }
+            final double[] dataTmp = Arrays.copyOf(data, data.length);
+            final double[] result = new KthSelector().select(dataTmp, pivotsHeap, k);
+            for (int j = 0; j < k.length; ++j) {
+                assertEquals(Double.doubleToLongBits(dataSorted[k[j]]), Double.doubleToLongBits(result[j]));
+                assertEquals(Double.doubleToLongBits(dataSorted[k[j]]), Double.doubleToLongBits(dataTmp[k[j]]));
+            }
+
+            // the pivots heap must remain usable by the single selection
+            if (pivotsHeap != null) {
+                for (int j = 0; j < dataSize; ++j) {
+                    final double single = new KthSelector().select(dataTmp, pivotsHeap, j);
+                    assertEquals(Double.doubleToLongBits(dataSorted[j]), Double.doubleToLongBits(single));
+                }
+            }
+        }
+    }
 }